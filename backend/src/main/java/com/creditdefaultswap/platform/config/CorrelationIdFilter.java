@@ -18,8 +18,10 @@ import java.util.UUID;
 @Order(1)
 public class CorrelationIdFilter implements Filter {
     
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
-    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    // Set by the tracing bridge; the server observation filter runs ahead of this one
+    private static final String TRACE_ID_MDC_KEY = "traceId";
     
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -29,8 +31,11 @@ public class CorrelationIdFilter implements Filter {
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
         try {
-            // Get or generate correlation ID
+            // Get correlation ID, falling back to the trace ID so logs and traces share one key
             String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
+            if (correlationId == null || correlationId.trim().isEmpty()) {
+                correlationId = MDC.get(TRACE_ID_MDC_KEY);
+            }
             if (correlationId == null || correlationId.trim().isEmpty()) {
                 correlationId = UUID.randomUUID().toString();
             }
@@ -1,5 +1,7 @@
 package com.creditdefaultswap.platform.config;
 
+import org.slf4j.MDC;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -7,8 +9,20 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
     
+    /**
+     * Built from the auto-configured builder so outgoing calls are observed and carry the trace context,
+     * and forwards the request's correlation ID
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder
+                .additionalInterceptors((request, body, execution) -> {
+                    String correlationId = MDC.get(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+                    if (correlationId != null && !request.getHeaders().containsKey(CorrelationIdFilter.CORRELATION_ID_HEADER)) {
+                        request.getHeaders().set(CorrelationIdFilter.CORRELATION_ID_HEADER, correlationId);
+                    }
+                    return execution.execute(request, body);
+                })
+                .build();
     }
 }
@@ -0,0 +1,12 @@
+package com.creditdefaultswap.platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs; each job is switched off unless its cron property is configured
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
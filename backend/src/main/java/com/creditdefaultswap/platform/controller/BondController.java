@@ -124,12 +124,25 @@ public class BondController {
     }
     
     /**
-     * POST /api/bonds/price/batch - Batch pricing (skeleton for Story 14.15)
+     * POST /api/bonds/price/batch - Price several bonds with the same inputs
+     * Body: list of bond IDs; query params as for single-bond pricing
      */
     @PostMapping("/price/batch")
-    public ResponseEntity<?> priceBondsBatch(@RequestBody List<Long> bondIds) {
-        // Placeholder for future implementation
-        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
-            .body("Batch pricing not yet implemented");
+    public ResponseEntity<?> priceBondsBatch(
+            @RequestBody List<Long> bondIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valuationDate,
+            @RequestParam(required = false, defaultValue = "0.05") Double discountRate,
+            @RequestParam(required = false, defaultValue = "0.0") Double hazardRate) {
+        
+        try {
+            LocalDate valDate = valuationDate != null ? valuationDate : LocalDate.now();
+            List<BondPricingResponse> responses = bondService.priceBonds(bondIds, valDate, discountRate, hazardRate);
+            return ResponseEntity.ok(responses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error pricing bonds: " + e.getMessage());
+        }
     }
 }
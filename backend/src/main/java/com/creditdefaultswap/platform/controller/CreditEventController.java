@@ -6,6 +6,7 @@ import com.creditdefaultswap.platform.dto.SettlementView;
 import com.creditdefaultswap.platform.model.CashSettlement;
 import com.creditdefaultswap.platform.model.CreditEvent;
 import com.creditdefaultswap.platform.model.PhysicalSettlementInstruction;
+import com.creditdefaultswap.platform.service.CreditEventPropagationEngine;
 import com.creditdefaultswap.platform.service.CreditEventService;
 import com.creditdefaultswap.platform.service.SettlementService;
 import com.creditdefaultswap.platform.service.DemoCreditEventService;
@@ -26,14 +27,17 @@ public class CreditEventController {
     private final CreditEventService creditEventService;
     private final SettlementService settlementService;
     private final DemoCreditEventService demoCreditEventService;
+    private final CreditEventPropagationEngine propagationEngine;
     
     @Autowired
     public CreditEventController(CreditEventService creditEventService,
                                 SettlementService settlementService,
-                                DemoCreditEventService demoCreditEventService) {
+                                DemoCreditEventService demoCreditEventService,
+                                CreditEventPropagationEngine propagationEngine) {
         this.creditEventService = creditEventService;
         this.settlementService = settlementService;
         this.demoCreditEventService = demoCreditEventService;
+        this.propagationEngine = propagationEngine;
     }
     
     /**
@@ -57,6 +61,14 @@ public class CreditEventController {
         return new ResponseEntity<>(response, status);
     }
     
+    /**
+     * Progress of large credit event propagations currently running
+     */
+    @GetMapping("/credit-event-propagations")
+    public ResponseEntity<List<CreditEventPropagationEngine.PropagationProgress>> getRunningPropagations() {
+        return ResponseEntity.ok(propagationEngine.getRunningPropagations());
+    }
+    
     /**
      * Get all credit events for a trade
      */
@@ -1,13 +1,16 @@
 package com.creditdefaultswap.platform.controller;
 
 import com.creditdefaultswap.platform.service.dashboard.DashboardAggregationService;
+import com.creditdefaultswap.platform.service.dashboard.DashboardEventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -25,6 +28,18 @@ public class DashboardController {
     @Autowired
     private DashboardAggregationService dashboardAggregationService;
     
+    @Autowired
+    private DashboardEventPublisher dashboardEventPublisher;
+    
+    /**
+     * Stream of dashboard changes (Server-Sent Events) so clients can update in place instead of polling.
+     * Event names: MARGIN_UPDATED, SACCR_RECALCULATED, SIMM_COMPLETED
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardEvents() {
+        return dashboardEventPublisher.subscribe();
+    }
+    
     /**
      * Get comprehensive dashboard data for margin and exposure reconciliation
      */
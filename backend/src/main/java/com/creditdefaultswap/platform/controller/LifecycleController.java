@@ -29,12 +29,21 @@ public class LifecycleController {
     @Autowired
     private CouponScheduleService couponScheduleService;
 
+    @Autowired
+    private CouponScheduleBatchEngine couponScheduleBatchEngine;
+
     @Autowired
     private CouponPeriodRepository couponPeriodRepository;
 
+    @Autowired
+    private CouponSettlementService couponSettlementService;
+
     @Autowired
     private AccrualService accrualService;
 
+    @Autowired
+    private AccrualBatchEngine accrualBatchEngine;
+
     @Autowired
     private TradeAmendmentService tradeAmendmentService;
 
@@ -49,6 +58,18 @@ public class LifecycleController {
         return ResponseEntity.ok(schedule);
     }
 
+    @PostMapping("/coupon-schedules/bulk")
+    public ResponseEntity<CouponScheduleBatchEngine.ScheduleBatchResult> generateCouponSchedules(
+            @RequestBody List<Long> tradeIds) {
+        return ResponseEntity.ok(couponScheduleBatchEngine.generate(tradeIds));
+    }
+
+    @PostMapping("/portfolios/{portfolioId}/coupon-schedules")
+    public ResponseEntity<CouponScheduleBatchEngine.ScheduleBatchResult> generatePortfolioCouponSchedules(
+            @PathVariable Long portfolioId) {
+        return ResponseEntity.ok(couponScheduleBatchEngine.generateForPortfolio(portfolioId));
+    }
+
     @GetMapping("/trades/{tradeId}/coupon-schedule")
     public ResponseEntity<List<CouponPeriod>> getCouponSchedule(@PathVariable Long tradeId) {
         List<CouponPeriod> schedule = couponScheduleService.getCouponPeriods(tradeId);
@@ -97,6 +118,29 @@ public class LifecycleController {
         return ResponseEntity.ok(unpaidPeriod);
     }
 
+    /**
+     * Pay every unpaid coupon due on paymentDate for the book, a portfolio (scopeId = portfolio ID)
+     * or a netting set (scopeId = netting set ID)
+     */
+    @PostMapping("/coupons/settle")
+    public ResponseEntity<CouponSettlementService.CouponSettlementResult> settleCouponsDue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate,
+            @RequestParam(defaultValue = "BOOK") CouponSettlementService.Scope scope,
+            @RequestParam(required = false) String scopeId,
+            @RequestBody(required = false) PayCouponRequest request) {
+        
+        LocalDateTime paymentTimestamp;
+        if (request != null && Boolean.TRUE.equals(request.getPayOnTime())) {
+            paymentTimestamp = LocalDateTime.of(paymentDate, LocalTime.NOON);
+        } else if (request != null && request.getCustomPaymentTimestamp() != null) {
+            paymentTimestamp = request.getCustomPaymentTimestamp();
+        } else {
+            paymentTimestamp = LocalDateTime.now();
+        }
+        
+        return ResponseEntity.ok(couponSettlementService.settleCouponsDue(paymentDate, scope, scopeId, paymentTimestamp));
+    }
+
     // Accrual Endpoints
 
     @PostMapping("/trades/{tradeId}/accruals/daily")
@@ -139,6 +183,25 @@ public class LifecycleController {
         return ResponseEntity.ok(Map.of("netCashAmount", netCash));
     }
 
+    @PostMapping("/accruals/eod")
+    public ResponseEntity<AccrualBatchRun> runEndOfDayAccruals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        AccrualBatchRun run = accrualBatchEngine.runEndOfDay(startDate != null ? startDate : end, end);
+        return ResponseEntity.ok(run);
+    }
+
+    @GetMapping("/accruals/eod/runs")
+    public ResponseEntity<List<AccrualBatchRun>> getEndOfDayAccrualRuns() {
+        return ResponseEntity.ok(accrualBatchEngine.getRecentRuns());
+    }
+
+    @GetMapping("/accruals/eod/runs/{runId}")
+    public ResponseEntity<AccrualBatchRun> getEndOfDayAccrualRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(accrualBatchEngine.getRun(runId));
+    }
+
     // Amendment Endpoints
 
     @PostMapping("/trades/{tradeId}/amendments")
@@ -5,7 +5,9 @@ import com.creditdefaultswap.platform.model.MarginPosition;
 import com.creditdefaultswap.platform.repository.MarginStatementRepository;
 import com.creditdefaultswap.platform.repository.MarginPositionRepository;
 import com.creditdefaultswap.platform.service.MarginStatementService;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
 import com.creditdefaultswap.platform.service.margin.AutomatedMarginStatementService;
+import com.creditdefaultswap.platform.service.margin.MarginStatementPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,16 +37,22 @@ public class MarginStatementController {
     private final AutomatedMarginStatementService automatedMarginService;
     private final MarginStatementRepository statementRepository;
     private final MarginPositionRepository positionRepository;
+    private final MarginStatementPipeline pipeline;
+    private final DashboardAggregateService dashboardAggregates;
     
     @Autowired
     public MarginStatementController(MarginStatementService statementService,
                                     AutomatedMarginStatementService automatedMarginService,
                                     MarginStatementRepository statementRepository,
-                                    MarginPositionRepository positionRepository) {
+                                    MarginPositionRepository positionRepository,
+                                    MarginStatementPipeline pipeline,
+                                    DashboardAggregateService dashboardAggregates) {
         this.statementService = statementService;
         this.automatedMarginService = automatedMarginService;
         this.statementRepository = statementRepository;
         this.positionRepository = positionRepository;
+        this.pipeline = pipeline;
+        this.dashboardAggregates = dashboardAggregates;
     }
     
     /**
@@ -77,11 +85,13 @@ public class MarginStatementController {
                     statementId, ccpName, memberFirm, accountNumber, 
                     statementDate, currency, format, file);
             
-            return ResponseEntity.ok(Map.of(
+            // Processing continues on the CCP's worker pool; clients poll the status URL
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
                     "success", true,
-                    "message", "Statement uploaded successfully",
+                    "message", "Statement uploaded and queued for processing",
                     "statementId", statement.getId(),
-                    "status", statement.getStatus().toString()
+                    "status", statement.getStatus().toString(),
+                    "statusUrl", "/api/margin-statements/" + statement.getId() + "/status"
             ));
             
         } catch (MarginStatementService.StatementIngestionException e) {
@@ -111,7 +121,7 @@ public class MarginStatementController {
                 return ResponseEntity.notFound().build();
             }
             
-            return ResponseEntity.ok(createStatementResponse(statement.get()));
+            return ResponseEntity.ok(createStatementResponse(statement.get(), positionCounts(statement.stream().toList())));
             
         } catch (Exception e) {
             logger.error("Error retrieving statement {}: {}", statementId, e.getMessage());
@@ -121,6 +131,39 @@ public class MarginStatementController {
         }
     }
     
+    /**
+     * Poll the processing status of a statement
+     */
+    @GetMapping("/{statementId}/status")
+    public ResponseEntity<?> getStatementStatus(@PathVariable Long statementId) {
+        try {
+            Optional<MarginStatementRepository.StatementStatusView> status = statementRepository.findStatusById(statementId);
+            
+            if (status.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            MarginStatementRepository.StatementStatusView view = status.get();
+            Map<String, Object> response = new java.util.HashMap<>();
+            response.put("id", view.getId());
+            response.put("statementId", view.getStatementId());
+            response.put("ccpName", view.getCcpName());
+            response.put("status", view.getStatus().toString());
+            response.put("queued", pipeline.isQueued(view.getId()));
+            response.put("errorMessage", view.getErrorMessage() != null ? view.getErrorMessage() : "");
+            response.put("retryCount", view.getRetryCount() != null ? view.getRetryCount() : 0);
+            response.put("updatedAt", view.getUpdatedAt());
+            response.put("processedAt", view.getProcessedAt());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving status for statement {}: {}", statementId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                    "error", "Failed to retrieve statement status: " + e.getMessage()
+            ));
+        }
+    }
+    
     /**
      * Get statements by CCP and date range
      */
@@ -146,8 +189,9 @@ public class MarginStatementController {
                 statements = statementService.getAllStatements();
             }
             
+            Map<Long, Long> positionCounts = positionCounts(statements);
             List<Map<String, Object>> response = statements.stream()
-                    .map(this::createStatementResponse)
+                    .map(statement -> createStatementResponse(statement, positionCounts))
                     .toList();
             
             return ResponseEntity.ok(response);
@@ -217,10 +261,15 @@ public class MarginStatementController {
     @GetMapping("/status-summary")
     public ResponseEntity<?> getStatusSummary() {
         try {
-            // This would typically aggregate counts by status
-            // For now, return a simple summary
+            Map<String, Long> counts = new java.util.TreeMap<>();
+            for (MarginStatementRepository.StatusCount count : statementRepository.countGroupedByStatus()) {
+                counts.put(count.getStatus().toString(), count.getCount());
+            }
+            
             return ResponseEntity.ok(Map.of(
                     "summary", "Statement processing status",
+                    "statusCounts", counts,
+                    "queues", pipeline.getQueueStats(),
                     "timestamp", java.time.LocalDateTime.now()
             ));
         } catch (Exception e) {
@@ -311,6 +360,7 @@ public class MarginStatementController {
         
         // Save statement first to get ID for positions
         MarginStatement savedStatement = statementRepository.save(statement);
+        dashboardAggregates.refreshMargin(savedStatement.getStatementDate(), savedStatement.getCcpName());
         
         // Create margin positions for each netting set breakdown
         createConsolidatedMarginPositions(savedStatement, generated);
@@ -388,6 +438,7 @@ public class MarginStatementController {
         
         // Save statement first to get ID for positions
         MarginStatement savedStatement = statementRepository.save(statement);
+        dashboardAggregates.refreshMargin(savedStatement.getStatementDate(), savedStatement.getCcpName());
         
         // Create margin positions for VM and IM
         createMarginPositions(savedStatement, generated);
@@ -495,7 +546,24 @@ public class MarginStatementController {
         }
     }
     
-    private Map<String, Object> createStatementResponse(MarginStatement statement) {
+    /**
+     * Position counts of the processed statements among the given ones, in one grouped query
+     */
+    private Map<Long, Long> positionCounts(List<MarginStatement> statements) {
+        List<Long> processedIds = statements.stream()
+                .filter(s -> s.getStatus() == MarginStatement.StatementStatus.PROCESSED)
+                .map(MarginStatement::getId)
+                .toList();
+        if (processedIds.isEmpty()) {
+            return Map.of();
+        }
+        return positionRepository.countByStatementIds(processedIds).stream()
+                .collect(java.util.stream.Collectors.toMap(
+                        MarginPositionRepository.StatementPositionCount::getStatementId,
+                        MarginPositionRepository.StatementPositionCount::getCount));
+    }
+    
+    private Map<String, Object> createStatementResponse(MarginStatement statement, Map<Long, Long> positionCounts) {
         Map<String, Object> response = new java.util.HashMap<>();
         response.put("id", statement.getId());
         response.put("statementId", statement.getStatementId());
@@ -524,13 +592,7 @@ public class MarginStatementController {
         
         // Add position count if statement is processed
         if (statement.getStatus() == MarginStatement.StatementStatus.PROCESSED) {
-            try {
-                List<MarginPosition> positions = statementService.getPositions(statement.getId());
-                response.put("totalPositions", positions.size());
-            } catch (Exception e) {
-                logger.debug("Could not get position count for statement {}: {}", statement.getId(), e.getMessage());
-                response.put("totalPositions", 0);
-            }
+            response.put("totalPositions", Math.toIntExact(positionCounts.getOrDefault(statement.getId(), 0L)));
         }
         
         return response;
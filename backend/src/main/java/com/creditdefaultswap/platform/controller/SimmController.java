@@ -2,7 +2,9 @@ package com.creditdefaultswap.platform.controller;
 
 import com.creditdefaultswap.platform.service.simm.CrifParserService;
 import com.creditdefaultswap.platform.service.simm.CrifGenerationService;
+import com.creditdefaultswap.platform.service.simm.CrifStreamingIngestionService;
 import com.creditdefaultswap.platform.service.simm.SimmCalculationService;
+import com.creditdefaultswap.platform.service.simm.SimmResultRetentionService;
 import com.creditdefaultswap.platform.service.AuditService;
 import com.creditdefaultswap.platform.model.AuditLog;
 import com.creditdefaultswap.platform.model.simm.CrifUpload;
@@ -15,6 +17,8 @@ import com.creditdefaultswap.platform.repository.simm.SimmParameterSetRepository
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,15 +51,25 @@ public class SimmController {
     
     private static final Logger logger = LoggerFactory.getLogger(SimmController.class);
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    
     @Autowired
     private CrifParserService crifParserService;
     
     @Autowired
     private CrifGenerationService crifGenerationService;
     
+    @Autowired
+    private CrifStreamingIngestionService crifStreamingIngestionService;
+    
     @Autowired
     private SimmCalculationService simmCalculationService;
     
+    @Autowired
+    private SimmResultRetentionService simmResultRetentionService;
+    
     @Autowired
     private AuditService auditService;
     
@@ -99,9 +114,9 @@ public class SimmController {
                 }
             }
             
-            // Parse CRIF file
-            CrifParserService.CrifParsingResult result = crifParserService.parseCrifFile(
-                file, portfolioId, valuationDate, currency);
+            // Stream CRIF file into the sensitivities table in chunks
+            CrifParserService.CrifParsingResult result = crifStreamingIngestionService.ingest(
+                file.getInputStream(), file.getOriginalFilename(), portfolioId, valuationDate, currency);
             
             Map<String, Object> response = new HashMap<>();
             response.put("uploadId", result.getUploadId());
@@ -438,32 +453,86 @@ public class SimmController {
         }
     }
     
+    /**
+     * Calculate SIMM directly from a portfolio's trades without reading CRIF back
+     * from the database. Generated sensitivities are only stored when persistCrif is set.
+     */
+    @PostMapping("/calculate/from-trades")
+    public ResponseEntity<?> calculateFromTrades(
+            @RequestParam("portfolioId") String portfolioId,
+            @RequestParam(value = "valuationDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valuationDate,
+            @RequestParam(value = "persistCrif", defaultValue = "false") boolean persistCrif) {
+        
+        try {
+            if (portfolioId == null || portfolioId.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Portfolio ID is required"));
+            }
+            
+            LocalDate calculationDate = valuationDate != null ? valuationDate : LocalDate.now();
+            SimmCalculationService.DirectSimmResult result =
+                simmCalculationService.calculateFromTrades(portfolioId, calculationDate, persistCrif);
+            
+            Map<String, Double> marginByProductClass = new HashMap<>();
+            result.aggregation().imByProductClass()
+                .forEach((productClass, im) -> marginByProductClass.put(productClass, im.doubleValue()));
+            
+            Map<String, Double> marginByRiskClass = new HashMap<>();
+            for (SimmCalculationResult bucketResult : result.aggregation().detailedResults()) {
+                marginByRiskClass.merge(bucketResult.getRiskClass(),
+                                        bucketResult.getMarginComponentUsd().doubleValue(), Double::sum);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("portfolioId", result.portfolioId());
+            response.put("calculationDate", result.valuationDate());
+            response.put("status", SimmCalculation.CalculationStatus.COMPLETED.name());
+            response.put("totalInitialMargin", result.aggregation().totalIm().doubleValue());
+            response.put("diversificationBenefit", result.aggregation().diversificationBenefit().doubleValue());
+            response.put("marginByProductClass", marginByProductClass);
+            response.put("marginByRiskClass", marginByRiskClass);
+            response.put("tradeCount", result.tradeCount());
+            response.put("failedTrades", result.failedTrades());
+            response.put("sensitivityCount", result.sensitivityCount());
+            response.put("calculationTimeMs", result.calculationTimeMs());
+            response.put("persisted", result.calculation() != null);
+            if (result.calculation() != null) {
+                response.put("calculationId", result.calculation().getCalculationId());
+                response.put("uploadId", result.calculation().getUpload().getUploadId());
+            }
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (RuntimeException e) {
+            logger.error("Direct SIMM calculation failed for portfolio {}: {}", portfolioId, e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Direct SIMM calculation failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Calculation failed: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get SIMM calculations for a portfolio
      */
     @GetMapping("/portfolio/{portfolioId}/calculations")
-    public ResponseEntity<?> getCalculationsForPortfolio(@PathVariable String portfolioId) {
+    public ResponseEntity<?> getCalculationsForPortfolio(
+            @PathVariable String portfolioId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
         try {
-            logger.info("Getting SIMM calculations for portfolio: {}", portfolioId);
-            
-            List<SimmCalculation> calculations;
-            
-            if ("ALL".equals(portfolioId)) {
-                // Get all calculations, ordered by creation date descending
-                calculations = simmCalculationRepository.findAll();
-                calculations.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-            } else {
-                // Get calculations for specific portfolio
-                calculations = simmCalculationRepository.findAll()
-                    .stream()
-                    .filter(calc -> portfolioId.equals(calc.getPortfolioId()))
-                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                    .toList();
-            }
+            logger.info("Getting SIMM calculations for portfolio: {} (page {}, size {})", portfolioId, page, size);
+            
+            // Indexed, newest-first page of summary rows ("ALL" lists every portfolio)
+            Page<SimmCalculationRepository.CalculationSummary> calculations =
+                simmCalculationService.getCalculationSummaries(portfolioId,
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
             
             // Convert to response format
             List<Map<String, Object>> response = new ArrayList<>();
-            for (SimmCalculation calc : calculations) {
+            for (SimmCalculationRepository.CalculationSummary calc : calculations) {
                 Map<String, Object> calcMap = new HashMap<>();
                 calcMap.put("calculationId", calc.getCalculationId());
                 calcMap.put("portfolioId", calc.getPortfolioId());
@@ -474,8 +543,11 @@ public class SimmController {
                 response.add(calcMap);
             }
             
-            logger.info("Found {} calculations for portfolio: {}", response.size(), portfolioId);
-            return ResponseEntity.ok(response);
+            logger.info("Found {} of {} calculations for portfolio: {}",
+                       response.size(), calculations.getTotalElements(), portfolioId);
+            return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(calculations.getTotalElements()))
+                .body(response);
             
         } catch (Exception e) {
             logger.error("Failed to get calculations for portfolio: " + portfolioId, e);
@@ -488,7 +560,10 @@ public class SimmController {
      * Get calculation results for a specific calculation
      */
     @GetMapping("/calculation/{calculationId}/results")
-    public ResponseEntity<?> getCalculationResults(@PathVariable String calculationId) {
+    public ResponseEntity<?> getCalculationResults(
+            @PathVariable String calculationId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
         try {
             logger.info("Getting results for calculation: {}", calculationId);
             
@@ -498,13 +573,24 @@ public class SimmController {
             if (calculationOpt.isPresent()) {
                 SimmCalculation calculation = calculationOpt.get();
                 
-                // Get detailed results from the calculation service
-                List<SimmCalculationResult> detailedResults = simmCalculationService.getCalculationResults(calculation);
+                // Get detailed results from the calculation service, one page at a time when requested
+                List<SimmCalculationResult> detailedResults;
+                long totalResults;
+                if (size != null) {
+                    Page<SimmCalculationResult> resultPage = simmCalculationService.getCalculationResults(calculation,
+                        PageRequest.of(page != null ? Math.max(page, 0) : 0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+                    detailedResults = resultPage.getContent();
+                    totalResults = resultPage.getTotalElements();
+                } else {
+                    detailedResults = simmCalculationService.getCalculationResults(calculation);
+                    totalResults = detailedResults.size();
+                }
                 
                 if (!detailedResults.isEmpty()) {
                     // Convert detailed results to response format
                     List<Map<String, Object>> results = new ArrayList<>();
-                    int resultId = 1;
+                    int resultId = size != null && page != null
+                        ? Math.max(page, 0) * Math.min(Math.max(size, 1), MAX_PAGE_SIZE) + 1 : 1;
                     
                     for (SimmCalculationResult result : detailedResults) {
                         Map<String, Object> resultMap = new HashMap<>();
@@ -522,7 +608,9 @@ public class SimmController {
                     }
                     
                     logger.info("Retrieved {} detailed results for calculation: {}", results.size(), calculationId);
-                    return ResponseEntity.ok(results);
+                    return ResponseEntity.ok()
+                        .header(TOTAL_COUNT_HEADER, String.valueOf(totalResults))
+                        .body(results);
                 }
             }
             
@@ -579,6 +667,29 @@ public class SimmController {
         }
     }
     
+    /**
+     * Archive results of calculations older than the retention window (or the given number of days)
+     */
+    @PostMapping("/results/archive")
+    public ResponseEntity<?> archiveCalculationResults(@RequestParam(required = false) Integer olderThanDays) {
+        try {
+            SimmResultRetentionService.ArchivalSummary summary = olderThanDays != null
+                ? simmResultRetentionService.archiveResultsCreatedBefore(LocalDateTime.now().minusDays(olderThanDays))
+                : simmResultRetentionService.archiveExpiredResults();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("cutoff", summary.cutoff());
+            response.put("calculations", summary.calculations());
+            response.put("resultsArchived", summary.resultsArchived());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("SIMM result archival failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Archival failed: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Map risk class to product class for display purposes
      */
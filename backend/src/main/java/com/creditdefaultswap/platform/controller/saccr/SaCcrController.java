@@ -3,6 +3,7 @@ package com.creditdefaultswap.platform.controller.saccr;
 import com.creditdefaultswap.platform.model.saccr.NettingSet;
 import com.creditdefaultswap.platform.model.saccr.SaCcrCalculation;
 import com.creditdefaultswap.platform.model.saccr.SaCcrSupervisoryParameter;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
 import com.creditdefaultswap.platform.service.saccr.SaCcrCalculationService;
 import com.creditdefaultswap.platform.service.saccr.SaCcrJurisdictionService;
 import com.creditdefaultswap.platform.repository.saccr.NettingSetRepository;
@@ -47,6 +48,9 @@ public class SaCcrController {
     @Autowired
     private SaCcrJurisdictionService jurisdictionService;
     
+    @Autowired
+    private DashboardAggregateService dashboardAggregates;
+    
     // ========== Calculation Endpoints ==========
     
     /**
@@ -102,6 +106,7 @@ public class SaCcrController {
             
             // Save the calculation to database
             SaCcrCalculation savedCalculation = calculationRepository.save(calculation);
+            dashboardAggregates.refreshSaCcr(valuationDate);
             
             return ResponseEntity.ok(Map.of(
                 "status", "SUCCESS",
@@ -36,6 +36,7 @@ public class BondPricingResponse {
         private Double spreadDv01;
         private Double jtd;
         private Double modifiedDuration;
+        private Double convexity;
         
         public Double getIrDv01() {
             return irDv01;
@@ -68,6 +69,14 @@ public class BondPricingResponse {
         public void setModifiedDuration(Double modifiedDuration) {
             this.modifiedDuration = modifiedDuration;
         }
+        
+        public Double getConvexity() {
+            return convexity;
+        }
+        
+        public void setConvexity(Double convexity) {
+            this.convexity = convexity;
+        }
     }
     
     public static class Inputs {
@@ -0,0 +1,69 @@
+package com.creditdefaultswap.platform.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A committed chunk of an accrual batch run: every active trade with an ID in
+ * [firstTradeId, lastTradeId] has its accruals posted for the run's date range.
+ */
+@Entity
+@Table(name = "accrual_batch_checkpoints",
+       indexes = @Index(name = "idx_accrual_batch_checkpoints_run", columnList = "run_id"))
+public class AccrualBatchCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "first_trade_id", nullable = false)
+    private Long firstTradeId;
+
+    @Column(name = "last_trade_id", nullable = false)
+    private Long lastTradeId;
+
+    @Column(name = "trade_count", nullable = false)
+    private Integer tradeCount;
+
+    @Column(name = "events_posted", nullable = false)
+    private Integer eventsPosted;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt = LocalDateTime.now();
+
+    // Constructors
+    public AccrualBatchCheckpoint() {}
+
+    public AccrualBatchCheckpoint(Long runId, Long firstTradeId, Long lastTradeId, Integer tradeCount, Integer eventsPosted) {
+        this.runId = runId;
+        this.firstTradeId = firstTradeId;
+        this.lastTradeId = lastTradeId;
+        this.tradeCount = tradeCount;
+        this.eventsPosted = eventsPosted;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public Long getFirstTradeId() { return firstTradeId; }
+    public void setFirstTradeId(Long firstTradeId) { this.firstTradeId = firstTradeId; }
+
+    public Long getLastTradeId() { return lastTradeId; }
+    public void setLastTradeId(Long lastTradeId) { this.lastTradeId = lastTradeId; }
+
+    public Integer getTradeCount() { return tradeCount; }
+    public void setTradeCount(Integer tradeCount) { this.tradeCount = tradeCount; }
+
+    public Integer getEventsPosted() { return eventsPosted; }
+    public void setEventsPosted(Integer eventsPosted) { this.eventsPosted = eventsPosted; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
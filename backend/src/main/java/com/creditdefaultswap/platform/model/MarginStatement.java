@@ -41,9 +41,6 @@ public class MarginStatement {
     @Column(name = "file_size")
     private Long fileSize;
     
-    @Column(name = "raw_content", columnDefinition = "TEXT")
-    private String rawContent;
-    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, columnDefinition = "VARCHAR")
     private StatementStatus status = StatementStatus.PENDING;
@@ -176,14 +173,6 @@ public class MarginStatement {
         this.fileSize = fileSize;
     }
     
-    public String getRawContent() {
-        return rawContent;
-    }
-    
-    public void setRawContent(String rawContent) {
-        this.rawContent = rawContent;
-    }
-    
     public StatementStatus getStatus() {
         return status;
     }
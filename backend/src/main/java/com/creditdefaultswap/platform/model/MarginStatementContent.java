@@ -0,0 +1,85 @@
+package com.creditdefaultswap.platform.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Uploaded file of a margin statement, kept apart from the statement row so that statement
+ * listings and summaries never read it. Loaded only when a statement is parsed.
+ */
+@Entity
+@Table(name = "margin_statement_contents",
+       indexes = @Index(name = "idx_margin_statement_contents_hash", columnList = "content_hash"))
+public class MarginStatementContent {
+    
+    public static final int MAX_STORED_BYTES = 50 * 1024 * 1024;
+    
+    @Id
+    @Column(name = "statement_id")
+    private Long statementId;
+    
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "compression", nullable = false, length = 10)
+    private Compression compression;
+    
+    @Column(name = "original_size", nullable = false)
+    private Long originalSize;
+    
+    @Column(name = "stored_size", nullable = false)
+    private Long storedSize;
+    
+    @Column(name = "content", nullable = false, length = MAX_STORED_BYTES)
+    private byte[] content;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    public enum Compression {
+        NONE, GZIP
+    }
+    
+    // Constructors
+    public MarginStatementContent() {}
+    
+    public MarginStatementContent(Long statementId, String contentHash, Compression compression,
+                                  long originalSize, byte[] content) {
+        this.statementId = statementId;
+        this.contentHash = contentHash;
+        this.compression = compression;
+        this.originalSize = originalSize;
+        this.storedSize = (long) content.length;
+        this.content = content;
+    }
+    
+    // Getters and Setters
+    public Long getStatementId() {
+        return statementId;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public Compression getCompression() {
+        return compression;
+    }
+    
+    public Long getOriginalSize() {
+        return originalSize;
+    }
+    
+    public Long getStoredSize() {
+        return storedSize;
+    }
+    
+    public byte[] getContent() {
+        return content;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.creditdefaultswap.platform.model.dashboard;
+
+import com.creditdefaultswap.platform.model.MarginStatement;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Statement count and VM/IM totals of the margin statements of one date, CCP and status.
+ * Maintained by DashboardAggregateService; never written through JPA.
+ */
+@Entity
+@Table(name = "dashboard_margin_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_margin_daily",
+                                             columnNames = {"statement_date", "ccp_name", "status"}),
+       indexes = @Index(name = "idx_dashboard_margin_daily_status", columnList = "status"))
+public class DashboardMarginAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "statement_date", nullable = false)
+    private LocalDate statementDate;
+    
+    @Column(name = "ccp_name", nullable = false, length = 50)
+    private String ccpName;
+    
+    @Column(name = "status", nullable = false, length = 50)
+    private MarginStatement.StatementStatus status;
+    
+    @Column(name = "statement_count", nullable = false)
+    private Long statementCount;
+    
+    @Column(name = "variation_margin", nullable = false, precision = 20, scale = 2)
+    private BigDecimal variationMargin;
+    
+    @Column(name = "initial_margin", nullable = false, precision = 20, scale = 2)
+    private BigDecimal initialMargin;
+    
+    @Column(name = "last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+    
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getStatementDate() {
+        return statementDate;
+    }
+    
+    public String getCcpName() {
+        return ccpName;
+    }
+    
+    public MarginStatement.StatementStatus getStatus() {
+        return status;
+    }
+    
+    public Long getStatementCount() {
+        return statementCount;
+    }
+    
+    public BigDecimal getVariationMargin() {
+        return variationMargin;
+    }
+    
+    public BigDecimal getInitialMargin() {
+        return initialMargin;
+    }
+    
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+    
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
@@ -0,0 +1,103 @@
+package com.creditdefaultswap.platform.model.dashboard;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Latest SA-CCR calculation of one netting set on one calculation date, with the number of
+ * calculations run for it. Maintained by DashboardAggregateService; never written through JPA.
+ */
+@Entity
+@Table(name = "dashboard_saccr_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_saccr_daily",
+                                             columnNames = {"calculation_date", "netting_set_id"}))
+public class DashboardSaCcrAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "calculation_date", nullable = false)
+    private LocalDate calculationDate;
+    
+    @Column(name = "netting_set_id", nullable = false, length = 100)
+    private String nettingSetId;
+    
+    @Column(name = "jurisdiction", nullable = false, length = 10)
+    private String jurisdiction;
+    
+    @Column(name = "calculation_count", nullable = false)
+    private Long calculationCount;
+    
+    @Column(name = "exposure_at_default", nullable = false, precision = 20, scale = 8)
+    private BigDecimal exposureAtDefault;
+    
+    @Column(name = "replacement_cost", nullable = false, precision = 20, scale = 8)
+    private BigDecimal replacementCost;
+    
+    @Column(name = "potential_future_exposure", nullable = false, precision = 20, scale = 8)
+    private BigDecimal potentialFutureExposure;
+    
+    @Column(name = "alpha_factor", nullable = false, precision = 5, scale = 3)
+    private BigDecimal alphaFactor;
+    
+    @Column(name = "effective_notional", nullable = false, precision = 20, scale = 8)
+    private BigDecimal effectiveNotional;
+    
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+    
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getCalculationDate() {
+        return calculationDate;
+    }
+    
+    public String getNettingSetId() {
+        return nettingSetId;
+    }
+    
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+    
+    public Long getCalculationCount() {
+        return calculationCount;
+    }
+    
+    public BigDecimal getExposureAtDefault() {
+        return exposureAtDefault;
+    }
+    
+    public BigDecimal getReplacementCost() {
+        return replacementCost;
+    }
+    
+    public BigDecimal getPotentialFutureExposure() {
+        return potentialFutureExposure;
+    }
+    
+    public BigDecimal getAlphaFactor() {
+        return alphaFactor;
+    }
+    
+    public BigDecimal getEffectiveNotional() {
+        return effectiveNotional;
+    }
+    
+    public LocalDateTime getCalculatedAt() {
+        return calculatedAt;
+    }
+    
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
@@ -0,0 +1,98 @@
+package com.creditdefaultswap.platform.model.simm;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a SIMM calculation result moved out of the live results table by the retention job
+ */
+@Entity
+@Table(name = "simm_calculation_results_archive",
+       indexes = @Index(name = "idx_simm_calculation_results_archive_calculation", columnList = "calculation_id"))
+public class SimmCalculationResultArchive {
+    
+    @Id
+    private Long id; // original simm_calculation_results id
+    
+    @Column(name = "calculation_id", nullable = false)
+    private Long calculationId;
+    
+    @Column(name = "risk_class", nullable = false, length = 20)
+    private String riskClass;
+    
+    @Column(name = "bucket", length = 10)
+    private String bucket;
+    
+    @Column(name = "weighted_sensitivity", precision = 20, scale = 8)
+    private BigDecimal weightedSensitivity;
+    
+    @Column(name = "correlation_adjustment", precision = 20, scale = 8)
+    private BigDecimal correlationAdjustment;
+    
+    @Column(name = "margin_component", precision = 20, scale = 8)
+    private BigDecimal marginComponent;
+    
+    @Column(name = "margin_component_usd", precision = 20, scale = 8)
+    private BigDecimal marginComponentUsd;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt = LocalDateTime.now();
+    
+    // Constructors
+    public SimmCalculationResultArchive() {}
+    
+    /**
+     * Rehydrate the archived row as a detached result attached to its calculation
+     */
+    public SimmCalculationResult toResult(SimmCalculation calculation) {
+        SimmCalculationResult result = new SimmCalculationResult(riskClass, bucket, marginComponent);
+        result.setId(id);
+        result.setCalculation(calculation);
+        result.setWeightedSensitivity(weightedSensitivity);
+        result.setCorrelationAdjustment(correlationAdjustment);
+        result.setMarginComponentUsd(marginComponentUsd);
+        result.setCreatedAt(createdAt);
+        return result;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getCalculationId() { return calculationId; }
+    public void setCalculationId(Long calculationId) { this.calculationId = calculationId; }
+    
+    public String getRiskClass() { return riskClass; }
+    public void setRiskClass(String riskClass) { this.riskClass = riskClass; }
+    
+    public String getBucket() { return bucket; }
+    public void setBucket(String bucket) { this.bucket = bucket; }
+    
+    public BigDecimal getWeightedSensitivity() { return weightedSensitivity; }
+    public void setWeightedSensitivity(BigDecimal weightedSensitivity) { 
+        this.weightedSensitivity = weightedSensitivity; 
+    }
+    
+    public BigDecimal getCorrelationAdjustment() { return correlationAdjustment; }
+    public void setCorrelationAdjustment(BigDecimal correlationAdjustment) { 
+        this.correlationAdjustment = correlationAdjustment; 
+    }
+    
+    public BigDecimal getMarginComponent() { return marginComponent; }
+    public void setMarginComponent(BigDecimal marginComponent) { this.marginComponent = marginComponent; }
+    
+    public BigDecimal getMarginComponentUsd() { return marginComponentUsd; }
+    public void setMarginComponentUsd(BigDecimal marginComponentUsd) { 
+        this.marginComponentUsd = marginComponentUsd; 
+    }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -0,0 +1,13 @@
+package com.creditdefaultswap.platform.repository;
+
+import com.creditdefaultswap.platform.model.AccrualBatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccrualBatchCheckpointRepository extends JpaRepository<AccrualBatchCheckpoint, Long> {
+    
+    List<AccrualBatchCheckpoint> findByRunIdOrderByFirstTradeId(Long runId);
+}
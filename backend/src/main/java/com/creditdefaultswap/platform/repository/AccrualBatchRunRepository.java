@@ -0,0 +1,19 @@
+package com.creditdefaultswap.platform.repository;
+
+import com.creditdefaultswap.platform.model.AccrualBatchRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccrualBatchRunRepository extends JpaRepository<AccrualBatchRun, Long> {
+    
+    Optional<AccrualBatchRun> findFirstByStartDateAndEndDateAndStatusInOrderByIdDesc(
+            LocalDate startDate, LocalDate endDate, Collection<AccrualBatchRun.Status> statuses);
+    
+    List<AccrualBatchRun> findTop20ByOrderByIdDesc();
+}
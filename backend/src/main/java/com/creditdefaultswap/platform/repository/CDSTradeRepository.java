@@ -2,10 +2,19 @@ package com.creditdefaultswap.platform.repository;
 
 import com.creditdefaultswap.platform.model.CDSTrade;
 import com.creditdefaultswap.platform.model.TradeStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CDSTradeRepository extends JpaRepository<CDSTrade, Long> {
@@ -18,6 +27,8 @@ public interface CDSTradeRepository extends JpaRepository<CDSTrade, Long> {
     
     List<CDSTrade> findByCounterpartyAndTradeStatus(String counterparty, TradeStatus tradeStatus);
     
+    long countByReferenceEntityAndTradeStatus(String referenceEntity, TradeStatus tradeStatus);
+    
     List<CDSTrade> findAllByOrderByCreatedAtDesc();
     
     List<CDSTrade> findByOriginalTradeIdOrderByCreatedAtDesc(Long originalTradeId);
@@ -29,4 +40,42 @@ public interface CDSTradeRepository extends JpaRepository<CDSTrade, Long> {
     List<CDSTrade> findByNettingSetIdOrderByCreatedAtDesc(String nettingSetId);
     
     List<CDSTrade> findByNettingSetIdAndTradeStatus(String nettingSetId, TradeStatus tradeStatus);
-}
\ No newline at end of file
+    
+    /**
+     * Stream trades whose netting set belongs to a portfolio (netting set ID prefix).
+     * The prefix is compared literally, so '_' and '%' in IDs are not wildcards.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    default Stream<CDSTrade> streamByPortfolioAndTradeStatus(String portfolioId, TradeStatus status) {
+        String pattern = portfolioId.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return streamByNettingSetPatternAndTradeStatus(pattern, status);
+    }
+    
+    /**
+     * Stream trades whose netting set matches a LIKE pattern escaped with '\'; a prefix pattern
+     * can use the V55 netting set prefix index
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM CDSTrade t WHERE t.nettingSetId LIKE :pattern ESCAPE '\\' " +
+           "AND t.tradeStatus = :status ORDER BY t.id")
+    Stream<CDSTrade> streamByNettingSetPatternAndTradeStatus(@Param("pattern") String pattern,
+                                                             @Param("status") TradeStatus status);
+    
+    /**
+     * All trades in a status that belong to a netting set, with their obligation fetched in the same query
+     */
+    @Query("SELECT t FROM CDSTrade t LEFT JOIN FETCH t.obligation " +
+           "WHERE t.nettingSetId IS NOT NULL AND t.tradeStatus = :status ORDER BY t.nettingSetId, t.id")
+    List<CDSTrade> findNettedTradesByTradeStatus(@Param("status") TradeStatus status);
+    
+    /**
+     * Average quoted spread in bps of trades in a status, per reference entity, as {referenceEntity, avgSpread}
+     */
+    @Query("SELECT t.referenceEntity, AVG(t.spread) FROM CDSTrade t " +
+           "WHERE t.referenceEntity IN :entities AND t.tradeStatus = :status GROUP BY t.referenceEntity")
+    List<Object[]> averageSpreadByReferenceEntity(@Param("entities") Collection<String> entities,
+                                                  @Param("status") TradeStatus status);
+}
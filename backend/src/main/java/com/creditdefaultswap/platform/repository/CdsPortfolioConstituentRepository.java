@@ -20,6 +20,9 @@ public interface CdsPortfolioConstituentRepository extends JpaRepository<CdsPort
     @Query("SELECT c FROM CdsPortfolioConstituent c WHERE c.portfolio.id = ?1 AND c.trade.id = ?2")
     Optional<CdsPortfolioConstituent> findByPortfolioIdAndTradeId(Long portfolioId, Long tradeId);
     
+    @Query("SELECT c.trade.id FROM CdsPortfolioConstituent c WHERE c.portfolio.id = ?1 AND c.active = true")
+    List<Long> findActiveTradeIdsByPortfolioId(Long portfolioId);
+    
     @Query("SELECT COUNT(c) FROM CdsPortfolioConstituent c WHERE c.portfolio.id = ?1 AND c.active = true")
     long countActiveByPortfolioId(Long portfolioId);
 }
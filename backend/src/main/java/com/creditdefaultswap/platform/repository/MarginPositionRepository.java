@@ -17,6 +17,13 @@ public interface MarginPositionRepository extends JpaRepository<MarginPosition,
      */
     List<MarginPosition> findByStatementId(Long statementId);
     
+    /**
+     * Number of positions of each of the given statements
+     */
+    @Query("SELECT mp.statement.id AS statementId, COUNT(mp) AS count FROM MarginPosition mp " +
+           "WHERE mp.statement.id IN :statementIds GROUP BY mp.statement.id")
+    List<StatementPositionCount> countByStatementIds(@Param("statementIds") List<Long> statementIds);
+    
     /**
      * Find positions by account and date range
      */
@@ -59,4 +66,9 @@ public interface MarginPositionRepository extends JpaRepository<MarginPosition,
             @Param("positionType") MarginPosition.PositionType positionType,
             @Param("currency") String currency,
             @Param("effectiveDate") LocalDate effectiveDate);
-}
\ No newline at end of file
+    
+    interface StatementPositionCount {
+        Long getStatementId();
+        long getCount();
+    }
+}
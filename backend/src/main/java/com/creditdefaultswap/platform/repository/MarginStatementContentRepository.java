@@ -0,0 +1,26 @@
+package com.creditdefaultswap.platform.repository;
+
+import com.creditdefaultswap.platform.model.MarginStatementContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MarginStatementContentRepository extends JpaRepository<MarginStatementContent, Long> {
+    
+    /**
+     * Statements whose uploaded file has the given SHA-256
+     */
+    List<ContentInfo> findByContentHash(String contentHash);
+    
+    /**
+     * Content metadata without the stored bytes
+     */
+    interface ContentInfo {
+        Long getStatementId();
+        String getContentHash();
+        Long getOriginalSize();
+        Long getStoredSize();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +59,13 @@ public interface MarginStatementRepository extends JpaRepository<MarginStatement
     @Query("SELECT ms FROM MarginStatement ms WHERE ms.status IN ('PENDING', 'RETRYING') ORDER BY ms.createdAt ASC")
     List<MarginStatement> findStatementsForProcessing();
     
+    /**
+     * Find statements left PROCESSING since before the given time, e.g. by a worker lost in a restart
+     */
+    @Query("SELECT ms FROM MarginStatement ms WHERE ms.status = 'PROCESSING' " +
+           "AND ms.updatedAt < :stalledBefore ORDER BY ms.createdAt ASC")
+    List<MarginStatement> findStalledProcessingStatements(@Param("stalledBefore") LocalDateTime stalledBefore);
+    
     /**
      * Count statements by CCP and status
      */
@@ -89,4 +97,34 @@ public interface MarginStatementRepository extends JpaRepository<MarginStatement
             @Param("memberFirm") String memberFirm, 
             @Param("accountNumber") String accountNumber, 
             @Param("statementDate") LocalDate statementDate);
-}
\ No newline at end of file
+    
+    /**
+     * Status of one statement for polling, without loading the raw content
+     */
+    Optional<StatementStatusView> findStatusById(Long id);
+    
+    /**
+     * Number of statements in each status
+     */
+    @Query("SELECT ms.status AS status, COUNT(ms) AS count FROM MarginStatement ms GROUP BY ms.status")
+    List<StatusCount> countGroupedByStatus();
+    
+    /**
+     * Lightweight processing status view
+     */
+    interface StatementStatusView {
+        Long getId();
+        String getStatementId();
+        String getCcpName();
+        MarginStatement.StatementStatus getStatus();
+        String getErrorMessage();
+        Integer getRetryCount();
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getProcessedAt();
+    }
+    
+    interface StatusCount {
+        MarginStatement.StatementStatus getStatus();
+        long getCount();
+    }
+}
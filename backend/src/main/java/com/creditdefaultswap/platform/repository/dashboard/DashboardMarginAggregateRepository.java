@@ -0,0 +1,52 @@
+package com.creditdefaultswap.platform.repository.dashboard;
+
+import com.creditdefaultswap.platform.model.MarginStatement;
+import com.creditdefaultswap.platform.model.dashboard.DashboardMarginAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DashboardMarginAggregateRepository extends JpaRepository<DashboardMarginAggregate, Long> {
+    
+    /**
+     * Per-CCP aggregates of one date and status
+     */
+    List<DashboardMarginAggregate> findByStatementDateAndStatus(LocalDate statementDate,
+                                                                MarginStatement.StatementStatus status);
+    
+    /**
+     * Statement counts per status for a statement date range
+     */
+    @Query("SELECT a.status AS status, SUM(a.statementCount) AS count FROM DashboardMarginAggregate a " +
+           "WHERE a.statementDate BETWEEN :startDate AND :endDate GROUP BY a.status")
+    List<StatusCount> sumCountsByStatusBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Statement counts per status over all dates
+     */
+    @Query("SELECT a.status AS status, SUM(a.statementCount) AS count FROM DashboardMarginAggregate a " +
+           "WHERE a.status IN :statuses GROUP BY a.status")
+    List<StatusCount> sumCountsByStatusIn(@Param("statuses") Collection<MarginStatement.StatementStatus> statuses);
+    
+    /**
+     * Latest statement update in a statement date range
+     */
+    @Query("SELECT MAX(a.lastUpdatedAt) FROM DashboardMarginAggregate a " +
+           "WHERE a.statementDate BETWEEN :startDate AND :endDate")
+    Optional<LocalDateTime> findLatestUpdateBetween(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+    
+    interface StatusCount {
+        MarginStatement.StatementStatus getStatus();
+        long getCount();
+    }
+}
@@ -0,0 +1,17 @@
+package com.creditdefaultswap.platform.repository.dashboard;
+
+import com.creditdefaultswap.platform.model.dashboard.DashboardSaCcrAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DashboardSaCcrAggregateRepository extends JpaRepository<DashboardSaCcrAggregate, Long> {
+    
+    /**
+     * Netting set aggregates of one calculation date
+     */
+    List<DashboardSaCcrAggregate> findByCalculationDate(LocalDate calculationDate);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,8 @@ public interface SaCcrCalculationRepository extends JpaRepository<SaCcrCalculati
     
     SaCcrCalculation findByCalculationId(String calculationId);
     
+    List<SaCcrCalculation> findByCalculationIdIn(Collection<String> calculationIds);
+    
     List<SaCcrCalculation> findByNettingSet_IdOrderByCalculationDateDesc(Long nettingSetId);
     
     SaCcrCalculation findTopByNettingSet_IdOrderByCalculationDateDesc(Long nettingSetId);
@@ -2,12 +2,17 @@ package com.creditdefaultswap.platform.repository.simm;
 
 import com.creditdefaultswap.platform.model.simm.SimmCalculation;
 import com.creditdefaultswap.platform.model.simm.CrifUpload;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +63,43 @@ public interface SimmCalculationRepository extends JpaRepository<SimmCalculation
      */
     long countByCalculationStatusAndCalculationDate(
             SimmCalculation.CalculationStatus status, LocalDate calculationDate);
-}
\ No newline at end of file
+    
+    /**
+     * Page calculation summaries for a portfolio, newest first
+     */
+    Page<CalculationSummary> findByPortfolioIdOrderByCreatedAtDesc(String portfolioId, Pageable pageable);
+    
+    /**
+     * Page calculation summaries across all portfolios, newest first
+     */
+    Page<CalculationSummary> findAllProjectedByOrderByCreatedAtDesc(Pageable pageable);
+    
+    /**
+     * Most recent calculations in a status with their parameter set, newest first
+     */
+    @EntityGraph(attributePaths = "parameterSet")
+    List<SimmCalculation> findByCalculationStatusOrderByCreatedAtDesc(
+            SimmCalculation.CalculationStatus status, Pageable pageable);
+    
+    /**
+     * Calculations created before a cutoff that still have live result rows
+     */
+    @Query("SELECT sc.id FROM SimmCalculation sc " +
+           "WHERE sc.createdAt < :cutoff " +
+           "AND EXISTS (SELECT 1 FROM SimmCalculationResult scr WHERE scr.calculation = sc) " +
+           "ORDER BY sc.id")
+    List<Long> findIdsWithResultsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Lightweight calculation listing view without upload, parameter set or result associations
+     */
+    interface CalculationSummary {
+        String getCalculationId();
+        String getPortfolioId();
+        SimmCalculation.CalculationStatus getCalculationStatus();
+        BigDecimal getTotalIm();
+        LocalDate getCalculationDate();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+}
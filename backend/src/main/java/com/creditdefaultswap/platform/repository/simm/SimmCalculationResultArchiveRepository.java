@@ -0,0 +1,29 @@
+package com.creditdefaultswap.platform.repository.simm;
+
+import com.creditdefaultswap.platform.model.simm.SimmCalculationResultArchive;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SimmCalculationResultArchiveRepository extends JpaRepository<SimmCalculationResultArchive, Long> {
+    
+    /**
+     * Find archived results for a calculation
+     */
+    List<SimmCalculationResultArchive> findByCalculationIdOrderById(Long calculationId);
+    
+    /**
+     * One page of archived results for a calculation, in the live table's paging order
+     */
+    Page<SimmCalculationResultArchive> findByCalculationIdOrderByRiskClassAscBucketAscIdAsc(Long calculationId,
+                                                                                        Pageable pageable);
+    
+    /**
+     * Count archived results for a calculation
+     */
+    long countByCalculationId(Long calculationId);
+}
@@ -1,11 +1,15 @@
 package com.creditdefaultswap.platform.repository.simm;
 
 import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -30,4 +34,36 @@ public interface SimmCalculationResultRepository extends JpaRepository<SimmCalcu
            "WHERE scr.calculation.id = :calculationId " +
            "GROUP BY scr.riskClass")
     List<Object[]> getAggregatedResultsByRiskClass(@Param("calculationId") Long calculationId);
-}
\ No newline at end of file
+    
+    /**
+     * Page results for a calculation
+     */
+    @Query(value = "SELECT scr FROM SimmCalculationResult scr WHERE scr.calculation.id = :calculationId " +
+                   "ORDER BY scr.riskClass, scr.bucket, scr.id",
+           countQuery = "SELECT COUNT(scr) FROM SimmCalculationResult scr WHERE scr.calculation.id = :calculationId")
+    Page<SimmCalculationResult> findByCalculationId(@Param("calculationId") Long calculationId, Pageable pageable);
+    
+    /**
+     * Margin per risk class and bucket for a set of calculations, aggregated in the database
+     */
+    @Query("SELECT scr.calculation.id AS calculationId, scr.riskClass AS riskClass, scr.bucket AS bucket, " +
+           "SUM(scr.marginComponentUsd) AS marginUsd, SUM(ABS(scr.weightedSensitivity)) AS absWeightedSensitivity, " +
+           "COUNT(scr) AS resultCount " +
+           "FROM SimmCalculationResult scr " +
+           "WHERE scr.calculation.id IN :calculationIds " +
+           "GROUP BY scr.calculation.id, scr.riskClass, scr.bucket " +
+           "ORDER BY scr.calculation.id, scr.riskClass, scr.bucket")
+    List<BucketMarginView> summarizeBucketsByCalculationIds(@Param("calculationIds") Collection<Long> calculationIds);
+    
+    /**
+     * Aggregated margin for one risk class bucket of a calculation
+     */
+    interface BucketMarginView {
+        Long getCalculationId();
+        String getRiskClass();
+        String getBucket();
+        BigDecimal getMarginUsd();
+        BigDecimal getAbsWeightedSensitivity();
+        Long getResultCount();
+    }
+}
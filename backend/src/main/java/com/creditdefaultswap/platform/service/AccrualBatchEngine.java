@@ -0,0 +1,431 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
+import com.creditdefaultswap.platform.model.AccrualBatchCheckpoint;
+import com.creditdefaultswap.platform.model.AccrualBatchRun;
+import com.creditdefaultswap.platform.model.TradeStatus;
+import com.creditdefaultswap.platform.repository.AccrualBatchCheckpointRepository;
+import com.creditdefaultswap.platform.repository.AccrualBatchRunRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Book-wide end-of-day accrual batch.
+ *
+ * Posts the same accrual events as {@link AccrualService#postAccrualsForPeriod} for every active
+ * trade, but set-based: the active trades are read once, then each chunk of consecutive trade IDs
+ * makes three range queries (coupon periods, the cumulative accrual carried into the range, and
+ * events already posted in the range), computes daily and cumulative accruals in primitive arrays
+ * of cents and writes the new events with one batched insert. Chunks run in parallel on a dedicated
+ * pool and each commits its events together with a checkpoint, so a rerun of a failed run over the
+ * same dates only processes the trades without one.
+ */
+@Service
+@Slf4j
+public class AccrualBatchEngine {
+
+    static final String ACTIVE_TRADES_SQL =
+        "SELECT id, version, spread FROM cds_trades WHERE trade_status = ? ORDER BY id";
+
+    static final String COUPON_PERIODS_SQL =
+        "SELECT id, trade_id, period_start_date, period_end_date, notional_amount FROM coupon_periods " +
+        "WHERE trade_id BETWEEN ? AND ? AND period_start_date <= ? AND period_end_date > ? " +
+        "ORDER BY trade_id, period_start_date";
+
+    // Latest cumulative accrual before the range, per trade and version
+    static final String CARRIED_ACCRUALS_SQL =
+        "SELECT a.trade_id, a.trade_version, a.cumulative_accrual FROM accrual_events a " +
+        "WHERE a.trade_id BETWEEN ? AND ? AND a.accrual_date = (" +
+        "SELECT MAX(b.accrual_date) FROM accrual_events b " +
+        "WHERE b.trade_id = a.trade_id AND b.trade_version = a.trade_version AND b.accrual_date < ?) " +
+        "ORDER BY a.trade_id, a.trade_version, a.posted_at DESC";
+
+    static final String POSTED_ACCRUALS_SQL =
+        "SELECT trade_id, trade_version, accrual_date, cumulative_accrual FROM accrual_events " +
+        "WHERE trade_id BETWEEN ? AND ? AND accrual_date BETWEEN ? AND ?";
+
+    static final String INSERT_SQL =
+        "INSERT INTO accrual_events (trade_id, coupon_period_id, accrual_date, accrual_amount, " +
+        "cumulative_accrual, day_count_fraction, notional_amount, trade_version, posted_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // ACT/360 for one day, rounded as in AccrualService
+    private static final BigDecimal DAY_COUNT_FRACTION =
+        BigDecimal.ONE.divide(new BigDecimal("360"), 8, RoundingMode.HALF_UP);
+
+    @Autowired
+    private AccrualBatchRunRepository runRepository;
+
+    @Autowired
+    private AccrualBatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PlatformMetrics metrics;
+
+    @Value("${accrual.batch.parallelism:0}")
+    private int parallelism;
+
+    @Value("${accrual.batch.chunk-size:500}")
+    private int chunkSize;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void initPool() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        pool = new ForkJoinPool(parallelism);
+        log.info("Accrual batch engine parallelism: {}, chunk size: {}", parallelism, chunkSize);
+    }
+
+    @PreDestroy
+    void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Scheduled entry point for today's accruals; disabled unless accrual.batch.cron is set
+     */
+    @Scheduled(cron = "${accrual.batch.cron:-}")
+    public void runOnSchedule() {
+        LocalDate today = LocalDate.now();
+        runEndOfDay(today, today);
+    }
+
+    /**
+     * Post accruals from startDate to endDate (inclusive) for every active trade, resuming the
+     * latest unfinished run over the same dates if there is one
+     */
+    public synchronized AccrualBatchRun runEndOfDay(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date " + endDate + " is before start date " + startDate);
+        }
+        long startNanos = System.nanoTime();
+
+        AccrualBatchRun run = runRepository.findFirstByStartDateAndEndDateAndStatusInOrderByIdDesc(
+                startDate, endDate, List.of(AccrualBatchRun.Status.RUNNING, AccrualBatchRun.Status.FAILED))
+            .orElseGet(() -> new AccrualBatchRun(startDate, endDate));
+        List<AccrualBatchCheckpoint> completed = run.getId() == null
+            ? List.of() : checkpointRepository.findByRunIdOrderByFirstTradeId(run.getId());
+        if (!completed.isEmpty()) {
+            log.info("Resuming accrual batch run {} for {} to {} after {} committed chunks",
+                     run.getId(), startDate, endDate, completed.size());
+        }
+        run.setStatus(AccrualBatchRun.Status.RUNNING);
+        run.setErrorMessage(null);
+        run = runRepository.save(run);
+
+        ActiveTrades trades = loadActiveTrades(completed);
+        List<int[]> chunks = new ArrayList<>();
+        for (int from = 0; from < trades.size(); from += chunkSize) {
+            chunks.add(new int[] {from, Math.min(from + chunkSize, trades.size())});
+        }
+
+        Long runId = run.getId();
+        List<Callable<Integer>> tasks = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            tasks.add(() -> processChunk(runId, trades, chunk[0], chunk[1], startDate, endDate));
+        }
+
+        long posted = 0;
+        int failed = 0;
+        String firstError = null;
+        try {
+            for (Future<Integer> future : pool.invokeAll(tasks)) {
+                try {
+                    posted += future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    if (firstError == null) {
+                        firstError = e.getCause().getMessage();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = chunks.size();
+            firstError = "Accrual batch interrupted";
+        }
+
+        long runtimeMs = (System.nanoTime() - startNanos) / 1_000_000;
+        run.setTradeCount(completed.stream().mapToInt(AccrualBatchCheckpoint::getTradeCount).sum() + trades.size());
+        run.setChunkCount(completed.size() + chunks.size());
+        run.setFailedChunks(failed);
+        run.setEventsPosted(completed.stream().mapToLong(AccrualBatchCheckpoint::getEventsPosted).sum() + posted);
+        run.setErrorMessage(firstError);
+        run.setStatus(failed == 0 ? AccrualBatchRun.Status.COMPLETED : AccrualBatchRun.Status.FAILED);
+        run.setCompletedAt(LocalDateTime.now());
+        run.setRuntimeMs(runtimeMs);
+        run = runRepository.save(run);
+
+        String outcome = failed == 0 ? PlatformMetrics.OUTCOME_SUCCESS : PlatformMetrics.OUTCOME_FAILURE;
+        metrics.recordDuration(PlatformMetrics.ACCRUAL_BATCH, System.nanoTime() - startNanos, outcome);
+        metrics.recordAmount(PlatformMetrics.ACCRUAL_BATCH_EVENTS, "events", posted);
+        if (failed == 0) {
+            log.info("Accrual batch run {} for {} to {}: {} trades in {} chunks, {} events posted in {} ms",
+                     runId, startDate, endDate, trades.size(), chunks.size(), posted, runtimeMs);
+        } else {
+            log.error("Accrual batch run {} for {} to {}: {} of {} chunks failed, first error: {}",
+                      runId, startDate, endDate, failed, chunks.size(), firstError);
+        }
+        return run;
+    }
+
+    public AccrualBatchRun getRun(Long runId) {
+        return runRepository.findById(runId)
+            .orElseThrow(() -> new IllegalArgumentException("Accrual batch run not found: " + runId));
+    }
+
+    public List<AccrualBatchRun> getRecentRuns() {
+        return runRepository.findTop20ByOrderByIdDesc();
+    }
+
+    /**
+     * Active trades ordered by ID, minus those covered by a committed checkpoint
+     */
+    private ActiveTrades loadActiveTrades(List<AccrualBatchCheckpoint> completed) {
+        ActiveTrades trades = new ActiveTrades();
+        int[] next = {0};
+        jdbcTemplate.query(ACTIVE_TRADES_SQL, rs -> {
+            long id = rs.getLong(1);
+            while (next[0] < completed.size() && completed.get(next[0]).getLastTradeId() < id) {
+                next[0]++;
+            }
+            if (next[0] < completed.size() && completed.get(next[0]).getFirstTradeId() <= id) {
+                return;
+            }
+            trades.add(id, rs.getInt(2), rs.getBigDecimal(3));
+        }, TradeStatus.ACTIVE.name());
+        return trades;
+    }
+
+    /**
+     * Post the accruals of trades [from, to) and commit them with their checkpoint
+     */
+    private int processChunk(Long runId, ActiveTrades trades, int from, int to,
+                             LocalDate startDate, LocalDate endDate) {
+        long firstTradeId = trades.ids[from];
+        long lastTradeId = trades.ids[to - 1];
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        long startDay = startDate.toEpochDay();
+
+        Map<Long, Integer> index = new HashMap<>((to - from) * 2);
+        for (int i = from; i < to; i++) {
+            index.put(trades.ids[i], i - from);
+        }
+
+        Integer posted = new TransactionTemplate(transactionManager).execute(status -> {
+            ChunkPeriods periods = loadPeriods(index, to - from, trades, from, firstTradeId, lastTradeId,
+                                               startDate, endDate);
+
+            // Cumulative accrual carried into the range, in cents, for each trade's current version;
+            // the latest posting wins a tie on the last accrual date, as in AccrualService
+            long[] carried = new long[to - from];
+            boolean[] hasCarried = new boolean[to - from];
+            jdbcTemplate.query(CARRIED_ACCRUALS_SQL, rs -> {
+                Integer t = index.get(rs.getLong(1));
+                if (t != null && !hasCarried[t] && rs.getInt(2) == trades.versions[from + t]) {
+                    carried[t] = toCents(rs.getBigDecimal(3));
+                    hasCarried[t] = true;
+                }
+            }, firstTradeId, lastTradeId, Date.valueOf(startDate));
+
+            // Events a previous attempt already posted; they are kept and their cumulative carried on
+            long[] existing = new long[(to - from) * days];
+            boolean[] hasExisting = new boolean[existing.length];
+            jdbcTemplate.query(POSTED_ACCRUALS_SQL, rs -> {
+                Integer t = index.get(rs.getLong(1));
+                if (t != null && rs.getInt(2) == trades.versions[from + t]) {
+                    int slot = t * days + (int) (rs.getDate(3).toLocalDate().toEpochDay() - startDay);
+                    existing[slot] = toCents(rs.getBigDecimal(4));
+                    hasExisting[slot] = true;
+                }
+            }, firstTradeId, lastTradeId, Date.valueOf(startDate), Date.valueOf(endDate));
+
+            int capacity = (to - from) * days;
+            int[] rowTrade = new int[capacity];
+            int[] rowPeriod = new int[capacity];
+            int[] rowDay = new int[capacity];
+            long[] rowCumulative = new long[capacity];
+            int rows = 0;
+            for (int t = 0; t < to - from; t++) {
+                long cumulative = carried[t];
+                int p = periods.first[t];
+                int last = periods.first[t + 1];
+                for (int d = 0; d < days; d++) {
+                    long day = startDay + d;
+                    while (p < last && periods.endDay[p] <= day) {
+                        p++;
+                    }
+                    if (p == last || periods.startDay[p] > day) {
+                        continue; // no coupon period covers this date
+                    }
+                    if (hasExisting[t * days + d]) {
+                        cumulative = existing[t * days + d];
+                        continue;
+                    }
+                    cumulative += periods.dailyCents[p];
+                    rowTrade[rows] = t;
+                    rowPeriod[rows] = p;
+                    rowDay[rows] = d;
+                    rowCumulative[rows] = cumulative;
+                    rows++;
+                }
+            }
+
+            if (rows > 0) {
+                int count = rows;
+                Timestamp postedAt = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int t = rowTrade[i];
+                        int p = rowPeriod[i];
+                        ps.setLong(1, trades.ids[from + t]);
+                        ps.setLong(2, periods.ids[p]);
+                        ps.setDate(3, Date.valueOf(LocalDate.ofEpochDay(startDay + rowDay[i])));
+                        ps.setBigDecimal(4, BigDecimal.valueOf(periods.dailyCents[p], 2));
+                        ps.setBigDecimal(5, BigDecimal.valueOf(rowCumulative[i], 2));
+                        ps.setBigDecimal(6, DAY_COUNT_FRACTION);
+                        ps.setBigDecimal(7, periods.notionals[p]);
+                        ps.setInt(8, trades.versions[from + t]);
+                        ps.setTimestamp(9, postedAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+            }
+            checkpointRepository.save(new AccrualBatchCheckpoint(runId, firstTradeId, lastTradeId, to - from, rows));
+            return rows;
+        });
+        return posted == null ? 0 : posted;
+    }
+
+    /**
+     * Coupon periods overlapping the range for trades of the chunk, grouped by trade in start order.
+     * The daily accrual of each period is computed once, as notional * spread * ACT/360 in cents.
+     */
+    private ChunkPeriods loadPeriods(Map<Long, Integer> index, int tradeCount, ActiveTrades trades, int from,
+                                     long firstTradeId, long lastTradeId, LocalDate startDate, LocalDate endDate) {
+        List<long[]> rows = new ArrayList<>();
+        List<BigDecimal> notionals = new ArrayList<>();
+        jdbcTemplate.query(COUPON_PERIODS_SQL, rs -> {
+            Integer t = index.get(rs.getLong(2));
+            if (t == null) {
+                return;
+            }
+            BigDecimal notional = rs.getBigDecimal(5);
+            long dailyCents = toCents(notional.multiply(trades.spreads[from + t]).multiply(DAY_COUNT_FRACTION));
+            rows.add(new long[] {t, rs.getLong(1), rs.getDate(3).toLocalDate().toEpochDay(),
+                                 rs.getDate(4).toLocalDate().toEpochDay(), dailyCents});
+            notionals.add(notional);
+        }, firstTradeId, lastTradeId, Date.valueOf(endDate), Date.valueOf(startDate));
+
+        // Rows arrive ordered by trade ID, and chunk indexes follow trade ID order
+        ChunkPeriods periods = new ChunkPeriods(rows.size(), tradeCount);
+        for (int i = 0; i < rows.size(); i++) {
+            long[] row = rows.get(i);
+            periods.ids[i] = row[1];
+            periods.startDay[i] = row[2];
+            periods.endDay[i] = row[3];
+            periods.dailyCents[i] = row[4];
+            periods.notionals[i] = notionals.get(i);
+            periods.first[(int) row[0] + 1]++;
+        }
+        for (int t = 0; t < tradeCount; t++) {
+            periods.first[t + 1] += periods.first[t];
+        }
+        return periods;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Active trades as parallel arrays ordered by ID
+     */
+    private static final class ActiveTrades {
+        long[] ids = new long[1024];
+        int[] versions = new int[1024];
+        BigDecimal[] spreads = new BigDecimal[1024];
+        int size;
+
+        void add(long id, int version, BigDecimal spread) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+                spreads = Arrays.copyOf(spreads, size * 2);
+            }
+            ids[size] = id;
+            versions[size] = version;
+            spreads[size] = spread;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Coupon periods of a chunk; those of trade t are at [first[t], first[t + 1])
+     */
+    private static final class ChunkPeriods {
+        final long[] ids;
+        final long[] startDay;
+        final long[] endDay;
+        final long[] dailyCents;
+        final BigDecimal[] notionals;
+        final int[] first;
+
+        ChunkPeriods(int periodCount, int tradeCount) {
+            ids = new long[periodCount];
+            startDay = new long[periodCount];
+            endDay = new long[periodCount];
+            dailyCents = new long[periodCount];
+            notionals = new BigDecimal[periodCount];
+            first = new int[tradeCount + 1];
+        }
+    }
+}
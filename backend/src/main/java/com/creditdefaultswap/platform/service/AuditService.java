@@ -4,21 +4,33 @@ import com.creditdefaultswap.platform.model.AuditLog;
 import com.creditdefaultswap.platform.repository.AuditLogRepository;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class AuditService {
     
+    private static final String INSERT_SQL =
+        "INSERT INTO cds_audit_log (id, entity_type, entity_id, action, timestamp, actor, summary, correlation_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
     private final AuditLogRepository auditLogRepository;
     
+    private final JdbcTemplate jdbcTemplate;
+    
     @Autowired
-    public AuditService(AuditLogRepository auditLogRepository) {
+    public AuditService(AuditLogRepository auditLogRepository, JdbcTemplate jdbcTemplate) {
         this.auditLogRepository = auditLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
     
     /**
@@ -53,6 +65,35 @@ public class AuditService {
         auditLogRepository.save(auditLog);
     }
     
+    /**
+     * Log many entries under one correlation ID with a single batched insert. Unlike logAudit this
+     * joins the caller's transaction, so the entries commit or roll back with the change they record
+     */
+    public void logAuditBatch(List<AuditLog> entries, UUID correlationId) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditLog entry = entries.get(i);
+                ps.setObject(1, UUID.randomUUID());
+                ps.setString(2, entry.getEntityType().name());
+                ps.setString(3, entry.getEntityId());
+                ps.setString(4, entry.getAction().name());
+                ps.setTimestamp(5, Timestamp.valueOf(entry.getTimestamp()));
+                ps.setString(6, entry.getActor());
+                ps.setString(7, entry.getSummary());
+                ps.setObject(8, correlationId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+    
     /**
      * Log credit event creation
      */
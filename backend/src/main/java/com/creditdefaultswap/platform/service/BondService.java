@@ -4,14 +4,27 @@ import com.creditdefaultswap.platform.dto.BondPricingResponse;
 import com.creditdefaultswap.platform.dto.BondRequest;
 import com.creditdefaultswap.platform.model.Bond;
 import com.creditdefaultswap.platform.repository.BondRepository;
+import com.creditdefaultswap.platform.service.bond.BondCashflows;
 import com.creditdefaultswap.platform.service.bond.BondPricingService;
+import com.creditdefaultswap.platform.service.bond.BondYieldSolver;
+import com.creditdefaultswap.platform.service.bond.DiscountFactorCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for Bond business logic and CRUD operations
@@ -29,6 +42,21 @@ public class BondService {
     @Autowired
     private BondPricingService bondPricingService;
     
+    @Value("${bond.pricing.parallelism:0}")
+    private int pricingParallelism;
+    
+    private ForkJoinPool pricingPool;
+    
+    @PostConstruct
+    void initPricingPool() {
+        pricingPool = new ForkJoinPool(pricingParallelism > 0 ? pricingParallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @PreDestroy
+    void shutdownPricingPool() {
+        pricingPool.shutdown();
+    }
+    
     /**
      * Create a new bond
      */
@@ -86,15 +114,57 @@ public class BondService {
         Bond bond = bondRepository.findById(bondId)
             .orElseThrow(() -> new IllegalArgumentException("Bond not found: " + bondId));
         
+        return price(bond, new DiscountFactorCache(valuationDate, discountRate), hazardRate);
+    }
+    
+    /**
+     * Price several bonds in parallel with the same inputs, in the order requested.
+     * Year fractions and discount factors are shared across the batch.
+     */
+    public List<BondPricingResponse> priceBonds(List<Long> bondIds, LocalDate valuationDate, Double discountRate,
+                                                Double hazardRate) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(bondIds));
+        Map<Long, Bond> bonds = bondRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Bond::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(id -> !bonds.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Bonds not found: " + missing);
+        }
+        
+        DiscountFactorCache cache = new DiscountFactorCache(valuationDate, discountRate);
+        try {
+            return pricingPool.submit(() -> ids.parallelStream()
+                    .map(id -> price(bonds.get(id), cache, hazardRate))
+                    .toList())
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch bond pricing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Batch bond pricing failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Every pricing measure off one set of prepared cashflows
+     */
+    private BondPricingResponse price(Bond bond, DiscountFactorCache cache, Double hazardRate) {
+        LocalDate valuationDate = cache.getValuationDate();
+        double discountRate = cache.getDiscountRate();
+        BondCashflows cashflows = bondPricingService.prepareCashflows(bond, cache);
+        
         BondPricingResponse response = new BondPricingResponse();
-        response.setBondId(bondId);
+        response.setBondId(bond.getId());
         response.setValuationDate(valuationDate);
         
         // Calculate pricing metrics
-        double accrued = bondPricingService.calculateAccruedInterest(bond, valuationDate);
-        double cleanPrice = bondPricingService.calculateCleanPrice(bond, valuationDate, discountRate);
-        double dirtyPrice = bondPricingService.calculateDirtyPrice(bond, valuationDate, discountRate);
-        double pv = bondPricingService.calculatePresentValue(bond, valuationDate, discountRate);
+        double accrued = cashflows.accruedInterest();
+        double cleanPrice = cashflows.cleanPrice(discountRate);
+        double dirtyPrice = cashflows.dirtyPrice(discountRate);
+        double pv = cashflows.presentValue(discountRate);
         
         response.setAccruedInterest(accrued);
         response.setCleanPrice(cleanPrice);
@@ -102,26 +172,28 @@ public class BondService {
         response.setPv(pv);
         
         // Calculate YTM and Z-spread (use dirty price as observed)
-        double ytm = bondPricingService.calculateYieldToMaturity(bond, valuationDate, dirtyPrice, false);
-        double zSpread = bondPricingService.calculateZSpread(bond, valuationDate, dirtyPrice, discountRate, false);
+        BondYieldSolver.Solution yield = bondPricingService.solveYieldToMaturity(cashflows, dirtyPrice, false);
+        double ytm = yield.rate();
+        double zSpread = bondPricingService.calculateZSpread(cashflows, dirtyPrice, discountRate, false);
         
         response.setYieldToMaturity(ytm);
         response.setzSpread(zSpread);
         
         // Risky PV if hazard rate provided
         if (hazardRate != null && hazardRate > 0) {
-            double riskyPv = bondPricingService.calculateRiskyPV(bond, valuationDate, discountRate, hazardRate);
+            double riskyPv = cashflows.riskyPresentValue(discountRate, hazardRate);
             response.setPvRisky(riskyPv);
         }
         
         // Sensitivities
         BondPricingResponse.Sensitivities sensitivities = new BondPricingResponse.Sensitivities();
-        sensitivities.setIrDv01(bondPricingService.calculateIRDV01(bond, valuationDate, discountRate));
-        sensitivities.setModifiedDuration(bondPricingService.calculateModifiedDuration(bond, valuationDate, ytm));
+        sensitivities.setIrDv01(bondPricingService.calculateIRDV01(cashflows, discountRate));
+        sensitivities.setModifiedDuration(yield.modifiedDuration());
+        sensitivities.setConvexity(yield.convexity());
         sensitivities.setJtd(bondPricingService.calculateJTD(bond, valuationDate, pv - bond.getNotional().doubleValue()));
         
         if (hazardRate != null && hazardRate > 0) {
-            sensitivities.setSpreadDv01(bondPricingService.calculateSpreadDV01(bond, valuationDate, discountRate, hazardRate));
+            sensitivities.setSpreadDv01(bondPricingService.calculateSpreadDV01(cashflows, discountRate, hazardRate));
         }
         
         response.setSensitivities(sensitivities);
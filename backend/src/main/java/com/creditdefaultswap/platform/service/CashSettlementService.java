@@ -22,7 +22,10 @@ public class CashSettlementService {
     @Value("${cds.default-recovery-rate:0.40}")
     private String defaultRecoveryRateStr;
     
-    private BigDecimal getDefaultRecoveryRate() {
+    /**
+     * System default recovery rate used when no override is given
+     */
+    public BigDecimal getDefaultRecoveryRate() {
         return new BigDecimal(defaultRecoveryRateStr);
     }
     
@@ -0,0 +1,230 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.repository.CdsPortfolioConstituentRepository;
+import com.creditdefaultswap.platform.repository.CdsPortfolioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk IMM coupon schedule generation for whole books.
+ *
+ * Produces the same periods as {@link CouponScheduleService#generateImmSchedule} for each trade,
+ * skipping trades that already have a schedule. Trade IDs are processed in chunks: each chunk reads
+ * its trades and the IDs already scheduled with one query each, builds every period against one
+ * shared {@link ImmCalendar} and writes them with a single batched insert in its own transaction.
+ */
+@Service
+@Slf4j
+public class CouponScheduleBatchEngine {
+
+    static final String TRADES_SQL =
+        "SELECT id, trade_date, maturity_date, notional_amount, premium_frequency FROM cds_trades " +
+        "WHERE id IN (:ids) ORDER BY id";
+
+    static final String SCHEDULED_SQL =
+        "SELECT DISTINCT trade_id FROM coupon_periods WHERE trade_id IN (:ids)";
+
+    static final String INSERT_SQL =
+        "INSERT INTO coupon_periods (trade_id, period_start_date, period_end_date, payment_date, accrual_days, " +
+        "notional_amount, day_count_convention, business_day_convention, created_at, paid) " +
+        "VALUES (?, ?, ?, ?, ?, ?, 'ACT_360', 'MODIFIED_FOLLOWING', ?, FALSE)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CdsPortfolioRepository portfolioRepository;
+
+    @Autowired
+    private CdsPortfolioConstituentRepository constituentRepository;
+
+    @Value("${coupon-schedule.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Outcome of a bulk run; trades that already had a schedule are left untouched
+     */
+    public record ScheduleBatchResult(int requested, int generated, int alreadyScheduled, List<Long> notFound,
+                                      long periodsCreated, long runtimeMs) {}
+
+    /**
+     * Generate schedules for the active trades of a portfolio
+     */
+    public ScheduleBatchResult generateForPortfolio(Long portfolioId) {
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new IllegalArgumentException("Portfolio not found: " + portfolioId);
+        }
+        return generate(constituentRepository.findActiveTradeIdsByPortfolioId(portfolioId));
+    }
+
+    /**
+     * Generate schedules for the given trades
+     */
+    public ScheduleBatchResult generate(Collection<Long> tradeIds) {
+        long start = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(tradeIds));
+
+        int generated = 0;
+        int alreadyScheduled = 0;
+        long periodsCreated = 0;
+        List<Long> notFound = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            ChunkResult result = transaction.execute(status -> generateChunk(chunk));
+            generated += result.generated;
+            alreadyScheduled += result.alreadyScheduled;
+            periodsCreated += result.periods;
+            notFound.addAll(result.notFound);
+        }
+
+        long runtimeMs = System.currentTimeMillis() - start;
+        log.info("Bulk coupon schedules: {} trades requested, {} generated with {} periods, {} already scheduled, " +
+                 "{} not found in {} ms", ids.size(), generated, periodsCreated, alreadyScheduled, notFound.size(),
+                 runtimeMs);
+        return new ScheduleBatchResult(ids.size(), generated, alreadyScheduled, notFound, periodsCreated, runtimeMs);
+    }
+
+    private ChunkResult generateChunk(List<Long> tradeIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", tradeIds);
+        Set<Long> scheduled = new HashSet<>(jdbcTemplate.queryForList(SCHEDULED_SQL, params, Long.class));
+
+        ChunkResult result = new ChunkResult();
+        List<TradeTerms> trades = new ArrayList<>(tradeIds.size());
+        Set<Long> found = new HashSet<>();
+        jdbcTemplate.query(TRADES_SQL, params, rs -> {
+            long id = rs.getLong(1);
+            found.add(id);
+            if (scheduled.contains(id)) {
+                result.alreadyScheduled++;
+                return;
+            }
+            trades.add(new TradeTerms(id, rs.getDate(2).toLocalDate(), rs.getDate(3).toLocalDate(),
+                                      rs.getBigDecimal(4), rs.getString(5)));
+        });
+        for (Long id : tradeIds) {
+            if (!found.contains(id)) {
+                result.notFound.add(id);
+            }
+        }
+        if (trades.isEmpty()) {
+            return result;
+        }
+
+        LocalDate earliest = LocalDate.MAX;
+        LocalDate latest = LocalDate.MIN;
+        for (TradeTerms trade : trades) {
+            earliest = earliest.isAfter(trade.tradeDate()) ? trade.tradeDate() : earliest;
+            latest = latest.isBefore(trade.maturityDate()) ? trade.maturityDate() : latest;
+        }
+        ImmCalendar calendar = ImmCalendar.covering(earliest, latest.isBefore(earliest) ? earliest : latest);
+
+        PeriodRows rows = new PeriodRows(trades.size() * 24);
+        for (int t = 0; t < trades.size(); t++) {
+            TradeTerms trade = trades.get(t);
+            long periodStart = trade.tradeDate().toEpochDay();
+            long maturity = trade.maturityDate().toEpochDay();
+            int frequency = ImmCalendar.frequency(trade.premiumFrequency());
+            if (periodStart < maturity) {
+                result.generated++;
+            }
+            while (periodStart < maturity) {
+                long periodEnd = Math.min(calendar.nextPaymentDay(periodStart, frequency), maturity);
+                rows.add(t, periodStart, periodEnd, calendar.businessDay(periodEnd));
+                periodStart = periodEnd;
+            }
+        }
+
+        if (rows.size == 0) {
+            return result;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TradeTerms trade = trades.get(rows.trade[i]);
+                ps.setLong(1, trade.id());
+                ps.setDate(2, Date.valueOf(LocalDate.ofEpochDay(rows.start[i])));
+                ps.setDate(3, Date.valueOf(LocalDate.ofEpochDay(rows.end[i])));
+                ps.setDate(4, Date.valueOf(LocalDate.ofEpochDay(rows.payment[i])));
+                ps.setInt(5, (int) (rows.end[i] - rows.start[i]));
+                ps.setBigDecimal(6, trade.notional());
+                ps.setTimestamp(7, createdAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size;
+            }
+        });
+        result.periods = rows.size;
+        return result;
+    }
+
+    private record TradeTerms(long id, LocalDate tradeDate, LocalDate maturityDate, BigDecimal notional,
+                              String premiumFrequency) {}
+
+    private static final class ChunkResult {
+        int generated;
+        int alreadyScheduled;
+        long periods;
+        final List<Long> notFound = new ArrayList<>();
+    }
+
+    /**
+     * Generated periods as parallel arrays of epoch days, indexed by trade position in the chunk
+     */
+    private static final class PeriodRows {
+        int[] trade;
+        long[] start;
+        long[] end;
+        long[] payment;
+        int size;
+
+        PeriodRows(int capacity) {
+            trade = new int[Math.max(capacity, 16)];
+            start = new long[trade.length];
+            end = new long[trade.length];
+            payment = new long[trade.length];
+        }
+
+        void add(int tradeIndex, long periodStart, long periodEnd, long paymentDay) {
+            if (size == trade.length) {
+                trade = Arrays.copyOf(trade, size * 2);
+                start = Arrays.copyOf(start, size * 2);
+                end = Arrays.copyOf(end, size * 2);
+                payment = Arrays.copyOf(payment, size * 2);
+            }
+            trade[size] = tradeIndex;
+            start[size] = periodStart;
+            end[size] = periodEnd;
+            payment[size] = paymentDay;
+            size++;
+        }
+    }
+}
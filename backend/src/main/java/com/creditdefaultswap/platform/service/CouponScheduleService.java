@@ -54,15 +54,19 @@ public class CouponScheduleService {
         String frequency = trade.getPremiumFrequency();
 
         List<CouponPeriod> periods = new ArrayList<>();
+        if (!startDate.isBefore(maturityDate)) {
+            return periods;
+        }
+        ImmCalendar calendar = ImmCalendar.covering(startDate, maturityDate);
         LocalDate periodStart = startDate;
 
         while (periodStart.isBefore(maturityDate)) {
-            LocalDate periodEnd = findNextPaymentDate(periodStart, frequency);
+            LocalDate periodEnd = calendar.nextPaymentDate(periodStart, frequency);
             if (periodEnd.isAfter(maturityDate)) {
                 periodEnd = maturityDate;
             }
 
-            LocalDate paymentDate = adjustForBusinessDay(periodEnd);
+            LocalDate paymentDate = calendar.businessDay(periodEnd);
             int accrualDays = (int) ChronoUnit.DAYS.between(periodStart, periodEnd);
 
             CouponPeriod period = new CouponPeriod(
@@ -199,159 +203,6 @@ public class CouponScheduleService {
         return couponPeriodRepository.save(period);
     }
 
-    /**
-     * Find the next payment date based on the premium frequency.
-     * For CDS, uses IMM dates (20th of month) for standard frequencies.
-     * 
-     * @param date The current date
-     * @param frequency The premium frequency (QUARTERLY, SEMI_ANNUAL, ANNUAL, MONTHLY)
-     * @return The next payment date
-     */
-    private LocalDate findNextPaymentDate(LocalDate date, String frequency) {
-        if (frequency == null) {
-            frequency = "QUARTERLY"; // Default to quarterly for CDS
-        }
-        
-        switch (frequency.toUpperCase()) {
-            case "MONTHLY":
-                return findNextMonthlyImmDate(date);
-            case "QUARTERLY":
-                return findNextQuarterlyImmDate(date);
-            case "SEMI_ANNUAL":
-                return findNextSemiAnnualImmDate(date);
-            case "ANNUAL":
-                return findNextAnnualImmDate(date);
-            default:
-                return findNextQuarterlyImmDate(date); // Default to quarterly
-        }
-    }
-
-    /**
-     * Find the next monthly IMM date (20th of next month).
-     */
-    private LocalDate findNextMonthlyImmDate(LocalDate date) {
-        int year = date.getYear();
-        int month = date.getMonthValue();
-        
-        LocalDate immDate = LocalDate.of(year, month, 20);
-        
-        if (immDate.isBefore(date) || immDate.equals(date)) {
-            if (month == 12) {
-                immDate = LocalDate.of(year + 1, 1, 20);
-            } else {
-                immDate = LocalDate.of(year, month + 1, 20);
-            }
-        }
-        
-        return immDate;
-    }
-
-    /**
-     * Find the next quarterly IMM date after the given date.
-     * IMM dates are the 20th of March, June, September, and December.
-     */
-    private LocalDate findNextQuarterlyImmDate(LocalDate date) {
-        int year = date.getYear();
-        int month = date.getMonthValue();
-
-        // IMM months: 3, 6, 9, 12
-        int nextImmMonth;
-        if (month < 3 || (month == 3 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 3;
-        } else if (month < 6 || (month == 6 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 6;
-        } else if (month < 9 || (month == 9 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 9;
-        } else if (month < 12 || (month == 12 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 12;
-        } else {
-            nextImmMonth = 3;
-            year++;
-        }
-
-        LocalDate immDate = LocalDate.of(year, nextImmMonth, 20);
-        
-        // If the date is exactly on or past the 20th, move to next quarter
-        if (immDate.isBefore(date) || immDate.equals(date)) {
-            if (nextImmMonth == 12) {
-                immDate = LocalDate.of(year + 1, 3, 20);
-            } else {
-                immDate = LocalDate.of(year, nextImmMonth + 3, 20);
-            }
-        }
-
-        return immDate;
-    }
-    
-    /**
-     * Find the next semi-annual IMM date (20th of Jun/Dec).
-     */
-    private LocalDate findNextSemiAnnualImmDate(LocalDate date) {
-        int year = date.getYear();
-        int month = date.getMonthValue();
-        
-        // Semi-annual IMM months: 6, 12
-        int nextImmMonth;
-        if (month < 6 || (month == 6 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 6;
-        } else if (month < 12 || (month == 12 && date.getDayOfMonth() < 20)) {
-            nextImmMonth = 12;
-        } else {
-            nextImmMonth = 6;
-            year++;
-        }
-        
-        LocalDate immDate = LocalDate.of(year, nextImmMonth, 20);
-        
-        if (immDate.isBefore(date) || immDate.equals(date)) {
-            if (nextImmMonth == 12) {
-                immDate = LocalDate.of(year + 1, 6, 20);
-            } else {
-                immDate = LocalDate.of(year, 12, 20);
-            }
-        }
-        
-        return immDate;
-    }
-    
-    /**
-     * Find the next annual IMM date (20th of December).
-     */
-    private LocalDate findNextAnnualImmDate(LocalDate date) {
-        int year = date.getYear();
-        int month = date.getMonthValue();
-        
-        LocalDate immDate = LocalDate.of(year, 12, 20);
-        
-        // If we're past December 20th, move to next year
-        if (immDate.isBefore(date) || immDate.equals(date)) {
-            immDate = LocalDate.of(year + 1, 12, 20);
-        }
-        
-        return immDate;
-    }
-
-    /**
-     * Find the next IMM date after the given date.
-     * IMM dates are the 20th of March, June, September, and December.
-     * @deprecated Use findNextPaymentDate with frequency parameter instead
-     */
-    @Deprecated
-    private LocalDate findNextImmDate(LocalDate date) {
-        return findNextQuarterlyImmDate(date);
-    }
-
-    /**
-     * Adjust date for business day convention (simplified - no holiday calendar).
-     */
-    private LocalDate adjustForBusinessDay(LocalDate date) {
-        // Modified following convention: if weekend, move to next Monday
-        while (date.getDayOfWeek().getValue() > 5) { // Saturday=6, Sunday=7
-            date = date.plusDays(1);
-        }
-        return date;
-    }
-
     /**
      * Calculate the current accrued premium for a trade.
      * This is the premium that has accrued from the last paid coupon date (or trade start) to today.
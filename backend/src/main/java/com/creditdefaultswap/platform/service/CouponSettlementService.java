@@ -0,0 +1,166 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.model.AuditLog;
+import com.creditdefaultswap.platform.model.CDSTrade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Settles every unpaid coupon due on a payment date for the whole book, a portfolio or a netting
+ * set in one transaction: one query selects the due periods of ACTIVE trades with their trade terms, one UPDATE
+ * marks them paid and one batched insert writes their audit entries under a shared settlement
+ * batch ID. Cash totals are aggregated per currency from the selected periods.
+ */
+@Service
+@Transactional
+@Slf4j
+public class CouponSettlementService {
+
+    public enum Scope {
+        BOOK, PORTFOLIO, NETTING_SET
+    }
+
+    private static final String DUE_SQL =
+        "SELECT cp.id, cp.trade_id, cp.accrual_days, cp.notional_amount, t.spread, t.buy_sell_protection, t.currency " +
+        "FROM coupon_periods cp JOIN cds_trades t ON t.id = cp.trade_id " +
+        "WHERE cp.payment_date = ? AND cp.paid = FALSE AND t.trade_status = 'ACTIVE'";
+
+    private static final String UPDATE_SQL =
+        "UPDATE coupon_periods SET paid = TRUE, paid_at = ? WHERE payment_date = ? AND paid = FALSE " +
+        "AND trade_id IN (SELECT a.id FROM cds_trades a WHERE a.trade_status = 'ACTIVE')";
+
+    // Scope filters on the trade ID column of the query they are appended to
+    private static final String PORTFOLIO_FILTER =
+        " AND %s IN (SELECT c.trade_id FROM cds_portfolio_constituents c WHERE c.portfolio_id = ? AND c.active = TRUE)";
+
+    private static final String NETTING_SET_FILTER =
+        " AND %s IN (SELECT n.id FROM cds_trades n WHERE n.netting_set_id = ?)";
+
+    private static final BigDecimal DAYS_IN_YEAR = new BigDecimal("360");
+    private static final BigDecimal BASIS_POINTS = new BigDecimal("10000");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditService auditService;
+
+    /**
+     * Premium paid and received in one currency; the protection buyer pays the coupon
+     */
+    public record CurrencyTotal(String currency, int periods, BigDecimal premiumPaid, BigDecimal premiumReceived,
+                                BigDecimal netCash) {}
+
+    public record CouponSettlementResult(UUID settlementBatchId, LocalDate paymentDate, Scope scope, String scopeId,
+                                         LocalDateTime paidAt, int periodsSettled, int tradesSettled,
+                                         List<CurrencyTotal> totals) {}
+
+    /**
+     * Mark every unpaid coupon period due on paymentDate within the scope as paid at paidAt
+     *
+     * @param scopeId portfolio ID or netting set ID; ignored for BOOK
+     */
+    public CouponSettlementResult settleCouponsDue(LocalDate paymentDate, Scope scope, String scopeId,
+                                                   LocalDateTime paidAt) {
+        if (paidAt.isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Cannot pay coupons with future timestamp: " + paidAt);
+        }
+        if (paidAt.toLocalDate().isBefore(paymentDate)) {
+            throw new IllegalStateException("Cannot pay coupons due " + paymentDate + " before their payment date (paid at: "
+                + paidAt.toLocalDate() + ")");
+        }
+        if (scope != Scope.BOOK && (scopeId == null || scopeId.isBlank())) {
+            throw new IllegalArgumentException("A " + scope + " settlement needs a scope ID");
+        }
+
+        String dueSql = DUE_SQL;
+        String updateSql = UPDATE_SQL;
+        List<Object> dueArgs = new ArrayList<>(List.of(Date.valueOf(paymentDate)));
+        List<Object> updateArgs = new ArrayList<>(List.of(Timestamp.valueOf(paidAt), Date.valueOf(paymentDate)));
+        if (scope != Scope.BOOK) {
+            String filter = scope == Scope.PORTFOLIO ? PORTFOLIO_FILTER : NETTING_SET_FILTER;
+            Object scopeArg = scope == Scope.PORTFOLIO ? parsePortfolioId(scopeId) : scopeId;
+            dueSql += String.format(filter, "cp.trade_id");
+            updateSql += String.format(filter, "trade_id");
+            dueArgs.add(scopeArg);
+            updateArgs.add(scopeArg);
+        }
+
+        UUID batchId = UUID.randomUUID();
+        String actor = "SYSTEM";
+        List<AuditLog> audit = new ArrayList<>();
+        Set<Long> trades = new HashSet<>();
+        Map<String, BigDecimal[]> byCurrency = new TreeMap<>();
+        Map<String, Integer> periodsByCurrency = new TreeMap<>();
+        jdbcTemplate.query(dueSql, rs -> {
+            long periodId = rs.getLong(1);
+            long tradeId = rs.getLong(2);
+            BigDecimal amount = couponAmount(rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getInt(3));
+            boolean buyer = CDSTrade.ProtectionDirection.BUY.name().equals(rs.getString(6));
+            String currency = rs.getString(7);
+
+            BigDecimal[] totals = byCurrency.computeIfAbsent(currency, c -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            totals[buyer ? 0 : 1] = totals[buyer ? 0 : 1].add(amount);
+            periodsByCurrency.merge(currency, 1, Integer::sum);
+            trades.add(tradeId);
+            audit.add(new AuditLog(AuditLog.EntityType.TRADE, Long.toString(tradeId), AuditLog.AuditAction.UPDATE, actor,
+                String.format("Coupon period %d due %s %s: %s %s (settlement batch %s)",
+                    periodId, paymentDate, buyer ? "paid" : "received", amount, currency, batchId)));
+        }, dueArgs.toArray());
+
+        int updated = jdbcTemplate.update(updateSql, updateArgs.toArray());
+        if (updated != audit.size()) {
+            // Another payment or schedule change touched these periods since they were selected
+            throw new IllegalStateException("Coupons due " + paymentDate + " changed during settlement (selected "
+                + audit.size() + ", updated " + updated + "); retry the settlement");
+        }
+        auditService.logAuditBatch(audit, batchId);
+
+        List<CurrencyTotal> totals = new ArrayList<>(byCurrency.size());
+        byCurrency.forEach((currency, amounts) -> totals.add(new CurrencyTotal(currency,
+            periodsByCurrency.get(currency), amounts[0], amounts[1], amounts[1].subtract(amounts[0]))));
+
+        log.info("Settled {} coupons of {} trades due {} for {} {} as batch {}",
+                 updated, trades.size(), paymentDate, scope, scope == Scope.BOOK ? "" : scopeId, batchId);
+        return new CouponSettlementResult(batchId, paymentDate, scope, scopeId, paidAt, updated, trades.size(), totals);
+    }
+
+    /**
+     * Same arithmetic as CouponPeriod.calculateCouponAmount: spreads above 1 are in basis points
+     */
+    static BigDecimal couponAmount(BigDecimal notional, BigDecimal spread, int accrualDays) {
+        if (notional == null || spread == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        BigDecimal spreadDecimal = spread.compareTo(BigDecimal.ONE) > 0
+            ? spread.divide(BASIS_POINTS, 10, RoundingMode.HALF_UP)
+            : spread;
+        BigDecimal dayCountFactor = new BigDecimal(accrualDays).divide(DAYS_IN_YEAR, 10, RoundingMode.HALF_UP);
+        return notional.multiply(spreadDecimal).multiply(dayCountFactor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Long parsePortfolioId(String scopeId) {
+        try {
+            return Long.valueOf(scopeId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid portfolio ID: " + scopeId);
+        }
+    }
+}
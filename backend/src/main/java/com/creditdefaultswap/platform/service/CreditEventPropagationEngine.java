@@ -0,0 +1,346 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.dto.CreateCreditEventRequest;
+import com.creditdefaultswap.platform.model.AuditLog;
+import com.creditdefaultswap.platform.model.CreditEventType;
+import com.creditdefaultswap.platform.model.SettlementMethod;
+import com.creditdefaultswap.platform.model.TradeStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Set-based propagation of a terminal credit event to every other active trade on a reference entity.
+ *
+ * Writes the same rows as the per-trade path in {@link CreditEventService}: a credit event, a cash
+ * settlement or physical settlement scaffold and a PAYOUT event per trade, the settled trade status
+ * and their audit entries. Trades are taken in chunks of ascending ID; each chunk is read with one
+ * query, has its cash payouts computed in one pass over the notionals in cents and writes each table
+ * with one batched statement in its own transaction. A chunk that fails is rolled back and reported,
+ * as a failed trade is in the per-trade path. Running propagations publish their progress per chunk.
+ */
+@Service
+@Slf4j
+public class CreditEventPropagationEngine {
+
+    static final String COUNT_SQL =
+        "SELECT COUNT(*) FROM cds_trades t WHERE t.reference_entity = ? AND t.trade_status = ? AND t.id <> ? " +
+        "AND NOT EXISTS (SELECT 1 FROM cds_credit_events e " +
+        "WHERE e.trade_id = t.id AND e.event_type = ? AND e.event_date = ?)";
+
+    // Next chunk of trades still to propagate to, flagging those that already have a payout on the date
+    static final String CHUNK_SQL =
+        "SELECT t.id, t.notional_amount, t.settlement_type, EXISTS (SELECT 1 FROM cds_credit_events p " +
+        "WHERE p.trade_id = t.id AND p.event_type = 'PAYOUT' AND p.event_date = ?) " +
+        "FROM cds_trades t WHERE t.reference_entity = ? AND t.trade_status = ? AND t.id <> ? AND t.id > ? " +
+        "AND NOT EXISTS (SELECT 1 FROM cds_credit_events e " +
+        "WHERE e.trade_id = t.id AND e.event_type = ? AND e.event_date = ?) " +
+        "ORDER BY t.id LIMIT ?";
+
+    static final String EVENT_INSERT_SQL =
+        "INSERT INTO cds_credit_events (id, trade_id, event_type, event_date, notice_date, settlement_method, " +
+        "comments, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String CASH_INSERT_SQL =
+        "INSERT INTO cds_cash_settlements (id, credit_event_id, trade_id, notional, recovery_rate, payout_amount, " +
+        "calculated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    static final String PHYSICAL_INSERT_SQL =
+        "INSERT INTO cds_physical_settlement_instructions (id, credit_event_id, trade_id, status, created_at, " +
+        "updated_at) VALUES (?, ?, ?, 'DRAFT', ?, ?)";
+
+    static final String STATUS_UPDATE_SQL =
+        "UPDATE cds_trades SET trade_status = ?, updated_at = ? WHERE id = ? AND trade_status = ?";
+
+    // Loss rates are applied in units of 1/10000, the scale of the recovery rate column
+    private static final int LOSS_RATE_SCALE = 4;
+    private static final long LOSS_RATE_UNIT = 10_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private CashSettlementService cashSettlementService;
+
+    @Value("${credit-event.propagation.chunk-size:500}")
+    private int chunkSize;
+
+    private final Map<UUID, PropagationProgress> running = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of a propagation in flight, replaced after every chunk
+     */
+    public record PropagationProgress(UUID propagationId, String referenceEntity, CreditEventType eventType,
+                                      LocalDate eventDate, int totalTrades, int processedTrades, int propagatedTrades,
+                                      int failedTrades, LocalDateTime startedAt) {}
+
+    public record PropagationResult(UUID propagationId, String referenceEntity, int totalTrades,
+                                    List<Long> propagatedTradeIds, List<Long> failedTradeIds, int cashSettlements,
+                                    int physicalSettlements, int payouts, long runtimeMs) {}
+
+    /**
+     * Propagations currently running on this instance
+     */
+    public List<PropagationProgress> getRunningPropagations() {
+        return new ArrayList<>(running.values());
+    }
+
+    /**
+     * Propagate once the caller's transaction commits, so chunks never outlive a rolled-back origin
+     * event; without a transaction the propagation runs straight away
+     */
+    public void propagateAfterCommit(String referenceEntity, Long originTradeId, CreateCreditEventRequest request,
+                                     Consumer<PropagationResult> onComplete) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onComplete.accept(propagate(referenceEntity, originTradeId, request));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onComplete.accept(propagate(referenceEntity, originTradeId, request));
+            }
+        });
+    }
+
+    /**
+     * Record the requested credit event, its settlement and a payout on every other ACTIVE trade on the
+     * reference entity. Trades that already have the event on that date are left alone.
+     */
+    public PropagationResult propagate(String referenceEntity, Long originTradeId, CreateCreditEventRequest request) {
+        long start = System.currentTimeMillis();
+        UUID propagationId = UUID.randomUUID();
+        String active = TradeStatus.ACTIVE.name();
+        Date eventDate = Date.valueOf(request.getEventDate());
+
+        Integer total = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, referenceEntity, active, originTradeId,
+                                                    request.getEventType().name(), eventDate);
+        PropagationProgress progress = new PropagationProgress(propagationId, referenceEntity, request.getEventType(),
+            request.getEventDate(), total == null ? 0 : total, 0, 0, 0, LocalDateTime.now());
+        running.put(propagationId, progress);
+
+        BigDecimal recoveryRate = cashSettlementService.getDefaultRecoveryRate();
+        // Chunks commit on their own; callers inside a transaction go through propagateAfterCommit
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<Long> propagated = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        int cashSettlements = 0;
+        int physicalSettlements = 0;
+        int payouts = 0;
+        long afterId = Long.MIN_VALUE;
+        try {
+            while (true) {
+                TradeChunk chunk = readChunk(referenceEntity, originTradeId, request, afterId);
+                if (chunk.size == 0) {
+                    break;
+                }
+                afterId = chunk.ids[chunk.size - 1];
+                try {
+                    ChunkWrites writes = transaction.execute(status ->
+                        writeChunk(propagationId, chunk, referenceEntity, originTradeId, request, recoveryRate));
+                    cashSettlements += writes.cash;
+                    physicalSettlements += writes.physical;
+                    payouts += writes.payouts;
+                    for (int i = 0; i < chunk.size; i++) {
+                        propagated.add(chunk.ids[i]);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to propagate {} on {} to trades {}-{}: {}", request.getEventType(),
+                              referenceEntity, chunk.ids[0], afterId, e.getMessage());
+                    for (int i = 0; i < chunk.size; i++) {
+                        failed.add(chunk.ids[i]);
+                    }
+                }
+
+                progress = new PropagationProgress(propagationId, referenceEntity, request.getEventType(),
+                    request.getEventDate(), progress.totalTrades(), propagated.size() + failed.size(),
+                    propagated.size(), failed.size(), progress.startedAt());
+                running.put(propagationId, progress);
+                log.info("Credit event propagation {} on {}: {}/{} trades processed, {} failed", propagationId,
+                         referenceEntity, progress.processedTrades(), progress.totalTrades(), failed.size());
+            }
+        } finally {
+            running.remove(propagationId);
+        }
+
+        long runtimeMs = System.currentTimeMillis() - start;
+        log.info("Propagated {} on {} from trade {} to {} trades ({} failed) in {} ms", request.getEventType(),
+                 referenceEntity, originTradeId, propagated.size(), failed.size(), runtimeMs);
+        return new PropagationResult(propagationId, referenceEntity, progress.totalTrades(), propagated, failed,
+                                     cashSettlements, physicalSettlements, payouts, runtimeMs);
+    }
+
+    private TradeChunk readChunk(String referenceEntity, Long originTradeId, CreateCreditEventRequest request,
+                                 long afterId) {
+        Date eventDate = Date.valueOf(request.getEventDate());
+        TradeChunk chunk = new TradeChunk(chunkSize);
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            int i = chunk.size++;
+            chunk.ids[i] = rs.getLong(1);
+            chunk.notionalCents[i] = rs.getBigDecimal(2).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            chunk.settlementTypes[i] = SettlementMethod.valueOf(rs.getString(3));
+            chunk.hasPayout[i] = rs.getBoolean(4);
+        }, eventDate, referenceEntity, TradeStatus.ACTIVE.name(), originTradeId, afterId,
+           request.getEventType().name(), eventDate, chunkSize);
+        return chunk;
+    }
+
+    private ChunkWrites writeChunk(UUID propagationId, TradeChunk chunk, String referenceEntity, Long originTradeId,
+                                   CreateCreditEventRequest request, BigDecimal recoveryRate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date eventDate = Date.valueOf(request.getEventDate());
+        String comments = "Propagated credit event for reference entity: " + referenceEntity +
+            " (originated from Trade ID: " + originTradeId + ")";
+        boolean cash = request.getSettlementMethod() == SettlementMethod.CASH;
+        long[] payoutCents = cash ? payoutCents(chunk.notionalCents, chunk.size, BigDecimal.ONE.subtract(recoveryRate))
+                                  : null;
+        String recoveryPercent = recoveryRate.multiply(BigDecimal.valueOf(100)).toString();
+
+        List<Object[]> events = new ArrayList<>(chunk.size * 2);
+        List<Object[]> settlements = new ArrayList<>(chunk.size);
+        List<Object[]> statuses = new ArrayList<>(chunk.size);
+        List<AuditLog> audit = new ArrayList<>(chunk.size * 5);
+        ChunkWrites writes = new ChunkWrites();
+        for (int i = 0; i < chunk.size; i++) {
+            long tradeId = chunk.ids[i];
+            String entityId = Long.toString(tradeId);
+
+            UUID eventId = UUID.randomUUID();
+            events.add(new Object[] {eventId, tradeId, request.getEventType().name(), eventDate,
+                Date.valueOf(request.getNoticeDate()), request.getSettlementMethod().name(), comments, now, now});
+            audit.add(new AuditLog(AuditLog.EntityType.CREDIT_EVENT, eventId.toString(), AuditLog.AuditAction.CREATE,
+                "SYSTEM", "Credit event recorded for trade: Propagated to " + referenceEntity));
+            audit.add(transition(entityId, TradeStatus.ACTIVE, TradeStatus.CREDIT_EVENT_RECORDED));
+
+            UUID settlementId = UUID.randomUUID();
+            if (cash) {
+                BigDecimal notional = BigDecimal.valueOf(chunk.notionalCents[i], 2);
+                BigDecimal payout = BigDecimal.valueOf(payoutCents[i], 2);
+                settlements.add(new Object[] {settlementId, eventId, tradeId, notional, recoveryRate, payout, now});
+                audit.add(new AuditLog(AuditLog.EntityType.CASH_SETTLEMENT, settlementId.toString(),
+                    AuditLog.AuditAction.CALCULATE, "SYSTEM", "Cash settlement calculated: " + String.format(
+                        "Notional: %s, Recovery: %s%%, Payout: %s", notional, recoveryPercent, payout)));
+                writes.cash++;
+            } else {
+                settlements.add(new Object[] {settlementId, eventId, tradeId, now, now});
+                audit.add(new AuditLog(AuditLog.EntityType.PHYSICAL_SETTLEMENT, settlementId.toString(),
+                    AuditLog.AuditAction.CREATE, "SYSTEM", "Physical settlement instruction scaffold created"));
+                writes.physical++;
+            }
+
+            TradeStatus finalStatus = TradeStatus.CREDIT_EVENT_RECORDED;
+            if (!chunk.hasPayout[i]) {
+                SettlementMethod payoutMethod = chunk.settlementTypes[i];
+                finalStatus = payoutMethod == SettlementMethod.CASH ? TradeStatus.SETTLED_CASH : TradeStatus.SETTLED_PHYSICAL;
+                UUID payoutId = UUID.randomUUID();
+                events.add(new Object[] {payoutId, tradeId, CreditEventType.PAYOUT.name(), eventDate, eventDate,
+                    payoutMethod.name(), "Automatic payout triggered by credit event - CDS protection paid out", now, now});
+                audit.add(new AuditLog(AuditLog.EntityType.CREDIT_EVENT, payoutId.toString(), AuditLog.AuditAction.CREATE,
+                    "SYSTEM", "Credit event recorded for trade: Automatic payout for " + referenceEntity));
+                audit.add(transition(entityId, TradeStatus.CREDIT_EVENT_RECORDED, finalStatus));
+                writes.payouts++;
+            }
+            statuses.add(new Object[] {finalStatus.name(), now, tradeId, TradeStatus.ACTIVE.name()});
+        }
+
+        jdbcTemplate.batchUpdate(EVENT_INSERT_SQL, events);
+        jdbcTemplate.batchUpdate(cash ? CASH_INSERT_SQL : PHYSICAL_INSERT_SQL, settlements);
+        int[] updated = jdbcTemplate.batchUpdate(STATUS_UPDATE_SQL, statuses);
+        for (int i = 0; i < updated.length; i++) {
+            // SUCCESS_NO_INFO (-2) is a driver that does not report row counts
+            if (updated[i] == 0) {
+                throw new IllegalStateException("Trade " + chunk.ids[i] + " is no longer ACTIVE");
+            }
+        }
+        auditService.logAuditBatch(audit, propagationId);
+        return writes;
+    }
+
+    /**
+     * Cash payouts in cents for a run of notionals in cents: notional x loss rate rounded half up to
+     * the cent, as in {@link CashSettlementService#calculateCashSettlement}
+     */
+    static long[] payoutCents(long[] notionalCents, int count, BigDecimal lossRate) {
+        long[] payouts = new long[count];
+        BigDecimal scaled = lossRate.movePointRight(LOSS_RATE_SCALE);
+        if (scaled.signum() < 0 || scaled.stripTrailingZeros().scale() > 0) {
+            for (int i = 0; i < count; i++) {
+                payouts[i] = exactPayoutCents(notionalCents[i], lossRate);
+            }
+            return payouts;
+        }
+        long loss = scaled.longValueExact();
+        long half = LOSS_RATE_UNIT / 2;
+        long limit = loss == 0 ? Long.MAX_VALUE : (Long.MAX_VALUE - half) / loss;
+        for (int i = 0; i < count; i++) {
+            long notional = notionalCents[i];
+            payouts[i] = notional >= 0 && notional <= limit
+                ? (notional * loss + half) / LOSS_RATE_UNIT
+                : exactPayoutCents(notional, lossRate);
+        }
+        return payouts;
+    }
+
+    private static long exactPayoutCents(long notionalCents, BigDecimal lossRate) {
+        return BigDecimal.valueOf(notionalCents, 2).multiply(lossRate).setScale(2, RoundingMode.HALF_UP)
+            .unscaledValue().longValueExact();
+    }
+
+    private static AuditLog transition(String tradeId, TradeStatus from, TradeStatus to) {
+        return new AuditLog(AuditLog.EntityType.TRADE, tradeId, AuditLog.AuditAction.TRANSITION, "SYSTEM",
+                            String.format("Trade status changed from %s to %s", from.name(), to.name()));
+    }
+
+    private static final class ChunkWrites {
+        int cash;
+        int physical;
+        int payouts;
+    }
+
+    /**
+     * Trades of one chunk as parallel arrays in ascending ID order
+     */
+    private static final class TradeChunk {
+        final long[] ids;
+        final long[] notionalCents;
+        final SettlementMethod[] settlementTypes;
+        final boolean[] hasPayout;
+        int size;
+
+        TradeChunk(int capacity) {
+            ids = new long[capacity];
+            notionalCents = new long[capacity];
+            settlementTypes = new SettlementMethod[capacity];
+            hasPayout = new boolean[capacity];
+        }
+    }
+}
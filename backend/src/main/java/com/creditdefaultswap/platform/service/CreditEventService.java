@@ -7,6 +7,7 @@ import com.creditdefaultswap.platform.repository.CDSTradeRepository;
 import com.creditdefaultswap.platform.repository.CreditEventRepository;
 import com.creditdefaultswap.platform.repository.PhysicalSettlementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,18 +24,25 @@ public class CreditEventService {
     private final PhysicalSettlementRepository physicalSettlementRepository;
     private final AuditService auditService;
     private final CashSettlementService cashSettlementService;
+    private final CreditEventPropagationEngine propagationEngine;
+    
+    // Fan-outs above this many active trades are propagated set-based
+    @Value("${credit-event.propagation.batch-threshold:50}")
+    private int propagationBatchThreshold;
     
     @Autowired
     public CreditEventService(CreditEventRepository creditEventRepository,
                              CDSTradeRepository tradeRepository,
                              PhysicalSettlementRepository physicalSettlementRepository,
                              AuditService auditService,
-                             CashSettlementService cashSettlementService) {
+                             CashSettlementService cashSettlementService,
+                             CreditEventPropagationEngine propagationEngine) {
         this.creditEventRepository = creditEventRepository;
         this.tradeRepository = tradeRepository;
         this.physicalSettlementRepository = physicalSettlementRepository;
         this.auditService = auditService;
         this.cashSettlementService = cashSettlementService;
+        this.propagationEngine = propagationEngine;
     }
     
     /**
@@ -103,8 +111,7 @@ public class CreditEventService {
             createPayoutEvent(tradeId, trade, request.getEventDate(), trade.getSettlementType());
             
             // Propagate credit event to all other ACTIVE CDS for the same reference entity
-            List<Long> propagatedTradeIds = propagateCreditEventToReferenceEntity(trade.getReferenceEntity(), tradeId, request);
-            affectedTradeIds.addAll(propagatedTradeIds);
+            propagateCreditEventToReferenceEntity(trade.getReferenceEntity(), tradeId, request, affectedTradeIds);
         }
         
         return new CreditEventResponse(creditEvent, affectedTradeIds);
@@ -150,12 +157,19 @@ public class CreditEventService {
     /**
      * Propagate credit event to all other ACTIVE CDS for the same reference entity
      * This ensures that when BANKRUPTCY or RESTRUCTURING is recorded for one CDS,
-     * all other active CDS for that reference entity are automatically triggered
+     * all other active CDS for that reference entity are automatically triggered.
+     * Large fan-outs are handed to {@link CreditEventPropagationEngine}, which commits in chunks and so
+     * only starts once the origin event has committed, adding its trades before the caller gets the response.
      * 
-     * @return List of trade IDs that were affected by the propagation
+     * @param affectedTradeIds List the propagated trade IDs are added to
      */
-    private List<Long> propagateCreditEventToReferenceEntity(String referenceEntity, Long originTradeId, CreateCreditEventRequest request) {
-        List<Long> affectedTradeIds = new ArrayList<>();
+    private void propagateCreditEventToReferenceEntity(String referenceEntity, Long originTradeId,
+                                                       CreateCreditEventRequest request, List<Long> affectedTradeIds) {
+        if (tradeRepository.countByReferenceEntityAndTradeStatus(referenceEntity, TradeStatus.ACTIVE) > propagationBatchThreshold) {
+            propagationEngine.propagateAfterCommit(referenceEntity, originTradeId, request,
+                result -> affectedTradeIds.addAll(result.propagatedTradeIds()));
+            return;
+        }
         
         // Find all other ACTIVE trades for the same reference entity
         List<CDSTrade> affectedTrades = tradeRepository.findByReferenceEntityOrderByCreatedAtDesc(referenceEntity)
@@ -164,7 +178,7 @@ public class CreditEventService {
             .toList();
         
         if (affectedTrades.isEmpty()) {
-            return affectedTradeIds; // No other active trades to propagate to
+            return; // No other active trades to propagate to
         }
         
         // For each affected trade, create the same credit event and payout
@@ -213,8 +227,6 @@ public class CreditEventService {
                     "Failed to propagate credit event to Trade ID: " + affectedTrade.getId() + " - " + e.getMessage());
             }
         }
-        
-        return affectedTradeIds;
     }
     
     /**
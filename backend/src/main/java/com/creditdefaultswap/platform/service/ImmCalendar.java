@@ -0,0 +1,136 @@
+package com.creditdefaultswap.platform.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable table of IMM payment dates and business-day adjustments over a date range.
+ *
+ * IMM dates are the 20th of every month (MONTHLY), of March, June, September and December
+ * (QUARTERLY), of June and December (SEMI_ANNUAL) or of December (ANNUAL); any other frequency is
+ * treated as QUARTERLY. Payment dates roll forward off weekends; there is no holiday calendar.
+ * One calendar is shared by every schedule built through {@link #covering}; it is rebuilt wider,
+ * in whole years, when a request falls outside it.
+ */
+public final class ImmCalendar {
+
+    public static final int MONTHLY = 0;
+    public static final int QUARTERLY = 1;
+    public static final int SEMI_ANNUAL = 2;
+    public static final int ANNUAL = 3;
+
+    private static final int[][] IMM_MONTHS = {
+        {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}, {3, 6, 9, 12}, {6, 12}, {12}
+    };
+
+    private static volatile ImmCalendar shared;
+
+    private final int firstYear;
+    private final int lastYear;
+    private final long firstDay;
+    private final long lastDay;
+    // IMM dates as epoch days per frequency, ascending, running one year past lastYear
+    private final long[][] immDays = new long[IMM_MONTHS.length][];
+    // Days to add to roll each date of [firstDay, lastDay + one year] onto a business day
+    private final byte[] businessDayShift;
+
+    private ImmCalendar(int firstYear, int lastYear) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+
+        for (int f = 0; f < IMM_MONTHS.length; f++) {
+            int[] months = IMM_MONTHS[f];
+            long[] days = new long[(lastYear - firstYear + 2) * months.length];
+            int i = 0;
+            for (int year = firstYear; year <= lastYear + 1; year++) {
+                for (int month : months) {
+                    days[i++] = LocalDate.of(year, month, 20).toEpochDay();
+                }
+            }
+            immDays[f] = days;
+        }
+
+        long tableEnd = LocalDate.of(lastYear + 1, 12, 31).toEpochDay();
+        businessDayShift = new byte[(int) (tableEnd - firstDay) + 1];
+        for (int i = 0; i < businessDayShift.length; i++) {
+            DayOfWeek dayOfWeek = LocalDate.ofEpochDay(firstDay + i).getDayOfWeek();
+            businessDayShift[i] = (byte) (dayOfWeek == DayOfWeek.SATURDAY ? 2 : dayOfWeek == DayOfWeek.SUNDAY ? 1 : 0);
+        }
+    }
+
+    /**
+     * The shared calendar, widened if needed so that it covers every date from start to end
+     */
+    public static ImmCalendar covering(LocalDate start, LocalDate end) {
+        ImmCalendar calendar = shared;
+        if (calendar != null && calendar.covers(start, end)) {
+            return calendar;
+        }
+        synchronized (ImmCalendar.class) {
+            calendar = shared;
+            if (calendar == null || !calendar.covers(start, end)) {
+                int firstYear = calendar == null ? start.getYear() : Math.min(calendar.firstYear, start.getYear());
+                int lastYear = calendar == null ? end.getYear() : Math.max(calendar.lastYear, end.getYear());
+                calendar = new ImmCalendar(firstYear, lastYear);
+                shared = calendar;
+            }
+            return calendar;
+        }
+    }
+
+    public boolean covers(LocalDate start, LocalDate end) {
+        return start.toEpochDay() >= firstDay && end.toEpochDay() <= lastDay;
+    }
+
+    public static int frequency(String premiumFrequency) {
+        if (premiumFrequency == null) {
+            return QUARTERLY;
+        }
+        return switch (premiumFrequency.toUpperCase()) {
+            case "MONTHLY" -> MONTHLY;
+            case "SEMI_ANNUAL" -> SEMI_ANNUAL;
+            case "ANNUAL" -> ANNUAL;
+            default -> QUARTERLY;
+        };
+    }
+
+    /**
+     * First IMM date of the frequency strictly after the given day
+     */
+    public long nextPaymentDay(long epochDay, int frequency) {
+        checkCovered(epochDay);
+        long[] days = immDays[frequency];
+        int i = Arrays.binarySearch(days, epochDay);
+        return days[i >= 0 ? i + 1 : -i - 1];
+    }
+
+    public LocalDate nextPaymentDate(LocalDate date, String premiumFrequency) {
+        return LocalDate.ofEpochDay(nextPaymentDay(date.toEpochDay(), frequency(premiumFrequency)));
+    }
+
+    /**
+     * The day itself, or the following Monday when it falls on a weekend
+     */
+    public long businessDay(long epochDay) {
+        int offset = (int) (epochDay - firstDay);
+        if (offset < 0 || offset >= businessDayShift.length) {
+            throw new IllegalArgumentException("Date " + LocalDate.ofEpochDay(epochDay)
+                + " is outside the IMM calendar " + firstYear + "-" + (lastYear + 1));
+        }
+        return epochDay + businessDayShift[offset];
+    }
+
+    public LocalDate businessDay(LocalDate date) {
+        return LocalDate.ofEpochDay(businessDay(date.toEpochDay()));
+    }
+
+    private void checkCovered(long epochDay) {
+        if (epochDay < firstDay || epochDay > lastDay) {
+            throw new IllegalArgumentException("Date " + LocalDate.ofEpochDay(epochDay)
+                + " is outside the IMM calendar " + firstYear + "-" + lastYear);
+        }
+    }
+}
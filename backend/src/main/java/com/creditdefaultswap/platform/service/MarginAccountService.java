@@ -3,6 +3,7 @@ package com.creditdefaultswap.platform.service;
 import com.creditdefaultswap.platform.model.*;
 import com.creditdefaultswap.platform.repository.MarginPositionRepository;
 import com.creditdefaultswap.platform.repository.MarginStatementRepository;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,14 +27,17 @@ public class MarginAccountService {
     private final MarginPositionRepository marginPositionRepository;
     private final MarginStatementRepository marginStatementRepository;
     private final AuditService auditService;
+    private final DashboardAggregateService dashboardAggregates;
     
     @Autowired
     public MarginAccountService(MarginPositionRepository marginPositionRepository,
                                MarginStatementRepository marginStatementRepository,
-                               AuditService auditService) {
+                               AuditService auditService,
+                               DashboardAggregateService dashboardAggregates) {
         this.marginPositionRepository = marginPositionRepository;
         this.marginStatementRepository = marginStatementRepository;
         this.auditService = auditService;
+        this.dashboardAggregates = dashboardAggregates;
     }
     
     /**
@@ -162,6 +166,7 @@ public class MarginAccountService {
         statement.setProcessedAt(LocalDateTime.now());
         
         statement = marginStatementRepository.save(statement);
+        dashboardAggregates.refreshMargin(statement.getStatementDate(), statement.getCcpName());
         logger.info("Created new margin statement: {} for account: {}", 
             statement.getStatementId(), ccpTrade.getClearingAccount());
         
@@ -4,7 +4,9 @@ import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import com.creditdefaultswap.platform.repository.MarginStatementRepository;
 import com.creditdefaultswap.platform.repository.MarginPositionRepository;
-import com.creditdefaultswap.platform.service.parser.StatementParser;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
+import com.creditdefaultswap.platform.service.margin.MarginStatementContentStore;
+import com.creditdefaultswap.platform.service.margin.MarginStatementPipeline;
 import com.creditdefaultswap.platform.service.parser.StatementParserFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,8 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,17 +34,26 @@ public class MarginStatementService {
     private final MarginPositionRepository positionRepository;
     private final StatementParserFactory parserFactory;
     private final StatementProcessingLogService logService;
+    private final MarginStatementPipeline pipeline;
+    private final MarginStatementContentStore contentStore;
+    private final DashboardAggregateService dashboardAggregates;
     
     @Autowired
     public MarginStatementService(
             MarginStatementRepository statementRepository,
             MarginPositionRepository positionRepository,
             StatementParserFactory parserFactory,
-            StatementProcessingLogService logService) {
+            StatementProcessingLogService logService,
+            MarginStatementPipeline pipeline,
+            MarginStatementContentStore contentStore,
+            DashboardAggregateService dashboardAggregates) {
         this.statementRepository = statementRepository;
         this.positionRepository = positionRepository;
         this.parserFactory = parserFactory;
         this.logService = logService;
+        this.pipeline = pipeline;
+        this.contentStore = contentStore;
+        this.dashboardAggregates = dashboardAggregates;
     }
     
     /**
@@ -69,21 +78,21 @@ public class MarginStatementService {
             validateFile(file);
             
             // Create statement record
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
             MarginStatement statement = new MarginStatement(statementId, ccpName, memberFirm, 
                     accountNumber, statementDate, currency, format, file.getOriginalFilename());
             statement.setFileSize(file.getSize());
-            statement.setRawContent(content);
             
             // Validate business rules
             validateBusinessRules(statement);
             
             // Save statement
             statement = statementRepository.save(statement);
+            contentStore.store(statement.getId(), file.getInputStream());
+            dashboardAggregates.refreshMargin(statement.getStatementDate(), statement.getCcpName());
             logService.logProcessingStep(statement.getId(), "UPLOAD", "SUCCESS", "Statement uploaded successfully");
             
-            // Initiate processing
-            processStatement(statement);
+            // Queue for asynchronous parse/validate/persist; clients poll the statement status
+            pipeline.submit(statement);
             
             return statement;
             
@@ -98,86 +107,14 @@ public class MarginStatementService {
     }
     
     /**
-     * Process a margin statement
+     * Process a margin statement synchronously on the calling thread
      */
-    @Transactional
     public void processStatement(MarginStatement statement) {
-        try {
-            statement.setStatus(MarginStatement.StatementStatus.PROCESSING);
-            statement = statementRepository.save(statement);
-            
-            logService.logProcessingStep(statement.getId(), "PARSE", "SUCCESS", "Starting statement parsing");
-            
-            // Get appropriate parser
-            Optional<StatementParser> parserOpt = parserFactory.getParser(statement);
-            if (parserOpt.isEmpty()) {
-                throw new StatementIngestionException("No parser available for " + statement.getCcpName() + 
-                        " format " + statement.getStatementFormat());
-            }
-            
-            StatementParser parser = parserOpt.get();
-            
-            // Parse statement
-            List<MarginPosition> positions = parser.parseStatement(statement);
-            
-            // Validate parsed positions
-            validatePositions(positions);
-            
-            // Save positions
-            for (MarginPosition position : positions) {
-                positionRepository.save(position);
-            }
-            
-            // Calculate and update statement summary fields
-            calculateStatementSummary(statement, positions);
-            
-            // Mark as processed
-            statement.setStatus(MarginStatement.StatementStatus.PROCESSED);
-            statement.setProcessedAt(LocalDateTime.now());
-            statementRepository.save(statement);
-            
-            logService.logProcessingStep(statement.getId(), "COMPLETE", "SUCCESS", 
-                    "Statement processed successfully with " + positions.size() + " positions");
-            
-            logger.info("Successfully processed statement {} for {} with {} positions", 
-                    statement.getStatementId(), statement.getCcpName(), positions.size());
-            
-        } catch (Exception e) {
-            handleProcessingError(statement, e);
-        }
+        pipeline.process(statement.getId());
     }
     
     /**
-     * Calculate and update statement summary fields from positions
-     */
-    private void calculateStatementSummary(MarginStatement statement, List<MarginPosition> positions) {
-        BigDecimal totalVariationMargin = BigDecimal.ZERO;
-        BigDecimal totalInitialMargin = BigDecimal.ZERO;
-        
-        for (MarginPosition position : positions) {
-            switch (position.getPositionType()) {
-                case VARIATION_MARGIN:
-                    totalVariationMargin = totalVariationMargin.add(position.getAmount());
-                    break;
-                case INITIAL_MARGIN:
-                    totalInitialMargin = totalInitialMargin.add(position.getAmount());
-                    break;
-                case EXCESS_COLLATERAL:
-                    // Excess collateral can be included in VM for dashboard purposes
-                    totalVariationMargin = totalVariationMargin.add(position.getAmount());
-                    break;
-            }
-        }
-        
-        statement.setVariationMargin(totalVariationMargin);
-        statement.setInitialMargin(totalInitialMargin);
-        
-        logger.debug("Calculated statement summary for {}: VM={}, IM={}", 
-                statement.getStatementId(), totalVariationMargin, totalInitialMargin);
-    }
-    
-    /**
-     * Retry failed statements
+     * Queue failed statements that are due for another attempt
      */
     @Transactional
     public void retryFailedStatements() {
@@ -189,8 +126,9 @@ public class MarginStatementService {
                 statement.setStatus(MarginStatement.StatementStatus.RETRYING);
                 statement.incrementRetryCount();
                 statementRepository.save(statement);
+                dashboardAggregates.refreshMargin(statement.getStatementDate(), statement.getCcpName());
                 
-                processStatement(statement);
+                pipeline.submit(statement);
             }
         }
     }
@@ -276,30 +214,6 @@ public class MarginStatementService {
         }
     }
     
-    private void validatePositions(List<MarginPosition> positions) throws StatementIngestionException {
-        if (positions.isEmpty()) {
-            throw new StatementIngestionException("No positions found in statement");
-        }
-        
-        for (MarginPosition position : positions) {
-            // Validate Initial Margin is non-negative
-            if (position.getPositionType() == MarginPosition.PositionType.INITIAL_MARGIN && 
-                position.getAmount().signum() < 0) {
-                throw new StatementIngestionException("Initial margin cannot be negative: " + position.getAmount());
-            }
-        }
-    }
-    
-    private void handleProcessingError(MarginStatement statement, Exception e) {
-        logger.error("Failed to process statement {}: {}", statement.getStatementId(), e.getMessage(), e);
-        
-        statement.setStatus(MarginStatement.StatementStatus.FAILED);
-        statement.setErrorMessage(e.getMessage());
-        statementRepository.save(statement);
-        
-        logService.logProcessingStep(statement.getId(), "PROCESS", "FAILURE", e.getMessage());
-    }
-    
     private boolean shouldRetry(MarginStatement statement) {
         // Exponential backoff: wait 2^retryCount minutes
         int waitMinutes = (int) Math.pow(2, statement.getRetryCount());
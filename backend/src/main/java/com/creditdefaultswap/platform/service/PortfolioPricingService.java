@@ -2,6 +2,7 @@ package com.creditdefaultswap.platform.service;
 
 import com.creditdefaultswap.platform.dto.PortfolioPricingResponse;
 import com.creditdefaultswap.platform.dto.PortfolioPricingResponse.*;
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
 import com.creditdefaultswap.platform.model.*;
 import com.creditdefaultswap.platform.repository.CdsPortfolioConstituentRepository;
 import com.creditdefaultswap.platform.repository.CdsPortfolioRepository;
@@ -40,6 +41,7 @@ public class PortfolioPricingService {
     private final CouponPeriodRepository couponPeriodRepository;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final PlatformMetrics metrics;
     
     @Value("${risk.engine.url:http://risk-engine:8082}")
     private String riskEngineUrl;
@@ -51,17 +53,23 @@ public class PortfolioPricingService {
             PortfolioRiskCacheRepository riskCacheRepository,
             CouponPeriodRepository couponPeriodRepository,
             RestTemplate restTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            PlatformMetrics metrics) {
         this.portfolioRepository = portfolioRepository;
         this.constituentRepository = constituentRepository;
         this.riskCacheRepository = riskCacheRepository;
         this.couponPeriodRepository = couponPeriodRepository;
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
     
     @Transactional
     public PortfolioPricingResponse pricePortfolio(Long portfolioId, LocalDate valuationDate) {
+        return metrics.time(PlatformMetrics.PORTFOLIO_PRICING, () -> doPricePortfolio(portfolioId, valuationDate));
+    }
+    
+    private PortfolioPricingResponse doPricePortfolio(Long portfolioId, LocalDate valuationDate) {
         logger.info("Pricing portfolio {} for valuation date {}", portfolioId, valuationDate);
         
         CdsPortfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -2,12 +2,14 @@ package com.creditdefaultswap.platform.service;
 
 import com.creditdefaultswap.platform.dto.SimulationRequest;
 import com.creditdefaultswap.platform.dto.SimulationResponse;
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
 import com.creditdefaultswap.platform.model.*;
 import com.creditdefaultswap.platform.repository.*;
 import com.creditdefaultswap.platform.simulation.DefaultTimeSimulator;
 import com.creditdefaultswap.platform.simulation.SimulationResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,6 +51,17 @@ public class SimulationService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private PlatformMetrics metrics;
+    
+    // Runs submitted and not yet finished
+    private final AtomicInteger pendingRuns = new AtomicInteger();
+    
+    @PostConstruct
+    void registerMetrics() {
+        metrics.gauge(PlatformMetrics.SIMULATION_QUEUE_DEPTH, pendingRuns, AtomicInteger::get);
+    }
+    
     /**
      * Submit a new simulation run
      */
@@ -93,6 +107,7 @@ public class SimulationService {
         simulationRunRepository.save(run);
         
         // Execute simulation asynchronously
+        pendingRuns.incrementAndGet();
         executeSimulationAsync(run, constituents, request);
         
         // Return initial response
@@ -170,6 +185,9 @@ public class SimulationService {
     public void executeSimulationAsync(SimulationRun run, List<CdsPortfolioConstituent> constituents, 
                                        SimulationRequest request) {
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String outcome = PlatformMetrics.OUTCOME_FAILURE;
+        int pathsSimulated = 0;
         
         try {
             // Update status to RUNNING
@@ -217,16 +235,20 @@ public class SimulationService {
                 run.getSeedUsed(), betas, survivalCurves, horizonYears
             );
             
+            long loopStart = System.nanoTime();
             for (int path = 0; path < request.getPaths(); path++) {
                 // Check for cancellation
                 if (run.isCancelRequested()) {
                     log.info("Simulation {} canceled at path {}", run.getRunId(), path);
+                    outcome = "canceled";
                     return;
                 }
                 
                 double[] defaultTimes = simulator.generateDefaultTimes();
                 result.recordPath(path, defaultTimes);
+                pathsSimulated++;
             }
+            recordThroughput(pathsSimulated, System.nanoTime() - loopStart);
             
             // Save horizon metrics
             for (int h = 0; h < horizonYears.length; h++) {
@@ -276,6 +298,7 @@ public class SimulationService {
             simulationRunRepository.save(run);
             
             log.info("Simulation {} completed in {} ms", run.getRunId(), endTime - startTime);
+            outcome = PlatformMetrics.OUTCOME_SUCCESS;
             
         } catch (Exception e) {
             log.error("Simulation {} failed", run.getRunId(), e);
@@ -283,6 +306,20 @@ public class SimulationService {
             run.setErrorMessage(e.getMessage());
             run.setCompletedAt(LocalDateTime.now());
             simulationRunRepository.save(run);
+        } finally {
+            pendingRuns.decrementAndGet();
+            metrics.recordDuration(PlatformMetrics.SIMULATION_RUN, System.nanoTime() - startNanos, outcome);
+            metrics.incrementCounter(PlatformMetrics.SIMULATION_PATHS, pathsSimulated);
+        }
+    }
+    
+    /**
+     * Paths per second of the Monte Carlo loop alone, excluding setup and persistence
+     */
+    private void recordThroughput(int paths, long loopNanos) {
+        if (paths > 0 && loopNanos > 0) {
+            metrics.recordAmount(PlatformMetrics.SIMULATION_THROUGHPUT, "paths.per.second",
+                    paths * 1_000_000_000.0 / loopNanos);
         }
     }
     
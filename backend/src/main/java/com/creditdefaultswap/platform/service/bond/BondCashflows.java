@@ -0,0 +1,177 @@
+package com.creditdefaultswap.platform.service.bond;
+
+import com.creditdefaultswap.platform.model.Bond;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A bond's cashflows after a valuation date with their year fractions and discount factors at a
+ * base rate, built once from the schedule and reused by every pricing measure and solver iteration
+ */
+public final class BondCashflows {
+
+    // Using default recovery rate of 0.40 for bonds
+    private static final double RECOVERY_RATE = 0.40;
+
+    private final Bond bond;
+    private final LocalDate valuationDate;
+    private final double baseRate;
+    private final double[] times;
+    private final double[] baseDiscountFactors;
+    private final double[] coupons;
+    private final double[] principals;
+    private final boolean[] finals;
+    private final LocalDate lastCouponDate;
+    private final LocalDate nextCouponDate;
+    private final double faceValue;
+    private final double notional;
+
+    private BondCashflows(Bond bond, List<CashflowScheduleService.Cashflow> schedule, DiscountFactorCache cache) {
+        this.bond = bond;
+        this.valuationDate = cache.getValuationDate();
+        this.baseRate = cache.getDiscountRate();
+        this.faceValue = bond.getFaceValue().doubleValue();
+        this.notional = bond.getNotional().doubleValue();
+
+        LocalDate last = bond.getIssueDate();
+        LocalDate next = null;
+        int first = schedule.size();
+        for (int i = 0; i < schedule.size(); i++) {
+            LocalDate paymentDate = schedule.get(i).getPaymentDate();
+            if (paymentDate.isAfter(valuationDate)) {
+                next = paymentDate;
+                first = i;
+                break;
+            }
+            last = paymentDate;
+        }
+        this.lastCouponDate = last;
+        this.nextCouponDate = next != null ? next : bond.getMaturityDate();
+
+        int count = schedule.size() - first;
+        times = new double[count];
+        baseDiscountFactors = new double[count];
+        coupons = new double[count];
+        principals = new double[count];
+        finals = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            CashflowScheduleService.Cashflow cf = schedule.get(first + i);
+            double[] discount = cache.lookup(cf.getPaymentDate(), bond.getDayCount());
+            times[i] = discount[0];
+            baseDiscountFactors[i] = discount[1];
+            coupons[i] = cf.getCouponAmount();
+            principals[i] = cf.getPrincipal();
+            finals[i] = cf.isFinal();
+        }
+    }
+
+    /**
+     * Cashflows of the schedule paid after the cache's valuation date
+     */
+    public static BondCashflows of(Bond bond, List<CashflowScheduleService.Cashflow> schedule, DiscountFactorCache cache) {
+        return new BondCashflows(bond, schedule, cache);
+    }
+
+    public Bond getBond() {
+        return bond;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
+    public double getBaseRate() {
+        return baseRate;
+    }
+
+    public double getFaceValue() {
+        return faceValue;
+    }
+
+    public double getNotional() {
+        return notional;
+    }
+
+    /**
+     * Present value of the remaining cashflows at a flat continuously compounded rate
+     */
+    public double presentValue(double discountRate) {
+        double pv = 0.0;
+        if (discountRate == baseRate) {
+            for (int i = 0; i < times.length; i++) {
+                pv += (coupons[i] + principals[i]) * baseDiscountFactors[i];
+            }
+            return pv;
+        }
+        for (int i = 0; i < times.length; i++) {
+            pv += (coupons[i] + principals[i]) * Math.exp(-discountRate * times[i]);
+        }
+        return pv;
+    }
+
+    /**
+     * Present value and its first and second derivatives with respect to the flat rate
+     */
+    public record RateValuation(double presentValue, double firstDerivative, double secondDerivative) {}
+
+    /**
+     * Present value at a flat continuously compounded rate with its analytic derivatives, in one pass
+     */
+    public RateValuation valueAt(double discountRate) {
+        double pv = 0.0;
+        double first = 0.0;
+        double second = 0.0;
+        for (int i = 0; i < times.length; i++) {
+            double discounted = (coupons[i] + principals[i]) * Math.exp(-discountRate * times[i]);
+            pv += discounted;
+            first -= times[i] * discounted;
+            second += times[i] * times[i] * discounted;
+        }
+        return new RateValuation(pv, first, second);
+    }
+
+    /**
+     * Present value with survival weighting; the final principal recovers 40% on default
+     */
+    public double riskyPresentValue(double discountRate, double hazardRate) {
+        double pv = 0.0;
+        for (int i = 0; i < times.length; i++) {
+            double discountFactor = discountRate == baseRate ? baseDiscountFactors[i] : Math.exp(-discountRate * times[i]);
+            double survivalProbability = Math.exp(-hazardRate * times[i]);
+            double expectedCashflow;
+            if (finals[i]) {
+                // Expected cashflow = nominal * survival probability + recovery * (1 - survival) for principal
+                double recoveryValue = notional * RECOVERY_RATE;
+                expectedCashflow = coupons[i] * survivalProbability +
+                                 principals[i] * survivalProbability +
+                                 recoveryValue * (1 - survivalProbability);
+            } else {
+                expectedCashflow = coupons[i] * survivalProbability;
+            }
+            pv += expectedCashflow * discountFactor;
+        }
+        return pv;
+    }
+
+    public double accruedInterest() {
+        double annualCoupon = notional * bond.getCouponRate().doubleValue();
+        double couponPerPayment = annualCoupon / bond.getCouponFrequency().getPaymentsPerYear();
+        return DayCountUtil.calculateAccruedInterest(lastCouponDate, valuationDate, nextCouponDate,
+                                                     couponPerPayment, bond.getDayCount());
+    }
+
+    /**
+     * Dirty price as a percentage of face value
+     */
+    public double dirtyPrice(double discountRate) {
+        return (presentValue(discountRate) / faceValue) * 100.0;
+    }
+
+    /**
+     * Clean price as a percentage of face value
+     */
+    public double cleanPrice(double discountRate) {
+        return ((presentValue(discountRate) - accruedInterest()) / faceValue) * 100.0;
+    }
+}
@@ -5,11 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Bond pricing service for deterministic and survival-based valuation
  * Epic 14: Credit Bonds Enablement (Stories 14.5, 14.6, 14.7, 14.8)
+ *
+ * Each measure has an overload on {@link BondCashflows} so that a caller pricing several measures
+ * generates the schedule and year fractions once. Yield and Z-spread are solved by
+ * {@link BondYieldSolver}; rate sensitivities use the analytic price derivatives.
  */
 @Service
 public class BondPricingService {
@@ -17,106 +20,76 @@ public class BondPricingService {
     @Autowired
     private CashflowScheduleService cashflowScheduleService;
     
+    /**
+     * Build the bond's remaining cashflows once for reuse across measures
+     */
+    public BondCashflows prepareCashflows(Bond bond, LocalDate valuationDate, double discountRate) {
+        return prepareCashflows(bond, new DiscountFactorCache(valuationDate, discountRate));
+    }
+    
+    /**
+     * Build the bond's remaining cashflows with year fractions and discount factors from a shared cache
+     */
+    public BondCashflows prepareCashflows(Bond bond, DiscountFactorCache cache) {
+        return BondCashflows.of(bond, cashflowScheduleService.generateSchedule(bond), cache);
+    }
+    
     /**
      * Calculate deterministic present value using risk-free discount curve
      * For MVP, uses simplified constant discount rate
      */
     public double calculatePresentValue(Bond bond, LocalDate valuationDate, double discountRate) {
-        List<CashflowScheduleService.Cashflow> cashflows = cashflowScheduleService.generateSchedule(bond);
-        
-        double pv = 0.0;
-        
-        for (CashflowScheduleService.Cashflow cf : cashflows) {
-            if (cf.getPaymentDate().isAfter(valuationDate)) {
-                double yearsToPayment = DayCountUtil.dayCountFraction(valuationDate, cf.getPaymentDate(), bond.getDayCount());
-                double discountFactor = Math.exp(-discountRate * yearsToPayment);
-                pv += cf.getTotalAmount() * discountFactor;
-            }
-        }
-        
-        return pv;
+        return prepareCashflows(bond, valuationDate, discountRate).presentValue(discountRate);
     }
     
     /**
      * Calculate accrued interest
      */
     public double calculateAccruedInterest(Bond bond, LocalDate valuationDate) {
-        LocalDate lastCouponDate = cashflowScheduleService.getLastCouponDate(bond, valuationDate);
-        LocalDate nextCouponDate = cashflowScheduleService.getNextCouponDate(bond, valuationDate);
-        
-        double annualCoupon = bond.getNotional().doubleValue() * bond.getCouponRate().doubleValue();
-        double couponPerPayment = annualCoupon / bond.getCouponFrequency().getPaymentsPerYear();
-        
-        return DayCountUtil.calculateAccruedInterest(
-            lastCouponDate,
-            valuationDate,
-            nextCouponDate,
-            couponPerPayment,
-            bond.getDayCount()
-        );
+        return prepareCashflows(bond, valuationDate, 0.0).accruedInterest();
     }
     
     /**
      * Calculate clean price (PV without accrued interest)
      */
     public double calculateCleanPrice(Bond bond, LocalDate valuationDate, double discountRate) {
-        double pv = calculatePresentValue(bond, valuationDate, discountRate);
-        double accruedInterest = calculateAccruedInterest(bond, valuationDate);
-        
         // Clean price = PV - Accrued
         // Expressed as percentage of face value
-        return ((pv - accruedInterest) / bond.getFaceValue().doubleValue()) * 100.0;
+        return prepareCashflows(bond, valuationDate, discountRate).cleanPrice(discountRate);
     }
     
     /**
      * Calculate dirty price (PV with accrued interest)
      */
     public double calculateDirtyPrice(Bond bond, LocalDate valuationDate, double discountRate) {
-        double pv = calculatePresentValue(bond, valuationDate, discountRate);
-        
         // Dirty price = PV
         // Expressed as percentage of face value
-        return (pv / bond.getFaceValue().doubleValue()) * 100.0;
+        return prepareCashflows(bond, valuationDate, discountRate).dirtyPrice(discountRate);
     }
     
     /**
-     * Calculate yield to maturity using secant method
+     * Calculate yield to maturity
      * Story 14.6: Yield solver
      */
     public double calculateYieldToMaturity(Bond bond, LocalDate valuationDate, double observedPrice, boolean isClean) {
-        double targetPrice = observedPrice;
-        if (isClean) {
-            // Convert clean price to dirty price for calculation
-            double accrued = calculateAccruedInterest(bond, valuationDate);
-            targetPrice = observedPrice + (accrued / bond.getFaceValue().doubleValue() * 100.0);
-        }
-        
-        // Initial guesses for yield (in percentage terms)
-        double y1 = 0.01; // 1%
-        double y2 = 0.10; // 10%
-        
-        double tolerance = 0.000001; // 0.0001%
-        int maxIterations = 100;
-        
-        for (int i = 0; i < maxIterations; i++) {
-            double pv1 = calculateDirtyPrice(bond, valuationDate, y1);
-            double pv2 = calculateDirtyPrice(bond, valuationDate, y2);
-            
-            if (Math.abs(pv2 - targetPrice) < tolerance) {
-                return y2;
-            }
-            
-            // Secant method update
-            double y3 = y2 - (pv2 - targetPrice) * (y2 - y1) / (pv2 - pv1);
-            
-            // Bound the yield between reasonable limits
-            y3 = Math.max(-0.5, Math.min(2.0, y3)); // Between -50% and 200%
-            
-            y1 = y2;
-            y2 = y3;
-        }
-        
-        return y2; // Return best estimate
+        return calculateYieldToMaturity(prepareCashflows(bond, valuationDate, 0.0), observedPrice, isClean);
+    }
+    
+    /**
+     * Calculate yield to maturity on prepared cashflows
+     */
+    public double calculateYieldToMaturity(BondCashflows cashflows, double observedPrice, boolean isClean) {
+        return solveYieldToMaturity(cashflows, observedPrice, isClean).rate();
+    }
+    
+    /**
+     * Solve yield to maturity with Newton steps on the analytic price derivative, falling back to
+     * Brent's method; modified duration and convexity at the yield come with the solution
+     */
+    public BondYieldSolver.Solution solveYieldToMaturity(BondCashflows cashflows, double observedPrice, boolean isClean) {
+        // Start from the coupon rate, close to the yield of a bond priced near par
+        double initialYield = cashflows.getBond().getCouponRate().doubleValue();
+        return BondYieldSolver.solve(cashflows, dirtyTarget(cashflows, observedPrice, isClean), initialYield);
     }
     
     /**
@@ -125,35 +98,36 @@ public class BondPricingService {
      */
     public double calculateZSpread(Bond bond, LocalDate valuationDate, double observedPrice, 
                                    double baseDiscountRate, boolean isClean) {
-        double targetPrice = observedPrice;
-        if (isClean) {
-            double accrued = calculateAccruedInterest(bond, valuationDate);
-            targetPrice = observedPrice + (accrued / bond.getFaceValue().doubleValue() * 100.0);
-        }
-        
+        return calculateZSpread(prepareCashflows(bond, valuationDate, baseDiscountRate), observedPrice,
+                                baseDiscountRate, isClean);
+    }
+    
+    /**
+     * Calculate Z-spread on prepared cashflows
+     */
+    public double calculateZSpread(BondCashflows cashflows, double observedPrice, double baseDiscountRate,
+                                   boolean isClean) {
         // Solve for spread z such that PV with (baseRate + z) = observedPrice
-        double z1 = 0.0;
-        double z2 = 0.05; // 500 bps initial guess
-        
-        double tolerance = 0.000001;
-        int maxIterations = 100;
-        
-        for (int i = 0; i < maxIterations; i++) {
-            double pv1 = calculateDirtyPrice(bond, valuationDate, baseDiscountRate + z1);
-            double pv2 = calculateDirtyPrice(bond, valuationDate, baseDiscountRate + z2);
-            
-            if (Math.abs(pv2 - targetPrice) < tolerance) {
-                return z2;
-            }
-            
-            double z3 = z2 - (pv2 - targetPrice) * (z2 - z1) / (pv2 - pv1);
-            z3 = Math.max(-0.5, Math.min(2.0, z3));
-            
-            z1 = z2;
-            z2 = z3;
+        return solveZSpread(cashflows, observedPrice, baseDiscountRate, isClean).rate() - baseDiscountRate;
+    }
+    
+    /**
+     * Solve the total discount rate (base rate plus Z-spread) that reprices the bond
+     */
+    public BondYieldSolver.Solution solveZSpread(BondCashflows cashflows, double observedPrice, double baseDiscountRate,
+                                                 boolean isClean) {
+        return BondYieldSolver.solve(cashflows, dirtyTarget(cashflows, observedPrice, isClean), baseDiscountRate);
+    }
+    
+    /**
+     * Observed price as a dirty price in percent of face value
+     */
+    private double dirtyTarget(BondCashflows cashflows, double observedPrice, boolean isClean) {
+        if (!isClean) {
+            return observedPrice;
         }
-        
-        return z2;
+        double accrued = cashflows.accruedInterest();
+        return observedPrice + (accrued / cashflows.getFaceValue() * 100.0);
     }
     
     /**
@@ -161,34 +135,7 @@ public class BondPricingService {
      * Story 14.7: Survival-based hazard pricing
      */
     public double calculateRiskyPV(Bond bond, LocalDate valuationDate, double discountRate, double hazardRate) {
-        List<CashflowScheduleService.Cashflow> cashflows = cashflowScheduleService.generateSchedule(bond);
-        
-        double pv = 0.0;
-        
-        for (CashflowScheduleService.Cashflow cf : cashflows) {
-            if (cf.getPaymentDate().isAfter(valuationDate)) {
-                double yearsToPayment = DayCountUtil.dayCountFraction(valuationDate, cf.getPaymentDate(), bond.getDayCount());
-                double discountFactor = Math.exp(-discountRate * yearsToPayment);
-                double survivalProbability = Math.exp(-hazardRate * yearsToPayment);
-                
-                // Expected cashflow = nominal * survival probability + recovery * (1 - survival) for principal
-                // Using default recovery rate of 0.40 for bonds
-                double recoveryRate = 0.40;
-                double expectedCashflow;
-                if (cf.isFinal()) {
-                    double recoveryValue = bond.getNotional().doubleValue() * recoveryRate;
-                    expectedCashflow = cf.getCouponAmount() * survivalProbability + 
-                                     cf.getPrincipal() * survivalProbability +
-                                     recoveryValue * (1 - survivalProbability);
-                } else {
-                    expectedCashflow = cf.getCouponAmount() * survivalProbability;
-                }
-                
-                pv += expectedCashflow * discountFactor;
-            }
-        }
-        
-        return pv;
+        return prepareCashflows(bond, valuationDate, discountRate).riskyPresentValue(discountRate, hazardRate);
     }
     
     /**
@@ -196,10 +143,14 @@ public class BondPricingService {
      * Story 14.8: Bond sensitivities
      */
     public double calculateIRDV01(Bond bond, LocalDate valuationDate, double discountRate) {
-        double basePV = calculatePresentValue(bond, valuationDate, discountRate);
-        double bumpedPV = calculatePresentValue(bond, valuationDate, discountRate + 0.0001); // 1 bp bump
-        
-        return basePV - bumpedPV; // Positive means PV decreases when rates increase
+        return calculateIRDV01(prepareCashflows(bond, valuationDate, discountRate), discountRate);
+    }
+    
+    /**
+     * IR DV01 from the analytic rate derivative, for a 1 bp rise
+     */
+    public double calculateIRDV01(BondCashflows cashflows, double discountRate) {
+        return -cashflows.valueAt(discountRate).firstDerivative() * 0.0001; // Positive means PV decreases when rates increase
     }
     
     /**
@@ -207,8 +158,12 @@ public class BondPricingService {
      * Story 14.8: Bond sensitivities
      */
     public double calculateSpreadDV01(Bond bond, LocalDate valuationDate, double discountRate, double hazardRate) {
-        double basePV = calculateRiskyPV(bond, valuationDate, discountRate, hazardRate);
-        double bumpedPV = calculateRiskyPV(bond, valuationDate, discountRate, hazardRate + 0.0001); // 1 bp bump
+        return calculateSpreadDV01(prepareCashflows(bond, valuationDate, discountRate), discountRate, hazardRate);
+    }
+    
+    public double calculateSpreadDV01(BondCashflows cashflows, double discountRate, double hazardRate) {
+        double basePV = cashflows.riskyPresentValue(discountRate, hazardRate);
+        double bumpedPV = cashflows.riskyPresentValue(discountRate, hazardRate + 0.0001); // 1 bp bump
         
         return basePV - bumpedPV;
     }
@@ -237,12 +192,22 @@ public class BondPricingService {
      * Calculate modified duration
      */
     public double calculateModifiedDuration(Bond bond, LocalDate valuationDate, double yield) {
-        double basePV = calculatePresentValue(bond, valuationDate, yield);
-        double bumpedPV = calculatePresentValue(bond, valuationDate, yield + 0.0001);
-        
-        double dPV = basePV - bumpedPV;
-        double dY = 0.0001;
-        
-        return (dPV / basePV) / dY;
+        return calculateModifiedDuration(prepareCashflows(bond, valuationDate, yield), yield);
+    }
+    
+    /**
+     * Modified duration, -(dPV/dy) / PV, from the analytic derivative
+     */
+    public double calculateModifiedDuration(BondCashflows cashflows, double yield) {
+        BondCashflows.RateValuation valuation = cashflows.valueAt(yield);
+        return -valuation.firstDerivative() / valuation.presentValue();
+    }
+    
+    /**
+     * Convexity, (d2PV/dy2) / PV, from the analytic second derivative
+     */
+    public double calculateConvexity(BondCashflows cashflows, double yield) {
+        BondCashflows.RateValuation valuation = cashflows.valueAt(yield);
+        return valuation.secondDerivative() / valuation.presentValue();
     }
 }
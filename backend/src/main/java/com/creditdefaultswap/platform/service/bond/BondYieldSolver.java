@@ -0,0 +1,136 @@
+package com.creditdefaultswap.platform.service.bond;
+
+/**
+ * Solves the flat continuously compounded rate at which a bond's cashflows reprice to a target dirty price.
+ *
+ * Newton steps take the price and its analytic derivative from one pass over the cashflow times
+ * ({@link BondCashflows#valueAt}). If a step stalls or leaves the [-50%, 200%] rate bounds, the root is
+ * bracketed on those bounds and found with Brent's method instead. Modified duration and convexity
+ * at the solution come from the same final valuation.
+ */
+public final class BondYieldSolver {
+
+    static final double MIN_RATE = -0.5;
+    static final double MAX_RATE = 2.0;
+    // Dirty price tolerance, in percent of face value
+    static final double PRICE_TOLERANCE = 1e-10;
+    static final double RATE_TOLERANCE = 1e-12;
+    private static final int MAX_NEWTON_ITERATIONS = 20;
+    private static final int MAX_BRENT_ITERATIONS = 100;
+
+    /**
+     * Solved rate with the price and rate sensitivities there; converged is false when the target
+     * price is out of reach within the rate bounds and the nearer bound is returned
+     */
+    public record Solution(double rate, double dirtyPrice, double modifiedDuration, double convexity,
+                           int iterations, boolean converged) {}
+
+    private BondYieldSolver() {
+    }
+
+    public static Solution solve(BondCashflows cashflows, double targetDirtyPrice, double initialRate) {
+        double scale = 100.0 / cashflows.getFaceValue();
+        double rate = Math.max(MIN_RATE, Math.min(MAX_RATE, initialRate));
+        for (int i = 1; i <= MAX_NEWTON_ITERATIONS; i++) {
+            BondCashflows.RateValuation valuation = cashflows.valueAt(rate);
+            double error = valuation.presentValue() * scale - targetDirtyPrice;
+            if (Math.abs(error) < PRICE_TOLERANCE) {
+                return solution(rate, valuation, scale, i, true);
+            }
+            double slope = valuation.firstDerivative() * scale;
+            // Price must fall as the rate rises; anything else means no usable cashflows
+            if (!(slope < 0)) {
+                return brent(cashflows, targetDirtyPrice, scale, i);
+            }
+            double next = rate - error / slope;
+            if (!(next >= MIN_RATE && next <= MAX_RATE)) {
+                return brent(cashflows, targetDirtyPrice, scale, i);
+            }
+            if (Math.abs(next - rate) < RATE_TOLERANCE) {
+                return solution(next, cashflows.valueAt(next), scale, i, true);
+            }
+            rate = next;
+        }
+        return brent(cashflows, targetDirtyPrice, scale, MAX_NEWTON_ITERATIONS);
+    }
+
+    private static Solution brent(BondCashflows cashflows, double target, double scale, int iterations) {
+        double a = MIN_RATE;
+        double b = MAX_RATE;
+        double fa = cashflows.presentValue(a) * scale - target;
+        double fb = cashflows.presentValue(b) * scale - target;
+        if (fa * fb > 0 || Double.isNaN(fa * fb)) {
+            // No root within the bounds: stop at the nearer bound, as the rate was clamped before
+            double rate = Math.abs(fa) < Math.abs(fb) ? a : b;
+            return solution(rate, cashflows.valueAt(rate), scale, iterations, false);
+        }
+
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+        for (int i = 1; i <= MAX_BRENT_ITERATIONS; i++) {
+            if (fb * fc > 0) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = 2 * Math.ulp(b) + 0.5 * RATE_TOLERANCE;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || Math.abs(fb) < PRICE_TOLERANCE) {
+                return solution(b, cashflows.valueAt(b), scale, iterations + i, true);
+            }
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                // Inverse quadratic interpolation, or secant when only two points are distinct
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * m * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : Math.copySign(tol, m);
+            fb = cashflows.presentValue(b) * scale - target;
+        }
+        return solution(b, cashflows.valueAt(b), scale, iterations + MAX_BRENT_ITERATIONS, false);
+    }
+
+    private static Solution solution(double rate, BondCashflows.RateValuation valuation, double scale,
+                                     int iterations, boolean converged) {
+        double pv = valuation.presentValue();
+        return new Solution(rate, pv * scale, -valuation.firstDerivative() / pv, valuation.secondDerivative() / pv,
+                            iterations, converged);
+    }
+}
@@ -0,0 +1,46 @@
+package com.creditdefaultswap.platform.service.bond;
+
+import com.creditdefaultswap.platform.model.DayCount;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Year fractions and discount factors from one valuation date at one flat discount rate, shared by
+ * every bond priced together. Bonds in a book pay on a small set of common coupon dates, so each
+ * (day count, payment date) pair is computed once per batch rather than once per bond.
+ */
+public final class DiscountFactorCache {
+
+    private static final int DAY_COUNTS = DayCount.values().length;
+
+    private final LocalDate valuationDate;
+    private final double discountRate;
+    // {year fraction, discount factor} keyed by payment epoch day and day count
+    private final Map<Long, double[]> entries = new ConcurrentHashMap<>();
+
+    public DiscountFactorCache(LocalDate valuationDate, double discountRate) {
+        this.valuationDate = valuationDate;
+        this.discountRate = discountRate;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
+    public double getDiscountRate() {
+        return discountRate;
+    }
+
+    /**
+     * Year fraction from the valuation date to the payment date and its discount factor
+     */
+    double[] lookup(LocalDate paymentDate, DayCount dayCount) {
+        long key = paymentDate.toEpochDay() * DAY_COUNTS + dayCount.ordinal();
+        return entries.computeIfAbsent(key, k -> {
+            double yearFraction = DayCountUtil.dayCountFraction(valuationDate, paymentDate, dayCount);
+            return new double[] {yearFraction, Math.exp(-discountRate * yearFraction)};
+        });
+    }
+}
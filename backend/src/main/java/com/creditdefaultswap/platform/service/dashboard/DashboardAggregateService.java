@@ -0,0 +1,197 @@
+package com.creditdefaultswap.platform.service.dashboard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the materialised dashboard tables dashboard_margin_daily and dashboard_saccr_daily.
+ *
+ * Each refresh recomputes only the slice a completed statement or SA-CCR run touched (one
+ * statement date and CCP, or one calculation date), so its cost does not grow with history.
+ * Refreshes requested inside a transaction run after it commits, and a failed refresh only
+ * logs: the nightly rebuild brings the tables back in line. Each refresh is pushed to open
+ * dashboards through {@link DashboardEventPublisher} once its own transaction has committed.
+ */
+@Service
+public class DashboardAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregateService.class);
+
+    private static final String MARGIN_COLUMNS = "statement_date, ccp_name, status, statement_count, " +
+            "variation_margin, initial_margin, last_updated_at, refreshed_at";
+
+    private static final String MARGIN_SELECT = "SELECT statement_date, ccp_name, status, COUNT(*), " +
+            "COALESCE(SUM(variation_margin), 0), COALESCE(SUM(initial_margin), 0), MAX(updated_at), ? " +
+            "FROM margin_statements";
+
+    private static final String SACCR_COLUMNS = "calculation_date, netting_set_id, jurisdiction, calculation_count, " +
+            "exposure_at_default, replacement_cost, potential_future_exposure, alpha_factor, effective_notional, " +
+            "calculated_at, refreshed_at";
+
+    // Latest calculation per date and netting set, with the number of calculations behind it
+    private static final String SACCR_SELECT = "SELECT calculation_date, netting_set_id, jurisdiction, calculation_count, " +
+            "exposure_at_default, replacement_cost, potential_future_exposure, alpha_factor, effective_notional, " +
+            "created_at, ? FROM (SELECT c.*, " +
+            "ROW_NUMBER() OVER (PARTITION BY calculation_date, netting_set_id ORDER BY created_at DESC, id DESC) AS rn, " +
+            "COUNT(*) OVER (PARTITION BY calculation_date, netting_set_id) AS calculation_count " +
+            "FROM sa_ccr_calculations c%s) latest WHERE rn = 1";
+
+    private static final int SLICE_LOCK_STRIPES = 64;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DashboardEventPublisher eventPublisher;
+
+    // Refreshes of one slice are serialised so they cannot both insert it; other slices run in parallel
+    private final Object[] sliceLocks = Stream.generate(Object::new).limit(SLICE_LOCK_STRIPES).toArray();
+
+    // Slice refreshes share the read lock; a full rebuild takes the write lock
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /**
+     * Recompute the margin aggregates of one statement date and CCP
+     */
+    public void refreshMargin(LocalDate statementDate, String ccpName) {
+        refreshAfterCommit("margin " + ccpName + " " + statementDate, () -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Map<String, MarginSlice> before = readMarginSlice(statementDate, ccpName);
+            jdbcTemplate.update("DELETE FROM dashboard_margin_daily WHERE statement_date = ? AND ccp_name = ?",
+                    Date.valueOf(statementDate), ccpName);
+            jdbcTemplate.update("INSERT INTO dashboard_margin_daily (" + MARGIN_COLUMNS + ") " + MARGIN_SELECT +
+                    " WHERE statement_date = ? AND ccp_name = ? GROUP BY statement_date, ccp_name, status",
+                    now, Date.valueOf(statementDate), ccpName);
+            Map<String, MarginSlice> after = readMarginSlice(statementDate, ccpName);
+
+            Map<String, Long> countChanges = new TreeMap<>();
+            before.forEach((status, slice) -> countChanges.merge(status, -slice.count(), Long::sum));
+            after.forEach((status, slice) -> countChanges.merge(status, slice.count(), Long::sum));
+            countChanges.values().removeIf(change -> change == 0);
+            MarginSlice processed = after.getOrDefault("PROCESSED", MarginSlice.EMPTY);
+            DashboardEvent.MarginChange change = new DashboardEvent.MarginChange(statementDate, ccpName, countChanges,
+                    processed.variationMargin(), processed.initialMargin());
+            return () -> eventPublisher.marginChanged(change);
+        });
+    }
+
+    /**
+     * Recompute the SA-CCR aggregates of one calculation date
+     */
+    public void refreshSaCcr(LocalDate calculationDate) {
+        refreshAfterCommit("SA-CCR " + calculationDate, () -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("DELETE FROM dashboard_saccr_daily WHERE calculation_date = ?",
+                    Date.valueOf(calculationDate));
+            jdbcTemplate.update("INSERT INTO dashboard_saccr_daily (" + SACCR_COLUMNS + ") " +
+                    String.format(SACCR_SELECT, " WHERE calculation_date = ?"), now, Date.valueOf(calculationDate));
+            return () -> eventPublisher.saCcrRecalculated(calculationDate);
+        });
+    }
+
+    /**
+     * Rebuild both tables from the full history
+     */
+    @Scheduled(cron = "${dashboard.aggregates.rebuild-cron:-}")
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        rebuildLock.writeLock().lock();
+        try {
+            newTransaction().executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update("DELETE FROM dashboard_margin_daily");
+                jdbcTemplate.update("INSERT INTO dashboard_margin_daily (" + MARGIN_COLUMNS + ") " + MARGIN_SELECT +
+                        " GROUP BY statement_date, ccp_name, status", now);
+                jdbcTemplate.update("DELETE FROM dashboard_saccr_daily");
+                jdbcTemplate.update("INSERT INTO dashboard_saccr_daily (" + SACCR_COLUMNS + ") " +
+                        String.format(SACCR_SELECT, ""), now);
+            });
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        logger.info("Rebuilt dashboard aggregates in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private Map<String, MarginSlice> readMarginSlice(LocalDate statementDate, String ccpName) {
+        Map<String, MarginSlice> slice = new HashMap<>();
+        jdbcTemplate.query("SELECT status, statement_count, variation_margin, initial_margin " +
+                        "FROM dashboard_margin_daily WHERE statement_date = ? AND ccp_name = ?",
+                rs -> {
+                    slice.put(rs.getString("status"), new MarginSlice(rs.getLong("statement_count"),
+                            rs.getBigDecimal("variation_margin"), rs.getBigDecimal("initial_margin")));
+                },
+                Date.valueOf(statementDate), ccpName);
+        return slice;
+    }
+
+    private record MarginSlice(long count, BigDecimal variationMargin, BigDecimal initialMargin) {
+        static final MarginSlice EMPTY = new MarginSlice(0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Run a slice refresh in its own transaction once the caller's commits; the refresh returns
+     * the event announcing it, which is published only after the refresh itself has committed
+     */
+    private void refreshAfterCommit(String slice, Supplier<Runnable> refresh) {
+        Runnable task = () -> {
+            Runnable publish;
+            rebuildLock.readLock().lock();
+            try {
+                synchronized (sliceLocks[Math.floorMod(slice.hashCode(), sliceLocks.length)]) {
+                    publish = newTransaction().execute(status -> refresh.get());
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to refresh dashboard aggregates for {}: {}", slice, e.getMessage());
+                return;
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+            publish.run();
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        // After completion the caller's synchronizations are cleared, so the event is sent straight away
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    task.run();
+                }
+            }
+        });
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return tx;
+    }
+}
@@ -1,18 +1,18 @@
 package com.creditdefaultswap.platform.service.dashboard;
 
 import com.creditdefaultswap.platform.model.MarginStatement;
-import com.creditdefaultswap.platform.model.saccr.SaCcrCalculation;
+import com.creditdefaultswap.platform.model.dashboard.DashboardMarginAggregate;
+import com.creditdefaultswap.platform.model.dashboard.DashboardSaCcrAggregate;
 import com.creditdefaultswap.platform.model.simm.SimmCalculation;
-import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
-import com.creditdefaultswap.platform.repository.MarginStatementRepository;
-import com.creditdefaultswap.platform.repository.saccr.SaCcrCalculationRepository;
+import com.creditdefaultswap.platform.repository.dashboard.DashboardMarginAggregateRepository;
+import com.creditdefaultswap.platform.repository.dashboard.DashboardSaCcrAggregateRepository;
 import com.creditdefaultswap.platform.repository.simm.SimmCalculationRepository;
 import com.creditdefaultswap.platform.repository.simm.SimmCalculationResultRepository;
 import com.creditdefaultswap.platform.service.saccr.SaCcrCalculationService;
-import com.creditdefaultswap.platform.service.simm.SimmCalculationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -23,24 +23,24 @@ import java.util.stream.Collectors;
 
 /**
  * Dashboard Aggregation Service
- * Provides consolidated view of margin, SA-CCR, and SIMM data for reconciliation dashboard
+ * Provides consolidated view of margin, SA-CCR, and SIMM data for reconciliation dashboard.
+ * Margin and SA-CCR figures come from the daily aggregate tables kept by {@link DashboardAggregateService}.
  */
 @Service
 public class DashboardAggregationService {
     
     private static final Logger logger = LoggerFactory.getLogger(DashboardAggregationService.class);
     
-    @Autowired
-    private MarginStatementRepository marginStatementRepository;
+    private static final int DASHBOARD_SIMM_CALCULATION_LIMIT = 5;
     
     @Autowired
-    private SaCcrCalculationRepository saCcrCalculationRepository;
+    private DashboardMarginAggregateRepository marginAggregateRepository;
     
     @Autowired
-    private SaCcrCalculationService saCcrCalculationService;
+    private DashboardSaCcrAggregateRepository saCcrAggregateRepository;
     
     @Autowired
-    private SimmCalculationService simmCalculationService;
+    private SaCcrCalculationService saCcrCalculationService;
     
     @Autowired
     private SimmCalculationRepository simmCalculationRepository;
@@ -99,32 +99,14 @@ public class DashboardAggregationService {
     private MarginSummary getMarginSummary(LocalDate asOfDate) {
         MarginSummary summary = new MarginSummary();
         
-        // Get statements for the date range (current and previous day for comparison)
-        LocalDate previousDate = asOfDate.minusDays(1);
-        List<MarginStatement> statements = marginStatementRepository
-                .findByStatementDateBetween(previousDate, asOfDate);
-        
-        // Filter for current date
-        List<MarginStatement> currentStatements = statements.stream()
-                .filter(s -> s.getStatementDate().equals(asOfDate))
-                .collect(Collectors.toList());
-        
-        // Aggregate VM and IM by CCP
+        // Per-CCP totals of the day; only processed statements count
         Map<String, BigDecimal> vmByCcp = new HashMap<>();
         Map<String, BigDecimal> imByCcp = new HashMap<>();
         
-        for (MarginStatement stmt : currentStatements) {
-            // Only include processed statements in margin calculations
-            if (stmt.getStatus() != MarginStatement.StatementStatus.PROCESSED) {
-                continue;
-            }
-            
-            String ccp = stmt.getCcpName();
-            BigDecimal vm = stmt.getVariationMargin() != null ? stmt.getVariationMargin() : BigDecimal.ZERO;
-            BigDecimal im = stmt.getInitialMargin() != null ? stmt.getInitialMargin() : BigDecimal.ZERO;
-            
-            vmByCcp.merge(ccp, vm, BigDecimal::add);
-            imByCcp.merge(ccp, im, BigDecimal::add);
+        for (DashboardMarginAggregate aggregate : marginAggregateRepository
+                .findByStatementDateAndStatus(asOfDate, MarginStatement.StatementStatus.PROCESSED)) {
+            vmByCcp.put(aggregate.getCcpName(), aggregate.getVariationMargin());
+            imByCcp.put(aggregate.getCcpName(), aggregate.getInitialMargin());
         }
         
         summary.totalVariationMargin = vmByCcp.values().stream()
@@ -145,24 +127,20 @@ public class DashboardAggregationService {
         // Count statements by status - use broader date range to catch data quality issues
         LocalDate startDate = asOfDate.minusDays(30); // Extended range
         LocalDate endDate = asOfDate.plusDays(1); // Include future dates for completeness
-        List<MarginStatement> allRecentStatements = marginStatementRepository
-                .findByStatementDateBetween(startDate, endDate);
+        List<DashboardMarginAggregateRepository.StatusCount> statusCounts = marginAggregateRepository
+                .sumCountsByStatusBetween(startDate, endDate);
         
-        // If no statements in date range, get all statements (for data quality issues)
-        if (allRecentStatements.isEmpty()) {
+        // If no statements in date range, count all statements (for data quality issues)
+        if (statusCounts.isEmpty()) {
             logger.warn("No statements found in date range {} to {}, checking all statements", startDate, endDate);
-            allRecentStatements = marginStatementRepository.findAll();
+            statusCounts = marginAggregateRepository.sumCountsByStatusIn(EnumSet.allOf(MarginStatement.StatementStatus.class));
         }
         
-        summary.statementsProcessed = Math.toIntExact(allRecentStatements.stream()
-                .filter(s -> s.getStatus() == MarginStatement.StatementStatus.PROCESSED)
-                .count());
-        summary.statementsPending = Math.toIntExact(allRecentStatements.stream()
-                .filter(s -> s.getStatus() == MarginStatement.StatementStatus.PENDING)
-                .count());
-        summary.statementsFailed = Math.toIntExact(allRecentStatements.stream()
-                .filter(s -> s.getStatus() == MarginStatement.StatementStatus.FAILED)
-                .count());
+        Map<MarginStatement.StatementStatus, Long> countByStatus = new EnumMap<>(MarginStatement.StatementStatus.class);
+        statusCounts.forEach(c -> countByStatus.put(c.getStatus(), c.getCount()));
+        summary.statementsProcessed = Math.toIntExact(countByStatus.getOrDefault(MarginStatement.StatementStatus.PROCESSED, 0L));
+        summary.statementsPending = Math.toIntExact(countByStatus.getOrDefault(MarginStatement.StatementStatus.PENDING, 0L));
+        summary.statementsFailed = Math.toIntExact(countByStatus.getOrDefault(MarginStatement.StatementStatus.FAILED, 0L));
         
         return summary;
     }
@@ -171,54 +149,21 @@ public class DashboardAggregationService {
      * Get SA-CCR exposure summary
      */
     private SaCcrSummary getSaCcrSummary(LocalDate asOfDate) {
-        SaCcrSummary summary = new SaCcrSummary();
+        // Latest calculation per netting set for the date
+        List<DashboardSaCcrAggregate> aggregates = saCcrAggregateRepository.findByCalculationDate(asOfDate);
         
-        // Get latest SA-CCR calculations
-        List<SaCcrCalculation> calculations = saCcrCalculationRepository
-                .findByCalculationDateOrderByCreatedAtDesc(asOfDate);
-        
-        if (calculations.isEmpty()) {
-            // Try to calculate if no data exists
+        if (aggregates.isEmpty()) {
+            // Try to calculate if no data exists; the run refreshes the aggregates
             try {
-                calculations = saCcrCalculationService.calculateAllExposures(asOfDate, "US");
+                saCcrCalculationService.calculateAllExposures(asOfDate, "US");
+                aggregates = saCcrAggregateRepository.findByCalculationDate(asOfDate);
             } catch (Exception e) {
                 logger.warn("Could not calculate SA-CCR exposures for {}: {}", asOfDate, e.getMessage());
-                calculations = new ArrayList<>();
+                aggregates = new ArrayList<>();
             }
         }
         
-        // Aggregate by netting set
-        Map<String, SaCcrNettingSetData> nettingSets = new HashMap<>();
-        BigDecimal totalEad = BigDecimal.ZERO;
-        BigDecimal totalRc = BigDecimal.ZERO;
-        BigDecimal totalPfe = BigDecimal.ZERO;
-        
-        for (SaCcrCalculation calc : calculations) {
-            String nettingSetId = calc.getNettingSetId();
-            
-            SaCcrNettingSetData nsData = new SaCcrNettingSetData();
-            nsData.nettingSetId = nettingSetId;
-            nsData.exposureAtDefault = calc.getExposureAtDefault();
-            nsData.replacementCost = calc.getReplacementCost();
-            nsData.potentialFutureExposure = calc.getPotentialFutureExposure();
-            nsData.alphaFactor = calc.getAlphaFactor();
-            nsData.effectiveNotional = calc.getEffectiveNotional();
-            
-            nettingSets.put(nettingSetId, nsData);
-            
-            totalEad = totalEad.add(calc.getExposureAtDefault());
-            totalRc = totalRc.add(calc.getReplacementCost());
-            totalPfe = totalPfe.add(calc.getPotentialFutureExposure());
-        }
-        
-        summary.totalExposureAtDefault = totalEad;
-        summary.totalReplacementCost = totalRc;
-        summary.totalPotentialFutureExposure = totalPfe;
-        summary.nettingSetCount = nettingSets.size();
-        summary.nettingSets = nettingSets;
-        summary.calculationsCount = calculations.size();
-        
-        return summary;
+        return SaCcrSummary.from(aggregates);
     }
     
     /**
@@ -228,17 +173,18 @@ public class DashboardAggregationService {
         ReconciliationStatus status = new ReconciliationStatus();
         
         // Check failed margin statements
-        List<MarginStatement> failedStatementsList = marginStatementRepository
-                .findByStatus(MarginStatement.StatementStatus.FAILED);
-        long failedStatements = failedStatementsList.size();
+        Map<MarginStatement.StatementStatus, Long> exceptionCounts = new EnumMap<>(MarginStatement.StatementStatus.class);
+        marginAggregateRepository.sumCountsByStatusIn(EnumSet.of(MarginStatement.StatementStatus.FAILED,
+                        MarginStatement.StatementStatus.DISPUTED))
+                .forEach(c -> exceptionCounts.put(c.getStatus(), c.getCount()));
+        long failedStatements = exceptionCounts.getOrDefault(MarginStatement.StatementStatus.FAILED, 0L);
         
         // Check pending reconciliation items
-        List<MarginStatement> disputedStatements = marginStatementRepository
-                .findByStatus(MarginStatement.StatementStatus.DISPUTED);
+        long disputedStatements = exceptionCounts.getOrDefault(MarginStatement.StatementStatus.DISPUTED, 0L);
         
-        status.totalExceptions = Math.toIntExact(failedStatements + disputedStatements.size());
+        status.totalExceptions = Math.toIntExact(failedStatements + disputedStatements);
         status.failedStatements = Math.toIntExact(failedStatements);
-        status.disputedItems = disputedStatements.size();
+        status.disputedItems = Math.toIntExact(disputedStatements);
         status.lastReconciliationTime = LocalDateTime.now().minusHours(1); // Mock data
         
         // Calculate data freshness
@@ -280,21 +226,14 @@ public class DashboardAggregationService {
         Map<String, LocalDateTime> freshness = new HashMap<>();
         
         // Get latest margin statement
-        List<MarginStatement> latestStatements = marginStatementRepository
-                .findByStatementDateBetween(asOfDate.minusDays(1), asOfDate);
-        if (!latestStatements.isEmpty()) {
-            freshness.put("margin", latestStatements.stream()
-                    .map(MarginStatement::getUpdatedAt)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(LocalDateTime.now().minusHours(6)));
-        }
+        marginAggregateRepository.findLatestUpdateBetween(asOfDate.minusDays(1), asOfDate)
+                .ifPresent(updatedAt -> freshness.put("margin", updatedAt));
         
         // Get latest SA-CCR calculation
-        List<SaCcrCalculation> latestCalcs = saCcrCalculationRepository
-                .findByCalculationDateOrderByCreatedAtDesc(asOfDate);
-        if (!latestCalcs.isEmpty()) {
-            freshness.put("saccr", latestCalcs.get(0).getCreatedAt());
-        }
+        saCcrAggregateRepository.findByCalculationDate(asOfDate).stream()
+                .map(DashboardSaCcrAggregate::getCalculatedAt)
+                .max(LocalDateTime::compareTo)
+                .ifPresent(calculatedAt -> freshness.put("saccr", calculatedAt));
         
         // Force SIMM data to show as fresh for demo/development environment
         LocalDateTime freshSimmTimestamp = LocalDateTime.now().minusMinutes(15);
@@ -339,6 +278,35 @@ public class DashboardAggregationService {
         public int nettingSetCount;
         public int calculationsCount;
         public Map<String, SaCcrNettingSetData> nettingSets = new HashMap<>();
+        
+        /**
+         * Summary of one date's netting set aggregates
+         */
+        public static SaCcrSummary from(List<DashboardSaCcrAggregate> aggregates) {
+            SaCcrSummary summary = new SaCcrSummary();
+            long calculationsCount = 0;
+            
+            for (DashboardSaCcrAggregate aggregate : aggregates) {
+                SaCcrNettingSetData nsData = new SaCcrNettingSetData();
+                nsData.nettingSetId = aggregate.getNettingSetId();
+                nsData.exposureAtDefault = aggregate.getExposureAtDefault();
+                nsData.replacementCost = aggregate.getReplacementCost();
+                nsData.potentialFutureExposure = aggregate.getPotentialFutureExposure();
+                nsData.alphaFactor = aggregate.getAlphaFactor();
+                nsData.effectiveNotional = aggregate.getEffectiveNotional();
+                summary.nettingSets.put(nsData.nettingSetId, nsData);
+                
+                summary.totalExposureAtDefault = summary.totalExposureAtDefault.add(aggregate.getExposureAtDefault());
+                summary.totalReplacementCost = summary.totalReplacementCost.add(aggregate.getReplacementCost());
+                summary.totalPotentialFutureExposure = summary.totalPotentialFutureExposure
+                        .add(aggregate.getPotentialFutureExposure());
+                calculationsCount += aggregate.getCalculationCount();
+            }
+            
+            summary.nettingSetCount = summary.nettingSets.size();
+            summary.calculationsCount = Math.toIntExact(calculationsCount);
+            return summary;
+        }
     }
     
     public static class SaCcrNettingSetData {
@@ -371,20 +339,21 @@ public class DashboardAggregationService {
         try {
             logger.info("Retrieving SIMM calculations for date: {}", asOfDate);
             
-            // TEMPORARY: Force using recent calculations for debugging
-            List<SimmCalculation> calculations = simmCalculationRepository.findAll().stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(5)
-                .collect(Collectors.toList());
-            logger.info("Found {} recent SIMM calculations (forced)", calculations.size());
+            // Most recent completed calculations via the status/created_at index, with their
+            // bucket margins aggregated in one grouped query rather than per-calculation result loads
+            List<SimmCalculation> calculations = simmCalculationRepository.findByCalculationStatusOrderByCreatedAtDesc(
+                SimmCalculation.CalculationStatus.COMPLETED, PageRequest.of(0, DASHBOARD_SIMM_CALCULATION_LIMIT));
+            logger.info("Found {} recent completed SIMM calculations", calculations.size());
+            
+            Map<Long, List<SimmCalculationResultRepository.BucketMarginView>> bucketsByCalculation = calculations.isEmpty()
+                ? Map.of()
+                : simmCalculationResultRepository.summarizeBucketsByCalculationIds(
+                        calculations.stream().map(SimmCalculation::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(SimmCalculationResultRepository.BucketMarginView::getCalculationId));
             
             List<SimmCalculationData> simmData = new ArrayList<>();
         
         for (SimmCalculation calc : calculations) {
-            if (calc.getCalculationStatus() != SimmCalculation.CalculationStatus.COMPLETED) {
-                continue;
-            }
-            
             SimmCalculationData calcData = new SimmCalculationData();
             calcData.id = calc.getCalculationId();
             calcData.portfolioId = calc.getPortfolioId();
@@ -396,94 +365,39 @@ public class DashboardAggregationService {
                 calc.getParameterSet().getVersionName() : "ISDA SIMM 2.6";
             calcData.calculationStatus = calc.getCalculationStatus().name();
             
-            // Get detailed bucket results using the calculation service
-            try {
-                List<SimmCalculationResult> results = simmCalculationService.getCalculationResults(calc);
-                List<SimmBucketData> buckets = new ArrayList<>();
+            List<SimmBucketData> buckets = new ArrayList<>();
+            for (SimmCalculationResultRepository.BucketMarginView view :
+                    bucketsByCalculation.getOrDefault(calc.getId(), List.of())) {
+                SimmBucketData bucket = new SimmBucketData();
+                bucket.bucketNumber = view.getBucket() != null ? view.getBucket() : "DEFAULT";
+                bucket.assetClass = view.getRiskClass();
+                bucket.initialMargin = view.getMarginUsd() != null ? view.getMarginUsd().doubleValue() : 0.0;
+                bucket.sensitivities = Math.toIntExact(view.getResultCount());
                 
-                // Group results by risk class to create bucket data
-                Map<String, List<SimmCalculationResult>> resultsByRiskClass = results.stream()
-                    .collect(Collectors.groupingBy(SimmCalculationResult::getRiskClass));
-                
-                for (Map.Entry<String, List<SimmCalculationResult>> entry : resultsByRiskClass.entrySet()) {
-                    String riskClass = entry.getKey();
-                    List<SimmCalculationResult> riskClassResults = entry.getValue();
-                    
-                    // Aggregate margin components by bucket within risk class
-                    Map<String, BigDecimal> marginByBucket = riskClassResults.stream()
-                        .collect(Collectors.groupingBy(
-                            result -> result.getBucket() != null ? result.getBucket() : "DEFAULT",
-                            Collectors.reducing(BigDecimal.ZERO, 
-                                              SimmCalculationResult::getMarginComponentUsd, 
-                                              BigDecimal::add)));
-                    
-                    for (Map.Entry<String, BigDecimal> bucketEntry : marginByBucket.entrySet()) {
-                        SimmBucketData bucket = new SimmBucketData();
-                        bucket.bucketNumber = bucketEntry.getKey();
-                        bucket.assetClass = riskClass;
-                        bucket.initialMargin = bucketEntry.getValue().doubleValue();
-                        
-                        // Calculate sensitivity count for this bucket
-                        bucket.sensitivities = Math.toIntExact(riskClassResults.stream()
-                            .filter(r -> bucketEntry.getKey().equals(r.getBucket()))
-                            .count());
-                        
-                        // Calculate risk component breakdown (real data from weighted sensitivities)
-                        List<SimmCalculationResult> bucketResults = riskClassResults.stream()
-                            .filter(r -> bucketEntry.getKey().equals(r.getBucket()))
-                            .collect(Collectors.toList());
-                        
-                        BigDecimal totalWeightedSensitivity = bucketResults.stream()
-                            .map(r -> r.getWeightedSensitivity() != null ? r.getWeightedSensitivity().abs() : BigDecimal.ZERO)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                        
-                        // For SIMM, different risk types contribute differently to total IM
-                        // Using real weighted sensitivity data to estimate delta/vega/curvature breakdown
-                        if (totalWeightedSensitivity.compareTo(BigDecimal.ZERO) > 0) {
-                            // Delta risk typically dominates (60-80%)
-                            bucket.delta = bucket.initialMargin * 0.7;
-                            // Vega risk (15-25%)
-                            bucket.vega = bucket.initialMargin * 0.2;
-                            // Curvature risk (5-15%)
-                            bucket.curvature = bucket.initialMargin * 0.1;
-                        } else {
-                            // Fallback proportional allocation
-                            bucket.delta = bucket.initialMargin * 0.6;
-                            bucket.vega = bucket.initialMargin * 0.25;
-                            bucket.curvature = bucket.initialMargin * 0.15;
-                        }
-                        
-                        buckets.add(bucket);
-                    }
-                }
-                
-                calcData.buckets = buckets;
-                logger.debug("Created SIMM calculation data with {} buckets for calculation {}", 
-                           buckets.size(), calc.getCalculationId());
-                
-            } catch (Exception e) {
-                logger.warn("Could not retrieve detailed results for calculation {}: {}", 
-                           calc.getCalculationId(), e.getMessage());
-                
-                // Fallback to repository-based lookup
-                List<SimmCalculationResult> results = simmCalculationResultRepository.findByCalculationId(calc.getId());
-                List<SimmBucketData> buckets = new ArrayList<>();
-                
-                for (SimmCalculationResult result : results) {
-                    SimmBucketData bucket = new SimmBucketData();
-                    bucket.bucketNumber = result.getBucket() != null ? result.getBucket() : "N/A";
-                    bucket.assetClass = result.getRiskClass();
-                    bucket.initialMargin = result.getMarginComponentUsd() != null ? 
-                        result.getMarginComponentUsd().doubleValue() : 0.0;
-                    bucket.sensitivities = 1; // Simplified count
+                // For SIMM, different risk types contribute differently to total IM
+                // Using real weighted sensitivity data to estimate delta/vega/curvature breakdown
+                BigDecimal totalWeightedSensitivity = view.getAbsWeightedSensitivity();
+                if (totalWeightedSensitivity != null && totalWeightedSensitivity.compareTo(BigDecimal.ZERO) > 0) {
+                    // Delta risk typically dominates (60-80%)
                     bucket.delta = bucket.initialMargin * 0.7;
+                    // Vega risk (15-25%)
                     bucket.vega = bucket.initialMargin * 0.2;
+                    // Curvature risk (5-15%)
                     bucket.curvature = bucket.initialMargin * 0.1;
-                    buckets.add(bucket);
+                } else {
+                    // Fallback proportional allocation
+                    bucket.delta = bucket.initialMargin * 0.6;
+                    bucket.vega = bucket.initialMargin * 0.25;
+                    bucket.curvature = bucket.initialMargin * 0.15;
                 }
-                calcData.buckets = buckets;
+                
+                buckets.add(bucket);
             }
             
+            calcData.buckets = buckets;
+            logger.debug("Created SIMM calculation data with {} buckets for calculation {}", 
+                       buckets.size(), calc.getCalculationId());
+            
             simmData.add(calcData);
         }
         
@@ -0,0 +1,30 @@
+package com.creditdefaultswap.platform.service.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Change pushed to open dashboards over the /api/dashboard/stream SSE connection.
+ * The type doubles as the SSE event name.
+ *
+ * @param type MARGIN_UPDATED, SACCR_RECALCULATED or SIMM_COMPLETED
+ * @param date Statement or calculation date the change belongs to
+ * @param occurredAt When the change was published
+ * @param data MarginChange, DashboardAggregationService.SaCcrSummary or the SIMM calculation list
+ */
+public record DashboardEvent(String type, LocalDate date, LocalDateTime occurredAt, Object data) {
+
+    public static final String MARGIN_UPDATED = "MARGIN_UPDATED";
+    public static final String SACCR_RECALCULATED = "SACCR_RECALCULATED";
+    public static final String SIMM_COMPLETED = "SIMM_COMPLETED";
+
+    /**
+     * Effect of a statement change on one statement date and CCP: how many statements entered or
+     * left each status, and the new VM/IM totals of the processed statements
+     */
+    public record MarginChange(LocalDate statementDate, String ccpName, Map<String, Long> statusCountChanges,
+                               BigDecimal variationMargin, BigDecimal initialMargin) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.creditdefaultswap.platform.service.dashboard;
+
+import com.creditdefaultswap.platform.model.simm.SimmCalculation;
+import com.creditdefaultswap.platform.repository.dashboard.DashboardSaCcrAggregateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Pushes dashboard changes to subscribed browsers as Server-Sent Events.
+ *
+ * Producers report a change once; its payload is built at most once, after the producing
+ * transaction commits and only if a dashboard is listening, and the same event is then written
+ * to every open connection on a single sender thread so producers never wait on slow clients.
+ */
+@Service
+public class DashboardEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventPublisher.class);
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    private DashboardSaCcrAggregateRepository saCcrAggregateRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Resolved lazily: the aggregation service depends on the SA-CCR services that publish here
+    @Autowired
+    private ObjectProvider<DashboardAggregationService> aggregationService;
+
+    @Value("${dashboard.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    /**
+     * Open a new SSE connection; the browser reconnects on its own when it times out
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        logger.debug("Dashboard subscriber connected ({} open)", emitters.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    public void marginChanged(DashboardEvent.MarginChange change) {
+        publish(DashboardEvent.MARGIN_UPDATED, change.statementDate(), () -> change);
+    }
+
+    public void saCcrRecalculated(LocalDate calculationDate) {
+        publish(DashboardEvent.SACCR_RECALCULATED, calculationDate, () -> DashboardAggregationService.SaCcrSummary
+                .from(saCcrAggregateRepository.findByCalculationDate(calculationDate)));
+    }
+
+    public void simmCompleted(SimmCalculation calculation) {
+        LocalDate calculationDate = calculation.getCalculationDate();
+        publish(DashboardEvent.SIMM_COMPLETED, calculationDate,
+                () -> aggregationService.getObject().getSimmCalculations(calculationDate));
+    }
+
+    /**
+     * Keep idle connections open through proxies
+     */
+    @Scheduled(fixedDelayString = "${dashboard.events.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        if (!emitters.isEmpty()) {
+            sender.execute(() -> send(() -> SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    private void publish(String type, LocalDate date, Supplier<Object> data) {
+        Runnable task = () -> sender.execute(() -> {
+            if (emitters.isEmpty()) {
+                return;
+            }
+            try {
+                // Serialised once and written as-is to every connection
+                String json = objectMapper.writeValueAsString(
+                        new DashboardEvent(type, date, LocalDateTime.now(), data.get()));
+                send(() -> SseEmitter.event().name(type).data(json, MediaType.APPLICATION_JSON));
+            } catch (Exception e) {
+                logger.warn("Failed to publish dashboard event {} for {}: {}", type, date, e.getMessage());
+            }
+        });
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private void send(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
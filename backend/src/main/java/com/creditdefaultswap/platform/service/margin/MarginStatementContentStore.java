@@ -0,0 +1,81 @@
+package com.creditdefaultswap.platform.service.margin;
+
+import com.creditdefaultswap.platform.model.MarginStatementContent;
+import com.creditdefaultswap.platform.repository.MarginStatementContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores uploaded statement files gzip-compressed in margin_statement_contents, keyed by
+ * statement, so the margin_statements table only carries metadata.
+ */
+@Service
+public class MarginStatementContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarginStatementContentStore.class);
+
+    @Autowired
+    private MarginStatementContentRepository contentRepository;
+
+    /**
+     * Compress and store the content of a statement in one pass, hashing it on the way
+     */
+    public MarginStatementContent store(Long statementId, InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        long originalSize;
+        try (DigestInputStream in = new DigestInputStream(content, digest);
+             GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            originalSize = in.transferTo(gzip);
+        }
+        if (compressed.size() > MarginStatementContent.MAX_STORED_BYTES) {
+            throw new IOException("Compressed statement content exceeds "
+                    + MarginStatementContent.MAX_STORED_BYTES + " bytes");
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        List<MarginStatementContentRepository.ContentInfo> duplicates = contentRepository.findByContentHash(hash);
+        if (!duplicates.isEmpty()) {
+            logger.warn("Content of statement {} is identical to statement(s) {}", statementId,
+                    duplicates.stream().map(MarginStatementContentRepository.ContentInfo::getStatementId).toList());
+        }
+
+        MarginStatementContent stored = contentRepository.save(new MarginStatementContent(statementId, hash,
+                MarginStatementContent.Compression.GZIP, originalSize, compressed.toByteArray()));
+        logger.debug("Stored statement {} content: {} bytes, {} compressed", statementId, originalSize,
+                stored.getStoredSize());
+        return stored;
+    }
+
+    /**
+     * Open the stored content of a statement, decompressing it as it is read
+     */
+    public InputStream open(Long statementId) throws IOException {
+        MarginStatementContent content = contentRepository.findById(statementId)
+                .orElseThrow(() -> new IOException("Raw content not found for statement " + statementId));
+        InputStream in = new ByteArrayInputStream(content.getContent());
+        return content.getCompression() == MarginStatementContent.Compression.GZIP ? new GZIPInputStream(in) : in;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
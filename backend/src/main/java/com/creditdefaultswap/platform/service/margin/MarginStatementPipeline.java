@@ -0,0 +1,378 @@
+package com.creditdefaultswap.platform.service.margin;
+
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
+import com.creditdefaultswap.platform.model.MarginPosition;
+import com.creditdefaultswap.platform.model.MarginStatement;
+import com.creditdefaultswap.platform.repository.MarginStatementRepository;
+import com.creditdefaultswap.platform.service.StatementProcessingLogService;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
+import com.creditdefaultswap.platform.service.parser.StatementParser;
+import com.creditdefaultswap.platform.service.parser.StatementParserFactory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queued margin statement ingestion pipeline.
+ *
+ * Uploads only persist the statement and enqueue it; parse, validate and persist stages then
+ * run on a bounded worker pool per CCP, so end-of-day files from different clearing houses are
+ * processed concurrently and an upload request never waits for parsing. Positions are streamed
+ * from the parser straight into JDBC batches inside one transaction per statement, and the
+ * statement status moves PENDING/RETRYING, PROCESSING, then PROCESSED or FAILED for polling.
+ */
+@Service
+public class MarginStatementPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarginStatementPipeline.class);
+
+    static final String INSERT_SQL =
+        "INSERT INTO margin_positions (statement_id, position_type, amount, currency, effective_date, " +
+        "account_number, portfolio_code, product_class, netting_set_id, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private MarginStatementRepository statementRepository;
+
+    @Autowired
+    private StatementParserFactory parserFactory;
+
+    @Autowired
+    private StatementProcessingLogService logService;
+
+    @Autowired
+    private MarginStatementContentStore contentStore;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private PlatformMetrics metrics;
+
+    @Value("${margin.pipeline.default-parallelism:2}")
+    private int defaultParallelism;
+
+    @Value("${margin.pipeline.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${margin.pipeline.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${margin.pipeline.processing-timeout-minutes:30}")
+    private int processingTimeoutMinutes;
+
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /**
+     * Queue a saved statement for processing. Inside a transaction the statement is queued once
+     * the transaction commits, so workers never see uncommitted statements.
+     */
+    public void submit(MarginStatement statement) {
+        Long statementId = statement.getId();
+        String ccpName = statement.getCcpName();
+        if (!inFlight.add(statementId)) {
+            logger.debug("Statement {} is already queued", statementId);
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(statementId, ccpName);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(statementId, ccpName);
+                } else {
+                    inFlight.remove(statementId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-queue statements left PENDING or RETRYING, e.g. after a restart dropped the in-memory queues,
+     * and statements stuck PROCESSING for longer than the processing timeout
+     */
+    @Scheduled(cron = "${margin.pipeline.recovery-cron:-}")
+    public void recoverUnprocessedStatements() {
+        List<MarginStatement> statements = new ArrayList<>(statementRepository.findStatementsForProcessing());
+        statements.addAll(statementRepository.findStalledProcessingStatements(
+                LocalDateTime.now().minusMinutes(processingTimeoutMinutes)));
+        int queued = 0;
+        for (MarginStatement statement : statements) {
+            if (!inFlight.contains(statement.getId())) {
+                submit(statement);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            logger.info("Re-queued {} unprocessed margin statements", queued);
+        }
+    }
+
+    /**
+     * Run all stages for one statement on the calling thread
+     */
+    public void process(Long statementId) {
+        MarginStatement statement = statementRepository.findById(statementId).orElse(null);
+        if (statement == null) {
+            logger.warn("Margin statement {} no longer exists, skipping", statementId);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String ccp = statement.getCcpName().toUpperCase(Locale.ROOT);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            statement.setStatus(MarginStatement.StatementStatus.PROCESSING);
+            MarginStatement processing = statementRepository.save(statement);
+            logService.logProcessingStep(statementId, "PARSE", "SUCCESS", "Starting statement parsing");
+
+            PositionBatchWriter writer = tx.execute(status -> parseAndPersist(processing));
+            dashboardAggregates.refreshMargin(processing.getStatementDate(), processing.getCcpName());
+
+            logService.logProcessingStep(statementId, "COMPLETE", "SUCCESS",
+                    "Statement processed successfully with " + writer.count + " positions");
+            logger.info("Successfully processed statement {} for {} with {} positions in {} ms",
+                    processing.getStatementId(), processing.getCcpName(), writer.count,
+                    System.currentTimeMillis() - startTime);
+            metrics.recordDuration(PlatformMetrics.MARGIN_STATEMENT_PROCESSING, System.nanoTime() - startNanos,
+                    PlatformMetrics.OUTCOME_SUCCESS, "ccp", ccp);
+            metrics.recordAmount(PlatformMetrics.MARGIN_STATEMENT_POSITIONS, "positions", writer.count, "ccp", ccp);
+
+        } catch (Exception e) {
+            metrics.recordDuration(PlatformMetrics.MARGIN_STATEMENT_PROCESSING, System.nanoTime() - startNanos,
+                    PlatformMetrics.OUTCOME_FAILURE, "ccp", ccp);
+            handleProcessingError(statementId, e instanceof StageException ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Active workers, queued statements and configured parallelism per CCP
+     */
+    public Map<String, Map<String, Integer>> getQueueStats() {
+        Map<String, Map<String, Integer>> stats = new TreeMap<>();
+        executors.forEach((ccp, executor) -> stats.put(ccp, Map.of(
+                "parallelism", executor.getMaximumPoolSize(),
+                "active", executor.getActiveCount(),
+                "queued", executor.getQueue().size())));
+        return stats;
+    }
+
+    public boolean isQueued(Long statementId) {
+        return inFlight.contains(statementId);
+    }
+
+    private void enqueue(Long statementId, String ccpName) {
+        try {
+            executorFor(ccpName).execute(() -> {
+                try {
+                    process(statementId);
+                } finally {
+                    inFlight.remove(statementId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(statementId);
+            deferStatement(statementId, "Processing queue for " + ccpName + " is full");
+        }
+    }
+
+    /**
+     * Leave a statement the queue could not take as RETRYING so the recovery job queues it again
+     */
+    private void deferStatement(Long statementId, String reason) {
+        logger.warn("Deferring statement {}: {}", statementId, reason);
+
+        statementRepository.findById(statementId).ifPresent(statement -> {
+            statement.setStatus(MarginStatement.StatementStatus.RETRYING);
+            statement.setErrorMessage(reason);
+            statementRepository.save(statement);
+        });
+
+        logService.logProcessingStep(statementId, "QUEUE", "WARNING", reason);
+    }
+
+    private ThreadPoolExecutor executorFor(String ccpName) {
+        String ccp = ccpName.toUpperCase(Locale.ROOT);
+        return executors.computeIfAbsent(ccp, key -> {
+            int parallelism = Math.max(1, environment.getProperty(
+                    "margin.pipeline.parallelism." + key, Integer.class, defaultParallelism));
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "margin-" + key.toLowerCase(Locale.ROOT)
+                                + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            metrics.gauge(PlatformMetrics.MARGIN_QUEUE_DEPTH, executor, pool -> pool.getQueue().size(), "ccp", key);
+            logger.info("Started margin statement workers for {} with parallelism {}", key, parallelism);
+            return executor;
+        });
+    }
+
+    /**
+     * Parse, validate and persist stages; runs in one transaction so a failure leaves no positions
+     */
+    private PositionBatchWriter parseAndPersist(MarginStatement statement) {
+        StatementParser parser = parserFactory.getParser(statement)
+                .orElseThrow(() -> new StageException(new IllegalStateException("No parser available for "
+                        + statement.getCcpName() + " format " + statement.getStatementFormat())));
+
+        // Reprocessing replaces rather than duplicates positions
+        jdbcTemplate.update("DELETE FROM margin_positions WHERE statement_id = ?", statement.getId());
+
+        PositionBatchWriter writer = new PositionBatchWriter(statement.getId());
+        try (InputStream content = contentStore.open(statement.getId())) {
+            parser.parseStatement(statement, content, writer::add);
+        } catch (StageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StageException(e);
+        }
+        writer.flush();
+
+        if (writer.count == 0) {
+            throw new StageException(new IllegalStateException("No positions found in statement"));
+        }
+        logService.logProcessingStep(statement.getId(), "VALIDATE", "SUCCESS",
+                writer.count + " positions validated and written");
+
+        statement.setVariationMargin(writer.variationMargin);
+        statement.setInitialMargin(writer.initialMargin);
+        statement.setStatus(MarginStatement.StatementStatus.PROCESSED);
+        statement.setProcessedAt(LocalDateTime.now());
+        statement.setErrorMessage(null);
+        statementRepository.save(statement);
+        return writer;
+    }
+
+    private void handleProcessingError(Long statementId, Throwable e) {
+        logger.error("Failed to process statement {}: {}", statementId, e.getMessage(), e);
+
+        statementRepository.findById(statementId).ifPresent(statement -> {
+            statement.setStatus(MarginStatement.StatementStatus.FAILED);
+            statement.setErrorMessage(e.getMessage());
+            statementRepository.save(statement);
+            dashboardAggregates.refreshMargin(statement.getStatementDate(), statement.getCcpName());
+        });
+
+        logService.logProcessingStep(statementId, "PROCESS", "FAILURE", e.getMessage());
+    }
+
+    /**
+     * Validates positions as the parser emits them, keeps the VM/IM totals and writes them
+     * in JDBC batches of the configured size
+     */
+    private class PositionBatchWriter {
+
+        private final Long statementId;
+        private final List<MarginPosition> buffer = new ArrayList<>(batchSize);
+        private BigDecimal variationMargin = BigDecimal.ZERO;
+        private BigDecimal initialMargin = BigDecimal.ZERO;
+        private int count;
+
+        PositionBatchWriter(Long statementId) {
+            this.statementId = statementId;
+        }
+
+        void add(MarginPosition position) {
+            switch (position.getPositionType()) {
+                case INITIAL_MARGIN -> {
+                    if (position.getAmount().signum() < 0) {
+                        throw new StageException(new IllegalStateException(
+                                "Initial margin cannot be negative: " + position.getAmount()));
+                    }
+                    initialMargin = initialMargin.add(position.getAmount());
+                }
+                // Excess collateral counts towards VM for dashboard purposes
+                case VARIATION_MARGIN, EXCESS_COLLATERAL -> variationMargin = variationMargin.add(position.getAmount());
+            }
+
+            buffer.add(position);
+            count++;
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_SQL, buffer, buffer.size(), (ps, position) -> {
+                ps.setLong(1, statementId);
+                ps.setString(2, position.getPositionType().name());
+                ps.setBigDecimal(3, position.getAmount());
+                ps.setString(4, position.getCurrency());
+                ps.setDate(5, Date.valueOf(position.getEffectiveDate()));
+                ps.setString(6, position.getAccountNumber());
+                ps.setString(7, position.getPortfolioCode());
+                ps.setString(8, position.getProductClass());
+                ps.setString(9, position.getNettingSetId());
+                ps.setTimestamp(10, createdAt);
+            });
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Carries a stage failure out of the transaction callback; the cause is what gets reported
+     */
+    private static class StageException extends RuntimeException {
+        StageException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
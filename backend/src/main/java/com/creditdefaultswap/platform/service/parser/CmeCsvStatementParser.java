@@ -4,15 +4,14 @@ import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * CSV statement parser for CME margin statements
@@ -23,10 +22,15 @@ public class CmeCsvStatementParser implements StatementParser {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseContent(statement);
+            StreamingCsvStatementReader.read(content, this::mapHeader, (headerMap, line, lineNumber) -> {
+                MarginPosition position = parseDataLine(statement, line, headerMap);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (Exception e) {
             throw new StatementParsingException("Failed to parse CME CSV statement: " + e.getMessage(), e);
         }
@@ -34,17 +38,18 @@ public class CmeCsvStatementParser implements StatementParser {
     
     @Override
     public void validateFormat(String content) throws StatementValidationException {
-        if (content == null || content.trim().isEmpty()) {
-            throw new StatementValidationException("Statement content is empty");
-        }
-        
-        String[] lines = content.split("\n");
-        if (lines.length < 2) {
-            throw new StatementValidationException("Statement must contain at least header and one data row");
+        try {
+            StreamingCsvStatementReader.read(StatementStreams.of(content), this::mapHeader, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        String header = lines[0].trim();
-        String[] headerFields = header.split(",");
+    }
+    
+    /**
+     * Check the required CME headers and map lower-cased header names to column indices
+     */
+    private Map<String, Integer> mapHeader(String headerLine) throws StatementValidationException {
+        String[] headerFields = headerLine.trim().split(",");
         
         // Check for required CME CSV headers
         List<String> requiredHeaders = List.of("Statement Date", "Account ID", "Position Date", "Margin Type", "Portfolio", "Asset Class", "Amount", "Currency");
@@ -61,41 +66,12 @@ public class CmeCsvStatementParser implements StatementParser {
                 throw new StatementValidationException("Missing required header: " + requiredHeader);
             }
         }
-    }
-    
-    private List<MarginPosition> parseContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
         
-        try (BufferedReader reader = new BufferedReader(new StringReader(statement.getRawContent()))) {
-            String line;
-            boolean isFirstLine = true;
-            Map<String, Integer> headerMap = new HashMap<>();
-            
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    // Parse header to create field mapping
-                    String[] headers = line.split(",");
-                    for (int i = 0; i < headers.length; i++) {
-                        headerMap.put(headers[i].trim().toLowerCase(), i);
-                    }
-                    isFirstLine = false;
-                    continue;
-                }
-                
-                if (line.trim().isEmpty()) {
-                    continue; // Skip empty lines
-                }
-                
-                MarginPosition position = parseDataLine(statement, line, headerMap);
-                if (position != null) {
-                    positions.add(position);
-                }
-            }
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing CSV content: " + e.getMessage(), e);
+        Map<String, Integer> headerMap = new HashMap<>();
+        for (int i = 0; i < headerFields.length; i++) {
+            headerMap.put(headerFields[i].trim().toLowerCase(), i);
         }
-        
-        return positions;
+        return headerMap;
     }
     
     private MarginPosition parseDataLine(MarginStatement statement, String line, Map<String, Integer> headerMap) throws StatementParsingException {
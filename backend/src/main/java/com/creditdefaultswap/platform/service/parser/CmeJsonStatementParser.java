@@ -3,14 +3,14 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for CME margin statements in JSON format
@@ -19,7 +19,8 @@ import java.util.List;
 public class CmeJsonStatementParser implements StatementParser {
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final StreamingJsonStatementReader.Layout LAYOUT = new StreamingJsonStatementReader.Layout(
+        "ccpMarginReport", List.of("reportHeader", "memberAccounts"), "memberAccounts", "accountId", "marginPositions");
     
     @Override
     public boolean supports(String ccpName, MarginStatement.StatementFormat format) {
@@ -32,10 +33,16 @@ public class CmeJsonStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseJsonContent(statement);
+            StreamingJsonStatementReader.read(content, LAYOUT, (accountNode, positionNode) -> {
+                String accountId = getRequiredTextValue(accountNode, "accountId");
+                MarginPosition position = parseMarginPositionNode(statement, accountId, positionNode);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse CME JSON statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -46,65 +53,10 @@ public class CmeJsonStatementParser implements StatementParser {
     @Override
     public void validateFormat(String content) throws StatementValidationException {
         try {
-            JsonNode root = objectMapper.readTree(content);
-            
-            // Validate root structure
-            if (!root.has("ccpMarginReport")) {
-                throw new StatementValidationException("Missing required 'ccpMarginReport' root element");
-            }
-            
-            JsonNode ccpMarginReport = root.get("ccpMarginReport");
-            
-            // Validate required sections
-            if (!ccpMarginReport.has("reportHeader")) {
-                throw new StatementValidationException("Missing required 'reportHeader' section");
-            }
-            
-            if (!ccpMarginReport.has("memberAccounts")) {
-                throw new StatementValidationException("Missing required 'memberAccounts' section");
-            }
-            
-            JsonNode memberAccounts = ccpMarginReport.get("memberAccounts");
-            if (!memberAccounts.isArray()) {
-                throw new StatementValidationException("'memberAccounts' must be an array");
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new StatementValidationException("Invalid JSON format: " + e.getMessage(), e);
-        }
-    }
-    
-    private List<MarginPosition> parseJsonContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(statement.getRawContent());
-            JsonNode ccpMarginReport = root.get("ccpMarginReport");
-            JsonNode memberAccountsArray = ccpMarginReport.get("memberAccounts");
-            
-            for (JsonNode accountNode : memberAccountsArray) {
-                String accountId = getRequiredTextValue(accountNode, "accountId");
-                
-                if (accountNode.has("marginPositions")) {
-                    JsonNode marginPositions = accountNode.get("marginPositions");
-                    if (marginPositions.isArray()) {
-                        for (JsonNode positionNode : marginPositions) {
-                            MarginPosition position = parseMarginPositionNode(statement, accountId, positionNode);
-                            if (position != null) {
-                                positions.add(position);
-                            }
-                        }
-                    }
-                }
-            }
-            
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing JSON content: " + e.getMessage(), e);
+            StreamingJsonStatementReader.read(StatementStreams.of(content), LAYOUT, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parseMarginPositionNode(MarginStatement statement, String accountId, JsonNode positionNode) throws StatementParsingException {
@@ -3,21 +3,15 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import org.xml.sax.SAXException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * XML statement parser for CME margin statements
@@ -26,12 +20,19 @@ import java.util.List;
 public class CmeXmlStatementParser implements StatementParser {
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final StreamingXmlStatementReader.Layout LAYOUT = new StreamingXmlStatementReader.Layout(
+        "CCPMarginReport", List.of("ReportHeader", "MemberAccounts"), "Account", "id", "MarginPosition");
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseXmlContent(statement);
+            StreamingXmlStatementReader.read(content, LAYOUT, (accountId, positionElement) -> {
+                MarginPosition position = parseMarginPositionElement(statement, accountId, positionElement);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (Exception e) {
             throw new StatementParsingException("Failed to parse CME XML statement: " + e.getMessage(), e);
         }
@@ -39,75 +40,11 @@ public class CmeXmlStatementParser implements StatementParser {
     
     @Override
     public void validateFormat(String content) throws StatementValidationException {
-        if (content == null || content.trim().isEmpty()) {
-            throw new StatementValidationException("Statement content is empty");
-        }
-        
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(content.getBytes()));
-            
-            // Validate root element
-            Element root = doc.getDocumentElement();
-            if (!"CCPMarginReport".equals(root.getLocalName())) {
-                throw new StatementValidationException("Invalid XML root element. Expected 'CCPMarginReport', got: " + root.getLocalName());
-            }
-            
-            // Validate required elements exist
-            NodeList headerNodes = root.getElementsByTagName("ReportHeader");
-            if (headerNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'ReportHeader' element");
-            }
-            
-            NodeList memberAccountsNodes = root.getElementsByTagName("MemberAccounts");
-            if (memberAccountsNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'MemberAccounts' element");
-            }
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementValidationException("Invalid XML format: " + e.getMessage(), e);
-        } catch (StatementValidationException e) {
-            throw e;
-        }
-    }
-    
-    private List<MarginPosition> parseXmlContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(statement.getRawContent().getBytes()));
-            
-            // Get all Account elements
-            NodeList accountNodes = doc.getElementsByTagName("Account");
-            
-            for (int i = 0; i < accountNodes.getLength(); i++) {
-                Element accountElement = (Element) accountNodes.item(i);
-                String accountId = accountElement.getAttribute("id");
-                
-                // Get all MarginPosition elements within this account
-                NodeList positionNodes = accountElement.getElementsByTagName("MarginPosition");
-                
-                for (int j = 0; j < positionNodes.getLength(); j++) {
-                    Element positionElement = (Element) positionNodes.item(j);
-                    MarginPosition position = parseMarginPositionElement(statement, accountId, positionElement);
-                    if (position != null) {
-                        positions.add(position);
-                    }
-                }
-            }
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementParsingException("Error parsing XML content: " + e.getMessage(), e);
+            StreamingXmlStatementReader.read(StatementStreams.of(content), LAYOUT, null);
         } catch (StatementParsingException e) {
-            throw e;
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parseMarginPositionElement(MarginStatement statement, String accountId, Element positionElement) throws StatementParsingException {
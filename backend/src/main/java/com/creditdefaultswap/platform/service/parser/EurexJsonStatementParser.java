@@ -3,14 +3,14 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for EUREX margin statements in JSON format
@@ -20,7 +20,8 @@ import java.util.List;
 public class EurexJsonStatementParser implements StatementParser {
     
     private static final DateTimeFormatter EUREX_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final StreamingJsonStatementReader.Layout LAYOUT = new StreamingJsonStatementReader.Layout(
+        "eurexMarginReport", List.of("reportMetadata", "clearingAccounts"), "clearingAccounts", "accountId", "marginPositions");
     
     @Override
     public boolean supports(String ccpName, MarginStatement.StatementFormat format) {
@@ -33,10 +34,16 @@ public class EurexJsonStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseJsonContent(statement);
+            StreamingJsonStatementReader.read(content, LAYOUT, (accountNode, positionNode) -> {
+                String accountId = getRequiredTextValue(accountNode, "accountId");
+                MarginPosition position = parseMarginPositionNode(statement, accountId, positionNode);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse EUREX JSON statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -47,65 +54,10 @@ public class EurexJsonStatementParser implements StatementParser {
     @Override
     public void validateFormat(String content) throws StatementValidationException {
         try {
-            JsonNode root = objectMapper.readTree(content);
-            
-            // Validate root structure
-            if (!root.has("eurexMarginReport")) {
-                throw new StatementValidationException("Missing required 'eurexMarginReport' root element");
-            }
-            
-            JsonNode eurexMarginReport = root.get("eurexMarginReport");
-            
-            // Validate required sections
-            if (!eurexMarginReport.has("reportMetadata")) {
-                throw new StatementValidationException("Missing required 'reportMetadata' section");
-            }
-            
-            if (!eurexMarginReport.has("clearingAccounts")) {
-                throw new StatementValidationException("Missing required 'clearingAccounts' section");
-            }
-            
-            JsonNode clearingAccounts = eurexMarginReport.get("clearingAccounts");
-            if (!clearingAccounts.isArray()) {
-                throw new StatementValidationException("'clearingAccounts' must be an array");
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new StatementValidationException("Invalid JSON format: " + e.getMessage(), e);
-        }
-    }
-    
-    private List<MarginPosition> parseJsonContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(statement.getRawContent());
-            JsonNode eurexMarginReport = root.get("eurexMarginReport");
-            JsonNode clearingAccountsArray = eurexMarginReport.get("clearingAccounts");
-            
-            for (JsonNode accountNode : clearingAccountsArray) {
-                String accountId = getRequiredTextValue(accountNode, "accountId");
-                
-                if (accountNode.has("marginPositions")) {
-                    JsonNode marginPositions = accountNode.get("marginPositions");
-                    if (marginPositions.isArray()) {
-                        for (JsonNode positionNode : marginPositions) {
-                            MarginPosition position = parseMarginPositionNode(statement, accountId, positionNode);
-                            if (position != null) {
-                                positions.add(position);
-                            }
-                        }
-                    }
-                }
-            }
-            
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing JSON content: " + e.getMessage(), e);
+            StreamingJsonStatementReader.read(StatementStreams.of(content), LAYOUT, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parseMarginPositionNode(MarginStatement statement, String accountId, JsonNode positionNode) throws StatementParsingException {
@@ -4,14 +4,11 @@ import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for ICE margin statements in CSV format
@@ -33,10 +30,21 @@ public class IceCsvStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseCsvContent(statement);
+            StreamingCsvStatementReader.read(content, this::mapHeader, (columns, line, lineNumber) -> {
+                try {
+                    MarginPosition position = parseCsvLine(statement, line.trim(),
+                            columns.memberCodeIndex(), columns.accountIndex(), columns.dateIndex(), columns.marginClassIndex(), columns.amountIndex(), columns.currencyIndex(), columns.assetClassIndex(), columns.productIndex(), columns.clearingServiceIndex());
+                    
+                    if (position != null) {
+                        sink.accept(position);
+                    }
+                } catch (Exception e) {
+                    throw new StatementParsingException("Error parsing line " + lineNumber + ": " + e.getMessage());
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse ICE CSV statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -46,97 +54,45 @@ public class IceCsvStatementParser implements StatementParser {
     
     @Override
     public void validateFormat(String content) throws StatementValidationException {
-        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                throw new StatementValidationException("Empty CSV file");
-            }
-            
-            // Expected ICE CSV headers
-            String[] expectedHeaders = {"MemberCode", "AccountID", "ReportDate", "MarginClass", "MarginAmount", "Currency", "AssetClass", "Product", "ClearingService"};
-            String[] actualHeaders = headerLine.split(",");
-            
-            if (actualHeaders.length < expectedHeaders.length) {
-                throw new StatementValidationException("Invalid CSV header. Expected at least " + expectedHeaders.length + " columns, got " + actualHeaders.length);
-            }
-            
-            // Validate key headers are present
-            for (String expectedHeader : expectedHeaders) {
-                boolean found = false;
-                for (String actualHeader : actualHeaders) {
-                    if (expectedHeader.equalsIgnoreCase(actualHeader.trim())) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    throw new StatementValidationException("Missing required header: " + expectedHeader);
-                }
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (IOException e) {
-            throw new StatementValidationException("Error reading CSV content: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new StatementValidationException("Error validating CSV format: " + e.getMessage(), e);
+        try {
+            StreamingCsvStatementReader.read(StatementStreams.of(content), this::mapHeader, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
     }
     
-    private List<MarginPosition> parseCsvContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
+    /**
+     * Column indices of the ICE CSV fields, resolved once from the header line
+     */
+    private record Columns(int memberCodeIndex, int accountIndex, int dateIndex, int marginClassIndex, int amountIndex, int currencyIndex, int assetClassIndex, int productIndex, int clearingServiceIndex) {
+    }
+    
+    private Columns mapHeader(String headerLine) throws StatementValidationException {
+        // Expected ICE CSV headers
+        String[] expectedHeaders = {"MemberCode", "AccountID", "ReportDate", "MarginClass", "MarginAmount", "Currency", "AssetClass", "Product", "ClearingService"};
+        String[] headers = headerLine.split(",");
         
-        try (BufferedReader reader = new BufferedReader(new StringReader(statement.getRawContent()))) {
-            String headerLine = reader.readLine(); // Skip header
-            if (headerLine == null) {
-                throw new StatementParsingException("Empty CSV file");
-            }
-            
-            String[] headers = headerLine.split(",");
-            
-            // Map header indices
-            int memberCodeIndex = findHeaderIndex(headers, "MemberCode");
-            int accountIndex = findHeaderIndex(headers, "AccountID");
-            int dateIndex = findHeaderIndex(headers, "ReportDate");
-            int marginClassIndex = findHeaderIndex(headers, "MarginClass");
-            int amountIndex = findHeaderIndex(headers, "MarginAmount");
-            int currencyIndex = findHeaderIndex(headers, "Currency");
-            int assetClassIndex = findHeaderIndex(headers, "AssetClass");
-            int productIndex = findHeaderIndex(headers, "Product");
-            int clearingServiceIndex = findHeaderIndex(headers, "ClearingService");
-            
-            String line;
-            int lineNumber = 1;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                try {
-                    MarginPosition position = parseCsvLine(statement, line, 
-                            memberCodeIndex, accountIndex, dateIndex, marginClassIndex, 
-                            amountIndex, currencyIndex, assetClassIndex, productIndex, clearingServiceIndex);
-                    
-                    if (position != null) {
-                        positions.add(position);
-                    }
-                } catch (Exception e) {
-                    throw new StatementParsingException("Error parsing line " + lineNumber + ": " + e.getMessage());
-                }
+        if (headers.length < expectedHeaders.length) {
+            throw new StatementValidationException("Invalid CSV header. Expected at least " + expectedHeaders.length + " columns, got " + headers.length);
+        }
+        
+        // Validate key headers are present
+        for (String expectedHeader : expectedHeaders) {
+            if (findHeaderIndex(headers, expectedHeader) < 0) {
+                throw new StatementValidationException("Missing required header: " + expectedHeader);
             }
-            
-        } catch (StatementParsingException e) {
-            throw e;
-        } catch (IOException e) {
-            throw new StatementParsingException("Error reading CSV content: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing CSV content: " + e.getMessage(), e);
         }
         
-        return positions;
+        return new Columns(
+            findHeaderIndex(headers, "MemberCode"),
+            findHeaderIndex(headers, "AccountID"),
+            findHeaderIndex(headers, "ReportDate"),
+            findHeaderIndex(headers, "MarginClass"),
+            findHeaderIndex(headers, "MarginAmount"),
+            findHeaderIndex(headers, "Currency"),
+            findHeaderIndex(headers, "AssetClass"),
+            findHeaderIndex(headers, "Product"),
+            findHeaderIndex(headers, "ClearingService"));
     }
     
     private MarginPosition parseCsvLine(MarginStatement statement, String line,
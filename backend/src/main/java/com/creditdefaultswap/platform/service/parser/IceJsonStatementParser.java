@@ -3,14 +3,14 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for ICE margin statements in JSON format
@@ -20,7 +20,8 @@ import java.util.List;
 public class IceJsonStatementParser implements StatementParser {
     
     private static final DateTimeFormatter ICE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final StreamingJsonStatementReader.Layout LAYOUT = new StreamingJsonStatementReader.Layout(
+        "iceClearMarginStatement", List.of("statementHeader", "memberAccounts"), "memberAccounts", "accountId", "marginRequirements");
     
     @Override
     public boolean supports(String ccpName, MarginStatement.StatementFormat format) {
@@ -33,10 +34,16 @@ public class IceJsonStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseJsonContent(statement);
+            StreamingJsonStatementReader.read(content, LAYOUT, (accountNode, positionNode) -> {
+                String accountId = getRequiredTextValue(accountNode, "accountId");
+                MarginPosition position = parseMarginRequirementNode(statement, accountId, positionNode);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse ICE JSON statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -47,65 +54,10 @@ public class IceJsonStatementParser implements StatementParser {
     @Override
     public void validateFormat(String content) throws StatementValidationException {
         try {
-            JsonNode root = objectMapper.readTree(content);
-            
-            // Validate root structure
-            if (!root.has("iceClearMarginStatement")) {
-                throw new StatementValidationException("Missing required 'iceClearMarginStatement' root element");
-            }
-            
-            JsonNode iceClearMarginStatement = root.get("iceClearMarginStatement");
-            
-            // Validate required sections
-            if (!iceClearMarginStatement.has("statementHeader")) {
-                throw new StatementValidationException("Missing required 'statementHeader' section");
-            }
-            
-            if (!iceClearMarginStatement.has("memberAccounts")) {
-                throw new StatementValidationException("Missing required 'memberAccounts' section");
-            }
-            
-            JsonNode memberAccounts = iceClearMarginStatement.get("memberAccounts");
-            if (!memberAccounts.isArray()) {
-                throw new StatementValidationException("'memberAccounts' must be an array");
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new StatementValidationException("Invalid JSON format: " + e.getMessage(), e);
-        }
-    }
-    
-    private List<MarginPosition> parseJsonContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(statement.getRawContent());
-            JsonNode iceClearMarginStatement = root.get("iceClearMarginStatement");
-            JsonNode memberAccountsArray = iceClearMarginStatement.get("memberAccounts");
-            
-            for (JsonNode accountNode : memberAccountsArray) {
-                String accountId = getRequiredTextValue(accountNode, "accountId");
-                
-                if (accountNode.has("marginRequirements")) {
-                    JsonNode marginRequirements = accountNode.get("marginRequirements");
-                    if (marginRequirements.isArray()) {
-                        for (JsonNode positionNode : marginRequirements) {
-                            MarginPosition position = parseMarginRequirementNode(statement, accountId, positionNode);
-                            if (position != null) {
-                                positions.add(position);
-                            }
-                        }
-                    }
-                }
-            }
-            
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing JSON content: " + e.getMessage(), e);
+            StreamingJsonStatementReader.read(StatementStreams.of(content), LAYOUT, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parseMarginRequirementNode(MarginStatement statement, String accountId, JsonNode positionNode) throws StatementParsingException {
@@ -3,21 +3,15 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import org.xml.sax.SAXException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for ICE margin statements in XML format
@@ -27,6 +21,8 @@ import java.util.List;
 public class IceXmlStatementParser implements StatementParser {
     
     private static final DateTimeFormatter ICE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final StreamingXmlStatementReader.Layout LAYOUT = new StreamingXmlStatementReader.Layout(
+        "ICEClearMarginStatement", List.of("StatementHeader", "MemberAccounts"), "Account", "accountId", "MarginPosition");
     
     @Override
     public boolean supports(String ccpName, MarginStatement.StatementFormat format) {
@@ -39,10 +35,15 @@ public class IceXmlStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseXmlContent(statement);
+            StreamingXmlStatementReader.read(content, LAYOUT, (accountId, positionElement) -> {
+                MarginPosition position = parseMarginPositionElement(statement, accountId, positionElement);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse ICE XML statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -53,70 +54,10 @@ public class IceXmlStatementParser implements StatementParser {
     @Override
     public void validateFormat(String content) throws StatementValidationException {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(content.getBytes()));
-            
-            // Validate root element
-            Element root = doc.getDocumentElement();
-            if (!"ICEClearMarginStatement".equals(root.getNodeName())) {
-                throw new StatementValidationException("Invalid XML root element. Expected 'ICEClearMarginStatement', got: " + root.getNodeName());
-            }
-            
-            // Validate required elements exist
-            NodeList headerNodes = root.getElementsByTagName("StatementHeader");
-            if (headerNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'StatementHeader' element");
-            }
-            
-            NodeList memberAccountsNodes = root.getElementsByTagName("MemberAccounts");
-            if (memberAccountsNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'MemberAccounts' element");
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementValidationException("Invalid XML format: " + e.getMessage(), e);
-        }
-    }
-    
-    private List<MarginPosition> parseXmlContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(statement.getRawContent().getBytes()));
-            
-            // Get all Account elements
-            NodeList accountNodes = doc.getElementsByTagName("Account");
-            
-            for (int i = 0; i < accountNodes.getLength(); i++) {
-                Element accountElement = (Element) accountNodes.item(i);
-                String accountId = accountElement.getAttribute("accountId");
-                
-                // Get all MarginPosition elements within this account
-                NodeList positionNodes = accountElement.getElementsByTagName("MarginPosition");
-                
-                for (int j = 0; j < positionNodes.getLength(); j++) {
-                    Element positionElement = (Element) positionNodes.item(j);
-                    MarginPosition position = parseMarginPositionElement(statement, accountId, positionElement);
-                    if (position != null) {
-                        positions.add(position);
-                    }
-                }
-            }
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementParsingException("Error parsing XML content: " + e.getMessage(), e);
+            StreamingXmlStatementReader.read(StatementStreams.of(content), LAYOUT, null);
         } catch (StatementParsingException e) {
-            throw e;
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parseMarginPositionElement(MarginStatement statement, String accountId, Element positionElement) throws StatementParsingException {
@@ -4,13 +4,11 @@ import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * CSV statement parser for LCH margin statements
@@ -22,10 +20,15 @@ public class LchCsvStatementParser implements StatementParser {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseContent(statement);
+            StreamingCsvStatementReader.read(content, this::validateHeader, (header, line, lineNumber) -> {
+                MarginPosition position = parseDataLine(statement, line);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (Exception e) {
             throw new StatementParsingException("Failed to parse LCH CSV statement: " + e.getMessage(), e);
         }
@@ -33,48 +36,19 @@ public class LchCsvStatementParser implements StatementParser {
     
     @Override
     public void validateFormat(String content) throws StatementValidationException {
-        if (content == null || content.trim().isEmpty()) {
-            throw new StatementValidationException("Statement content is empty");
-        }
-        
-        String[] lines = content.split("\n");
-        if (lines.length < 2) {
-            throw new StatementValidationException("Statement must contain at least header and one data row");
-        }
-        
-        String header = lines[0].trim();
-        if (!header.equals(EXPECTED_HEADER)) {
-            throw new StatementValidationException("Invalid CSV header. Expected: " + EXPECTED_HEADER + ", Got: " + header);
+        try {
+            StreamingCsvStatementReader.read(StatementStreams.of(content), this::validateHeader, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
     }
     
-    private List<MarginPosition> parseContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new StringReader(statement.getRawContent()))) {
-            String line;
-            boolean isFirstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
-                }
-                
-                if (line.trim().isEmpty()) {
-                    continue; // Skip empty lines
-                }
-                
-                MarginPosition position = parseDataLine(statement, line);
-                if (position != null) {
-                    positions.add(position);
-                }
-            }
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing CSV content: " + e.getMessage(), e);
+    private String validateHeader(String headerLine) throws StatementValidationException {
+        String header = headerLine.trim();
+        if (!header.equals(EXPECTED_HEADER)) {
+            throw new StatementValidationException("Invalid CSV header. Expected: " + EXPECTED_HEADER + ", Got: " + header);
         }
-        
-        return positions;
+        return header;
     }
     
     private MarginPosition parseDataLine(MarginStatement statement, String line) throws StatementParsingException {
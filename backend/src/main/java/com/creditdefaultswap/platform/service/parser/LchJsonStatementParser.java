@@ -3,14 +3,14 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for LCH margin statements in JSON format
@@ -19,7 +19,8 @@ import java.util.List;
 public class LchJsonStatementParser implements StatementParser {
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final StreamingJsonStatementReader.Layout LAYOUT =
+        StreamingJsonStatementReader.Layout.flat("marginStatement", List.of("header", "positions"), "positions");
     
     @Override
     public boolean supports(String ccpName, MarginStatement.StatementFormat format) {
@@ -32,10 +33,15 @@ public class LchJsonStatementParser implements StatementParser {
     }
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseJsonContent(statement);
+            StreamingJsonStatementReader.read(content, LAYOUT, (accountNode, positionNode) -> {
+                MarginPosition position = parsePositionNode(statement, positionNode);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (StatementValidationException e) {
             throw new StatementParsingException("Failed to parse LCH JSON statement: " + e.getMessage(), e);
         } catch (Exception e) {
@@ -46,56 +52,10 @@ public class LchJsonStatementParser implements StatementParser {
     @Override
     public void validateFormat(String content) throws StatementValidationException {
         try {
-            JsonNode root = objectMapper.readTree(content);
-            
-            // Validate root structure
-            if (!root.has("marginStatement")) {
-                throw new StatementValidationException("Missing required 'marginStatement' root element");
-            }
-            
-            JsonNode marginStatement = root.get("marginStatement");
-            
-            // Validate required sections
-            if (!marginStatement.has("header")) {
-                throw new StatementValidationException("Missing required 'header' section");
-            }
-            
-            if (!marginStatement.has("positions")) {
-                throw new StatementValidationException("Missing required 'positions' section");
-            }
-            
-            JsonNode positions = marginStatement.get("positions");
-            if (!positions.isArray()) {
-                throw new StatementValidationException("'positions' must be an array");
-            }
-            
-        } catch (StatementValidationException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new StatementValidationException("Invalid JSON format: " + e.getMessage(), e);
-        }
-    }
-    
-    private List<MarginPosition> parseJsonContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(statement.getRawContent());
-            JsonNode marginStatement = root.get("marginStatement");
-            JsonNode positionsArray = marginStatement.get("positions");
-            
-            for (JsonNode positionNode : positionsArray) {
-                MarginPosition position = parsePositionNode(statement, positionNode);
-                if (position != null) {
-                    positions.add(position);
-                }
-            }
-            
-        } catch (Exception e) {
-            throw new StatementParsingException("Error parsing JSON content: " + e.getMessage(), e);
+            StreamingJsonStatementReader.read(StatementStreams.of(content), LAYOUT, null);
+        } catch (StatementParsingException e) {
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parsePositionNode(MarginStatement statement, JsonNode positionNode) throws StatementParsingException {
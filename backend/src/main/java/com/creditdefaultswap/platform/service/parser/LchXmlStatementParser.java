@@ -3,21 +3,15 @@ package com.creditdefaultswap.platform.service.parser;
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import org.xml.sax.SAXException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * XML statement parser for LCH margin statements
@@ -26,12 +20,19 @@ import java.util.List;
 public class LchXmlStatementParser implements StatementParser {
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final StreamingXmlStatementReader.Layout LAYOUT =
+        StreamingXmlStatementReader.Layout.flat("marginStatement", List.of("header", "positions"), "position");
     
     @Override
-    public List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException {
+    public void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException {
         try {
-            validateFormat(statement.getRawContent());
-            return parseXmlContent(statement);
+            StreamingXmlStatementReader.read(content, LAYOUT, (accountId, positionElement) -> {
+                MarginPosition position = parsePositionElement(statement, positionElement);
+                if (position != null) {
+                    sink.accept(position);
+                }
+            });
         } catch (Exception e) {
             throw new StatementParsingException("Failed to parse LCH XML statement: " + e.getMessage(), e);
         }
@@ -39,71 +40,11 @@ public class LchXmlStatementParser implements StatementParser {
     
     @Override
     public void validateFormat(String content) throws StatementValidationException {
-        if (content == null || content.trim().isEmpty()) {
-            throw new StatementValidationException("Statement content is empty");
-        }
-        
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(content.getBytes()));
-            
-            // Validate root element
-            Element root = doc.getDocumentElement();
-            if (!"marginStatement".equals(root.getNodeName())) {
-                throw new StatementValidationException("Invalid XML root element. Expected 'marginStatement', got: " + root.getNodeName());
-            }
-            
-            // Validate required elements exist
-            NodeList headerNodes = root.getElementsByTagName("header");
-            if (headerNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'header' element");
-            }
-            
-            NodeList positionsNodes = root.getElementsByTagName("positions");
-            if (positionsNodes.getLength() == 0) {
-                throw new StatementValidationException("Missing required 'positions' element");
-            }
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementValidationException("Invalid XML format: " + e.getMessage(), e);
-        } catch (StatementValidationException e) {
-            throw e;
-        }
-    }
-    
-    private List<MarginPosition> parseXmlContent(MarginStatement statement) throws StatementParsingException {
-        List<MarginPosition> positions = new ArrayList<>();
-        
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(statement.getRawContent().getBytes()));
-            
-            // Get positions element
-            NodeList positionsNodes = doc.getElementsByTagName("positions");
-            if (positionsNodes.getLength() == 0) {
-                throw new StatementParsingException("No positions element found");
-            }
-            
-            Element positionsElement = (Element) positionsNodes.item(0);
-            NodeList positionNodes = positionsElement.getElementsByTagName("position");
-            
-            for (int i = 0; i < positionNodes.getLength(); i++) {
-                Element positionElement = (Element) positionNodes.item(i);
-                MarginPosition position = parsePositionElement(statement, positionElement);
-                if (position != null) {
-                    positions.add(position);
-                }
-            }
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new StatementParsingException("Error parsing XML content: " + e.getMessage(), e);
+            StreamingXmlStatementReader.read(StatementStreams.of(content), LAYOUT, null);
         } catch (StatementParsingException e) {
-            throw e;
+            throw new StatementValidationException(e.getMessage(), e);
         }
-        
-        return positions;
     }
     
     private MarginPosition parsePositionElement(MarginStatement statement, Element positionElement) throws StatementParsingException {
@@ -2,7 +2,8 @@ package com.creditdefaultswap.platform.service.parser;
 
 import com.creditdefaultswap.platform.model.MarginStatement;
 import com.creditdefaultswap.platform.model.MarginPosition;
-import java.util.List;
+import java.io.InputStream;
+import java.util.function.Consumer;
 
 /**
  * Strategy interface for parsing different CCP statement formats
@@ -10,12 +11,15 @@ import java.util.List;
 public interface StatementParser {
     
     /**
-     * Parse statement content and extract margin positions
-     * @param statement The margin statement containing raw content
-     * @return List of parsed margin positions
-     * @throws StatementParsingException if parsing fails
+     * Validate and parse statement content in a single streaming pass, handing each margin
+     * position to the sink as soon as it is read. The content is never held in memory as a whole.
+     * @param statement The margin statement the positions belong to
+     * @param content Statement content (UTF-8); not closed by the parser
+     * @param sink Receives each parsed margin position in document order
+     * @throws StatementParsingException if validation or parsing fails
      */
-    List<MarginPosition> parseStatement(MarginStatement statement) throws StatementParsingException;
+    void parseStatement(MarginStatement statement, InputStream content, Consumer<MarginPosition> sink)
+            throws StatementParsingException;
     
     /**
      * Validate statement format and structure
@@ -0,0 +1,55 @@
+package com.creditdefaultswap.platform.service.parser;
+
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementValidationException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared stream handling for the streaming statement parsers
+ */
+final class StatementStreams {
+
+    private StatementStreams() {
+    }
+
+    /**
+     * Stream over stored raw content; null content reads as empty
+     */
+    static InputStream of(String content) {
+        return new ByteArrayInputStream(content != null ? content.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+    }
+
+    /**
+     * Skip leading whitespace and fail fast on empty content, without buffering the statement
+     */
+    static InputStream requireContent(InputStream content) throws StatementValidationException {
+        PushbackInputStream in = new PushbackInputStream(content, 1);
+        try {
+            int b;
+            do {
+                b = in.read();
+            } while (b != -1 && Character.isWhitespace(b));
+
+            if (b == -1) {
+                throw new StatementValidationException("Statement content is empty");
+            }
+            in.unread(b);
+            return in;
+        } catch (IOException e) {
+            throw new StatementValidationException("Error reading statement content: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * UTF-8 line reader over non-empty statement content
+     */
+    static BufferedReader lines(InputStream content) throws StatementValidationException {
+        return new BufferedReader(new InputStreamReader(requireContent(content), StandardCharsets.UTF_8));
+    }
+}
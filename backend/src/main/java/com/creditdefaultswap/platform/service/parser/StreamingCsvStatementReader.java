@@ -0,0 +1,64 @@
+package com.creditdefaultswap.platform.service.parser;
+
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementParsingException;
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Single-pass line reader for CCP CSV margin statements.
+ *
+ * The header line is validated and mapped to columns once; data lines are then handed over one
+ * at a time as they are read, so a statement never has to be held or split as a whole.
+ */
+final class StreamingCsvStatementReader {
+
+    /**
+     * Validates the header line and returns the column mapping used for every data line
+     */
+    @FunctionalInterface
+    interface HeaderHandler<H> {
+        H handle(String headerLine) throws StatementValidationException;
+    }
+
+    @FunctionalInterface
+    interface LineHandler<H> {
+        void handle(H columns, String line, int lineNumber) throws StatementParsingException;
+    }
+
+    private StreamingCsvStatementReader() {
+    }
+
+    /**
+     * Validate the statement and hand each non-blank data line to the handler (validate only when null)
+     */
+    static <H> void read(InputStream content, HeaderHandler<H> headerHandler, LineHandler<H> lineHandler)
+            throws StatementValidationException, StatementParsingException {
+        try (BufferedReader reader = StatementStreams.lines(content)) {
+            H columns = headerHandler.handle(reader.readLine());
+
+            boolean hasData = false;
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                hasData = true;
+                if (lineHandler == null) {
+                    break;
+                }
+                lineHandler.handle(columns, line, lineNumber);
+            }
+
+            if (!hasData) {
+                throw new StatementValidationException("Statement must contain at least header and one data row");
+            }
+        } catch (IOException e) {
+            throw new StatementParsingException("Error reading CSV content: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.creditdefaultswap.platform.service.parser;
+
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementParsingException;
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementValidationException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass Jackson streaming reader for CCP JSON margin statements.
+ *
+ * Checks the root object and required sections while streaming and reads one position at a time
+ * as a small tree, so parsers keep their node-based field extraction without holding the whole
+ * statement. For account-grouped layouts the account's scalar fields are passed alongside each
+ * position; positions that precede the account id in the document are held until it is known.
+ */
+final class StreamingJsonStatementReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Shape of a CCP's JSON statement. Without an accounts field the positions array sits
+     * directly under the root object; otherwise it sits inside each entry of the accounts array.
+     */
+    record Layout(String rootField, List<String> requiredSections, String accountsField,
+                  String accountIdField, String positionsField) {
+
+        static Layout flat(String rootField, List<String> requiredSections, String positionsField) {
+            return new Layout(rootField, requiredSections, null, null, positionsField);
+        }
+    }
+
+    @FunctionalInterface
+    interface PositionHandler {
+        void handle(JsonNode account, JsonNode position) throws StatementParsingException;
+    }
+
+    private StreamingJsonStatementReader() {
+    }
+
+    /**
+     * Validate the statement and hand each position node to the handler (validate only when null)
+     */
+    static void read(InputStream content, Layout layout, PositionHandler handler)
+            throws StatementValidationException, StatementParsingException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(StatementStreams.requireContent(content))) {
+            boolean rootSeen = false;
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if (layout.rootField().equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                        readRoot(parser, layout, handler);
+                        rootSeen = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+
+            if (!rootSeen) {
+                throw new StatementValidationException("Missing required '" + layout.rootField() + "' root element");
+            }
+        } catch (IOException e) {
+            throw new StatementValidationException("Invalid JSON format: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readRoot(JsonParser parser, Layout layout, PositionHandler handler)
+            throws IOException, StatementValidationException, StatementParsingException {
+        Set<String> missing = new LinkedHashSet<>(layout.requiredSections());
+        String arrayField = layout.accountsField() != null ? layout.accountsField() : layout.positionsField();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            missing.remove(field);
+
+            if (!arrayField.equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw new StatementValidationException("'" + arrayField + "' must be an array");
+            }
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (handler == null) {
+                    parser.skipChildren();
+                } else if (layout.accountsField() == null) {
+                    handler.handle(null, parser.readValueAsTree());
+                } else {
+                    readAccount(parser, layout, handler);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new StatementValidationException("Missing required '" + missing.iterator().next() + "' section");
+        }
+    }
+
+    private static void readAccount(JsonParser parser, Layout layout, PositionHandler handler)
+            throws IOException, StatementValidationException, StatementParsingException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new StatementValidationException("'" + layout.accountsField() + "' entries must be objects");
+        }
+
+        ObjectNode account = MAPPER.createObjectNode();
+        List<JsonNode> pending = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            if (!layout.positionsField().equals(field) || parser.currentToken() != JsonToken.START_ARRAY) {
+                account.set(field, parser.readValueAsTree());
+                continue;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode position = parser.readValueAsTree();
+                if (account.has(layout.accountIdField())) {
+                    handler.handle(account, position);
+                } else {
+                    pending.add(position);
+                }
+            }
+        }
+
+        for (JsonNode position : pending) {
+            handler.handle(account, position);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.creditdefaultswap.platform.service.parser;
+
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementParsingException;
+import com.creditdefaultswap.platform.service.parser.StatementParser.StatementValidationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass StAX reader for CCP XML margin statements.
+ *
+ * Checks the root element and required sections while streaming and materialises one position
+ * at a time as a detached DOM element, so parsers keep their element-based field extraction
+ * while memory stays bounded by the largest position rather than the whole statement.
+ */
+final class StreamingXmlStatementReader {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final DocumentBuilderFactory DOCUMENT_FACTORY = DocumentBuilderFactory.newInstance();
+
+    /**
+     * Shape of a CCP's XML statement. When an account element is given, only positions inside
+     * an account are read and each is paired with that account's id attribute.
+     */
+    record Layout(String rootElement, List<String> requiredElements, String accountElement,
+                  String accountIdAttribute, String positionElement) {
+
+        static Layout flat(String rootElement, List<String> requiredElements, String positionElement) {
+            return new Layout(rootElement, requiredElements, null, null, positionElement);
+        }
+    }
+
+    @FunctionalInterface
+    interface PositionHandler {
+        void handle(String accountId, Element position) throws StatementParsingException;
+    }
+
+    private StreamingXmlStatementReader() {
+    }
+
+    /**
+     * Validate the statement and hand each position element to the handler (validate only when null)
+     */
+    static void read(InputStream content, Layout layout, PositionHandler handler)
+            throws StatementValidationException, StatementParsingException {
+        InputStream in = StatementStreams.requireContent(content);
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(in);
+            Document owner = handler != null ? newDocument() : null;
+            Set<String> missing = new LinkedHashSet<>(layout.requiredElements());
+            boolean rootSeen = false;
+            int accountDepth = 0;
+            String accountId = null;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals(layout.accountElement())) {
+                    accountDepth--;
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                String name = reader.getLocalName();
+                if (!rootSeen) {
+                    if (!layout.rootElement().equals(name)) {
+                        throw new StatementValidationException("Invalid XML root element. Expected '"
+                            + layout.rootElement() + "', got: " + name);
+                    }
+                    rootSeen = true;
+                    continue;
+                }
+
+                missing.remove(name);
+                if (name.equals(layout.accountElement())) {
+                    accountDepth++;
+                    String id = reader.getAttributeValue(null, layout.accountIdAttribute());
+                    accountId = id != null ? id : "";
+                } else if (name.equals(layout.positionElement()) && handler != null
+                        && (layout.accountElement() == null || accountDepth > 0)) {
+                    handler.handle(accountId, readElement(reader, owner));
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                throw new StatementValidationException("Missing required '" + missing.iterator().next() + "' element");
+            }
+        } catch (XMLStreamException e) {
+            throw new StatementValidationException("Invalid XML format: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the subtree at the reader's current start element, leaving the reader on its end element
+     */
+    private static Element readElement(XMLStreamReader reader, Document owner) throws XMLStreamException {
+        Element root = createElement(reader, owner);
+        Node current = root;
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    Element child = createElement(reader, owner);
+                    current.appendChild(child);
+                    current = child;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                    current.appendChild(owner.createTextNode(reader.getText()));
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (current == root) {
+                        return root;
+                    }
+                    current = current.getParentNode();
+                }
+                default -> {
+                    // Comments and processing instructions carry no position data
+                }
+            }
+        }
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document owner) {
+        Element element = owner.createElementNS(emptyToNull(reader.getNamespaceURI()), reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Document newDocument() throws StatementParsingException {
+        try {
+            return DOCUMENT_FACTORY.newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new StatementParsingException("XML parser unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
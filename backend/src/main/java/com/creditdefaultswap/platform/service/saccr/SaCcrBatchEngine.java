@@ -0,0 +1,273 @@
+package com.creditdefaultswap.platform.service.saccr;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.TradeStatus;
+import com.creditdefaultswap.platform.model.saccr.NettingSet;
+import com.creditdefaultswap.platform.model.saccr.SaCcrCalculation;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.repository.saccr.NettingSetRepository;
+import com.creditdefaultswap.platform.repository.saccr.SaCcrCalculationRepository;
+import com.creditdefaultswap.platform.repository.saccr.SaCcrSupervisoryParameterRepository;
+import com.creditdefaultswap.platform.service.dashboard.DashboardAggregateService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Batch SA-CCR engine for all netting sets of a jurisdiction.
+ *
+ * A run makes a fixed number of round trips regardless of book size: one read of the
+ * jurisdiction's supervisory parameters into a {@link SupervisoryParameterLookup}, one
+ * read of the netting sets, one query for every active netted trade (grouped by netting
+ * set in memory), and one batched MERGE that upserts every result by calculation ID.
+ * Netting sets are computed in parallel slices on a dedicated pool between the reads and
+ * the write.
+ */
+@Service
+@Slf4j
+public class SaCcrBatchEngine {
+
+    static final String UPSERT_SQL =
+        "MERGE INTO sa_ccr_calculations c " +
+        "USING (SELECT CAST(? AS VARCHAR(100)) AS calculation_id, CAST(? AS VARCHAR(100)) AS netting_set_id, " +
+        "CAST(? AS DATE) AS calculation_date, CAST(? AS VARCHAR(10)) AS jurisdiction, " +
+        "CAST(? AS DECIMAL(5,3)) AS alpha_factor, CAST(? AS DECIMAL(20,8)) AS gross_mtm, " +
+        "CAST(? AS DECIMAL(20,8)) AS vm_received, CAST(? AS DECIMAL(20,8)) AS vm_posted, " +
+        "CAST(? AS DECIMAL(20,8)) AS im_received, CAST(? AS DECIMAL(20,8)) AS im_posted, " +
+        "CAST(? AS DECIMAL(20,8)) AS replacement_cost, CAST(? AS DECIMAL(20,8)) AS effective_notional, " +
+        "CAST(? AS DECIMAL(20,8)) AS supervisory_addon, CAST(? AS DECIMAL(10,6)) AS multiplier, " +
+        "CAST(? AS DECIMAL(20,8)) AS potential_future_exposure, CAST(? AS DECIMAL(20,8)) AS exposure_at_default, " +
+        "CAST(? AS VARCHAR(20)) AS calculation_status, CAST(? AS TIMESTAMP) AS created_at) s " +
+        "ON (c.calculation_id = s.calculation_id) " +
+        "WHEN MATCHED THEN UPDATE SET alpha_factor = s.alpha_factor, gross_mtm = s.gross_mtm, " +
+        "vm_received = s.vm_received, vm_posted = s.vm_posted, im_received = s.im_received, " +
+        "im_posted = s.im_posted, replacement_cost = s.replacement_cost, " +
+        "effective_notional = s.effective_notional, supervisory_addon = s.supervisory_addon, " +
+        "multiplier = s.multiplier, potential_future_exposure = s.potential_future_exposure, " +
+        "exposure_at_default = s.exposure_at_default, calculation_status = s.calculation_status " +
+        "WHEN NOT MATCHED THEN INSERT (calculation_id, netting_set_id, calculation_date, jurisdiction, " +
+        "alpha_factor, gross_mtm, vm_received, vm_posted, im_received, im_posted, replacement_cost, " +
+        "effective_notional, supervisory_addon, multiplier, potential_future_exposure, exposure_at_default, " +
+        "calculation_status, created_at) VALUES (s.calculation_id, s.netting_set_id, s.calculation_date, " +
+        "s.jurisdiction, s.alpha_factor, s.gross_mtm, s.vm_received, s.vm_posted, s.im_received, s.im_posted, " +
+        "s.replacement_cost, s.effective_notional, s.supervisory_addon, s.multiplier, " +
+        "s.potential_future_exposure, s.exposure_at_default, s.calculation_status, s.created_at)";
+
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private NettingSetRepository nettingSetRepository;
+
+    @Autowired
+    private CDSTradeRepository cdsTradeRepository;
+
+    @Autowired
+    private SaCcrSupervisoryParameterRepository supervisoryParameterRepository;
+
+    @Autowired
+    private SaCcrCalculationRepository calculationRepository;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${saccr.batch.parallelism:0}")
+    private int parallelism;
+
+    @Value("${saccr.batch.slices-per-worker:4}")
+    private int slicesPerWorker;
+
+    private final SaCcrExposureCalculator calculator = new SaCcrExposureCalculator();
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void initPool() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        pool = new ForkJoinPool(parallelism);
+        log.info("SA-CCR batch engine parallelism: {}", parallelism);
+    }
+
+    @PreDestroy
+    void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Resolve the supervisory parameters of a jurisdiction as of a date with a single query
+     */
+    public SupervisoryParameterLookup loadSupervisoryParameters(String jurisdiction, LocalDate asOfDate) {
+        SupervisoryParameterLookup lookup = SupervisoryParameterLookup.of(jurisdiction, asOfDate,
+            supervisoryParameterRepository.findByJurisdictionOrderByEffectiveDateDesc(jurisdiction));
+        if (!lookup.hasAlphaFactor()) {
+            log.warn("No jurisdiction-specific alpha factor found for {}, using standard Basel III alpha = 1.4",
+                     jurisdiction);
+        }
+        for (String quality : List.of("IG", "HY")) {
+            if (!lookup.hasCreditSupervisoryFactor(quality)) {
+                log.warn("No jurisdiction-specific supervisory factor found for {}-{}, using standard Basel III factor",
+                         jurisdiction, quality);
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * Calculate and upsert SA-CCR exposures for every netting set
+     */
+    public List<SaCcrCalculation> calculateAll(LocalDate asOfDate, String jurisdiction) {
+        long start = System.currentTimeMillis();
+
+        SupervisoryParameterLookup parameters = loadSupervisoryParameters(jurisdiction, asOfDate);
+        List<NettingSet> nettingSets = nettingSetRepository.findAll();
+        Map<String, List<CDSTrade>> tradesByNettingSet = cdsTradeRepository
+            .findNettedTradesByTradeStatus(TradeStatus.ACTIVE).stream()
+            .collect(Collectors.groupingBy(CDSTrade::getNettingSetId));
+        long loaded = System.currentTimeMillis();
+
+        List<SaCcrCalculation> computed = compute(nettingSets, tradesByNettingSet, asOfDate, parameters);
+        long calculated = System.currentTimeMillis();
+
+        upsert(computed);
+        List<SaCcrCalculation> saved = reload(computed);
+        dashboardAggregates.refreshSaCcr(asOfDate);
+
+        log.info("SA-CCR batch for {} on {}: {} of {} netting sets, {} trades " +
+                 "(load {} ms, compute {} ms, upsert {} ms)",
+                 jurisdiction, asOfDate, saved.size(), nettingSets.size(),
+                 tradesByNettingSet.values().stream().mapToInt(List::size).sum(),
+                 loaded - start, calculated - loaded, System.currentTimeMillis() - calculated);
+        return saved;
+    }
+
+    /**
+     * Compute netting sets in parallel slices; results keep the netting set order
+     */
+    private List<SaCcrCalculation> compute(List<NettingSet> nettingSets, Map<String, List<CDSTrade>> tradesByNettingSet,
+                                           LocalDate asOfDate, SupervisoryParameterLookup parameters) {
+        int sliceSize = Math.max(1, (int) Math.ceil(nettingSets.size() / (double) (parallelism * slicesPerWorker)));
+        List<Callable<List<SaCcrCalculation>>> slices = new ArrayList<>();
+        for (int from = 0; from < nettingSets.size(); from += sliceSize) {
+            List<NettingSet> slice = nettingSets.subList(from, Math.min(from + sliceSize, nettingSets.size()));
+            slices.add(() -> {
+                List<SaCcrCalculation> results = new ArrayList<>(slice.size());
+                for (NettingSet nettingSet : slice) {
+                    try {
+                        results.add(calculator.calculate(nettingSet,
+                            tradesByNettingSet.getOrDefault(nettingSet.getNettingSetId(), List.of()),
+                            asOfDate, parameters));
+                    } catch (Exception e) {
+                        log.error("Failed to calculate exposure for netting set {}: {}",
+                                 nettingSet.getNettingSetId(), e.getMessage());
+                    }
+                }
+                return results;
+            });
+        }
+
+        List<SaCcrCalculation> computed = new ArrayList<>(nettingSets.size());
+        try {
+            for (Future<List<SaCcrCalculation>> future : pool.invokeAll(slices)) {
+                computed.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("SA-CCR batch calculation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("SA-CCR batch calculation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return computed;
+    }
+
+    /**
+     * Insert new calculations and refresh existing ones in one batched MERGE
+     */
+    private void upsert(List<SaCcrCalculation> calculations) {
+        if (calculations.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    SaCcrCalculation c = calculations.get(i);
+                    ps.setString(1, c.getCalculationId());
+                    ps.setString(2, c.getNettingSetId());
+                    ps.setDate(3, Date.valueOf(c.getCalculationDate()));
+                    ps.setString(4, c.getJurisdiction());
+                    ps.setBigDecimal(5, c.getAlphaFactor());
+                    ps.setBigDecimal(6, c.getGrossMtm());
+                    ps.setBigDecimal(7, c.getVmReceived());
+                    ps.setBigDecimal(8, c.getVmPosted());
+                    ps.setBigDecimal(9, c.getImReceived());
+                    ps.setBigDecimal(10, c.getImPosted());
+                    ps.setBigDecimal(11, c.getReplacementCost());
+                    ps.setBigDecimal(12, c.getEffectiveNotional());
+                    ps.setBigDecimal(13, c.getSupervisoryAddon());
+                    ps.setBigDecimal(14, c.getMultiplier());
+                    ps.setBigDecimal(15, c.getPotentialFutureExposure());
+                    ps.setBigDecimal(16, c.getExposureAtDefault());
+                    ps.setString(17, c.getCalculationStatus().name());
+                    ps.setTimestamp(18, createdAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return calculations.size();
+                }
+            }));
+    }
+
+    /**
+     * Read back the persisted rows (with database IDs) in the order they were computed
+     */
+    private List<SaCcrCalculation> reload(List<SaCcrCalculation> computed) {
+        List<String> ids = computed.stream().map(SaCcrCalculation::getCalculationId).toList();
+        Map<String, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+
+        List<SaCcrCalculation> saved = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += RELOAD_BATCH_SIZE) {
+            saved.addAll(calculationRepository.findByCalculationIdIn(
+                ids.subList(from, Math.min(from + RELOAD_BATCH_SIZE, ids.size()))));
+        }
+        saved.sort(Comparator.comparing(c -> order.get(c.getCalculationId())));
+        return saved;
+    }
+}
@@ -0,0 +1,172 @@
+package com.creditdefaultswap.platform.service.saccr;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.saccr.NettingSet;
+import com.creditdefaultswap.platform.model.saccr.SaCcrCalculation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * SA-CCR exposure math for one netting set.
+ *
+ * Stateless and free of repository access: trades and supervisory parameters are passed in,
+ * so the same calculation serves the single netting set path in {@link SaCcrCalculationService}
+ * and the parallel workers of {@link SaCcrBatchEngine}.
+ */
+@Slf4j
+public class SaCcrExposureCalculator {
+
+    private static final BigDecimal INVESTMENT_GRADE_SPREAD_LIMIT = new BigDecimal("500"); // 500 bps threshold
+
+    /**
+     * Calculate SA-CCR exposure for a netting set using Basel III methodology
+     * EAD = α × (RC + PFE)
+     * where α = 1.4 (alpha factor), RC = Replacement Cost, PFE = Potential Future Exposure
+     */
+    public SaCcrCalculation calculate(NettingSet nettingSet, List<CDSTrade> trades, LocalDate asOfDate,
+                                      SupervisoryParameterLookup parameters) {
+        String jurisdiction = parameters.getJurisdiction();
+
+        // Calculate Replacement Cost (RC)
+        BigDecimal replacementCost = calculateReplacementCost(trades, nettingSet);
+
+        // Calculate Potential Future Exposure (PFE)
+        BigDecimal potentialFutureExposure = calculatePotentialFutureExposure(trades, nettingSet, parameters);
+
+        // Calculate Exposure at Default (EAD) = α × (RC + PFE)
+        BigDecimal alphaFactor = parameters.alphaFactor();
+        BigDecimal exposureAtDefault = alphaFactor.multiply(
+            replacementCost.add(potentialFutureExposure)
+        ).setScale(2, RoundingMode.HALF_UP);
+
+        // Create calculation record with jurisdiction in ID
+        SaCcrCalculation calculation = new SaCcrCalculation(
+            calculationId(nettingSet.getNettingSetId(), asOfDate, jurisdiction),
+            nettingSet.getNettingSetId(), asOfDate, jurisdiction);
+        calculation.setNettingSet(nettingSet);
+        calculation.setReplacementCost(replacementCost);
+        calculation.setPotentialFutureExposure(potentialFutureExposure);
+        calculation.setExposureAtDefault(exposureAtDefault);
+        calculation.setAlphaFactor(alphaFactor);
+        calculation.setEffectiveNotional(potentialFutureExposure); // Store trade count info in effective notional for now
+        calculation.setCalculationStatus(SaCcrCalculation.CalculationStatus.COMPLETED);
+
+        // Set required fields that have NOT NULL constraints in database
+        calculation.setGrossMtm(BigDecimal.ZERO);
+        calculation.setVmReceived(BigDecimal.ZERO);
+        calculation.setVmPosted(BigDecimal.ZERO);
+        calculation.setImReceived(BigDecimal.ZERO);
+        calculation.setImPosted(BigDecimal.ZERO);
+        calculation.setSupervisoryAddon(BigDecimal.ZERO);
+        calculation.setMultiplier(BigDecimal.ONE);
+
+        log.debug("SA-CCR calculation for netting set {}: RC={}, PFE={}, EAD={}",
+                  nettingSet.getNettingSetId(), replacementCost, potentialFutureExposure, exposureAtDefault);
+
+        return calculation;
+    }
+
+    /**
+     * Calculation ID of a netting set run: one record per netting set, date and jurisdiction
+     */
+    public static String calculationId(String nettingSetId, LocalDate asOfDate, String jurisdiction) {
+        return "SACCR-" + nettingSetId + "-" + asOfDate.toString() + "-" + jurisdiction;
+    }
+
+    /**
+     * Calculate Replacement Cost (RC) according to Basel III SA-CCR
+     * RC = max(0, V - C + max(0, 0))
+     * where V = current market value of derivative transactions, C = current market value of collateral
+     */
+    private BigDecimal calculateReplacementCost(List<CDSTrade> trades, NettingSet nettingSet) {
+        BigDecimal netMarketValue = BigDecimal.ZERO;
+
+        for (CDSTrade trade : trades) {
+            if (trade.getMarkToMarketValue() != null) {
+                netMarketValue = netMarketValue.add(trade.getMarkToMarketValue());
+            }
+        }
+
+        // For now, assume no collateral posted (C = 0)
+        // In a full implementation, we would fetch collateral amounts from margin statements
+        BigDecimal collateralValue = BigDecimal.ZERO;
+
+        // RC = max(0, V - C)
+        BigDecimal replacementCost = netMarketValue.subtract(collateralValue).max(BigDecimal.ZERO);
+
+        log.debug("Replacement cost for netting set {}: net market value={}, collateral={}, RC={}",
+                  nettingSet.getNettingSetId(), netMarketValue, collateralValue, replacementCost);
+
+        return replacementCost.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculate Potential Future Exposure (PFE) according to Basel III SA-CCR
+     * PFE = multiplier × AddOn
+     * where AddOn is based on supervisory parameters and notional amounts
+     */
+    private BigDecimal calculatePotentialFutureExposure(List<CDSTrade> trades, NettingSet nettingSet,
+                                                       SupervisoryParameterLookup parameters) {
+        if (trades.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        // Calculate effective notional for credit derivatives
+        BigDecimal effectiveNotional = BigDecimal.ZERO;
+
+        for (CDSTrade trade : trades) {
+            // Apply supervisory factor based on trade characteristics
+            BigDecimal supervisoryFactor = getSupervisoryFactor(trade, parameters);
+            effectiveNotional = effectiveNotional.add(trade.getNotionalAmount().multiply(supervisoryFactor));
+        }
+
+        // Calculate multiplier (simplified version)
+        BigDecimal multiplier = calculateMultiplier(nettingSet);
+
+        // PFE = multiplier × AddOn (simplified - in full implementation would aggregate across asset classes)
+        BigDecimal pfe = effectiveNotional.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+
+        log.debug("PFE for netting set {}: effective notional={}, multiplier={}, PFE={}",
+                  nettingSet.getNettingSetId(), effectiveNotional, multiplier, pfe);
+
+        return pfe;
+    }
+
+    /**
+     * Get supervisory factor for a CDS trade based on jurisdiction-specific parameters
+     */
+    private BigDecimal getSupervisoryFactor(CDSTrade trade, SupervisoryParameterLookup parameters) {
+        if (trade.getSpread() == null) {
+            // Default 0.5% for IG credit
+            return SupervisoryParameterLookup.DEFAULT_IG_CREDIT_FACTOR;
+        }
+
+        // Determine if this is investment grade or high yield based on spread
+        // This is a simplified heuristic - in practice would use credit ratings
+        boolean isInvestmentGrade = trade.getSpread().compareTo(INVESTMENT_GRADE_SPREAD_LIMIT) <= 0;
+        return parameters.creditSupervisoryFactor(isInvestmentGrade ? "IG" : "HY");
+    }
+
+    /**
+     * Calculate multiplier according to Basel III SA-CCR formula
+     * Multiplier = min(1, Floor + (1 - Floor) × exp(V / (2 × AddOn)))
+     * where Floor = 0.05, V = net replacement cost
+     */
+    private BigDecimal calculateMultiplier(NettingSet nettingSet) {
+        // Simplified multiplier calculation
+        // In practice, this involves complex aggregation across asset classes
+
+        if (!nettingSet.getCollateralAgreement()) {
+            // No collateral agreement - multiplier = 1
+            return BigDecimal.ONE;
+        }
+
+        // For collateralized netting sets, apply simplified multiplier
+        // This is a placeholder - full implementation would be more complex
+        return new BigDecimal("0.75"); // Simplified multiplier for collateralized exposures
+    }
+}
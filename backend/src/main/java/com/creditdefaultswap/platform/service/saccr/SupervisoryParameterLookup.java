@@ -0,0 +1,103 @@
+package com.creditdefaultswap.platform.service.saccr;
+
+import com.creditdefaultswap.platform.model.saccr.SaCcrSupervisoryParameter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the SA-CCR supervisory parameters in force for one jurisdiction and date.
+ *
+ * Built once from a single read of the jurisdiction's parameter rows, then shared by every
+ * netting set in a calculation run (including across worker threads) in place of a database
+ * query per trade. Resolution follows the per-trade queries it replaces: the latest row with
+ * an effective date on or before the as-of date wins, and Basel III defaults apply when no
+ * effective row exists.
+ */
+public final class SupervisoryParameterLookup {
+
+    static final BigDecimal DEFAULT_IG_CREDIT_FACTOR = new BigDecimal("0.0050");
+    static final BigDecimal DEFAULT_HY_CREDIT_FACTOR = new BigDecimal("0.0130");
+    static final BigDecimal DEFAULT_ALPHA = new BigDecimal("1.4");
+
+    private final String jurisdiction;
+    private final LocalDate asOfDate;
+    private final Map<String, BigDecimal> creditFactors;
+    private final BigDecimal alphaFactor;
+
+    private SupervisoryParameterLookup(String jurisdiction, LocalDate asOfDate,
+                                       Map<String, BigDecimal> creditFactors, BigDecimal alphaFactor) {
+        this.jurisdiction = jurisdiction;
+        this.asOfDate = asOfDate;
+        this.creditFactors = Map.copyOf(creditFactors);
+        this.alphaFactor = alphaFactor;
+    }
+
+    /**
+     * Resolve the parameters of one jurisdiction as of a date
+     */
+    public static SupervisoryParameterLookup of(String jurisdiction, LocalDate asOfDate,
+                                                List<SaCcrSupervisoryParameter> parameters) {
+        List<SaCcrSupervisoryParameter> candidates = parameters.stream()
+            .filter(p -> jurisdiction.equals(p.getJurisdiction()))
+            .filter(p -> !p.getEffectiveDate().isAfter(asOfDate))
+            .sorted(Comparator.comparing(SaCcrSupervisoryParameter::getEffectiveDate).reversed())
+            .toList();
+
+        Map<String, BigDecimal> creditFactors = new HashMap<>();
+        for (SaCcrSupervisoryParameter p : candidates) {
+            if ("CREDIT".equals(p.getAssetClass()) && "SUPERVISORY_FACTOR".equals(p.getParameterType())
+                    && p.getCreditQuality() != null && p.isEffective(asOfDate)) {
+                creditFactors.putIfAbsent(p.getCreditQuality(), p.getParameterValue());
+            }
+        }
+
+        // Only the latest alpha row counts; if it has expired the Basel default applies
+        BigDecimal alpha = candidates.stream()
+            .filter(p -> "ALPHA_FACTOR".equals(p.getParameterType()))
+            .findFirst()
+            .filter(p -> p.isEffective(asOfDate))
+            .map(SaCcrSupervisoryParameter::getParameterValue)
+            .orElse(null);
+
+        return new SupervisoryParameterLookup(jurisdiction, asOfDate, creditFactors, alpha);
+    }
+
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+
+    public LocalDate getAsOfDate() {
+        return asOfDate;
+    }
+
+    /**
+     * Credit supervisory factor for IG or HY, falling back to the standard Basel III factor
+     */
+    public BigDecimal creditSupervisoryFactor(String creditQuality) {
+        BigDecimal factor = creditFactors.get(creditQuality);
+        if (factor != null) {
+            return factor;
+        }
+        return "IG".equals(creditQuality) ? DEFAULT_IG_CREDIT_FACTOR : DEFAULT_HY_CREDIT_FACTOR;
+    }
+
+    public boolean hasCreditSupervisoryFactor(String creditQuality) {
+        return creditFactors.containsKey(creditQuality);
+    }
+
+    /**
+     * Alpha factor, falling back to the standard Basel III alpha of 1.4
+     */
+    public BigDecimal alphaFactor() {
+        return alphaFactor != null ? alphaFactor : DEFAULT_ALPHA;
+    }
+
+    public boolean hasAlphaFactor() {
+        return alphaFactor != null;
+    }
+}
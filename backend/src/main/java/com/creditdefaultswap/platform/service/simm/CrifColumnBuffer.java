@@ -0,0 +1,164 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fixed-capacity column store for one chunk of validated CRIF rows.
+ *
+ * Rows are copied into per-column arrays and written with a single JDBC batch;
+ * the arrays are reused for the next chunk, so the ingestion heap footprint is
+ * bounded by the chunk size rather than the file size.
+ */
+public class CrifColumnBuffer implements BatchPreparedStatementSetter {
+
+    static final String INSERT_SQL =
+        "INSERT INTO crif_sensitivities (upload_id, trade_id, portfolio_id, product_class, risk_type, " +
+        "risk_class, bucket, label1, label2, amount_base_currency, amount_usd, collect_regulations, " +
+        "post_regulations, end_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final int capacity;
+    private final String[] tradeId;
+    private final String[] portfolioId;
+    private final String[] productClass;
+    private final String[] riskType;
+    private final String[] riskClass;
+    private final String[] bucket;
+    private final String[] label1;
+    private final String[] label2;
+    private final BigDecimal[] amount;
+    private final BigDecimal[] amountUsd;
+    private final String[] collectRegulations;
+    private final String[] postRegulations;
+    private final LocalDate[] endDate;
+
+    private long uploadId;
+    private Timestamp createdAt;
+    private int size;
+
+    public CrifColumnBuffer(int capacity) {
+        this.capacity = capacity;
+        this.tradeId = new String[capacity];
+        this.portfolioId = new String[capacity];
+        this.productClass = new String[capacity];
+        this.riskType = new String[capacity];
+        this.riskClass = new String[capacity];
+        this.bucket = new String[capacity];
+        this.label1 = new String[capacity];
+        this.label2 = new String[capacity];
+        this.amount = new BigDecimal[capacity];
+        this.amountUsd = new BigDecimal[capacity];
+        this.collectRegulations = new String[capacity];
+        this.postRegulations = new String[capacity];
+        this.endDate = new LocalDate[capacity];
+    }
+
+    /**
+     * Bind the buffer to the upload the rows belong to
+     */
+    public void setUploadId(long uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    /**
+     * Copy a validated sensitivity into the next row
+     */
+    public void add(CrifSensitivity sensitivity) {
+        if (isFull()) {
+            throw new IllegalStateException("CRIF column buffer is full (" + capacity + " rows)");
+        }
+        int row = size++;
+        tradeId[row] = sensitivity.getTradeId();
+        portfolioId[row] = sensitivity.getPortfolioId();
+        productClass[row] = sensitivity.getProductClass();
+        riskType[row] = sensitivity.getRiskType();
+        riskClass[row] = sensitivity.getRiskClass();
+        bucket[row] = sensitivity.getBucket();
+        label1[row] = sensitivity.getLabel1();
+        label2[row] = sensitivity.getLabel2();
+        amount[row] = sensitivity.getAmountBaseCurrency();
+        amountUsd[row] = sensitivity.getAmountUsd();
+        collectRegulations[row] = sensitivity.getCollectRegulations();
+        postRegulations[row] = sensitivity.getPostRegulations();
+        endDate[row] = sensitivity.getEndDate();
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drop buffered rows (after a flush) so the arrays can be refilled
+     */
+    public void clear() {
+        for (int row = 0; row < size; row++) {
+            tradeId[row] = null;
+            portfolioId[row] = null;
+            productClass[row] = null;
+            riskType[row] = null;
+            riskClass[row] = null;
+            bucket[row] = null;
+            label1[row] = null;
+            label2[row] = null;
+            amount[row] = null;
+            amountUsd[row] = null;
+            collectRegulations[row] = null;
+            postRegulations[row] = null;
+            endDate[row] = null;
+        }
+        size = 0;
+        createdAt = null;
+    }
+
+    @Override
+    public void setValues(PreparedStatement ps, int row) throws SQLException {
+        if (createdAt == null) {
+            createdAt = Timestamp.valueOf(LocalDateTime.now());
+        }
+        ps.setLong(1, uploadId);
+        ps.setString(2, tradeId[row]);
+        ps.setString(3, portfolioId[row]);
+        ps.setString(4, productClass[row]);
+        ps.setString(5, riskType[row]);
+        ps.setString(6, riskClass[row]);
+        ps.setString(7, bucket[row]);
+        ps.setString(8, label1[row]);
+        ps.setString(9, label2[row]);
+        ps.setBigDecimal(10, amount[row]);
+        if (amountUsd[row] != null) {
+            ps.setBigDecimal(11, amountUsd[row]);
+        } else {
+            ps.setNull(11, Types.DECIMAL);
+        }
+        ps.setString(12, collectRegulations[row]);
+        ps.setString(13, postRegulations[row]);
+        if (endDate[row] != null) {
+            ps.setDate(14, Date.valueOf(endDate[row]));
+        } else {
+            ps.setNull(14, Types.DATE);
+        }
+        ps.setTimestamp(15, createdAt);
+    }
+
+    @Override
+    public int getBatchSize() {
+        return size;
+    }
+}
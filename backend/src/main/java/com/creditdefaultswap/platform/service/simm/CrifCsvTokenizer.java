@@ -0,0 +1,180 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming CSV tokenizer for CRIF files.
+ *
+ * Reads the underlying {@link Reader} through a fixed char buffer and splits each
+ * record into fields held as offsets into a single reusable record buffer, so no
+ * per-line String or per-field StringBuilder is allocated. Quote characters toggle
+ * quoting and are dropped, and fields are trimmed, matching the behaviour of the
+ * line-based parser in {@link CrifParserService}. Strings are only materialised
+ * when a caller asks for a field value.
+ */
+public class CrifCsvTokenizer {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    private int readPos;
+    private int readLimit;
+    private boolean eof;
+
+    private char[] record = new char[256];
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private int fieldCount;
+    private int lineNumber;
+
+    public CrifCsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Advance to the next record.
+     * @return false at end of input
+     */
+    public boolean next() throws IOException {
+        if (eof && readPos >= readLimit) {
+            return false;
+        }
+
+        fieldCount = 0;
+        int length = 0;
+        int start = 0;
+        boolean inQuotes = false;
+        boolean sawAny = false;
+
+        while (true) {
+            if (readPos >= readLimit && !fill()) {
+                break;
+            }
+            char c = readBuffer[readPos++];
+            sawAny = true;
+
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                continue;
+            }
+            if (c == ',' && !inQuotes) {
+                addField(start, length);
+                start = length;
+                continue;
+            }
+            if (length == record.length) {
+                record = Arrays.copyOf(record, record.length * 2);
+            }
+            record[length++] = c;
+        }
+
+        if (!sawAny) {
+            return false;
+        }
+
+        addField(start, length);
+        lineNumber++;
+        return true;
+    }
+
+    /**
+     * 1-based physical line number of the current record
+     */
+    public int lineNumber() {
+        return lineNumber;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * True when the current record has a single empty field (blank line)
+     */
+    public boolean isBlank() {
+        return fieldCount == 1 && fieldEnd[0] == fieldStart[0];
+    }
+
+    /**
+     * Trimmed field value, or null when the field is absent or empty
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount || fieldEnd[index] == fieldStart[index]) {
+            return null;
+        }
+        return new String(record, fieldStart[index], fieldEnd[index] - fieldStart[index]);
+    }
+
+    /**
+     * Compare a field against a constant without materialising it
+     */
+    public boolean fieldEquals(int index, String value) {
+        if (index < 0 || index >= fieldCount) {
+            return false;
+        }
+        int length = fieldEnd[index] - fieldStart[index];
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (record[fieldStart[index] + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * All fields of the current record as Strings (empty string for empty fields)
+     */
+    public String[] fields() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            String value = field(i);
+            values[i] = value != null ? value : "";
+        }
+        return values;
+    }
+
+    private void addField(int start, int end) {
+        // Trim surrounding whitespace in place
+        while (start < end && Character.isWhitespace(record[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(record[end - 1])) {
+            end--;
+        }
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int read = reader.read(readBuffer, 0, readBuffer.length);
+        if (read <= 0) {
+            eof = true;
+            readPos = 0;
+            readLimit = 0;
+            return false;
+        }
+        readPos = 0;
+        readLimit = read;
+        return true;
+    }
+}
@@ -5,10 +5,12 @@ import com.creditdefaultswap.platform.model.TradeStatus;
 import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
 import com.creditdefaultswap.platform.model.simm.CrifUpload;
 import com.creditdefaultswap.platform.repository.CDSTradeRepository;
-import com.creditdefaultswap.platform.repository.CrifSensitivityRepository;
 import com.creditdefaultswap.platform.repository.CrifUploadRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Service to auto-generate CRIF sensitivities from CDS trades
@@ -31,10 +34,15 @@ public class CrifGenerationService {
     private CDSTradeRepository tradeRepository;
     
     @Autowired
-    private CrifSensitivityRepository sensitivityRepository;
+    private CrifUploadRepository uploadRepository;
     
     @Autowired
-    private CrifUploadRepository uploadRepository;
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private static final int PERSIST_BATCH_SIZE = 1000;
     
     // Currency conversion rates (simplified - would use market data in production)
     private static final Map<String, BigDecimal> USD_RATES = Map.of(
@@ -52,19 +60,57 @@ public class CrifGenerationService {
     public CrifUpload generateFromPortfolio(String portfolioId, LocalDate valuationDate) {
         log.info("Generating CRIF sensitivities for portfolio: {} as of {}", portfolioId, valuationDate);
         
-        // Get all active trades for this portfolio (netting set prefix)
-        List<CDSTrade> trades = tradeRepository.findAll().stream()
-            .filter(t -> t.getNettingSetId() != null)
-            .filter(t -> t.getNettingSetId().startsWith(portfolioId))
-            .filter(t -> t.getTradeStatus() == TradeStatus.ACTIVE)
-            .toList();
+        PortfolioSensitivities generated = generateInMemory(portfolioId, valuationDate);
         
-        if (trades.isEmpty()) {
+        if (generated.tradeCount() == 0) {
             throw new RuntimeException("No active trades found for portfolio: " + portfolioId);
         }
         
-        log.info("Found {} active trades for portfolio {}", trades.size(), portfolioId);
+        log.info("Found {} active trades for portfolio {}", generated.tradeCount(), portfolioId);
+        
+        CrifUpload upload = persistSensitivities(portfolioId, valuationDate, generated);
+        
+        log.info("Generated {} CRIF sensitivities for portfolio {}", upload.getValidRecords(), portfolioId);
+        
+        return upload;
+    }
+    
+    /**
+     * Generate CRIF sensitivities for a portfolio without persisting them.
+     * Active trades are streamed by query rather than loading the whole trade
+     * table, and each trade is detached once its sensitivities are built.
+     */
+    @Transactional(readOnly = true)
+    public PortfolioSensitivities generateInMemory(String portfolioId, LocalDate valuationDate) {
+        List<CrifSensitivity> sensitivities = new ArrayList<>();
+        int tradeCount = 0;
+        int failedTrades = 0;
+        
+        try (Stream<CDSTrade> trades = tradeRepository.streamByPortfolioAndTradeStatus(portfolioId, TradeStatus.ACTIVE)) {
+            Iterator<CDSTrade> iterator = trades.iterator();
+            while (iterator.hasNext()) {
+                CDSTrade trade = iterator.next();
+                tradeCount++;
+                try {
+                    sensitivities.addAll(generateTradeSensitivities(trade, valuationDate, null));
+                } catch (Exception e) {
+                    log.error("Failed to generate sensitivities for trade {}: {}", trade.getId(), e.getMessage());
+                    failedTrades++;
+                }
+                entityManager.detach(trade);
+            }
+        }
         
+        return new PortfolioSensitivities(portfolioId, valuationDate, sensitivities, tradeCount, failedTrades);
+    }
+    
+    /**
+     * Persist generated sensitivities under a new upload record, for audit of
+     * calculations that were run directly from trades
+     */
+    @Transactional
+    public CrifUpload persistSensitivities(String portfolioId, LocalDate valuationDate,
+                                           PortfolioSensitivities generated) {
         // Create upload record
         CrifUpload upload = new CrifUpload();
         upload.setUploadId("AUTO-" + portfolioId + "-" + valuationDate);
@@ -74,36 +120,36 @@ public class CrifGenerationService {
         upload.setCurrency("USD"); // Default to USD for aggregated reporting
         upload.setUploadTimestamp(LocalDateTime.now());
         upload.setProcessingStatus(CrifUpload.ProcessingStatus.COMPLETED);
-        upload.setTotalRecords(0); // Will update after generating sensitivities
-        upload.setValidRecords(0);
-        upload.setErrorRecords(0);
+        upload.setTotalRecords(generated.sensitivities().size());
+        upload.setValidRecords(generated.sensitivities().size());
+        upload.setErrorRecords(generated.failedTrades());
         upload = uploadRepository.save(upload);
         
-        // Generate sensitivities for each trade
-        List<CrifSensitivity> allSensitivities = new ArrayList<>();
-        for (CDSTrade trade : trades) {
-            try {
-                List<CrifSensitivity> tradeSensitivities = generateTradeSensitivities(trade, valuationDate, upload);
-                allSensitivities.addAll(tradeSensitivities);
-            } catch (Exception e) {
-                log.error("Failed to generate sensitivities for trade {}: {}", trade.getId(), e.getMessage());
-                upload.setErrorRecords(upload.getErrorRecords() + 1);
+        // Write sensitivities in JDBC batches rather than one Hibernate insert per row
+        CrifColumnBuffer buffer = new CrifColumnBuffer(PERSIST_BATCH_SIZE);
+        buffer.setUploadId(upload.getId());
+        for (CrifSensitivity sensitivity : generated.sensitivities()) {
+            sensitivity.setUpload(upload);
+            buffer.add(sensitivity);
+            if (buffer.isFull()) {
+                jdbcTemplate.batchUpdate(CrifColumnBuffer.INSERT_SQL, buffer);
+                buffer.clear();
             }
         }
-        
-        // Save all sensitivities
-        List<CrifSensitivity> savedSensitivities = sensitivityRepository.saveAll(allSensitivities);
-        
-        // Update upload record with counts
-        upload.setTotalRecords(savedSensitivities.size());
-        upload.setValidRecords(savedSensitivities.size());
-        uploadRepository.save(upload);
-        
-        log.info("Generated {} CRIF sensitivities for portfolio {}", savedSensitivities.size(), portfolioId);
+        if (!buffer.isEmpty()) {
+            jdbcTemplate.batchUpdate(CrifColumnBuffer.INSERT_SQL, buffer);
+        }
         
         return upload;
     }
     
+    /**
+     * Sensitivities generated from a portfolio's active trades
+     */
+    public record PortfolioSensitivities(String portfolioId, LocalDate valuationDate,
+                                         List<CrifSensitivity> sensitivities,
+                                         int tradeCount, int failedTrades) {}
+    
     /**
      * Generate CRIF sensitivities for a single trade
      */
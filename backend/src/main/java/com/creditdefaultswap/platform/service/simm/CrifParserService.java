@@ -19,6 +19,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
 /**
@@ -177,7 +178,7 @@ public class CrifParserService {
         return headers.toArray(new String[0]);
     }
     
-    private boolean validateHeaders(String[] headers, CrifParsingResult result) {
+    boolean validateHeaders(String[] headers, CrifParsingResult result) {
         Set<String> headerSet = new HashSet<>(Arrays.asList(headers));
         Set<String> expectedSet = new HashSet<>(Arrays.asList(EXPECTED_HEADERS));
         
@@ -205,7 +206,7 @@ public class CrifParserService {
             fieldMap.put(headers[i], values[i]);
         }
         
-        return buildSensitivity(fieldMap, lineNumber);
+        return buildSensitivity(fieldMap::get, lineNumber);
     }
     
     private String[] parseDataValues(String line) {
@@ -228,7 +229,12 @@ public class CrifParserService {
         return values.toArray(new String[0]);
     }
     
-    private CrifSensitivity buildSensitivity(Map<String, String> fieldMap, int lineNumber) 
+    /**
+     * Validate one CRIF row and map it to a sensitivity.
+     * Fields are looked up by header name so callers can supply them from a
+     * per-row map or straight from a streaming tokenizer.
+     */
+    CrifSensitivity buildSensitivity(UnaryOperator<String> fieldMap, int lineNumber) 
             throws CrifParsingException {
         
         CrifSensitivity sensitivity = new CrifSensitivity();
@@ -292,12 +298,12 @@ public class CrifParserService {
         return sensitivity;
     }
     
-    private String getFieldValue(Map<String, String> fieldMap, String fieldName) {
-        String value = fieldMap.get(fieldName);
+    private String getFieldValue(UnaryOperator<String> fieldMap, String fieldName) {
+        String value = fieldMap.apply(fieldName);
         return (value == null || value.trim().isEmpty()) ? null : value.trim();
     }
     
-    private String getRequiredField(Map<String, String> fieldMap, String fieldName, int lineNumber) 
+    private String getRequiredField(UnaryOperator<String> fieldMap, String fieldName, int lineNumber) 
             throws CrifParsingException {
         String value = getFieldValue(fieldMap, fieldName);
         if (value == null) {
@@ -309,7 +315,7 @@ public class CrifParserService {
     /**
      * Update upload status based on parsing results
      */
-    private void updateUploadStatus(CrifUpload upload, CrifParsingResult result) {
+    void updateUploadStatus(CrifUpload upload, CrifParsingResult result) {
         upload.setTotalRecords(result.getTotalRecords());
         upload.setValidRecords(result.getValidRecords());
         upload.setErrorRecords(result.getErrorRecords());
@@ -346,13 +352,25 @@ public class CrifParserService {
         private String currency;
         private List<CrifSensitivity> validSensitivities = new ArrayList<>();
         private List<CrifParsingError> errors = new ArrayList<>();
+        // Streaming ingestion counts rows instead of retaining them
+        private int streamedValidRecords;
+        private int droppedErrors;
+        private int maxRetainedErrors = Integer.MAX_VALUE;
         
         public void addValidSensitivity(CrifSensitivity sensitivity) {
             validSensitivities.add(sensitivity);
         }
         
+        public void addStreamedValidRecords(int count) {
+            streamedValidRecords += count;
+        }
+        
         public void addError(int lineNumber, String message) {
-            errors.add(new CrifParsingError(lineNumber, message));
+            if (errors.size() < maxRetainedErrors) {
+                errors.add(new CrifParsingError(lineNumber, message));
+            } else {
+                droppedErrors++;
+            }
         }
         
         public boolean hasErrors() {
@@ -360,15 +378,22 @@ public class CrifParserService {
         }
         
         public int getTotalRecords() {
-            return validSensitivities.size() + errors.size();
+            return getValidRecords() + getErrorRecords();
         }
         
         public int getValidRecords() {
-            return validSensitivities.size();
+            return validSensitivities.size() + streamedValidRecords;
         }
         
         public int getErrorRecords() {
-            return errors.size();
+            return errors.size() + droppedErrors;
+        }
+        
+        /**
+         * Cap the number of error details kept in memory; further errors are only counted
+         */
+        public void setMaxRetainedErrors(int maxRetainedErrors) {
+            this.maxRetainedErrors = maxRetainedErrors;
         }
         
         public double getSuccessRate() {
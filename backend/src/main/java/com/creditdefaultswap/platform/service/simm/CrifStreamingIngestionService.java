@@ -0,0 +1,208 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.model.simm.CrifUpload;
+import com.creditdefaultswap.platform.repository.CrifUploadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming CRIF ingestion pipeline.
+ *
+ * Unlike {@link CrifParserService#parseCrifFile}, which keeps every parsed
+ * sensitivity in memory and persists them row by row through Hibernate, this
+ * pipeline tokenizes the upload straight from its input stream, validates each
+ * row, copies it into a fixed-size {@link CrifColumnBuffer} and flushes each full
+ * buffer as one JDBC batch in its own transaction. Progress is written to the
+ * upload record after every chunk and reported to an optional listener, so heap
+ * usage stays flat regardless of file size.
+ */
+@Service
+public class CrifStreamingIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrifStreamingIngestionService.class);
+
+    private static final int MAX_RETAINED_ERRORS = 1000;
+
+    @Autowired
+    private CrifParserService crifParserService;
+
+    @Autowired
+    private CrifUploadRepository crifUploadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${simm.crif.ingestion.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Receives incremental progress and row errors while a file is ingested
+     */
+    public interface IngestionListener {
+        default void onChunkFlushed(String uploadId, int linesRead, int validRecords, int errorRecords) {}
+        default void onRowError(String uploadId, int lineNumber, String message) {}
+    }
+
+    /**
+     * Stream a CRIF file into crif_sensitivities
+     */
+    public CrifParserService.CrifParsingResult ingest(InputStream input, String filename, String portfolioId,
+                                                      LocalDate valuationDate, String currency) {
+        return ingest(input, filename, portfolioId, valuationDate, currency, new IngestionListener() {});
+    }
+
+    /**
+     * Stream a CRIF file into crif_sensitivities, reporting progress per chunk
+     */
+    public CrifParserService.CrifParsingResult ingest(InputStream input, String filename, String portfolioId,
+                                                      LocalDate valuationDate, String currency,
+                                                      IngestionListener listener) {
+        logger.info("Starting streaming CRIF ingestion: {} for portfolio: {}", filename, portfolioId);
+        long startTime = System.currentTimeMillis();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        String uploadId = "CRIF_" + System.currentTimeMillis();
+        CrifUpload newUpload = new CrifUpload(uploadId, filename, portfolioId, valuationDate, currency);
+        newUpload.setProcessingStatus(CrifUpload.ProcessingStatus.PROCESSING);
+        CrifUpload upload = tx.execute(status -> crifUploadRepository.save(newUpload));
+
+        CrifParserService.CrifParsingResult result = new CrifParserService.CrifParsingResult();
+        result.setFilename(filename);
+        result.setPortfolioId(portfolioId);
+        result.setValuationDate(valuationDate);
+        result.setCurrency(currency);
+        result.setUploadId(uploadId);
+        result.setMaxRetainedErrors(MAX_RETAINED_ERRORS);
+
+        CrifColumnBuffer buffer = new CrifColumnBuffer(chunkSize);
+        buffer.setUploadId(upload.getId());
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            CrifCsvTokenizer tokenizer = new CrifCsvTokenizer(reader);
+
+            // Parse header
+            if (!tokenizer.next() || tokenizer.isBlank()) {
+                result.addError(1, "File is empty");
+                finish(tx, upload, result);
+                return result;
+            }
+
+            String[] headers = tokenizer.fields();
+            if (!crifParserService.validateHeaders(headers, result)) {
+                finish(tx, upload, result);
+                return result;
+            }
+
+            Map<String, Integer> columnIndex = new HashMap<>();
+            for (int i = 0; i < headers.length; i++) {
+                columnIndex.putIfAbsent(headers[i], i);
+            }
+
+            while (tokenizer.next()) {
+                if (tokenizer.isBlank()) {
+                    continue;
+                }
+
+                int lineNumber = tokenizer.lineNumber();
+                try {
+                    if (tokenizer.fieldCount() != headers.length) {
+                        throw new CrifParserService.CrifParsingException("Expected " + headers.length +
+                            " fields, found " + tokenizer.fieldCount());
+                    }
+
+                    CrifSensitivity sensitivity = crifParserService.buildSensitivity(
+                        header -> tokenizer.field(columnIndex.getOrDefault(header, -1)), lineNumber);
+                    buffer.add(sensitivity);
+                } catch (CrifParserService.CrifParsingException e) {
+                    result.addError(lineNumber, e.getMessage());
+                    listener.onRowError(uploadId, lineNumber, e.getMessage());
+                }
+
+                if (buffer.isFull()) {
+                    flush(tx, upload, buffer, result, tokenizer.lineNumber(), listener);
+                }
+            }
+
+            if (!buffer.isEmpty()) {
+                flush(tx, upload, buffer, result, tokenizer.lineNumber(), listener);
+            }
+
+            finish(tx, upload, result);
+
+        } catch (IOException e) {
+            result.addError(0, "Failed to read file: " + e.getMessage());
+            abort(tx, upload, result, "Failed to read file: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error during streaming CRIF ingestion: {}", e.getMessage(), e);
+            result.addError(0, "Processing failed: " + e.getMessage());
+            abort(tx, upload, result, "Processing failed: " + e.getMessage());
+        }
+
+        logger.info("Streaming CRIF ingestion {} finished in {} ms: {} valid, {} errors",
+                   uploadId, System.currentTimeMillis() - startTime,
+                   result.getValidRecords(), result.getErrorRecords());
+        return result;
+    }
+
+    /**
+     * Write the buffered chunk as one JDBC batch and publish progress
+     */
+    private void flush(TransactionTemplate tx, CrifUpload upload, CrifColumnBuffer buffer,
+                       CrifParserService.CrifParsingResult result, int linesRead,
+                       IngestionListener listener) {
+        int rows = buffer.size();
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(CrifColumnBuffer.INSERT_SQL, buffer);
+            upload.setTotalRecords(result.getTotalRecords() + rows);
+            upload.setValidRecords(result.getValidRecords() + rows);
+            upload.setErrorRecords(result.getErrorRecords());
+            crifUploadRepository.save(upload);
+        });
+        buffer.clear();
+        result.addStreamedValidRecords(rows);
+
+        logger.debug("Flushed {} CRIF rows for upload {} ({} lines read)", rows, upload.getUploadId(), linesRead);
+        listener.onChunkFlushed(upload.getUploadId(), linesRead, result.getValidRecords(), result.getErrorRecords());
+    }
+
+    private void finish(TransactionTemplate tx, CrifUpload upload, CrifParserService.CrifParsingResult result) {
+        tx.executeWithoutResult(status -> crifParserService.updateUploadStatus(upload, result));
+    }
+
+    /**
+     * Remove partially ingested rows after a fatal error so a failed upload has no sensitivities
+     */
+    private void abort(TransactionTemplate tx, CrifUpload upload, CrifParserService.CrifParsingResult result,
+                       String errorMessage) {
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM crif_sensitivities WHERE upload_id = ?", upload.getId());
+            upload.setProcessingStatus(CrifUpload.ProcessingStatus.FAILED);
+            upload.setTotalRecords(result.getTotalRecords());
+            upload.setValidRecords(0);
+            upload.setErrorRecords(result.getErrorRecords());
+            upload.setErrorMessage(errorMessage);
+            crifUploadRepository.save(upload);
+        });
+    }
+}
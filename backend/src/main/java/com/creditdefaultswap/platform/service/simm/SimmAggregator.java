@@ -0,0 +1,336 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * SIMM risk-weighted aggregation kernel: product class → risk class → bucket.
+ *
+ * Bucket and risk-class margins are independent of each other until the final
+ * cross product-class diversification step, so when a {@link ForkJoinPool} is
+ * supplied they are computed as forked tasks. Groups are always visited in
+ * sorted key order and task results are joined in submission order, so the
+ * totals and the detailed result list are identical in both execution modes.
+ */
+@Slf4j
+public class SimmAggregator {
+
+    public static final String DEFAULT_BUCKET = "DEFAULT";
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool fork-join pool used for bucket and risk-class fan-out, or null for sequential execution
+     */
+    public SimmAggregator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Aggregate sensitivities into total initial margin
+     */
+    public SimmAggregation aggregate(List<CrifSensitivity> sensitivities) {
+        Timings timings = new Timings();
+
+        long groupStart = System.nanoTime();
+        Map<String, Map<String, Map<String, List<CrifSensitivity>>>> grouped = sensitivities.stream()
+            .collect(Collectors.groupingBy(CrifSensitivity::getProductClass, TreeMap::new,
+                     Collectors.groupingBy(CrifSensitivity::getRiskClass, TreeMap::new,
+                     Collectors.groupingBy(s -> s.getBucket() != null ? s.getBucket() : DEFAULT_BUCKET,
+                                           TreeMap::new, Collectors.toList()))));
+        long groupNanos = System.nanoTime() - groupStart;
+
+        // Fan out one task per (product class, risk class); each forks its buckets
+        List<Callable<RiskClassMargin>> riskClassTasks = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Map<String, List<CrifSensitivity>>>> product : grouped.entrySet()) {
+            for (Map.Entry<String, Map<String, List<CrifSensitivity>>> risk : product.getValue().entrySet()) {
+                String productClass = product.getKey();
+                String riskClass = risk.getKey();
+                Map<String, List<CrifSensitivity>> buckets = risk.getValue();
+                riskClassTasks.add(() -> calculateRiskClassIM(productClass, riskClass, buckets, timings));
+            }
+        }
+
+        long fanOutStart = System.nanoTime();
+        List<RiskClassMargin> riskClassMargins = forkJoin(riskClassTasks);
+        long fanOutNanos = System.nanoTime() - fanOutStart;
+
+        // Combine in sorted order: product class IM is the sum of its risk-class margins
+        long productStart = System.nanoTime();
+        Map<String, BigDecimal> imByProductClass = new LinkedHashMap<>();
+        List<SimmCalculationResult> detailedResults = new ArrayList<>();
+        for (RiskClassMargin margin : riskClassMargins) {
+            imByProductClass.merge(margin.productClass(), margin.margin(), BigDecimal::add);
+            detailedResults.addAll(margin.bucketResults());
+        }
+        imByProductClass.replaceAll((productClass, im) -> im.setScale(2, RoundingMode.HALF_UP));
+        BigDecimal undiversifiedIm = imByProductClass.values().stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long productNanos = System.nanoTime() - productStart;
+
+        long diversificationStart = System.nanoTime();
+        BigDecimal diversificationBenefit = calculateDiversificationBenefit(imByProductClass);
+        BigDecimal totalIm = undiversifiedIm.subtract(diversificationBenefit);
+        long diversificationNanos = System.nanoTime() - diversificationStart;
+
+        List<StageTiming> stages = List.of(
+            new StageTiming("GROUP_SENSITIVITIES", groupNanos, sensitivities.size()),
+            new StageTiming("BUCKET_AGGREGATION", timings.bucketNanos.sum(), timings.bucketCount.intValue()),
+            new StageTiming("RISK_CLASS_AGGREGATION", timings.riskClassNanos.sum(), riskClassTasks.size()),
+            new StageTiming("RISK_CLASS_FAN_OUT", fanOutNanos, riskClassTasks.size()),
+            new StageTiming("PRODUCT_CLASS_AGGREGATION", productNanos, imByProductClass.size()),
+            new StageTiming("DIVERSIFICATION", diversificationNanos, imByProductClass.size()));
+
+        return new SimmAggregation(totalIm, diversificationBenefit, imByProductClass, detailedResults, stages);
+    }
+
+    /**
+     * Calculate initial margin for a specific risk class
+     * Applies risk weights and correlation adjustments
+     */
+    private RiskClassMargin calculateRiskClassIM(String productClass, String riskClass,
+                                                 Map<String, List<CrifSensitivity>> sensitivityByBucket,
+                                                 Timings timings) {
+        List<Callable<SimmCalculationResult>> bucketTasks = new ArrayList<>();
+        for (Map.Entry<String, List<CrifSensitivity>> entry : sensitivityByBucket.entrySet()) {
+            String bucket = entry.getKey();
+            List<CrifSensitivity> bucketSensitivities = entry.getValue();
+            bucketTasks.add(() -> calculateBucketIM(productClass, riskClass, bucket, bucketSensitivities, timings));
+        }
+
+        List<SimmCalculationResult> bucketResults = forkJoin(bucketTasks);
+
+        // Apply cross-bucket correlations (simplified aggregation)
+        long start = System.nanoTime();
+        List<BigDecimal> bucketMargins = bucketResults.stream()
+            .map(SimmCalculationResult::getMarginComponent)
+            .toList();
+        BigDecimal riskClassIm = aggregateWithCorrelations(bucketMargins, productClass, riskClass)
+            .setScale(2, RoundingMode.HALF_UP);
+        timings.riskClassNanos.add(System.nanoTime() - start);
+
+        return new RiskClassMargin(productClass, riskClass, riskClassIm, bucketResults);
+    }
+
+    /**
+     * Calculate initial margin for a specific bucket
+     * Applies SIMM risk weights to sensitivities
+     */
+    private SimmCalculationResult calculateBucketIM(String productClass, String riskClass, String bucket,
+                                                    List<CrifSensitivity> sensitivities, Timings timings) {
+        long start = System.nanoTime();
+        BigDecimal weightedSensitivity = BigDecimal.ZERO;
+
+        for (CrifSensitivity sensitivity : sensitivities) {
+            BigDecimal riskWeight = getDefaultRiskWeight(productClass, riskClass, sensitivity.getRiskType());
+            weightedSensitivity = weightedSensitivity.add(sensitivity.getAmountBaseCurrency().multiply(riskWeight));
+        }
+
+        // For simplicity, return absolute weighted sensitivity as bucket IM
+        // In full SIMM, this would involve more complex correlation matrix calculations
+        BigDecimal bucketIm = weightedSensitivity.abs();
+
+        SimmCalculationResult result = new SimmCalculationResult();
+        result.setRiskClass(riskClass);
+        result.setBucket(bucket);
+        result.setWeightedSensitivity(weightedSensitivity);
+        result.setCorrelationAdjustment(BigDecimal.ZERO); // Simplified
+        result.setMarginComponent(bucketIm);
+        result.setMarginComponentUsd(bucketIm);
+
+        timings.bucketNanos.add(System.nanoTime() - start);
+        timings.bucketCount.increment();
+        return result;
+    }
+
+    /**
+     * Run independent tasks, forking them on the pool when parallel.
+     * Results are returned in task order regardless of completion order.
+     */
+    private <T> List<T> forkJoin(List<Callable<T>> work) {
+        if (pool == null || work.size() < 2) {
+            List<T> results = new ArrayList<>(work.size());
+            for (Callable<T> task : work) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return results;
+        }
+
+        List<ForkJoinTask<T>> tasks = work.stream().map(ForkJoinTask::adapt).toList();
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.submit(() -> { ForkJoinTask.invokeAll(tasks); }).join();
+        }
+        return tasks.stream().map(ForkJoinTask::join).toList();
+    }
+
+    /**
+     * Get default risk weights based on ISDA SIMM methodology
+     */
+    static BigDecimal getDefaultRiskWeight(String productClass, String riskClass, String riskType) {
+
+        // Credit risk weights (simplified)
+        if ("Credit".equalsIgnoreCase(productClass) && "Credit_Q".equalsIgnoreCase(riskClass)) {
+            if ("Risk_IRCurve".equalsIgnoreCase(riskType)) {
+                return new BigDecimal("0.0175"); // 1.75% for credit spread curves
+            } else {
+                return new BigDecimal("0.0050"); // 0.5% for credit spreads
+            }
+        }
+
+        // Interest rate risk weights
+        if ("RatesFX".equalsIgnoreCase(productClass) && "Interest_Rate".equalsIgnoreCase(riskClass)) {
+            return new BigDecimal("0.0050"); // 0.5% for IR
+        }
+
+        // Equity risk weights
+        if ("Equity".equalsIgnoreCase(productClass) && "Equity".equalsIgnoreCase(riskClass)) {
+            return new BigDecimal("0.15"); // 15% for equity
+        }
+
+        // Commodity risk weights
+        if ("Commodity".equalsIgnoreCase(productClass) && "Commodity".equalsIgnoreCase(riskClass)) {
+            return new BigDecimal("0.18"); // 18% for commodity
+        }
+
+        // Default fallback
+        log.warn("Using default risk weight for productClass={}, riskClass={}, riskType={}",
+                 productClass, riskClass, riskType);
+        return new BigDecimal("0.01"); // 1% default
+    }
+
+    /**
+     * Aggregate bucket margins with cross-bucket correlations
+     * Simplified version - full SIMM would use correlation matrices
+     */
+    private BigDecimal aggregateWithCorrelations(List<BigDecimal> bucketMargins, String productClass, String riskClass) {
+
+        if (bucketMargins.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        if (bucketMargins.size() == 1) {
+            return bucketMargins.get(0);
+        }
+
+        // Simplified correlation aggregation: sqrt(sum of squares) approach
+        // This approximates the effect of positive correlations between buckets
+        BigDecimal sumOfSquares = bucketMargins.stream()
+            .map(margin -> margin.multiply(margin))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // Apply correlation factor (simplified)
+        BigDecimal correlationFactor = getCorrelationFactor(productClass, riskClass);
+
+        return sqrt(sumOfSquares).multiply(correlationFactor);
+    }
+
+    /**
+     * Get correlation factor for cross-bucket aggregation
+     */
+    private BigDecimal getCorrelationFactor(String productClass, String riskClass) {
+        // Simplified correlation factors
+        if ("Credit".equalsIgnoreCase(productClass)) {
+            return new BigDecimal("0.50"); // 50% correlation between credit buckets
+        } else if ("RatesFX".equalsIgnoreCase(productClass)) {
+            return new BigDecimal("0.30"); // 30% correlation between rate buckets
+        } else if ("Equity".equalsIgnoreCase(productClass)) {
+            return new BigDecimal("0.15"); // 15% correlation between equity buckets
+        }
+
+        return new BigDecimal("0.25"); // Default 25% correlation
+    }
+
+    /**
+     * Calculate diversification benefit across product classes
+     */
+    private BigDecimal calculateDiversificationBenefit(Map<String, BigDecimal> imByProductClass) {
+
+        if (imByProductClass.size() <= 1) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal totalWithoutDiversification = imByProductClass.values().stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // Simplified diversification: 5-15% benefit based on number of product classes
+        BigDecimal diversificationRate = new BigDecimal("0.05") // Base 5%
+            .add(new BigDecimal("0.02").multiply(new BigDecimal(imByProductClass.size() - 1))); // +2% per additional class
+
+        diversificationRate = diversificationRate.min(new BigDecimal("0.15")); // Cap at 15%
+
+        return totalWithoutDiversification.multiply(diversificationRate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Simple square root approximation using Newton's method
+     */
+    private BigDecimal sqrt(BigDecimal value) {
+        if (value.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal x = value;
+        BigDecimal y = value.add(BigDecimal.ONE).divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP);
+
+        // Newton's method iterations
+        for (int i = 0; i < 10; i++) {
+            x = y;
+            y = x.add(value.divide(x, 10, RoundingMode.HALF_UP)).divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP);
+        }
+
+        return y.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Per-run counters shared by concurrently executing tasks
+     */
+    private static class Timings {
+        private final LongAdder bucketNanos = new LongAdder();
+        private final LongAdder bucketCount = new LongAdder();
+        private final LongAdder riskClassNanos = new LongAdder();
+    }
+
+    private record RiskClassMargin(String productClass, String riskClass, BigDecimal margin,
+                                   List<SimmCalculationResult> bucketResults) {}
+
+    /**
+     * Time spent in one aggregation stage. For forked stages this is the sum of
+     * task time across worker threads rather than elapsed wall-clock time.
+     */
+    public record StageTiming(String stageName, long nanos, int units) {
+        public long millis() {
+            return nanos / 1_000_000L;
+        }
+    }
+
+    /**
+     * Outcome of an aggregation run
+     */
+    public record SimmAggregation(BigDecimal totalIm,
+                                  BigDecimal diversificationBenefit,
+                                  Map<String, BigDecimal> imByProductClass,
+                                  List<SimmCalculationResult> detailedResults,
+                                  List<StageTiming> stageTimings) {}
+}
@@ -1,21 +1,33 @@
 package com.creditdefaultswap.platform.service.simm;
 
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
 import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.model.simm.CrifUpload;
 import com.creditdefaultswap.platform.model.simm.SimmCalculation;
+import com.creditdefaultswap.platform.model.simm.SimmCalculationAudit;
 import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import com.creditdefaultswap.platform.model.simm.SimmParameterSet;
 import com.creditdefaultswap.platform.repository.simm.SimmCalculationRepository;
 import com.creditdefaultswap.platform.repository.simm.SimmCalculationResultRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmParameterSetRepository;
 import com.creditdefaultswap.platform.repository.CrifSensitivityRepository;
 import com.creditdefaultswap.platform.service.AuditService;
+import com.creditdefaultswap.platform.service.dashboard.DashboardEventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for executing SIMM (Standard Initial Margin Model) calculations
@@ -36,6 +48,59 @@ public class SimmCalculationService {
     
     @Autowired
     private AuditService auditService;
+    
+    @Autowired
+    private CrifGenerationService crifGenerationService;
+    
+    @Autowired
+    private SimmParameterSetRepository parameterSetRepository;
+    
+    @Autowired
+    private SimmResultRetentionService retentionService;
+    
+    @Autowired
+    private DashboardEventPublisher dashboardEvents;
+    
+    @Autowired
+    private PlatformMetrics metrics;
+    
+    @Value("${simm.calculation.execution-mode:FORK_JOIN}")
+    private ExecutionMode executionMode;
+    
+    @Value("${simm.calculation.parallelism:0}")
+    private int parallelism;
+    
+    private ForkJoinPool pool;
+    
+    private SimmAggregator aggregator = new SimmAggregator(null);
+    
+    /**
+     * SEQUENTIAL walks product class, risk class and bucket on the calling thread;
+     * FORK_JOIN computes bucket and risk-class margins concurrently
+     */
+    public enum ExecutionMode {
+        SEQUENTIAL, FORK_JOIN
+    }
+    
+    @PostConstruct
+    void initAggregator() {
+        if (executionMode == ExecutionMode.FORK_JOIN) {
+            if (parallelism <= 0) {
+                parallelism = Runtime.getRuntime().availableProcessors();
+            }
+            pool = new ForkJoinPool(parallelism);
+            aggregator = new SimmAggregator(pool);
+        }
+        log.info("SIMM aggregation mode: {} (parallelism {})", executionMode,
+                 pool != null ? parallelism : 1);
+    }
+    
+    @PreDestroy
+    void shutdownAggregator() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
 
     /**
      * Execute SIMM calculation for a given upload and parameter set
@@ -61,8 +126,10 @@ public class SimmCalculationService {
             calculation = calculationRepository.save(calculation);
             
             // Get all sensitivities for this upload using actual repository method
+            long loadStart = System.nanoTime();
             List<CrifSensitivity> sensitivities = sensitivityRepository.findByUploadId(
                 calculation.getUpload().getId());
+            long loadNanos = System.nanoTime() - loadStart;
             
             log.debug("Processing {} sensitivities for calculation {}", 
                      sensitivities.size(), calculation.getCalculationId());
@@ -73,46 +140,33 @@ public class SimmCalculationService {
                 throw new RuntimeException(errorMessage);
             }
             
-            // Group sensitivities by product class
-            Map<String, List<CrifSensitivity>> sensitivityByProductClass = sensitivities.stream()
-                .collect(Collectors.groupingBy(CrifSensitivity::getProductClass));
-            
-            // Calculate initial margin by product class
-            BigDecimal totalIm = BigDecimal.ZERO;
-            Map<String, BigDecimal> imByProductClass = new HashMap<>();
-            List<SimmCalculationResult> detailedResults = new ArrayList<>();
-            
-            for (Map.Entry<String, List<CrifSensitivity>> entry : sensitivityByProductClass.entrySet()) {
-                String productClass = entry.getKey();
-                List<CrifSensitivity> productSensitivities = entry.getValue();
-                
-                log.debug("Calculating IM for product class: {} with {} sensitivities", 
-                         productClass, productSensitivities.size());
-                
-                BigDecimal productIm = calculateProductClassIM(calculation, productClass, productSensitivities, detailedResults);
-                imByProductClass.put(productClass, productIm);
-                totalIm = totalIm.add(productIm);
-            }
-            
-            // Apply diversification benefit (simplified)
-            BigDecimal diversificationBenefit = calculateDiversificationBenefit(imByProductClass);
-            totalIm = totalIm.subtract(diversificationBenefit);
+            SimmAggregator.SimmAggregation aggregation = aggregator.aggregate(sensitivities);
+            BigDecimal totalIm = aggregation.totalIm();
+            BigDecimal diversificationBenefit = aggregation.diversificationBenefit();
             
             // Update calculation with results
             calculation.setTotalIm(totalIm);
             calculation.setTotalImUsd(totalIm); // Assuming USD base currency
             calculation.setDiversificationBenefit(diversificationBenefit);
             calculation.setCalculationStatus(SimmCalculation.CalculationStatus.COMPLETED);
-            long calculationTime = System.currentTimeMillis() - startTime;
-            calculation.setCalculationTimeMs(calculationTime);
             
             // Save detailed results
-            for (SimmCalculationResult result : detailedResults) {
+            long persistStart = System.nanoTime();
+            for (SimmCalculationResult result : aggregation.detailedResults()) {
                 result.setCalculation(calculation);
                 resultRepository.save(result);
             }
+            long persistNanos = System.nanoTime() - persistStart;
+            
+            recordStageTimings(calculation, "LOAD_SENSITIVITIES", sensitivities.size(), loadNanos,
+                               aggregation, persistNanos);
+            long calculationTime = System.currentTimeMillis() - startTime;
+            calculation.setCalculationTimeMs(calculationTime);
             
             calculation = calculationRepository.save(calculation);
+            metrics.recordDuration(PlatformMetrics.SIMM_CALCULATION, TimeUnit.MILLISECONDS.toNanos(calculationTime),
+                                   PlatformMetrics.OUTCOME_SUCCESS);
+            metrics.recordAmount(PlatformMetrics.SIMM_SENSITIVITIES, "sensitivities", sensitivities.size());
             
             // Log successful completion (with error handling)
             try {
@@ -124,6 +178,7 @@ public class SimmCalculationService {
             
             log.info("SIMM calculation completed: {} with total IM: {} USD", 
                      calculation.getCalculationId(), totalIm);
+            dashboardEvents.simmCompleted(calculation);
             
             return calculation;
             
@@ -133,6 +188,9 @@ public class SimmCalculationService {
             calculation.setCalculationStatus(SimmCalculation.CalculationStatus.FAILED);
             calculation.setErrorMessage(e.getMessage());
             calculation.setCalculationTimeMs(System.currentTimeMillis() - startTime);
+            metrics.recordDuration(PlatformMetrics.SIMM_CALCULATION,
+                                   TimeUnit.MILLISECONDS.toNanos(calculation.getCalculationTimeMs()),
+                                   PlatformMetrics.OUTCOME_FAILURE);
             
             // Log calculation failure (with error handling)
             try {
@@ -147,249 +205,138 @@ public class SimmCalculationService {
     }
     
     /**
-     * Calculate initial margin for a specific product class
-     * Implements risk-weighted aggregation with correlations
+     * Calculate SIMM directly from a portfolio's active trades.
+     * Sensitivities are generated in memory and fed straight into the aggregator;
+     * CRIF rows and a calculation record are only written when persistCrif is set,
+     * so what-if IM does not pay a database round trip per sensitivity.
      */
-    private BigDecimal calculateProductClassIM(SimmCalculation calculation, String productClass, 
-                                             List<CrifSensitivity> sensitivities, 
-                                             List<SimmCalculationResult> detailedResults) {
-        
-        // Group by risk class
-        Map<String, List<CrifSensitivity>> sensitivityByRiskClass = sensitivities.stream()
-            .collect(Collectors.groupingBy(CrifSensitivity::getRiskClass));
-        
-        BigDecimal productClassIm = BigDecimal.ZERO;
-        
-        for (Map.Entry<String, List<CrifSensitivity>> entry : sensitivityByRiskClass.entrySet()) {
-            String riskClass = entry.getKey();
-            List<CrifSensitivity> riskClassSensitivities = entry.getValue();
-            
-            BigDecimal riskClassIm = calculateRiskClassIM(calculation, productClass, riskClass, 
-                                                         riskClassSensitivities, detailedResults);
-            productClassIm = productClassIm.add(riskClassIm);
-        }
-        
-        return productClassIm.setScale(2, RoundingMode.HALF_UP);
-    }
-    
-    /**
-     * Calculate initial margin for a specific risk class
-     * Applies risk weights and correlation adjustments
-     */
-    private BigDecimal calculateRiskClassIM(SimmCalculation calculation, String productClass, String riskClass,
-                                          List<CrifSensitivity> sensitivities,
-                                          List<SimmCalculationResult> detailedResults) {
-        
-        // Group by bucket
-        Map<String, List<CrifSensitivity>> sensitivityByBucket = sensitivities.stream()
-            .collect(Collectors.groupingBy(s -> s.getBucket() != null ? s.getBucket() : "DEFAULT"));
+    @Transactional
+    public DirectSimmResult calculateFromTrades(String portfolioId, LocalDate valuationDate, boolean persistCrif) {
+        log.info("Executing direct SIMM calculation for portfolio {} as of {} (persistCrif={})",
+                 portfolioId, valuationDate, persistCrif);
+        long startTime = System.currentTimeMillis();
         
-        List<BigDecimal> bucketMargins = new ArrayList<>();
+        long generateStart = System.nanoTime();
+        CrifGenerationService.PortfolioSensitivities generated =
+            crifGenerationService.generateInMemory(portfolioId, valuationDate);
+        long generateNanos = System.nanoTime() - generateStart;
         
-        for (Map.Entry<String, List<CrifSensitivity>> entry : sensitivityByBucket.entrySet()) {
-            String bucket = entry.getKey();
-            List<CrifSensitivity> bucketSensitivities = entry.getValue();
-            
-            BigDecimal bucketIm = calculateBucketIM(calculation, productClass, riskClass, bucket, 
-                                                   bucketSensitivities, detailedResults);
-            bucketMargins.add(bucketIm);
+        if (generated.sensitivities().isEmpty()) {
+            throw new RuntimeException("No active trades found for portfolio: " + portfolioId);
         }
         
-        // Apply cross-bucket correlations (simplified aggregation)
-        BigDecimal riskClassIm = aggregateWithCorrelations(bucketMargins, productClass, riskClass);
+        SimmAggregator.SimmAggregation aggregation = aggregator.aggregate(generated.sensitivities());
         
-        return riskClassIm.setScale(2, RoundingMode.HALF_UP);
-    }
-    
-    /**
-     * Calculate initial margin for a specific bucket
-     * Applies SIMM risk weights to sensitivities
-     */
-    private BigDecimal calculateBucketIM(SimmCalculation calculation, String productClass, String riskClass,
-                                       String bucket, List<CrifSensitivity> sensitivities,
-                                       List<SimmCalculationResult> detailedResults) {
-        
-        BigDecimal weightedSensitivity = BigDecimal.ZERO;
-        String parameterSetVersion = calculation.getParameterSet().getVersionName(); // Use versionName instead of getVersion()
-        
-        for (CrifSensitivity sensitivity : sensitivities) {
-            // Get risk weight for this sensitivity
-            BigDecimal riskWeight = getRiskWeight(parameterSetVersion, productClass, riskClass, 
-                                                sensitivity.getRiskType(), bucket);
+        SimmCalculation calculation = null;
+        if (persistCrif) {
+            SimmParameterSet parameterSet = parameterSetRepository.findDefaultActiveParameterSet()
+                .orElseThrow(() -> new RuntimeException("No active SIMM parameter set found"));
+            long persistStart = System.nanoTime();
+            CrifUpload upload = crifGenerationService.persistSensitivities(portfolioId, valuationDate, generated);
+            long persistNanos = System.nanoTime() - persistStart;
             
-            // Apply risk weight
-            BigDecimal weightedAmount = sensitivity.getAmountBaseCurrency().multiply(riskWeight);
-            weightedSensitivity = weightedSensitivity.add(weightedAmount);
+            calculation = new SimmCalculation("CALC-" + System.currentTimeMillis(), upload, parameterSet, valuationDate);
+            calculation.setTotalIm(aggregation.totalIm());
+            calculation.setTotalImUsd(aggregation.totalIm());
+            calculation.setDiversificationBenefit(aggregation.diversificationBenefit());
+            calculation.setCalculationStatus(SimmCalculation.CalculationStatus.COMPLETED);
+            for (SimmCalculationResult result : aggregation.detailedResults()) {
+                calculation.addResult(result);
+            }
+            recordStageTimings(calculation, "GENERATE_SENSITIVITIES", generated.sensitivities().size(),
+                               generateNanos, aggregation, persistNanos);
+            calculation.setCalculationTimeMs(System.currentTimeMillis() - startTime);
+            calculation = calculationRepository.save(calculation);
+            dashboardEvents.simmCompleted(calculation);
         }
         
-        // For simplicity, return absolute weighted sensitivity as bucket IM
-        // In full SIMM, this would involve more complex correlation matrix calculations
-        BigDecimal bucketIm = weightedSensitivity.abs();
-        
-        // Create detailed result record
-        SimmCalculationResult result = new SimmCalculationResult();
-        result.setRiskClass(riskClass);
-        result.setBucket(bucket);
-        result.setWeightedSensitivity(weightedSensitivity);
-        result.setCorrelationAdjustment(BigDecimal.ZERO); // Simplified
-        result.setMarginComponent(bucketIm);
-        result.setMarginComponentUsd(bucketIm);
-        detailedResults.add(result);
+        long calculationTime = System.currentTimeMillis() - startTime;
+        log.info("Direct SIMM calculation for portfolio {} completed in {} ms: {} trades, {} sensitivities, total IM {}",
+                 portfolioId, calculationTime, generated.tradeCount(), generated.sensitivities().size(),
+                 aggregation.totalIm());
         
-        return bucketIm;
+        return new DirectSimmResult(portfolioId, valuationDate, generated.tradeCount(), generated.failedTrades(),
+                                    generated.sensitivities().size(), aggregation, calculation, calculationTime);
     }
     
     /**
-     * Get risk weight for a specific sensitivity type
-     * Uses default risk weights since database lookup is not available
+     * Outcome of a SIMM calculation run directly from trades. The calculation
+     * is only present when the generated CRIF was persisted for audit.
      */
-    private BigDecimal getRiskWeight(String parameterSetVersion, String productClass, String riskClass,
-                                   String riskType, String bucket) {
-        
-        // Use simplified default risk weights
-        return getDefaultRiskWeight(productClass, riskClass, riskType);
-    }
+    public record DirectSimmResult(String portfolioId, LocalDate valuationDate, int tradeCount, int failedTrades,
+                                   int sensitivityCount, SimmAggregator.SimmAggregation aggregation,
+                                   SimmCalculation calculation, long calculationTimeMs) {}
     
     /**
-     * Get default risk weights based on ISDA SIMM methodology
+     * Record per-stage timings in the calculation audit trail so slow stages
+     * on large portfolios are visible without profiling
      */
-    private BigDecimal getDefaultRiskWeight(String productClass, String riskClass, String riskType) {
-        
-        // Credit risk weights (simplified)
-        if ("Credit".equalsIgnoreCase(productClass) && "Credit_Q".equalsIgnoreCase(riskClass)) {
-            if ("Risk_IRCurve".equalsIgnoreCase(riskType)) {
-                return new BigDecimal("0.0175"); // 1.75% for credit spread curves
-            } else {
-                return new BigDecimal("0.0050"); // 0.5% for credit spreads
-            }
-        }
-        
-        // Interest rate risk weights
-        if ("RatesFX".equalsIgnoreCase(productClass) && "Interest_Rate".equalsIgnoreCase(riskClass)) {
-            return new BigDecimal("0.0050"); // 0.5% for IR
-        }
-        
-        // Equity risk weights
-        if ("Equity".equalsIgnoreCase(productClass) && "Equity".equalsIgnoreCase(riskClass)) {
-            return new BigDecimal("0.15"); // 15% for equity
-        }
-        
-        // Commodity risk weights
-        if ("Commodity".equalsIgnoreCase(productClass) && "Commodity".equalsIgnoreCase(riskClass)) {
-            return new BigDecimal("0.18"); // 18% for commodity
+    private void recordStageTimings(SimmCalculation calculation, String sourceStage, int sensitivityCount,
+                                    long sourceNanos, SimmAggregator.SimmAggregation aggregation, long persistNanos) {
+        List<SimmAggregator.StageTiming> stages = new ArrayList<>();
+        stages.add(new SimmAggregator.StageTiming(sourceStage, sourceNanos, sensitivityCount));
+        stages.addAll(aggregation.stageTimings());
+        stages.add(new SimmAggregator.StageTiming("PERSIST_RESULTS", persistNanos, aggregation.detailedResults().size()));
+        
+        String mode = aggregator.isParallel() ? "FORK_JOIN" : "SEQUENTIAL";
+        int order = 1;
+        for (SimmAggregator.StageTiming stage : stages) {
+            SimmCalculationAudit audit = new SimmCalculationAudit(stage.stageName(), order++);
+            audit.setProcessingTimeMs(stage.millis());
+            audit.setOutputData(String.format("{\"units\":%d,\"nanos\":%d}", stage.units(), stage.nanos()));
+            audit.setCalculationDetails(String.format("{\"executionMode\":\"%s\",\"parallelism\":%d}",
+                                                      mode, aggregator.isParallel() ? parallelism : 1));
+            calculation.addAuditEntry(audit);
         }
         
-        // Default fallback
-        log.warn("Using default risk weight for productClass={}, riskClass={}, riskType={}", 
-                 productClass, riskClass, riskType);
-        return new BigDecimal("0.01"); // 1% default
+        log.debug("SIMM stage timings for {} ({}): {}", calculation.getCalculationId(), mode, stages);
     }
     
     /**
-     * Aggregate bucket margins with cross-bucket correlations
-     * Simplified version - full SIMM would use correlation matrices
+     * Get all calculations
      */
-    private BigDecimal aggregateWithCorrelations(List<BigDecimal> bucketMargins, String productClass, String riskClass) {
-        
-        if (bucketMargins.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        
-        if (bucketMargins.size() == 1) {
-            return bucketMargins.get(0);
-        }
-        
-        // Simplified correlation aggregation: sqrt(sum of squares) approach
-        // This approximates the effect of positive correlations between buckets
-        BigDecimal sumOfSquares = bucketMargins.stream()
-            .map(margin -> margin.multiply(margin))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Apply correlation factor (simplified)
-        BigDecimal correlationFactor = getCorrelationFactor(productClass, riskClass);
-        
-        return sqrt(sumOfSquares).multiply(correlationFactor);
+    public List<SimmCalculation> getAllCalculations() {
+        return calculationRepository.findAll();
     }
     
     /**
-     * Get correlation factor for cross-bucket aggregation
+     * Get calculation by ID
      */
-    private BigDecimal getCorrelationFactor(String productClass, String riskClass) {
-        // Simplified correlation factors
-        if ("Credit".equalsIgnoreCase(productClass)) {
-            return new BigDecimal("0.50"); // 50% correlation between credit buckets
-        } else if ("RatesFX".equalsIgnoreCase(productClass)) {
-            return new BigDecimal("0.30"); // 30% correlation between rate buckets
-        } else if ("Equity".equalsIgnoreCase(productClass)) {
-            return new BigDecimal("0.15"); // 15% correlation between equity buckets
-        }
-        
-        return new BigDecimal("0.25"); // Default 25% correlation
+    public Optional<SimmCalculation> getCalculationById(String calculationId) {
+        return calculationRepository.findByCalculationId(calculationId);
     }
     
     /**
-     * Calculate diversification benefit across product classes
+     * Get results for a calculation, falling back to the archive once the retention job has moved them
      */
-    private BigDecimal calculateDiversificationBenefit(Map<String, BigDecimal> imByProductClass) {
-        
-        if (imByProductClass.size() <= 1) {
-            return BigDecimal.ZERO;
+    public List<SimmCalculationResult> getCalculationResults(SimmCalculation calculation) {
+        List<SimmCalculationResult> results = resultRepository.findByCalculationId(calculation.getId());
+        if (results.isEmpty()) {
+            return retentionService.findArchivedResults(calculation);
         }
-        
-        BigDecimal totalWithoutDiversification = imByProductClass.values().stream()
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Simplified diversification: 5-15% benefit based on number of product classes
-        BigDecimal diversificationRate = new BigDecimal("0.05") // Base 5%
-            .add(new BigDecimal("0.02").multiply(new BigDecimal(imByProductClass.size() - 1))); // +2% per additional class
-        
-        diversificationRate = diversificationRate.min(new BigDecimal("0.15")); // Cap at 15%
-        
-        return totalWithoutDiversification.multiply(diversificationRate).setScale(2, RoundingMode.HALF_UP);
+        return results;
     }
     
     /**
-     * Simple square root approximation using Newton's method
+     * Get one page of results for a calculation, ordered by risk class and bucket, falling back to
+     * the archive once the retention job has moved them
      */
-    private BigDecimal sqrt(BigDecimal value) {
-        if (value.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
+    public Page<SimmCalculationResult> getCalculationResults(SimmCalculation calculation, Pageable pageable) {
+        Page<SimmCalculationResult> results = resultRepository.findByCalculationId(calculation.getId(), pageable);
+        if (results.getTotalElements() == 0) {
+            return retentionService.findArchivedResults(calculation, pageable);
         }
-        
-        BigDecimal x = value;
-        BigDecimal y = value.add(BigDecimal.ONE).divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP);
-        
-        // Newton's method iterations
-        for (int i = 0; i < 10; i++) {
-            x = y;
-            y = x.add(value.divide(x, 10, RoundingMode.HALF_UP)).divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP);
-        }
-        
-        return y.setScale(2, RoundingMode.HALF_UP);
+        return results;
     }
     
     /**
-     * Get all calculations
+     * Get one page of calculation summaries, newest first; portfolioId "ALL" lists every portfolio
      */
-    public List<SimmCalculation> getAllCalculations() {
-        return calculationRepository.findAll();
-    }
-    
-    /**
-     * Get calculation by ID
-     */
-    public Optional<SimmCalculation> getCalculationById(String calculationId) {
-        return calculationRepository.findByCalculationId(calculationId);
-    }
-    
-    /**
-     * Get results for a calculation - using simplified repository query
-     */
-    public List<SimmCalculationResult> getCalculationResults(SimmCalculation calculation) {
-        // Use generic findAll and filter manually since specific method doesn't exist
-        return resultRepository.findAll().stream()
-            .filter(result -> result.getCalculation() != null && 
-                           result.getCalculation().getId().equals(calculation.getId()))
-            .collect(Collectors.toList());
+    public Page<SimmCalculationRepository.CalculationSummary> getCalculationSummaries(String portfolioId,
+                                                                                     Pageable pageable) {
+        if ("ALL".equals(portfolioId)) {
+            return calculationRepository.findAllProjectedByOrderByCreatedAtDesc(pageable);
+        }
+        return calculationRepository.findByPortfolioIdOrderByCreatedAtDesc(portfolioId, pageable);
     }
-}
\ No newline at end of file
+}
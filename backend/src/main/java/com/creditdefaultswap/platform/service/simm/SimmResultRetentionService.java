@@ -0,0 +1,140 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.SimmCalculation;
+import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import com.creditdefaultswap.platform.repository.simm.SimmCalculationRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmCalculationResultArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Retention policy for SIMM calculation results.
+ *
+ * Result rows of calculations older than the retention window are moved from
+ * simm_calculation_results into simm_calculation_results_archive in batches of
+ * calculations, each batch in its own transaction. Calculation headers and audit
+ * entries stay in place, so history listings are unaffected and archived results
+ * can still be read back through {@link #findArchivedResults}.
+ */
+@Service
+public class SimmResultRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimmResultRetentionService.class);
+
+    private static final String ARCHIVE_SQL =
+        "INSERT INTO simm_calculation_results_archive (id, calculation_id, risk_class, bucket, " +
+        "weighted_sensitivity, correlation_adjustment, margin_component, margin_component_usd, created_at, archived_at) " +
+        "SELECT id, calculation_id, risk_class, bucket, weighted_sensitivity, correlation_adjustment, " +
+        "margin_component, margin_component_usd, created_at, :archivedAt " +
+        "FROM simm_calculation_results WHERE calculation_id IN (:calculationIds)";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM simm_calculation_results WHERE calculation_id IN (:calculationIds)";
+
+    @Autowired
+    private SimmCalculationRepository calculationRepository;
+
+    @Autowired
+    private SimmCalculationResultArchiveRepository archiveRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${simm.results.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${simm.results.retention.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Outcome of one archival run
+     */
+    public record ArchivalSummary(LocalDateTime cutoff, int calculations, int resultsArchived) {}
+
+    /**
+     * Scheduled entry point; disabled unless simm.results.retention.cron is set
+     */
+    @Scheduled(cron = "${simm.results.retention.cron:-}")
+    public void archiveOnSchedule() {
+        archiveExpiredResults();
+    }
+
+    /**
+     * Archive results of calculations older than the configured retention window
+     */
+    public ArchivalSummary archiveExpiredResults() {
+        return archiveResultsCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Archive results of calculations created before the cutoff
+     */
+    public ArchivalSummary archiveResultsCreatedBefore(LocalDateTime cutoff) {
+        logger.info("Archiving SIMM results for calculations created before {}", cutoff);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int calculations = 0;
+        int archived = 0;
+        while (true) {
+            int[] batch = tx.execute(status -> {
+                List<Long> ids = calculationRepository.findIdsWithResultsCreatedBefore(
+                    cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return new int[] {0, 0};
+                }
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("calculationIds", ids)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+                int copied = jdbcTemplate.update(ARCHIVE_SQL, params);
+                int deleted = jdbcTemplate.update(DELETE_SQL, params);
+                if (copied != deleted) {
+                    throw new IllegalStateException("Archived " + copied + " SIMM results but deleted " + deleted);
+                }
+                return new int[] {ids.size(), copied};
+            });
+            if (batch[0] == 0) {
+                break;
+            }
+            calculations += batch[0];
+            archived += batch[1];
+        }
+
+        logger.info("Archived {} SIMM results for calculations created before {}", archived, cutoff);
+        return new ArchivalSummary(cutoff, calculations, archived);
+    }
+
+    /**
+     * Archived results for a calculation, rehydrated as detached result objects
+     */
+    public List<SimmCalculationResult> findArchivedResults(SimmCalculation calculation) {
+        return archiveRepository.findByCalculationIdOrderById(calculation.getId()).stream()
+            .map(row -> row.toResult(calculation))
+            .toList();
+    }
+
+    /**
+     * One page of archived results for a calculation, ordered by risk class and bucket
+     */
+    public Page<SimmCalculationResult> findArchivedResults(SimmCalculation calculation, Pageable pageable) {
+        return archiveRepository.findByCalculationIdOrderByRiskClassAscBucketAscIdAsc(calculation.getId(), pageable)
+            .map(row -> row.toResult(calculation));
+    }
+}
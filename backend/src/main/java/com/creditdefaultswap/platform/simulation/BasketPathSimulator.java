@@ -0,0 +1,301 @@
+package com.creditdefaultswap.platform.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Premium and protection legs of an n-th-to-default basket or a tranchette over Monte Carlo paths
+ * Epic 15: Basket & Multi-Name Credit Derivatives
+ *
+ * Default times come from the one-factor copula in {@link DefaultTimeSimulator}. Each path draws its
+ * factors once and replays them through every scenario (base inputs first, then each bumped input),
+ * so differences between scenarios carry no extra path noise.
+ */
+public class BasketPathSimulator {
+
+    /**
+     * Premium schedule in years from valuation: accrual start and payment time per period, the
+     * accrual fraction and the discount factor at payment, and the flat rate for discounting defaults
+     */
+    public record Schedule(double[] periodStarts, double[] paymentTimes, double[] accruals,
+                           double[] discountFactors, double discountRate) {
+
+        double maturity() {
+            return paymentTimes[paymentTimes.length - 1];
+        }
+    }
+
+    /**
+     * One set of inputs: a default-time kernel and the recovery applied to each name's default
+     */
+    public record Scenario(DefaultTimeSimulator kernel, double[] recoveries) {}
+
+    private final int nth;              // 0 for a tranchette
+    private final double attachment;
+    private final double detachment;
+    private final double[] weights;
+    private final double notional;
+    private final Schedule schedule;
+    private final Scenario[] scenarios;
+    private final double[] lossHorizons;
+    private final double fullAnnuity;
+
+    private BasketPathSimulator(int nth, double attachment, double detachment, double[] weights, double notional,
+                                Schedule schedule, Scenario[] scenarios, double[] lossHorizons) {
+        this.nth = nth;
+        this.attachment = attachment;
+        this.detachment = detachment;
+        this.weights = weights;
+        this.notional = notional;
+        this.schedule = schedule;
+        this.scenarios = scenarios;
+        this.lossHorizons = lossHorizons;
+        double annuity = 0.0;
+        for (int j = 0; j < schedule.paymentTimes().length; j++) {
+            annuity += schedule.accruals()[j] * schedule.discountFactors()[j];
+        }
+        this.fullAnnuity = annuity;
+    }
+
+    /**
+     * Protection pays the notional less the recovery of the n-th name to default before maturity
+     */
+    public static BasketPathSimulator nthToDefault(int nth, double notional, Schedule schedule, Scenario[] scenarios) {
+        return new BasketPathSimulator(nth, 0.0, 0.0, null, notional, schedule, scenarios, new double[0]);
+    }
+
+    /**
+     * Protection pays pool losses between the attachment and detachment points; pool losses weight each
+     * name's loss given default. Base scenario tranche losses are also collected at each loss horizon.
+     */
+    public static BasketPathSimulator tranche(double attachment, double detachment, double[] weights, double notional,
+                                              Schedule schedule, Scenario[] scenarios, double[] lossHorizons) {
+        return new BasketPathSimulator(0, attachment, detachment, weights, notional, schedule, scenarios, lossHorizons);
+    }
+
+    /**
+     * Empty sums sized for this simulator's scenarios and loss horizons
+     */
+    public Moments newMoments() {
+        return new Moments(scenarios.length, lossHorizons.length);
+    }
+
+    /**
+     * Simulate a batch of paths from its own random stream
+     */
+    public Moments simulate(RandomGenerator random, int paths) {
+        int names = scenarios[0].recoveries().length;
+        double[] epsilons = new double[names];
+        double[] defaultTimes = new double[names];
+        int[] order = new int[names];
+        double[] trancheFractions = new double[names];
+        double[] legs = new double[2];
+        Moments moments = newMoments();
+
+        for (int path = 0; path < paths; path++) {
+            double z = random.nextGaussian();
+            for (int i = 0; i < names; i++) {
+                epsilons[i] = random.nextGaussian();
+            }
+            for (int s = 0; s < scenarios.length; s++) {
+                Scenario scenario = scenarios[s];
+                scenario.kernel().defaultTimes(z, epsilons, defaultTimes);
+                int defaults = sortDefaults(defaultTimes, order);
+                if (nth > 0) {
+                    nthToDefaultLegs(defaultTimes, order, defaults, scenario.recoveries(), legs);
+                } else {
+                    trancheLegs(defaultTimes, order, defaults, scenario.recoveries(), trancheFractions, legs);
+                    if (s == 0) {
+                        recordTrancheLosses(defaultTimes, order, defaults, trancheFractions, moments);
+                    }
+                }
+                moments.record(s, legs[0], legs[1]);
+            }
+            moments.paths++;
+        }
+        return moments;
+    }
+
+    /**
+     * Indices of the names defaulting by maturity, by default time; returns how many there are
+     */
+    private int sortDefaults(double[] defaultTimes, int[] order) {
+        double maturity = schedule.maturity();
+        int count = 0;
+        for (int i = 0; i < defaultTimes.length; i++) {
+            double tau = defaultTimes[i];
+            if (tau <= maturity) {
+                int k = count++;
+                while (k > 0 && defaultTimes[order[k - 1]] > tau) {
+                    order[k] = order[k - 1];
+                    k--;
+                }
+                order[k] = i;
+            }
+        }
+        return count;
+    }
+
+    private void nthToDefaultLegs(double[] defaultTimes, int[] order, int defaults, double[] recoveries, double[] legs) {
+        if (defaults < nth) {
+            legs[0] = 0.0;
+            legs[1] = notional * fullAnnuity;
+            return;
+        }
+        int name = order[nth - 1];
+        double tau = defaultTimes[name];
+        double discount = Math.exp(-schedule.discountRate() * tau);
+        legs[0] = notional * (1.0 - recoveries[name]) * discount;
+        legs[1] = notional * annuityTo(tau, discount);
+    }
+
+    /**
+     * Risky annuity of premiums paid until a default at tau, with premium accrued up to the default
+     */
+    private double annuityTo(double tau, double discountAtTau) {
+        double[] starts = schedule.periodStarts();
+        double[] times = schedule.paymentTimes();
+        double annuity = 0.0;
+        for (int j = 0; j < times.length; j++) {
+            if (times[j] <= tau) {
+                annuity += schedule.accruals()[j] * schedule.discountFactors()[j];
+            } else {
+                if (tau > starts[j]) {
+                    annuity += schedule.accruals()[j] * (tau - starts[j]) / (times[j] - starts[j]) * discountAtTau;
+                }
+                break;
+            }
+        }
+        return annuity;
+    }
+
+    private void trancheLegs(double[] defaultTimes, int[] order, int defaults, double[] recoveries,
+                             double[] trancheFractions, double[] legs) {
+        double[] times = schedule.paymentTimes();
+        double poolLoss = 0.0;
+        double fraction = 0.0;
+        double protection = 0.0;
+        double annuity = 0.0;
+        int k = 0;
+        for (int j = 0; j < times.length; j++) {
+            while (k < defaults && defaultTimes[order[k]] <= times[j]) {
+                int name = order[k];
+                poolLoss += weights[name] * (1.0 - recoveries[name]);
+                double next = trancheFraction(poolLoss);
+                if (next > fraction) {
+                    protection += (next - fraction) * Math.exp(-schedule.discountRate() * defaultTimes[name]);
+                    fraction = next;
+                }
+                trancheFractions[k++] = fraction;
+            }
+            // Premium is paid on the tranche notional outstanding at the payment date
+            annuity += schedule.accruals()[j] * schedule.discountFactors()[j] * (1.0 - fraction);
+        }
+        legs[0] = notional * protection;
+        legs[1] = notional * annuity;
+    }
+
+    private double trancheFraction(double poolLoss) {
+        return Math.min(Math.max(poolLoss - attachment, 0.0), detachment - attachment) / (detachment - attachment);
+    }
+
+    private void recordTrancheLosses(double[] defaultTimes, int[] order, int defaults, double[] trancheFractions,
+                                     Moments moments) {
+        int k = 0;
+        for (int h = 0; h < lossHorizons.length; h++) {
+            while (k < defaults && defaultTimes[order[k]] <= lossHorizons[h]) {
+                k++;
+            }
+            if (k > 0) {
+                moments.trancheLoss[h] += trancheFractions[k - 1];
+            }
+        }
+    }
+
+    /**
+     * Running sums of the protection leg P and the risky annuity A (premium leg per unit of spread)
+     * per scenario, enough for the fair spread and its standard error; merged across batches
+     */
+    public static final class Moments {
+
+        private static final int SUM_P = 0;
+        private static final int SUM_A = 1;
+        private static final int SUM_PP = 2;
+        private static final int SUM_AA = 3;
+        private static final int SUM_PA = 4;
+
+        private final double[][] sums;
+        private final double[] trancheLoss;
+        private long paths;
+
+        private Moments(int scenarios, int lossHorizons) {
+            this.sums = new double[scenarios][5];
+            this.trancheLoss = new double[lossHorizons];
+        }
+
+        private void record(int scenario, double protection, double annuity) {
+            double[] s = sums[scenario];
+            s[SUM_P] += protection;
+            s[SUM_A] += annuity;
+            s[SUM_PP] += protection * protection;
+            s[SUM_AA] += annuity * annuity;
+            s[SUM_PA] += protection * annuity;
+        }
+
+        public void merge(Moments other) {
+            for (int s = 0; s < sums.length; s++) {
+                for (int m = 0; m < sums[s].length; m++) {
+                    sums[s][m] += other.sums[s][m];
+                }
+            }
+            for (int h = 0; h < trancheLoss.length; h++) {
+                trancheLoss[h] += other.trancheLoss[h];
+            }
+            paths += other.paths;
+        }
+
+        public long getPaths() {
+            return paths;
+        }
+
+        public double protectionLeg(int scenario) {
+            return sums[scenario][SUM_P] / paths;
+        }
+
+        public double annuity(int scenario) {
+            return sums[scenario][SUM_A] / paths;
+        }
+
+        /**
+         * Spread at which the mean premium leg equals the mean protection leg
+         */
+        public double fairSpread(int scenario) {
+            double annuity = sums[scenario][SUM_A];
+            return annuity > 0 ? sums[scenario][SUM_P] / annuity : 0.0;
+        }
+
+        /**
+         * Standard error of the fair spread ratio estimator by the delta method:
+         * Var(P - sA) / (n * mean(A)^2)
+         */
+        public double fairSpreadStandardError(int scenario) {
+            double[] s = sums[scenario];
+            if (paths < 2 || s[SUM_A] <= 0) {
+                return Double.NaN;
+            }
+            double n = paths;
+            double spread = s[SUM_P] / s[SUM_A];
+            double meanResidual = (s[SUM_P] - spread * s[SUM_A]) / n;
+            double meanSquare = (s[SUM_PP] - 2 * spread * s[SUM_PA] + spread * spread * s[SUM_AA]) / n;
+            double variance = Math.max(meanSquare - meanResidual * meanResidual, 0.0) * n / (n - 1);
+            double meanAnnuity = s[SUM_A] / n;
+            return Math.sqrt(variance / n) / meanAnnuity;
+        }
+
+        /**
+         * Expected tranche loss of the base scenario at a loss horizon, as a fraction of the tranche notional
+         */
+        public double expectedTrancheLoss(int horizon) {
+            return trancheLoss[horizon] / paths;
+        }
+    }
+}
@@ -9,14 +9,31 @@ public class DefaultTimeSimulator {
     
     private final Random random;
     private final double[] betas;
+    private final double[] idiosyncraticLoadings;  // sqrt(1 - β_i^2)
     private final double[][] survivalCurves;  // [entity][time points]
     private final double[] timePoints;        // horizons in years
     
     public DefaultTimeSimulator(long seed, double[] betas, double[][] survivalCurves, double[] timePoints) {
-        this.random = new Random(seed);
+        this(new Random(seed), betas, survivalCurves, timePoints);
+    }
+    
+    /**
+     * Kernel without its own random stream, for callers that supply the factor draws to
+     * {@link #defaultTimes(double, double[], double[])}
+     */
+    public DefaultTimeSimulator(double[] betas, double[][] survivalCurves, double[] timePoints) {
+        this(null, betas, survivalCurves, timePoints);
+    }
+    
+    private DefaultTimeSimulator(Random random, double[] betas, double[][] survivalCurves, double[] timePoints) {
+        this.random = random;
         this.betas = betas;
         this.survivalCurves = survivalCurves;
         this.timePoints = timePoints;
+        this.idiosyncraticLoadings = new double[betas.length];
+        for (int i = 0; i < betas.length; i++) {
+            idiosyncraticLoadings[i] = Math.sqrt(1 - betas[i] * betas[i]);
+        }
     }
     
     /**
@@ -25,27 +42,34 @@ public class DefaultTimeSimulator {
      */
     public double[] generateDefaultTimes() {
         int numEntities = betas.length;
-        double[] defaultTimes = new double[numEntities];
         
-        // Draw systemic factor Z ~ N(0,1)
+        // Draw systemic factor Z ~ N(0,1), then idiosyncratic factors ε_i ~ N(0,1)
         double Z = random.nextGaussian();
-        
+        double[] epsilons = new double[numEntities];
         for (int i = 0; i < numEntities; i++) {
-            // Draw idiosyncratic factor ε_i ~ N(0,1)
-            double epsilon = random.nextGaussian();
-            
+            epsilons[i] = random.nextGaussian();
+        }
+        
+        double[] defaultTimes = new double[numEntities];
+        defaultTimes(Z, epsilons, defaultTimes);
+        return defaultTimes;
+    }
+    
+    /**
+     * Default times for one path from given factor draws. Reads no mutable state, so one kernel can be
+     * shared across threads and the same draws replayed through kernels with bumped inputs.
+     */
+    public void defaultTimes(double Z, double[] epsilons, double[] defaultTimes) {
+        for (int i = 0; i < betas.length; i++) {
             // Compute latent variable: X_i = β_i * Z + sqrt(1 - β_i^2) * ε_i
-            double beta = betas[i];
-            double Xi = beta * Z + Math.sqrt(1 - beta * beta) * epsilon;
+            double Xi = betas[i] * Z + idiosyncraticLoadings[i] * epsilons[i];
             
             // Transform to uniform: U_i = Φ(X_i)
-            double Ui = cumulativeNormalDistribution(Xi);
+            double Ui = NormalDistribution.cdf(Xi);
             
             // Invert survival curve to get default time
             defaultTimes[i] = invertSurvivalCurve(i, Ui);
         }
-        
-        return defaultTimes;
     }
     
     /**
@@ -61,38 +85,6 @@ public class DefaultTimeSimulator {
         return defaults;
     }
     
-    /**
-     * Cumulative standard normal distribution using approximation
-     */
-    private double cumulativeNormalDistribution(double x) {
-        // Using error function approximation
-        // Φ(x) = 0.5 * (1 + erf(x / sqrt(2)))
-        return 0.5 * (1.0 + erf(x / Math.sqrt(2.0)));
-    }
-    
-    /**
-     * Error function approximation (Abramowitz and Stegun)
-     */
-    private double erf(double x) {
-        // Constants
-        double a1 =  0.254829592;
-        double a2 = -0.284496736;
-        double a3 =  1.421413741;
-        double a4 = -1.453152027;
-        double a5 =  1.061405429;
-        double p  =  0.3275911;
-        
-        // Save the sign of x
-        int sign = (x < 0) ? -1 : 1;
-        x = Math.abs(x);
-        
-        // A&S formula 7.1.26
-        double t = 1.0 / (1.0 + p * x);
-        double y = 1.0 - (((((a5 * t + a4) * t) + a3) * t + a2) * t + a1) * t * Math.exp(-x * x);
-        
-        return sign * y;
-    }
-    
     /**
      * Invert survival curve to find default time
      * Given uniform U, find smallest t such that S(t) <= U
@@ -101,9 +93,10 @@ public class DefaultTimeSimulator {
     private double invertSurvivalCurve(int entityIndex, double uniformValue) {
         double[] survivalValues = survivalCurves[entityIndex];
         
-        // If uniform value is very high (U > all survival probs), return large time (no default)
-        if (uniformValue > survivalValues[0]) {
-            return Double.MAX_VALUE;  // No default within horizon (high survival)
+        // If uniform value is below survival at the last time point (U < all survival probs),
+        // return large time (no default within horizon); most names on most paths exit here
+        if (uniformValue < survivalValues[survivalValues.length - 1]) {
+            return Double.MAX_VALUE;
         }
         
         // Find first time point where survival probability drops below uniform value
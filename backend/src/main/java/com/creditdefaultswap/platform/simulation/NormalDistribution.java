@@ -0,0 +1,88 @@
+package com.creditdefaultswap.platform.simulation;
+
+/**
+ * Standard normal distribution functions shared by the copula models
+ */
+public final class NormalDistribution {
+    
+    private static final double SQRT_2 = Math.sqrt(2.0);
+    
+    // Acklam's rational approximation to the inverse, relative error below 1.2e-9
+    private static final double[] A = {
+        -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00
+    };
+    private static final double[] B = {
+        -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01
+    };
+    private static final double[] C = {
+        -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00
+    };
+    private static final double[] D = {
+        7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00
+    };
+    private static final double P_LOW = 0.02425;
+    
+    private NormalDistribution() {
+    }
+    
+    /**
+     * Cumulative standard normal distribution using approximation
+     */
+    public static double cdf(double x) {
+        // Using error function approximation
+        // Φ(x) = 0.5 * (1 + erf(x / sqrt(2)))
+        return 0.5 * (1.0 + erf(x / SQRT_2));
+    }
+    
+    /**
+     * Inverse cumulative standard normal distribution; infinite at 0 and 1
+     */
+    public static double inverseCdf(double p) {
+        if (p <= 0.0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (p < P_LOW) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) /
+                   ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        if (p > 1 - P_LOW) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) /
+                    ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q /
+               (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+    }
+    
+    /**
+     * Error function approximation (Abramowitz and Stegun)
+     */
+    private static double erf(double x) {
+        // Constants
+        double a1 =  0.254829592;
+        double a2 = -0.284496736;
+        double a3 =  1.421413741;
+        double a4 = -1.453152027;
+        double a5 =  1.061405429;
+        double p  =  0.3275911;
+        
+        // Save the sign of x
+        int sign = (x < 0) ? -1 : 1;
+        x = Math.abs(x);
+        
+        // A&S formula 7.1.26
+        double t = 1.0 / (1.0 + p * x);
+        double y = 1.0 - (((((a5 * t + a4) * t) + a3) * t + a2) * t + a1) * t * Math.exp(-x * x);
+        
+        return sign * y;
+    }
+}
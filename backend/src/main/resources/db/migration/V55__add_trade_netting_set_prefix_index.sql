@@ -0,0 +1,7 @@
+-- V55: Index cds_trades for portfolio-scoped trade streaming
+-- SIMM CRIF generation selects active trades whose netting set starts with a portfolio prefix;
+-- varchar_pattern_ops lets PostgreSQL use the index for LIKE 'prefix%' regardless of collation
+
+CREATE INDEX IF NOT EXISTS idx_cds_netting_set_prefix_status
+    ON public.cds_trades(netting_set_id varchar_pattern_ops, trade_status)
+    WHERE netting_set_id IS NOT NULL;
@@ -0,0 +1,30 @@
+-- V56: Indexed SIMM result retrieval and result archival
+-- Calculation listings page by portfolio (or by status for the dashboard) newest first,
+-- so composite indexes let PostgreSQL satisfy both the filter and the ORDER BY ... LIMIT
+
+CREATE INDEX IF NOT EXISTS idx_simm_calculations_portfolio_created
+    ON simm_calculations(portfolio_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_simm_calculations_status_created
+    ON simm_calculations(calculation_status, created_at DESC);
+
+-- Results of calculations older than the retention window are moved here by the
+-- retention job; calculation headers stay in simm_calculations so history remains listable
+CREATE TABLE IF NOT EXISTS simm_calculation_results_archive (
+    id BIGINT PRIMARY KEY,
+    calculation_id BIGINT NOT NULL REFERENCES simm_calculations(id) ON DELETE CASCADE,
+    risk_class VARCHAR(20) NOT NULL,
+    bucket VARCHAR(10),
+    weighted_sensitivity DECIMAL(20, 8),
+    correlation_adjustment DECIMAL(20, 8),
+    margin_component DECIMAL(20, 8),
+    margin_component_usd DECIMAL(20, 8),
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_simm_calculation_results_archive_calculation
+    ON simm_calculation_results_archive(calculation_id);
+
+COMMENT ON TABLE simm_calculation_results_archive IS 'SIMM result rows moved out of simm_calculation_results after the retention window';
+COMMENT ON COLUMN simm_calculation_results_archive.id IS 'Original simm_calculation_results id';
@@ -0,0 +1,38 @@
+-- V57: Move uploaded statement files out of margin_statements
+-- Listings and dashboard summaries read margin_statements constantly, while the raw file is
+-- only needed when a statement is (re)parsed. Raw content now lives gzip-compressed in its own
+-- table keyed by statement, with a SHA-256 of the original bytes for integrity and duplicate checks.
+
+CREATE TABLE IF NOT EXISTS margin_statement_contents (
+    statement_id BIGINT PRIMARY KEY REFERENCES margin_statements(id) ON DELETE CASCADE,
+    content_hash VARCHAR(64) NOT NULL,
+    compression VARCHAR(10) NOT NULL,
+    original_size BIGINT NOT NULL,
+    stored_size BIGINT NOT NULL,
+    content BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_margin_statement_contents_hash
+    ON margin_statement_contents(content_hash);
+
+-- Existing files are carried over uncompressed; new uploads are stored gzip-compressed
+INSERT INTO margin_statement_contents (statement_id, content_hash, compression, original_size, stored_size, content)
+SELECT id,
+       encode(sha256(convert_to(raw_content, 'UTF8')), 'hex'),
+       'NONE',
+       octet_length(convert_to(raw_content, 'UTF8')),
+       octet_length(convert_to(raw_content, 'UTF8')),
+       convert_to(raw_content, 'UTF8')
+FROM margin_statements
+WHERE raw_content IS NOT NULL
+ON CONFLICT (statement_id) DO NOTHING;
+
+ALTER TABLE margin_statements DROP COLUMN IF EXISTS raw_content;
+
+CREATE INDEX IF NOT EXISTS idx_margin_statements_date_status
+    ON margin_statements(statement_date, status);
+
+COMMENT ON TABLE margin_statement_contents IS 'Uploaded margin statement files, stored apart from statement metadata';
+COMMENT ON COLUMN margin_statement_contents.content_hash IS 'SHA-256 (hex) of the original uncompressed bytes';
+COMMENT ON COLUMN margin_statement_contents.compression IS 'GZIP for new uploads, NONE for content migrated from raw_content';
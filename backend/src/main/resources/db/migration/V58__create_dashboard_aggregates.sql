@@ -0,0 +1,58 @@
+-- V58: Materialised daily dashboard aggregates
+-- The reconciliation dashboard reads these small per-day tables instead of scanning
+-- margin_statements and sa_ccr_calculations. Rows are recomputed per (date, CCP) or per date
+-- when statements or SA-CCR calculations complete, and rebuilt nightly.
+
+CREATE TABLE IF NOT EXISTS dashboard_margin_daily (
+    id BIGSERIAL PRIMARY KEY,
+    statement_date DATE NOT NULL,
+    ccp_name VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    statement_count BIGINT NOT NULL,
+    variation_margin DECIMAL(20, 2) NOT NULL,
+    initial_margin DECIMAL(20, 2) NOT NULL,
+    last_updated_at TIMESTAMP,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_dashboard_margin_daily UNIQUE (statement_date, ccp_name, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_margin_daily_status ON dashboard_margin_daily(status);
+
+CREATE TABLE IF NOT EXISTS dashboard_saccr_daily (
+    id BIGSERIAL PRIMARY KEY,
+    calculation_date DATE NOT NULL,
+    netting_set_id VARCHAR(100) NOT NULL,
+    jurisdiction VARCHAR(10) NOT NULL,
+    calculation_count BIGINT NOT NULL,
+    exposure_at_default DECIMAL(20, 8) NOT NULL,
+    replacement_cost DECIMAL(20, 8) NOT NULL,
+    potential_future_exposure DECIMAL(20, 8) NOT NULL,
+    alpha_factor DECIMAL(5, 3) NOT NULL,
+    effective_notional DECIMAL(20, 8) NOT NULL,
+    calculated_at TIMESTAMP NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_dashboard_saccr_daily UNIQUE (calculation_date, netting_set_id)
+);
+
+-- Backfill from existing history
+INSERT INTO dashboard_margin_daily (statement_date, ccp_name, status, statement_count,
+                                    variation_margin, initial_margin, last_updated_at, refreshed_at)
+SELECT statement_date, ccp_name, status, COUNT(*),
+       COALESCE(SUM(variation_margin), 0), COALESCE(SUM(initial_margin), 0), MAX(updated_at), CURRENT_TIMESTAMP
+FROM margin_statements
+GROUP BY statement_date, ccp_name, status;
+
+INSERT INTO dashboard_saccr_daily (calculation_date, netting_set_id, jurisdiction, calculation_count,
+                                   exposure_at_default, replacement_cost, potential_future_exposure,
+                                   alpha_factor, effective_notional, calculated_at, refreshed_at)
+SELECT calculation_date, netting_set_id, jurisdiction, calculation_count,
+       exposure_at_default, replacement_cost, potential_future_exposure,
+       alpha_factor, effective_notional, created_at, CURRENT_TIMESTAMP
+FROM (SELECT c.*,
+             ROW_NUMBER() OVER (PARTITION BY calculation_date, netting_set_id ORDER BY created_at DESC, id DESC) AS rn,
+             COUNT(*) OVER (PARTITION BY calculation_date, netting_set_id) AS calculation_count
+      FROM sa_ccr_calculations c) latest
+WHERE rn = 1;
+
+COMMENT ON TABLE dashboard_margin_daily IS 'Statement count and VM/IM totals per statement date, CCP and status';
+COMMENT ON TABLE dashboard_saccr_daily IS 'Latest SA-CCR calculation per calculation date and netting set';
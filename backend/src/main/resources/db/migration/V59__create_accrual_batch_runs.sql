@@ -0,0 +1,34 @@
+-- V59: Book-wide end-of-day accrual batch
+-- A run posts accrual_events for every active trade over a date range. Trades are processed in
+-- chunks of consecutive trade IDs; each chunk commits its events together with a checkpoint row,
+-- so a failed or interrupted run resumes with the chunks that have no checkpoint yet.
+
+CREATE TABLE IF NOT EXISTS accrual_batch_runs (
+    id BIGSERIAL PRIMARY KEY,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    trade_count INTEGER NOT NULL DEFAULT 0,
+    chunk_count INTEGER NOT NULL DEFAULT 0,
+    failed_chunks INTEGER NOT NULL DEFAULT 0,
+    events_posted BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    runtime_ms BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_accrual_batch_runs_dates ON accrual_batch_runs(start_date, end_date, status);
+
+CREATE TABLE IF NOT EXISTS accrual_batch_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES accrual_batch_runs(id) ON DELETE CASCADE,
+    first_trade_id BIGINT NOT NULL,
+    last_trade_id BIGINT NOT NULL,
+    trade_count INTEGER NOT NULL,
+    events_posted INTEGER NOT NULL,
+    completed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_accrual_batch_checkpoints_run ON accrual_batch_checkpoints(run_id);
+
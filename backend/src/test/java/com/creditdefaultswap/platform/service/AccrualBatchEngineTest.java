@@ -0,0 +1,100 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.model.AccrualBatchCheckpoint;
+import com.creditdefaultswap.platform.model.AccrualBatchRun;
+import com.creditdefaultswap.platform.model.AccrualEvent;
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.repository.AccrualBatchCheckpointRepository;
+import com.creditdefaultswap.platform.repository.AccrualBatchRunRepository;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.support.TestTrades;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AccrualBatchEngineTest {
+
+    @Autowired
+    private AccrualBatchEngine batchEngine;
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private CouponScheduleService couponScheduleService;
+
+    @Autowired
+    private CDSTradeRepository cdsTradeRepository;
+
+    @Autowired
+    private AccrualBatchRunRepository runRepository;
+
+    @Autowired
+    private AccrualBatchCheckpointRepository checkpointRepository;
+
+    @Test
+    void testBatchMatchesPerTradeAccrualsAcrossCouponPeriods() {
+        LocalDate start = LocalDate.of(2024, 3, 15);
+        LocalDate end = LocalDate.of(2024, 3, 25);
+        CDSTrade reference = trade();
+        CDSTrade batched = trade();
+        List<AccrualEvent> expected = accrualService.postAccrualsForPeriod(reference.getId(), start, end);
+        assertEquals(11, expected.size());
+
+        AccrualBatchRun run = batchEngine.runEndOfDay(start, end);
+
+        assertEquals(AccrualBatchRun.Status.COMPLETED, run.getStatus());
+        List<AccrualEvent> actual = accrualService.getAccrualEvents(batched.getId(), start, end);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getAccrualDate(), actual.get(i).getAccrualDate());
+            assertEquals(0, expected.get(i).getAccrualAmount().compareTo(actual.get(i).getAccrualAmount()));
+            assertEquals(0, expected.get(i).getCumulativeAccrual().compareTo(actual.get(i).getCumulativeAccrual()));
+        }
+        // Events already posted for the reference trade are left alone
+        assertEquals(expected.size(), accrualService.getAccrualEvents(reference.getId(), start, end).size());
+
+        // Rerunning the same dates posts nothing new
+        AccrualBatchRun rerun = batchEngine.runEndOfDay(start, end);
+        assertNotEquals(run.getId(), rerun.getId());
+        assertEquals(0L, rerun.getEventsPosted());
+    }
+
+    @Test
+    void testFailedRunResumesAfterCommittedChunks() {
+        LocalDate start = LocalDate.of(2024, 5, 6);
+        LocalDate end = LocalDate.of(2024, 5, 8);
+        CDSTrade committed = trade();
+        CDSTrade pending = trade();
+
+        AccrualBatchRun failed = new AccrualBatchRun(start, end);
+        failed.setStatus(AccrualBatchRun.Status.FAILED);
+        failed = runRepository.save(failed);
+        checkpointRepository.save(new AccrualBatchCheckpoint(failed.getId(), committed.getId(), committed.getId(), 1, 3));
+
+        AccrualBatchRun resumed = batchEngine.runEndOfDay(start, end);
+
+        assertEquals(failed.getId(), resumed.getId());
+        assertEquals(AccrualBatchRun.Status.COMPLETED, resumed.getStatus());
+        assertTrue(accrualService.getAccrualEvents(committed.getId(), start, end).isEmpty());
+        assertEquals(3, accrualService.getAccrualEvents(pending.getId(), start, end).size());
+    }
+
+    private CDSTrade trade() {
+        CDSTrade trade = TestTrades.activeTrade("ACCRUAL BATCH", "10000000.00");
+        trade.setSpread(new BigDecimal("0.0125"));
+        trade.setMaturityDate(LocalDate.of(2025, 6, 20));
+        trade = cdsTradeRepository.save(trade);
+        couponScheduleService.generateImmSchedule(trade.getId());
+        return trade;
+    }
+}
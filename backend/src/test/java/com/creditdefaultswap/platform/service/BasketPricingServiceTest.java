@@ -0,0 +1,136 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.dto.BasketPricingRequest;
+import com.creditdefaultswap.platform.dto.BasketPricingResponse;
+import com.creditdefaultswap.platform.model.BasketConstituent;
+import com.creditdefaultswap.platform.model.BasketDefinition;
+import com.creditdefaultswap.platform.model.BasketType;
+import com.creditdefaultswap.platform.repository.BasketDefinitionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class BasketPricingServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private BasketPricingService basketPricingService;
+
+    @Autowired
+    private BasketDefinitionRepository basketRepository;
+
+    @Test
+    void testNthToDefaultIsReproducibleAndOrderedByN() {
+        BasketDefinition first = basket("FTD PRICING", BasketType.NTH_TO_DEFAULT, 1, null, null);
+        BasketDefinition second = basket("2TD PRICING", BasketType.NTH_TO_DEFAULT, 2, null, null);
+
+        BasketPricingResponse firstPriced = basketPricingService.priceBasket(first.getId(), request(42L));
+        BasketPricingResponse again = basketPricingService.priceBasket(first.getId(), request(42L));
+        BasketPricingResponse secondPriced = basketPricingService.priceBasket(second.getId(), request(42L));
+
+        assertEquals(firstPriced.getFairSpreadBps(), again.getFairSpreadBps());
+        assertEquals(firstPriced.getSensitivities().getSpreadDv01(), again.getSensitivities().getSpreadDv01());
+        // Five names at 100 bps: first to default pays more than one name and less than all five
+        double ftd = firstPriced.getFairSpreadBps().doubleValue();
+        assertTrue(ftd > 100 && ftd < 500, "FTD spread: " + ftd);
+        assertTrue(secondPriced.getFairSpreadBps().doubleValue() < ftd);
+        assertEquals(0.0, firstPriced.getPv().doubleValue(), 0.01);
+
+        // Protection buyer pays more as spreads widen: seller PV at the old fair spread falls
+        assertTrue(firstPriced.getSensitivities().getSpreadDv01().signum() < 0);
+        // Higher correlation concentrates defaults, cheapening first-to-default protection
+        assertTrue(firstPriced.getSensitivities().getCorrelationBeta().signum() > 0);
+    }
+
+    @Test
+    void testTrancheStopsEarlyOnceStandardErrorIsWithinTolerance() {
+        BasketDefinition equity = basket("EQUITY PRICING", BasketType.TRANCHETTE, null, "0.00", "0.03");
+        BasketPricingRequest request = request(7L);
+        request.setIncludeEtlTimeline(true);
+
+        BasketPricingResponse priced = basketPricingService.priceBasket(equity.getId(), request);
+
+        assertTrue(priced.getConvergence().getConverged(), priced.getConvergence().getConvergenceMessage());
+        assertTrue(priced.getConvergence().getPathsUsed() < request.getPaths());
+        assertTrue(priced.getConvergence().getStandardErrorFairSpreadBps()
+                   <= 0.01 * priced.getFairSpreadBps().doubleValue());
+        // Whole years to 5Y, then maturity
+        assertEquals(6, priced.getEtlTimeline().size());
+        assertEquals("5.2Y", priced.getEtlTimeline().get(5).getTenor());
+        assertEquals(priced.getExpectedTrancheLossPct(), priced.getEtlTimeline().get(5).getEtl());
+        assertTrue(priced.getEtlTimeline().get(0).getEtl().compareTo(priced.getExpectedTrancheLossPct()) < 0);
+    }
+
+    @Test
+    void testLargePoolTrancheIsPricedSemiAnalyticallyInLineWithMonteCarlo() {
+        BasketDefinition mezzanine = basket("MEZZ PRICING", BasketType.TRANCHETTE, null, "0.03", "0.07", 30);
+        BasketPricingRequest request = request(11L);
+        request.setIncludeEtlTimeline(true);
+
+        BasketPricingResponse semiAnalytic = basketPricingService.priceBasket(mezzanine.getId(), request);
+        BasketPricingResponse simulated;
+        ReflectionTestUtils.setField(basketPricingService, "semiAnalyticMinNames", Integer.MAX_VALUE);
+        try {
+            simulated = basketPricingService.priceBasket(mezzanine.getId(), request);
+        } finally {
+            ReflectionTestUtils.setField(basketPricingService, "semiAnalyticMinNames", 25);
+        }
+
+        assertEquals(0, semiAnalytic.getConvergence().getPathsUsed());
+        assertTrue(simulated.getConvergence().getPathsUsed() > 0);
+        // Within four Monte Carlo standard errors, allowing for mid-period discounting of losses
+        double tolerance = 4 * simulated.getConvergence().getStandardErrorFairSpreadBps() + 1.0;
+        assertEquals(simulated.getFairSpreadBps().doubleValue(), semiAnalytic.getFairSpreadBps().doubleValue(), tolerance);
+        assertEquals(simulated.getExpectedTrancheLossPct().doubleValue(),
+                     semiAnalytic.getExpectedTrancheLossPct().doubleValue(), 0.5);
+        assertEquals(simulated.getEtlTimeline().size(), semiAnalytic.getEtlTimeline().size());
+        assertEquals(Integer.signum(simulated.getSensitivities().getSpreadDv01().signum()),
+                     Integer.signum(semiAnalytic.getSensitivities().getSpreadDv01().signum()));
+    }
+
+    private BasketPricingRequest request(long seed) {
+        BasketPricingRequest request = new BasketPricingRequest(VALUATION_DATE);
+        request.setSeed(seed);
+        request.setPaths(200000);
+        return request;
+    }
+
+    private BasketDefinition basket(String name, BasketType type, Integer nth, String attachment, String detachment) {
+        return basket(name, type, nth, attachment, detachment, 5);
+    }
+
+    private BasketDefinition basket(String name, BasketType type, Integer nth, String attachment, String detachment,
+                                    int names) {
+        BasketDefinition basket = new BasketDefinition();
+        basket.setName(name);
+        basket.setType(type);
+        basket.setNth(nth);
+        basket.setAttachmentPoint(attachment != null ? new BigDecimal(attachment) : null);
+        basket.setDetachmentPoint(detachment != null ? new BigDecimal(detachment) : null);
+        basket.setPremiumFrequency("QUARTERLY");
+        basket.setDayCount("ACT_360");
+        basket.setNotional(new BigDecimal("10000000"));
+        basket.setMaturityDate(LocalDate.of(2030, 3, 20));
+        for (int i = 0; i < names; i++) {
+            BasketConstituent constituent = new BasketConstituent();
+            constituent.setIssuer(name + " ISSUER " + i);
+            constituent.setWeight(BigDecimal.ONE.divide(BigDecimal.valueOf(names), 10, RoundingMode.HALF_UP));
+            constituent.setSequenceOrder(i);
+            basket.addConstituent(constituent);
+        }
+        return basketRepository.save(basket);
+    }
+}
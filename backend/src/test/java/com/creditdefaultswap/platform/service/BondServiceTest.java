@@ -0,0 +1,80 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.dto.BondPricingResponse;
+import com.creditdefaultswap.platform.model.Bond;
+import com.creditdefaultswap.platform.model.CouponFrequency;
+import com.creditdefaultswap.platform.model.DayCount;
+import com.creditdefaultswap.platform.model.Seniority;
+import com.creditdefaultswap.platform.repository.BondRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class BondServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private BondService bondService;
+
+    @Autowired
+    private BondRepository bondRepository;
+
+    @Test
+    void testBatchPricingMatchesSingleBondPricing() {
+        Bond semiAnnual = bond(CouponFrequency.SEMI_ANNUAL, DayCount.ACT_ACT, "0.045", 7);
+        Bond quarterly = bond(CouponFrequency.QUARTERLY, DayCount.THIRTY_360, "0.0525", 10);
+
+        List<BondPricingResponse> batch = bondService.priceBonds(
+            List.of(quarterly.getId(), semiAnnual.getId(), quarterly.getId()), VALUATION_DATE, 0.04, 0.02);
+
+        assertEquals(2, batch.size());
+        assertEquals(quarterly.getId(), batch.get(0).getBondId());
+        assertEquals(semiAnnual.getId(), batch.get(1).getBondId());
+        for (BondPricingResponse priced : batch) {
+            BondPricingResponse single = bondService.priceBond(priced.getBondId(), VALUATION_DATE, 0.04, 0.02);
+            assertEquals(single.getPv(), priced.getPv());
+            assertEquals(single.getCleanPrice(), priced.getCleanPrice());
+            assertEquals(single.getAccruedInterest(), priced.getAccruedInterest());
+            assertEquals(single.getPvRisky(), priced.getPvRisky());
+            assertEquals(single.getYieldToMaturity(), priced.getYieldToMaturity());
+            assertEquals(single.getzSpread(), priced.getzSpread());
+            assertEquals(single.getSensitivities().getIrDv01(), priced.getSensitivities().getIrDv01());
+            assertEquals(single.getSensitivities().getSpreadDv01(), priced.getSensitivities().getSpreadDv01());
+            assertEquals(single.getSensitivities().getModifiedDuration(), priced.getSensitivities().getModifiedDuration());
+        }
+    }
+
+    @Test
+    void testBatchPricingRejectsUnknownBonds() {
+        Bond bond = bond(CouponFrequency.ANNUAL, DayCount.ACT_ACT, "0.03", 5);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> bondService.priceBonds(List.of(bond.getId(), -1L), VALUATION_DATE, 0.04, 0.0));
+    }
+
+    private Bond bond(CouponFrequency frequency, DayCount dayCount, String couponRate, int years) {
+        Bond bond = new Bond();
+        bond.setIssuer("BATCH PRICING CORP");
+        bond.setSeniority(Seniority.SR_UNSEC);
+        bond.setNotional(new BigDecimal("1000000"));
+        bond.setFaceValue(new BigDecimal("1000000"));
+        bond.setCouponRate(new BigDecimal(couponRate));
+        bond.setCouponFrequency(frequency);
+        bond.setDayCount(dayCount);
+        bond.setIssueDate(LocalDate.of(2024, 3, 20));
+        bond.setMaturityDate(LocalDate.of(2024, 3, 20).plusYears(years));
+        return bondRepository.save(bond);
+    }
+}
@@ -30,6 +30,9 @@ public class CouponScheduleServiceTest {
     @Autowired
     private CouponScheduleService couponScheduleService;
 
+    @Autowired
+    private CouponScheduleBatchEngine couponScheduleBatchEngine;
+
     @Autowired
     private CDSTradeRepository cdsTradeRepository;
 
@@ -162,4 +165,46 @@ public class CouponScheduleServiceTest {
         List<CouponPeriod> allPeriods = couponPeriodRepository.findByTradeIdOrderByPeriodStartDate(testTrade.getId());
         assertEquals(firstGeneration.size(), allPeriods.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkGenerationMatchesSingleTradeSchedule() {
+        List<CouponPeriod> expected = couponScheduleService.generateImmSchedule(testTrade.getId());
+
+        CDSTrade bulkTrade = new CDSTrade();
+        bulkTrade.setReferenceEntity(testTrade.getReferenceEntity());
+        bulkTrade.setNotionalAmount(testTrade.getNotionalAmount());
+        bulkTrade.setSpread(testTrade.getSpread());
+        bulkTrade.setTradeDate(testTrade.getTradeDate());
+        bulkTrade.setEffectiveDate(testTrade.getEffectiveDate());
+        bulkTrade.setMaturityDate(testTrade.getMaturityDate());
+        bulkTrade.setCounterparty(testTrade.getCounterparty());
+        bulkTrade.setCurrency(testTrade.getCurrency());
+        bulkTrade.setPremiumFrequency(testTrade.getPremiumFrequency());
+        bulkTrade.setDayCountConvention(testTrade.getDayCountConvention());
+        bulkTrade.setBuySellProtection(testTrade.getBuySellProtection());
+        bulkTrade.setPaymentCalendar(testTrade.getPaymentCalendar());
+        bulkTrade.setAccrualStartDate(testTrade.getAccrualStartDate());
+        bulkTrade.setTradeStatus(TradeStatus.ACTIVE);
+        bulkTrade.setRecoveryRate(testTrade.getRecoveryRate());
+        bulkTrade.setSettlementType(SettlementMethod.CASH);
+        bulkTrade = cdsTradeRepository.save(bulkTrade);
+
+        CouponScheduleBatchEngine.ScheduleBatchResult result = couponScheduleBatchEngine.generate(
+                List.of(bulkTrade.getId(), testTrade.getId(), -1L));
+
+        assertEquals(1, result.generated());
+        assertEquals(1, result.alreadyScheduled());
+        assertEquals(List.of(-1L), result.notFound());
+        assertEquals(expected.size(), result.periodsCreated());
+
+        List<CouponPeriod> actual = couponPeriodRepository.findByTradeIdOrderByPeriodStartDate(bulkTrade.getId());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getPeriodStartDate(), actual.get(i).getPeriodStartDate());
+            assertEquals(expected.get(i).getPeriodEndDate(), actual.get(i).getPeriodEndDate());
+            assertEquals(expected.get(i).getPaymentDate(), actual.get(i).getPaymentDate());
+            assertEquals(expected.get(i).getAccrualDays(), actual.get(i).getAccrualDays());
+            assertEquals(0, expected.get(i).getNotionalAmount().compareTo(actual.get(i).getNotionalAmount()));
+        }
+    }
+}
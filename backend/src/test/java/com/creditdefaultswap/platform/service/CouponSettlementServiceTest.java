@@ -0,0 +1,121 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.CouponPeriod;
+import com.creditdefaultswap.platform.model.TradeStatus;
+import com.creditdefaultswap.platform.repository.AuditLogRepository;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.repository.CouponPeriodRepository;
+import com.creditdefaultswap.platform.support.TestTrades;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class CouponSettlementServiceTest {
+
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2024, 3, 20);
+
+    @Autowired
+    private CouponSettlementService couponSettlementService;
+
+    @Autowired
+    private CouponScheduleService couponScheduleService;
+
+    @Autowired
+    private CDSTradeRepository cdsTradeRepository;
+
+    @Autowired
+    private CouponPeriodRepository couponPeriodRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testSettlesNettingSetCouponsDueOnDate() {
+        CDSTrade bought = trade("NS-COUPON-SETTLE", CDSTrade.ProtectionDirection.BUY, "10000000.00");
+        CDSTrade sold = trade("NS-COUPON-SETTLE", CDSTrade.ProtectionDirection.SELL, "4000000.00");
+        CDSTrade outside = trade("NS-COUPON-OTHER", CDSTrade.ProtectionDirection.BUY, "10000000.00");
+
+        CouponSettlementService.CouponSettlementResult result = couponSettlementService.settleCouponsDue(
+                PAYMENT_DATE, CouponSettlementService.Scope.NETTING_SET, "NS-COUPON-SETTLE",
+                LocalDateTime.of(PAYMENT_DATE, LocalTime.NOON));
+
+        assertEquals(2, result.periodsSettled());
+        assertEquals(2, result.tradesSettled());
+        // Settlement updates the periods in SQL; drop the copies loaded while generating the schedules
+        entityManager.clear();
+        CouponPeriod boughtPeriod = couponPeriodRepository.findByTradeIdAndPaymentDate(bought.getId(), PAYMENT_DATE).orElseThrow();
+        CouponPeriod soldPeriod = couponPeriodRepository.findByTradeIdAndPaymentDate(sold.getId(), PAYMENT_DATE).orElseThrow();
+        assertTrue(boughtPeriod.getPaid());
+        assertTrue(soldPeriod.getPaid());
+        assertFalse(couponPeriodRepository.findByTradeIdAndPaymentDate(outside.getId(), PAYMENT_DATE).orElseThrow().getPaid());
+
+        CouponSettlementService.CurrencyTotal usd = result.totals().get(0);
+        BigDecimal paid = boughtPeriod.calculateCouponAmount(bought.getSpread());
+        BigDecimal received = soldPeriod.calculateCouponAmount(sold.getSpread());
+        assertEquals(0, paid.compareTo(usd.premiumPaid()));
+        assertEquals(0, received.compareTo(usd.premiumReceived()));
+        assertEquals(0, received.subtract(paid).compareTo(usd.netCash()));
+        assertEquals(2, auditLogRepository.findByCorrelationIdOrderByTimestampAsc(result.settlementBatchId()).size());
+
+        // Nothing left to settle for the netting set
+        assertEquals(0, couponSettlementService.settleCouponsDue(PAYMENT_DATE, CouponSettlementService.Scope.NETTING_SET,
+                "NS-COUPON-SETTLE", LocalDateTime.of(PAYMENT_DATE, LocalTime.NOON)).periodsSettled());
+    }
+
+    @Test
+    void testLeavesCouponsOfInactiveTradesUnpaid() {
+        CDSTrade active = trade("NS-COUPON-STATUS", CDSTrade.ProtectionDirection.BUY, "10000000.00");
+        CDSTrade terminated = trade("NS-COUPON-STATUS", CDSTrade.ProtectionDirection.BUY, "10000000.00");
+        CDSTrade settled = trade("NS-COUPON-STATUS", CDSTrade.ProtectionDirection.SELL, "10000000.00");
+        terminated.setTradeStatus(TradeStatus.TERMINATED);
+        settled.setTradeStatus(TradeStatus.SETTLED_CASH);
+        cdsTradeRepository.saveAndFlush(terminated);
+        cdsTradeRepository.saveAndFlush(settled);
+
+        CouponSettlementService.CouponSettlementResult result = couponSettlementService.settleCouponsDue(
+                PAYMENT_DATE, CouponSettlementService.Scope.NETTING_SET, "NS-COUPON-STATUS",
+                LocalDateTime.of(PAYMENT_DATE, LocalTime.NOON));
+        couponSettlementService.settleCouponsDue(PAYMENT_DATE, CouponSettlementService.Scope.BOOK, null,
+                LocalDateTime.of(PAYMENT_DATE, LocalTime.NOON));
+
+        assertEquals(1, result.periodsSettled());
+        assertEquals(1, auditLogRepository.findByCorrelationIdOrderByTimestampAsc(result.settlementBatchId()).size());
+        entityManager.clear();
+        assertTrue(couponPeriodRepository.findByTradeIdAndPaymentDate(active.getId(), PAYMENT_DATE).orElseThrow().getPaid());
+        assertFalse(couponPeriodRepository.findByTradeIdAndPaymentDate(terminated.getId(), PAYMENT_DATE).orElseThrow().getPaid());
+        assertFalse(couponPeriodRepository.findByTradeIdAndPaymentDate(settled.getId(), PAYMENT_DATE).orElseThrow().getPaid());
+    }
+
+    @Test
+    void testRejectsPaymentBeforePaymentDate() {
+        assertThrows(IllegalStateException.class, () -> couponSettlementService.settleCouponsDue(
+                PAYMENT_DATE, CouponSettlementService.Scope.BOOK, null, LocalDateTime.of(PAYMENT_DATE.minusDays(1), LocalTime.NOON)));
+    }
+
+    private CDSTrade trade(String nettingSetId, CDSTrade.ProtectionDirection direction, String notional) {
+        CDSTrade trade = TestTrades.activeTrade("COUPON SETTLE", notional);
+        trade.setMaturityDate(LocalDate.of(2025, 6, 20));
+        trade.setBuySellProtection(direction);
+        trade.setNettingSetId(nettingSetId);
+        trade = cdsTradeRepository.save(trade);
+        couponScheduleService.generateImmSchedule(trade.getId());
+        return trade;
+    }
+}
@@ -0,0 +1,141 @@
+package com.creditdefaultswap.platform.service;
+
+import com.creditdefaultswap.platform.dto.CreateCreditEventRequest;
+import com.creditdefaultswap.platform.dto.CreditEventResponse;
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.CashSettlement;
+import com.creditdefaultswap.platform.model.CreditEvent;
+import com.creditdefaultswap.platform.model.CreditEventType;
+import com.creditdefaultswap.platform.model.SettlementMethod;
+import com.creditdefaultswap.platform.model.TradeStatus;
+import com.creditdefaultswap.platform.repository.AuditLogRepository;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.repository.CashSettlementRepository;
+import com.creditdefaultswap.platform.repository.CreditEventRepository;
+import com.creditdefaultswap.platform.support.TestTrades;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"credit-event.propagation.chunk-size=2", "credit-event.propagation.batch-threshold=1"})
+@ActiveProfiles("test")
+public class CreditEventPropagationEngineTest {
+
+    private static final String REFERENCE_ENTITY = "PROPAGATION ENGINE CO";
+
+    @Autowired
+    private CreditEventPropagationEngine propagationEngine;
+
+    @Autowired
+    private CDSTradeRepository cdsTradeRepository;
+
+    @Autowired
+    private CreditEventRepository creditEventRepository;
+
+    @Autowired
+    private CashSettlementRepository cashSettlementRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private CreditEventService creditEventService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPropagatesAcrossChunksLikePerTradePath() {
+        CDSTrade origin = trade(REFERENCE_ENTITY, "10000000.00", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CDSTrade cash = trade(REFERENCE_ENTITY, "10000000.00", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CDSTrade odd = trade(REFERENCE_ENTITY, "2500000.55", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CDSTrade physical = trade(REFERENCE_ENTITY, "4000000.00", SettlementMethod.PHYSICAL, TradeStatus.ACTIVE);
+        CDSTrade settled = trade(REFERENCE_ENTITY, "4000000.00", SettlementMethod.CASH, TradeStatus.SETTLED_CASH);
+        CreateCreditEventRequest request = new CreateCreditEventRequest(CreditEventType.BANKRUPTCY,
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4), SettlementMethod.CASH, null);
+
+        CreditEventPropagationEngine.PropagationResult result =
+            propagationEngine.propagate(REFERENCE_ENTITY, origin.getId(), request);
+
+        assertEquals(3, result.totalTrades());
+        assertEquals(List.of(cash.getId(), odd.getId(), physical.getId()), result.propagatedTradeIds());
+        assertTrue(result.failedTradeIds().isEmpty());
+        assertEquals(3, result.cashSettlements());
+        assertEquals(3, result.payouts());
+
+        assertEquals(TradeStatus.ACTIVE, cdsTradeRepository.findById(origin.getId()).orElseThrow().getTradeStatus());
+        assertEquals(TradeStatus.SETTLED_CASH, cdsTradeRepository.findById(odd.getId()).orElseThrow().getTradeStatus());
+        assertEquals(TradeStatus.SETTLED_PHYSICAL, cdsTradeRepository.findById(physical.getId()).orElseThrow().getTradeStatus());
+        assertTrue(creditEventRepository.findByTradeIdOrderByEventDateDesc(settled.getId()).isEmpty());
+
+        CreditEvent event = creditEventRepository.findByTradeIdAndEventTypeAndEventDate(
+            odd.getId(), CreditEventType.BANKRUPTCY, request.getEventDate()).orElseThrow();
+        assertTrue(creditEventRepository.findByTradeIdAndEventTypeAndEventDate(
+            physical.getId(), CreditEventType.PAYOUT, request.getEventDate()).isPresent());
+        CashSettlement settlement = cashSettlementRepository.findByCreditEventId(event.getId()).orElseThrow();
+        BigDecimal expected = odd.getNotionalAmount().multiply(new BigDecimal("0.60")).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(0, expected.compareTo(settlement.getPayoutAmount()));
+        // Event, settlement, two transitions and the payout for each trade
+        assertEquals(15, auditLogRepository.findByCorrelationIdOrderByTimestampAsc(result.propagationId()).size());
+
+        // Trades that already carry the event are not propagated to again
+        CreditEventPropagationEngine.PropagationResult rerun =
+            propagationEngine.propagate(REFERENCE_ENTITY, origin.getId(), request);
+        assertEquals(0, rerun.totalTrades());
+        assertTrue(rerun.propagatedTradeIds().isEmpty());
+    }
+
+    @Test
+    void testPropagationStartsOnlyAfterOriginEventCommits() {
+        String referenceEntity = "PROPAGATION COMMIT CO";
+        CDSTrade origin = trade(referenceEntity, "10000000.00", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CDSTrade first = trade(referenceEntity, "10000000.00", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CDSTrade second = trade(referenceEntity, "10000000.00", SettlementMethod.CASH, TradeStatus.ACTIVE);
+        CreateCreditEventRequest request = new CreateCreditEventRequest(CreditEventType.BANKRUPTCY,
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4), SettlementMethod.CASH, null);
+
+        // A rolled-back origin event leaves no propagated chunks behind
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            creditEventService.recordCreditEvent(origin.getId(), request);
+            status.setRollbackOnly();
+        });
+        assertEquals(TradeStatus.ACTIVE, cdsTradeRepository.findById(origin.getId()).orElseThrow().getTradeStatus());
+        assertTrue(creditEventRepository.findByTradeIdOrderByEventDateDesc(first.getId()).isEmpty());
+        assertTrue(creditEventRepository.findByTradeIdOrderByEventDateDesc(second.getId()).isEmpty());
+
+        // Once committed, the propagated trades are in the response
+        CreditEventResponse response = creditEventService.recordCreditEvent(origin.getId(), request);
+        assertEquals(List.of(origin.getId(), first.getId(), second.getId()), response.getAffectedTradeIds());
+        assertEquals(TradeStatus.SETTLED_CASH, cdsTradeRepository.findById(second.getId()).orElseThrow().getTradeStatus());
+    }
+
+    @Test
+    void testPayoutCentsMatchesBigDecimalRounding() {
+        long[] notionals = {1_000_000_000L, 250_000_055L, 1L, 5L, Long.MAX_VALUE / 1000};
+        BigDecimal lossRate = new BigDecimal("0.6125");
+
+        long[] payouts = CreditEventPropagationEngine.payoutCents(notionals, notionals.length, lossRate);
+
+        for (int i = 0; i < notionals.length; i++) {
+            BigDecimal expected = BigDecimal.valueOf(notionals[i], 2).multiply(lossRate).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected.unscaledValue().longValueExact(), payouts[i]);
+        }
+    }
+
+    private CDSTrade trade(String referenceEntity, String notional, SettlementMethod settlementType, TradeStatus status) {
+        CDSTrade trade = TestTrades.activeTrade(referenceEntity, notional);
+        trade.setTradeStatus(status);
+        trade.setSettlementType(settlementType);
+        return cdsTradeRepository.save(trade);
+    }
+}
@@ -0,0 +1,67 @@
+package com.creditdefaultswap.platform.service.bond;
+
+import com.creditdefaultswap.platform.model.Bond;
+import com.creditdefaultswap.platform.model.CouponFrequency;
+import com.creditdefaultswap.platform.model.DayCount;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BondYieldSolverTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    @Test
+    void testNewtonRecoversYieldWithDurationAndConvexity() {
+        BondCashflows cashflows = cashflows(30);
+        double target = cashflows.dirtyPrice(0.055);
+
+        BondYieldSolver.Solution solution = BondYieldSolver.solve(cashflows, target, 0.05);
+
+        assertTrue(solution.converged());
+        assertTrue(solution.iterations() <= 6, "iterations: " + solution.iterations());
+        assertEquals(0.055, solution.rate(), 1e-12);
+        double bump = 1e-5;
+        double up = cashflows.presentValue(0.055 + bump);
+        double down = cashflows.presentValue(0.055 - bump);
+        double pv = cashflows.presentValue(0.055);
+        assertEquals((down - up) / (2 * bump) / pv, solution.modifiedDuration(), 1e-6);
+        assertEquals((up - 2 * pv + down) / (bump * bump) / pv, solution.convexity(), 1e-2);
+    }
+
+    @Test
+    void testBrentTakesOverWhenNewtonLeavesTheBounds() {
+        BondCashflows cashflows = cashflows(5);
+        double target = cashflows.dirtyPrice(0.03);
+
+        // From the upper bound the first Newton step overshoots below the lower bound
+        BondYieldSolver.Solution solution = BondYieldSolver.solve(cashflows, target, BondYieldSolver.MAX_RATE);
+
+        assertTrue(solution.converged());
+        assertEquals(0.03, solution.rate(), 1e-10);
+    }
+
+    @Test
+    void testUnreachablePriceStopsAtNearerBound() {
+        BondYieldSolver.Solution solution = BondYieldSolver.solve(cashflows(5), 1000.0, 0.05);
+
+        assertFalse(solution.converged());
+        assertEquals(BondYieldSolver.MIN_RATE, solution.rate());
+    }
+
+    private BondCashflows cashflows(int maturityYears) {
+        Bond bond = new Bond();
+        bond.setNotional(new BigDecimal("1000000"));
+        bond.setFaceValue(new BigDecimal("1000000"));
+        bond.setCouponRate(new BigDecimal("0.05"));
+        bond.setCouponFrequency(CouponFrequency.SEMI_ANNUAL);
+        bond.setDayCount(DayCount.THIRTY_360);
+        bond.setIssueDate(LocalDate.of(2024, 3, 20));
+        bond.setMaturityDate(LocalDate.of(2024, 3, 20).plusYears(maturityYears));
+        return BondCashflows.of(bond, new CashflowScheduleService().generateSchedule(bond),
+                                new DiscountFactorCache(VALUATION_DATE, 0.04));
+    }
+}
@@ -0,0 +1,155 @@
+package com.creditdefaultswap.platform.service.dashboard;
+
+import com.creditdefaultswap.platform.model.MarginStatement;
+import com.creditdefaultswap.platform.repository.MarginStatementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DashboardAggregateServiceTest {
+
+    @Autowired
+    private DashboardAggregateService aggregateService;
+
+    @Autowired
+    private DashboardAggregationService aggregationService;
+
+    @Autowired
+    private MarginStatementRepository statementRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testMarginSummaryReadsIncrementallyRefreshedAggregates() {
+        // A date and CCP of their own so other tests' statements stay out of the window
+        LocalDate date = LocalDate.of(2090, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        String ccp = "T-" + UUID.randomUUID().toString().substring(0, 8);
+
+        MarginStatement first = statement(ccp, date, MarginStatement.StatementStatus.PROCESSED, "100.00", "50.00");
+        statement(ccp, date, MarginStatement.StatementStatus.PROCESSED, "200.00", "25.00");
+        statement(ccp, date, MarginStatement.StatementStatus.FAILED, null, null);
+
+        // Statements saved straight through the repository are only visible after a refresh
+        assertTrue(aggregationService.getDashboardData(date).marginSummary.marginByCcp.isEmpty());
+
+        aggregateService.refreshMargin(date, ccp);
+        DashboardAggregationService.MarginSummary summary = aggregationService.getDashboardData(date).marginSummary;
+        assertEquals(0, new BigDecimal("300.00").compareTo(summary.totalVariationMargin));
+        assertEquals(0, new BigDecimal("75.00").compareTo(summary.totalInitialMargin));
+        assertEquals(0, new BigDecimal("375.00").compareTo(summary.marginByCcp.get(ccp).netMargin));
+        assertEquals(2, summary.statementsProcessed);
+        assertEquals(1, summary.statementsFailed);
+
+        first.setStatus(MarginStatement.StatementStatus.FAILED);
+        statementRepository.save(first);
+        aggregateService.refreshMargin(date, ccp);
+
+        summary = aggregationService.getDashboardData(date).marginSummary;
+        assertEquals(0, new BigDecimal("200.00").compareTo(summary.totalVariationMargin));
+        assertEquals(1, summary.statementsProcessed);
+        assertEquals(2, summary.statementsFailed);
+
+        // A full rebuild produces the same figures
+        aggregateService.rebuildAll();
+        summary = aggregationService.getDashboardData(date).marginSummary;
+        assertEquals(0, new BigDecimal("25.00").compareTo(summary.totalInitialMargin));
+        assertEquals(2, summary.statementsFailed);
+    }
+
+    @Test
+    void testRefreshPushesMarginDeltaToSubscribers() throws Exception {
+        LocalDate date = LocalDate.of(2090, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        String ccp = "T-" + UUID.randomUUID().toString().substring(0, 8);
+
+        MvcResult stream = mockMvc.perform(get("/api/dashboard/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        statement(ccp, date, MarginStatement.StatementStatus.PROCESSED, "100.00", "50.00");
+        aggregateService.refreshMargin(date, ccp);
+
+        String event = null;
+        for (int i = 0; i < 50 && event == null; i++) {
+            event = stream.getResponse().getContentAsString().lines()
+                .filter(line -> line.startsWith("data:") && line.contains(ccp))
+                .findFirst()
+                .orElse(null);
+            if (event == null) {
+                Thread.sleep(100);
+            }
+        }
+
+        assertNotNull(event, "No MARGIN_UPDATED event received");
+        assertTrue(stream.getResponse().getContentAsString().contains("event:MARGIN_UPDATED"));
+        assertTrue(event.contains("\"statusCountChanges\":{\"PROCESSED\":1}"));
+        assertTrue(event.contains("\"variationMargin\":100.00"));
+    }
+
+    @Test
+    void testRefreshRequestedInTransactionIsPublishedAfterItCommits() throws Exception {
+        LocalDate date = LocalDate.of(2090, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        String ccp = "T-" + UUID.randomUUID().toString().substring(0, 8);
+
+        MvcResult stream = mockMvc.perform(get("/api/dashboard/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Rolled back: no refresh, no event
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            statement(ccp, date, MarginStatement.StatementStatus.PROCESSED, "100.00", "50.00");
+            aggregateService.refreshMargin(date, ccp);
+            status.setRollbackOnly();
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            statement(ccp, date, MarginStatement.StatementStatus.PROCESSED, "40.00", "10.00");
+            aggregateService.refreshMargin(date, ccp);
+        });
+
+        String event = null;
+        for (int i = 0; i < 50 && event == null; i++) {
+            event = stream.getResponse().getContentAsString().lines()
+                .filter(line -> line.startsWith("data:") && line.contains(ccp))
+                .findFirst()
+                .orElse(null);
+            if (event == null) {
+                Thread.sleep(100);
+            }
+        }
+
+        assertNotNull(event, "No MARGIN_UPDATED event received");
+        assertTrue(event.contains("\"variationMargin\":40.00"));
+        assertEquals(1, stream.getResponse().getContentAsString().lines().filter(line -> line.contains(ccp)).count());
+    }
+
+    private MarginStatement statement(String ccp, LocalDate date, MarginStatement.StatementStatus status,
+                                      String variationMargin, String initialMargin) {
+        MarginStatement statement = new MarginStatement("STMT-" + UUID.randomUUID(), ccp, "MEMBER", "ACC-1",
+                date, "USD", MarginStatement.StatementFormat.CSV, "statement.csv");
+        statement.setStatus(status);
+        statement.setVariationMargin(variationMargin != null ? new BigDecimal(variationMargin) : null);
+        statement.setInitialMargin(initialMargin != null ? new BigDecimal(initialMargin) : null);
+        return statementRepository.save(statement);
+    }
+}
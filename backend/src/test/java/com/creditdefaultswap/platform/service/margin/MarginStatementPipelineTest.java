@@ -0,0 +1,142 @@
+package com.creditdefaultswap.platform.service.margin;
+
+import com.creditdefaultswap.platform.metrics.PlatformMetrics;
+import com.creditdefaultswap.platform.model.MarginPosition;
+import com.creditdefaultswap.platform.model.MarginStatement;
+import com.creditdefaultswap.platform.model.MarginStatementContent;
+import com.creditdefaultswap.platform.repository.MarginPositionRepository;
+import com.creditdefaultswap.platform.repository.MarginStatementContentRepository;
+import com.creditdefaultswap.platform.repository.MarginStatementRepository;
+import com.creditdefaultswap.platform.service.MarginStatementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class MarginStatementPipelineTest {
+
+    private static final String LCH_HEADER = "Account,Date,Position Type,Amount,Currency,Portfolio,Product Class\n";
+
+    @Autowired
+    private MarginStatementService statementService;
+
+    @Autowired
+    private MarginStatementRepository statementRepository;
+
+    @Autowired
+    private MarginPositionRepository positionRepository;
+
+    @Autowired
+    private MarginStatementContentRepository contentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MarginStatementPipeline pipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testUploadsAreProcessedAsynchronouslyWithBatchedPositions() throws Exception {
+        StringBuilder csv = new StringBuilder(LCH_HEADER);
+        for (int i = 0; i < 2500; i++) {
+            csv.append("ACC-1,2025-01-15,").append(i % 2 == 0 ? "VM" : "IM").append(",100.00,USD,PF1,CDS\n");
+        }
+
+        MarginStatement lch = upload("LCH", csv.toString());
+        MarginStatement failing = upload("LCH", LCH_HEADER + "ACC-1,2025-01-15,IM,-5.00,USD,PF1,CDS\n");
+
+        // The upload returns before parsing; workers finish the statements in the background
+        assertEquals(MarginStatement.StatementStatus.PENDING, lch.getStatus());
+
+        MarginStatement processed = awaitCompletion(lch.getId());
+        assertEquals(MarginStatement.StatementStatus.PROCESSED, processed.getStatus());
+        assertEquals(0, new BigDecimal("125000.00").compareTo(processed.getVariationMargin()));
+        assertEquals(0, new BigDecimal("125000.00").compareTo(processed.getInitialMargin()));
+
+        List<MarginPosition> positions = positionRepository.findByStatementId(lch.getId());
+        assertEquals(2500, positions.size());
+        assertEquals("ACC-1", positions.get(0).getAccountNumber());
+
+        MarginStatement failed = awaitCompletion(failing.getId());
+        assertEquals(MarginStatement.StatementStatus.FAILED, failed.getStatus());
+        assertTrue(failed.getErrorMessage().contains("Initial margin cannot be negative"));
+        assertTrue(positionRepository.findByStatementId(failing.getId()).isEmpty());
+
+        MarginStatementRepository.StatementStatusView status = statementRepository.findStatusById(lch.getId()).orElseThrow();
+        assertEquals(MarginStatement.StatementStatus.PROCESSED, status.getStatus());
+
+        // Raw content lives compressed in the side table, not on the statement row
+        MarginStatementContent content = contentRepository.findById(lch.getId()).orElseThrow();
+        assertEquals(MarginStatementContent.Compression.GZIP, content.getCompression());
+        assertEquals(lch.getFileSize(), content.getOriginalSize());
+        assertTrue(content.getStoredSize() < content.getOriginalSize());
+        assertEquals(64, content.getContentHash().length());
+
+        // Failures are timed before the statement is marked FAILED, and each CCP queue has a gauge
+        assertTrue(meterRegistry.get(PlatformMetrics.MARGIN_STATEMENT_PROCESSING)
+                .tags("ccp", "LCH", "outcome", PlatformMetrics.OUTCOME_FAILURE).timer().count() >= 1);
+        assertNotNull(meterRegistry.get(PlatformMetrics.MARGIN_QUEUE_DEPTH).tag("ccp", "LCH").gauge());
+    }
+
+    @Test
+    void testRecoveryRequeuesStatementsStalledInProcessing() throws Exception {
+        String csv = LCH_HEADER + "ACC-1,2025-01-15,VM,100.00,USD,PF1,CDS\n";
+        MarginStatement stalled = upload("LCH", csv);
+        MarginStatement running = upload("LCH", csv);
+        awaitCompletion(stalled.getId());
+        awaitCompletion(running.getId());
+
+        // A worker lost in a restart leaves the statement PROCESSING; only one past the timeout is re-queued
+        markProcessing(stalled.getId(), LocalDateTime.now().minusHours(2));
+        markProcessing(running.getId(), LocalDateTime.now());
+        pipeline.recoverUnprocessedStatements();
+
+        assertEquals(MarginStatement.StatementStatus.PROCESSED, awaitCompletion(stalled.getId()).getStatus());
+        assertFalse(pipeline.isQueued(running.getId()));
+        assertEquals(MarginStatement.StatementStatus.PROCESSING,
+            statementRepository.findById(running.getId()).orElseThrow().getStatus());
+    }
+
+    private void markProcessing(Long id, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE margin_statements SET status = 'PROCESSING', updated_at = ? WHERE id = ?",
+            Timestamp.valueOf(updatedAt), id);
+    }
+
+    private MarginStatement upload(String ccp, String content) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+            content.getBytes(StandardCharsets.UTF_8));
+        return statementService.uploadStatement("STMT-" + UUID.randomUUID(), ccp, "MEMBER", "ACC-1",
+            LocalDate.of(2025, 1, 15), "USD", MarginStatement.StatementFormat.CSV, file);
+    }
+
+    private MarginStatement awaitCompletion(Long id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            MarginStatement statement = statementRepository.findById(id).orElseThrow();
+            if (statement.getStatus() == MarginStatement.StatementStatus.PROCESSED
+                    || statement.getStatus() == MarginStatement.StatementStatus.FAILED) {
+                return statement;
+            }
+            Thread.sleep(50);
+        }
+        fail("Statement " + id + " was not processed in time");
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.creditdefaultswap.platform.service.parser;
+
+import com.creditdefaultswap.platform.model.MarginPosition;
+import com.creditdefaultswap.platform.model.MarginStatement;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingStatementParserTest {
+
+    @Test
+    void testXmlPositionsAreStreamedWithAccountIds() throws Exception {
+        String xml = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <ICEClearMarginStatement>
+              <StatementHeader><MemberCode>M1</MemberCode></StatementHeader>
+              <MemberAccounts>
+                <Account accountId="ACC-1">
+                  <MarginPosition>
+                    <ReportDate>2025-01-15</ReportDate>
+                    <MarginClass>INITIAL_MARGIN</MarginClass>
+                    <AssetClass>CDS</AssetClass>
+                    <Product>CDX</Product>
+                    <ClearingService>CDS</ClearingService>
+                    <MarginAmount currency="USD">1500000.00</MarginAmount>
+                  </MarginPosition>
+                </Account>
+                <Account accountId="ACC-2">
+                  <MarginPosition>
+                    <ReportDate>2025-01-15</ReportDate>
+                    <MarginClass>VARIATION_MARGIN</MarginClass>
+                    <AssetClass>CDS</AssetClass>
+                    <Product>ITRAXX</Product>
+                    <ClearingService>CDS</ClearingService>
+                    <MarginAmount currency="EUR">-25000.50</MarginAmount>
+                  </MarginPosition>
+                </Account>
+              </MemberAccounts>
+            </ICEClearMarginStatement>
+            """;
+
+        List<MarginPosition> positions = parse(new IceXmlStatementParser(), "ICE", MarginStatement.StatementFormat.XML, xml);
+
+        assertEquals(2, positions.size());
+        assertEquals("ACC-1", positions.get(0).getAccountNumber());
+        assertEquals(MarginPosition.PositionType.INITIAL_MARGIN, positions.get(0).getPositionType());
+        assertEquals(0, new BigDecimal("1500000.00").compareTo(positions.get(0).getAmount()));
+        assertEquals("ACC-2", positions.get(1).getAccountNumber());
+        assertEquals("EUR", positions.get(1).getCurrency());
+    }
+
+    @Test
+    void testJsonAccountIdMayFollowPositions() throws Exception {
+        String json = """
+            {"ccpMarginReport": {
+              "memberAccounts": [
+                {"marginPositions": [
+                   {"positionDate": "2025-01-15", "marginType": "VARIATION_MARGIN", "amount": {"value": 1200.5, "currency": "USD"}}
+                 ],
+                 "accountId": "CME-7"}
+              ],
+              "reportHeader": {"clearingMember": "M1"}
+            }}
+            """;
+
+        List<MarginPosition> positions = parse(new CmeJsonStatementParser(), "CME", MarginStatement.StatementFormat.JSON, json);
+
+        assertEquals(1, positions.size());
+        assertEquals("CME-7", positions.get(0).getAccountNumber());
+        assertEquals(MarginPosition.PositionType.VARIATION_MARGIN, positions.get(0).getPositionType());
+    }
+
+    @Test
+    void testCsvLinesAreParsedAndHeaderValidated() throws Exception {
+        String csv = "Account,Date,Position Type,Amount,Currency,Portfolio,Product Class\n"
+            + "ACC-1,2025-01-15,VM,1000.00,USD,PF1,CDS\n"
+            + "\n"
+            + "ACC-1,2025-01-15,IM,2500.00,USD,PF1,CDS\n";
+
+        LchCsvStatementParser parser = new LchCsvStatementParser();
+        List<MarginPosition> positions = parse(parser, "LCH", MarginStatement.StatementFormat.CSV, csv);
+        assertEquals(2, positions.size());
+        assertEquals(MarginPosition.PositionType.INITIAL_MARGIN, positions.get(1).getPositionType());
+
+        StatementParser.StatementValidationException noRows = assertThrows(
+            StatementParser.StatementValidationException.class,
+            () -> parser.validateFormat("Account,Date,Position Type,Amount,Currency,Portfolio,Product Class\n\n"));
+        assertTrue(noRows.getMessage().contains("at least header and one data row"));
+    }
+
+    @Test
+    void testStructuralErrorsAreReported() {
+        StatementParser.StatementValidationException missingSection = assertThrows(
+            StatementParser.StatementValidationException.class,
+            () -> new LchXmlStatementParser().validateFormat("<marginStatement><header/></marginStatement>"));
+        assertEquals("Missing required 'positions' element", missingSection.getMessage());
+
+        StatementParser.StatementValidationException notArray = assertThrows(
+            StatementParser.StatementValidationException.class,
+            () -> new LchJsonStatementParser().validateFormat("{\"marginStatement\": {\"header\": {}, \"positions\": {}}}"));
+        assertEquals("'positions' must be an array", notArray.getMessage());
+
+        StatementParser.StatementValidationException empty = assertThrows(
+            StatementParser.StatementValidationException.class,
+            () -> new CmeCsvStatementParser().validateFormat("  \n "));
+        assertEquals("Statement content is empty", empty.getMessage());
+    }
+
+    private List<MarginPosition> parse(StatementParser parser, String ccp, MarginStatement.StatementFormat format,
+                                       String content) throws Exception {
+        MarginStatement statement = new MarginStatement("STMT-1", ccp, "MEMBER", "ACC", LocalDate.of(2025, 1, 15),
+            "USD", format, "statement." + format.name().toLowerCase());
+        List<MarginPosition> positions = new ArrayList<>();
+        parser.parseStatement(statement, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), positions::add);
+        return positions;
+    }
+}
@@ -0,0 +1,140 @@
+package com.creditdefaultswap.platform.service.saccr;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.saccr.NettingSet;
+import com.creditdefaultswap.platform.model.saccr.SaCcrCalculation;
+import com.creditdefaultswap.platform.model.saccr.SaCcrSupervisoryParameter;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.repository.saccr.NettingSetRepository;
+import com.creditdefaultswap.platform.repository.saccr.SaCcrCalculationRepository;
+import com.creditdefaultswap.platform.repository.saccr.SaCcrSupervisoryParameterRepository;
+import com.creditdefaultswap.platform.support.TestTrades;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SaCcrBatchEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private SaCcrBatchEngine batchEngine;
+
+    @Autowired
+    private SaCcrCalculationService calculationService;
+
+    @Autowired
+    private NettingSetRepository nettingSetRepository;
+
+    @Autowired
+    private CDSTradeRepository cdsTradeRepository;
+
+    @Autowired
+    private SaCcrCalculationRepository calculationRepository;
+
+    @Autowired
+    private SaCcrSupervisoryParameterRepository parameterRepository;
+
+    private String jurisdiction;
+
+    @BeforeEach
+    void setUp() {
+        // Unique jurisdiction per test so calculation IDs and parameters do not collide
+        jurisdiction = "T" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+    }
+
+    @Test
+    void testBatchMatchesSingleNettingSetPathAndUpserts() {
+        parameterRepository.save(param("CREDIT", "SUPERVISORY_FACTOR", "IG", "0.0060", AS_OF.minusYears(1)));
+        parameterRepository.save(param("CREDIT", "SUPERVISORY_FACTOR", "HY", "0.0150", AS_OF.minusYears(1)));
+        parameterRepository.save(param("CREDIT", "ALPHA_FACTOR", null, "1.2", AS_OF.minusYears(1)));
+
+        NettingSet uncollateralized = nettingSet(false);
+        NettingSet collateralized = nettingSet(true);
+        trade(uncollateralized, "10000000", "100", "250000");
+        trade(uncollateralized, "5000000", "650", "-50000");
+        trade(collateralized, "20000000", "80", "100000");
+
+        List<SaCcrCalculation> batch = batchEngine.calculateAll(AS_OF, jurisdiction);
+
+        for (NettingSet nettingSet : List.of(uncollateralized, collateralized)) {
+            SaCcrCalculation expected = calculationService.calculateExposure(nettingSet, AS_OF, jurisdiction);
+            SaCcrCalculation actual = find(batch, nettingSet);
+            assertNotNull(actual.getId());
+            assertEquals(0, expected.getExposureAtDefault().compareTo(actual.getExposureAtDefault()));
+            assertEquals(0, expected.getPotentialFutureExposure().compareTo(actual.getPotentialFutureExposure()));
+            assertEquals(0, expected.getReplacementCost().compareTo(actual.getReplacementCost()));
+            assertEquals(0, new BigDecimal("1.2").compareTo(actual.getAlphaFactor()));
+        }
+
+        // (10m × 0.006 + 5m × 0.015) × 1 = 135,000; RC = 200,000; EAD = 1.2 × 335,000
+        assertEquals(0, new BigDecimal("402000").compareTo(find(batch, uncollateralized).getExposureAtDefault()));
+
+        // A rerun after a trade change updates the same rows instead of inserting new ones
+        trade(collateralized, "10000000", "80", "0");
+        SaCcrCalculation before = find(batch, collateralized);
+        List<SaCcrCalculation> rerun = batchEngine.calculateAll(AS_OF, jurisdiction);
+        SaCcrCalculation after = calculationRepository.findByCalculationId(before.getCalculationId());
+
+        assertEquals(before.getId(), find(rerun, collateralized).getId());
+        // (30m × 0.006) × 0.75 = 135,000; RC = 100,000; EAD = 1.2 × 235,000
+        assertEquals(0, new BigDecimal("282000").compareTo(after.getExposureAtDefault()));
+    }
+
+    @Test
+    void testLookupFallsBackToBaselDefaults() {
+        parameterRepository.save(param("CREDIT", "SUPERVISORY_FACTOR", "IG", "0.0070", AS_OF.plusDays(1)));
+        SaCcrSupervisoryParameter expiredAlpha = param("CREDIT", "ALPHA_FACTOR", null, "1.1", AS_OF.minusYears(2));
+        expiredAlpha.setExpiryDate(AS_OF.minusYears(1));
+        parameterRepository.save(expiredAlpha);
+
+        SupervisoryParameterLookup lookup = batchEngine.loadSupervisoryParameters(jurisdiction, AS_OF);
+
+        // Not yet effective and expired rows are ignored
+        assertEquals(0, new BigDecimal("0.0050").compareTo(lookup.creditSupervisoryFactor("IG")));
+        assertEquals(0, new BigDecimal("0.0130").compareTo(lookup.creditSupervisoryFactor("HY")));
+        assertEquals(0, new BigDecimal("1.4").compareTo(lookup.alphaFactor()));
+        assertFalse(lookup.hasAlphaFactor());
+    }
+
+    private SaCcrCalculation find(List<SaCcrCalculation> calculations, NettingSet nettingSet) {
+        return calculations.stream()
+            .filter(c -> c.getNettingSetId().equals(nettingSet.getNettingSetId()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private SaCcrSupervisoryParameter param(String assetClass, String type, String quality, String value,
+                                            LocalDate effectiveDate) {
+        SaCcrSupervisoryParameter parameter = new SaCcrSupervisoryParameter(jurisdiction, assetClass, type,
+            new BigDecimal(value), effectiveDate);
+        parameter.setCreditQuality(quality);
+        return parameter;
+    }
+
+    private NettingSet nettingSet(boolean collateralized) {
+        NettingSet nettingSet = new NettingSet("NS-" + UUID.randomUUID(), "CP-" + jurisdiction, "ISDA");
+        nettingSet.setCollateralAgreement(collateralized);
+        return nettingSetRepository.save(nettingSet);
+    }
+
+    private void trade(NettingSet nettingSet, String notional, String spread, String mtm) {
+        CDSTrade trade = TestTrades.activeTrade("ACME CORP", notional);
+        trade.setSpread(new BigDecimal(spread));
+        trade.setMaturityDate(LocalDate.of(2029, 3, 20));
+        trade.setNettingSetId(nettingSet.getNettingSetId());
+        trade.setMarkToMarketValue(new BigDecimal(mtm));
+        cdsTradeRepository.save(trade);
+    }
+}
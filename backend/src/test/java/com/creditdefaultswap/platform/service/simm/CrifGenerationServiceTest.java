@@ -0,0 +1,74 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.simm.CrifUpload;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.support.TestTrades;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class CrifGenerationServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private CrifGenerationService crifGenerationService;
+
+    @Autowired
+    private CDSTradeRepository tradeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGeneratedSensitivitiesKeepUsdAmount() {
+        trade("NSGEN_USD_001", "USD", "10000000");
+        trade("NSGEN_USD_002", "EUR", "5000000");
+
+        CrifUpload upload = crifGenerationService.generateFromPortfolio("NSGEN_USD", VALUATION_DATE);
+
+        List<BigDecimal> usdAmounts = jdbcTemplate.queryForList(
+            "SELECT amount_usd FROM crif_sensitivities WHERE upload_id = ?", BigDecimal.class, upload.getId());
+        assertEquals(4, usdAmounts.size());
+        usdAmounts.forEach(amount -> assertNotNull(amount, "amount_usd must be populated"));
+
+        // EUR amounts are converted, not copied
+        Integer converted = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM crif_sensitivities WHERE upload_id = ? AND amount_usd <> amount_base_currency",
+            Integer.class, upload.getId());
+        assertEquals(2, converted);
+    }
+
+    @Test
+    void testPortfolioPrefixTreatsUnderscoreLiterally() {
+        CDSTrade member = trade("NS_JPM_001", "USD", "10000000");
+        // '_' as a LIKE wildcard would also match this look-alike netting set
+        trade("NSXJPM_001", "USD", "10000000");
+
+        CrifGenerationService.PortfolioSensitivities generated =
+            crifGenerationService.generateInMemory("NS_JPM", VALUATION_DATE);
+
+        assertEquals(1, generated.tradeCount());
+        generated.sensitivities().forEach(s -> assertEquals(member.getId().toString(), s.getTradeId()));
+    }
+
+    private CDSTrade trade(String nettingSetId, String currency, String notional) {
+        CDSTrade trade = TestTrades.activeTrade("CRIFGEN CORP", notional);
+        trade.setCurrency(currency);
+        trade.setNettingSetId(nettingSetId);
+        return tradeRepository.save(trade);
+    }
+}
@@ -0,0 +1,125 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.model.simm.CrifUpload;
+import com.creditdefaultswap.platform.repository.CrifSensitivityRepository;
+import com.creditdefaultswap.platform.repository.CrifUploadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CrifStreamingIngestionServiceTest {
+
+    private static final String HEADER =
+        "TradeId,PortfolioId,ProductClass,RiskType,Qualifier,Bucket,Label1,Label2,Amount,AmountCurrency," +
+        "CollectRegulations,PostRegulations,EndDate\n";
+
+    @Autowired
+    private CrifStreamingIngestionService ingestionService;
+
+    @Autowired
+    private CrifUploadRepository crifUploadRepository;
+
+    @Autowired
+    private CrifSensitivityRepository crifSensitivityRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Small chunks so the test crosses several flush boundaries
+        ReflectionTestUtils.setField(ingestionService, "chunkSize", 2);
+    }
+
+    @Test
+    void testIngestFlushesChunksAndReportsErrors() {
+        String csv = HEADER +
+            "T1,P1,Credit,Risk_CreditQ,ACME,1,5y,,1000.50,USD,SEC,SEC,2030-06-20\n" +
+            "T2,P1,Credit,Risk_CreditQ,ACME,1,10y,,-250,USD,,,\n" +
+            "\n" +
+            "T3,P1,Bogus,Risk_CreditQ,ACME,1,5y,,10,USD,,,\n" +
+            "T4,P1,RatesFX,Risk_IRCurve,USD,1,2w,\"Libor3m\",42,USD,,,\n" +
+            "T5,P1,Credit,Risk_CreditQ,ACME,1,5y,,not-a-number,USD,,,\n" +
+            "T6,P1,Credit,Risk_CreditNonQ,XYZ,2,1y,,7,EUR,,,\n";
+
+        List<Integer> flushedValidCounts = new ArrayList<>();
+        List<Integer> errorLines = new ArrayList<>();
+        CrifStreamingIngestionService.IngestionListener listener = new CrifStreamingIngestionService.IngestionListener() {
+            @Override
+            public void onChunkFlushed(String uploadId, int linesRead, int validRecords, int errorRecords) {
+                flushedValidCounts.add(validRecords);
+            }
+
+            @Override
+            public void onRowError(String uploadId, int lineNumber, String message) {
+                errorLines.add(lineNumber);
+            }
+        };
+
+        CrifParserService.CrifParsingResult result = ingestionService.ingest(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            "stream.csv", "P1", LocalDate.of(2025, 1, 31), "USD", listener);
+
+        assertEquals(4, result.getValidRecords());
+        assertEquals(2, result.getErrorRecords());
+        assertEquals(List.of(5, 7), errorLines);
+        assertEquals(List.of(2, 4), flushedValidCounts);
+        assertTrue(result.getValidSensitivities().isEmpty(), "streamed rows must not be retained");
+
+        CrifUpload upload = crifUploadRepository.findByUploadId(result.getUploadId()).orElseThrow();
+        assertEquals(CrifUpload.ProcessingStatus.COMPLETED, upload.getProcessingStatus());
+        assertEquals(4, upload.getValidRecords());
+        assertEquals(2, upload.getErrorRecords());
+
+        List<CrifSensitivity> stored = crifSensitivityRepository.findByUploadId(upload.getId());
+        assertEquals(4, stored.size());
+        CrifSensitivity rates = stored.stream().filter(s -> "T4".equals(s.getTradeId())).findFirst().orElseThrow();
+        assertEquals("IR", rates.getRiskClass());
+        assertEquals("Libor3m", rates.getLabel2());
+        assertEquals(0, new BigDecimal("42").compareTo(rates.getAmountBaseCurrency()));
+    }
+
+    @Test
+    void testIngestRejectsMissingHeaders() {
+        String csv = "TradeId,Amount\nT1,10\n";
+
+        CrifParserService.CrifParsingResult result = ingestionService.ingest(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            "bad.csv", "P1", LocalDate.of(2025, 1, 31), "USD");
+
+        assertEquals(0, result.getValidRecords());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Missing required headers"));
+        CrifUpload upload = crifUploadRepository.findByUploadId(result.getUploadId()).orElseThrow();
+        assertEquals(CrifUpload.ProcessingStatus.FAILED, upload.getProcessingStatus());
+    }
+
+    @Test
+    void testTokenizerHandlesQuotesAndTrimming() throws Exception {
+        CrifCsvTokenizer tokenizer = new CrifCsvTokenizer(new StringReader(" a , \"b,c\" ,,d\r\n\n"));
+
+        assertTrue(tokenizer.next());
+        assertEquals(4, tokenizer.fieldCount());
+        assertEquals("a", tokenizer.field(0));
+        assertEquals("b,c", tokenizer.field(1));
+        assertNull(tokenizer.field(2));
+        assertTrue(tokenizer.fieldEquals(3, "d"));
+
+        assertTrue(tokenizer.next());
+        assertTrue(tokenizer.isBlank());
+        assertEquals(2, tokenizer.lineNumber());
+        assertFalse(tokenizer.next());
+    }
+}
@@ -0,0 +1,96 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimmAggregatorTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testForkJoinMatchesSequential() {
+        List<CrifSensitivity> sensitivities = syntheticPortfolio(5_000, 42L);
+
+        SimmAggregator.SimmAggregation sequential = new SimmAggregator(null).aggregate(sensitivities);
+        SimmAggregator.SimmAggregation parallel = new SimmAggregator(pool).aggregate(sensitivities);
+
+        assertEquals(sequential.totalIm(), parallel.totalIm());
+        assertEquals(sequential.diversificationBenefit(), parallel.diversificationBenefit());
+        assertEquals(sequential.imByProductClass(), parallel.imByProductClass());
+        assertEquals(sequential.detailedResults().size(), parallel.detailedResults().size());
+
+        for (int i = 0; i < sequential.detailedResults().size(); i++) {
+            SimmCalculationResult expected = sequential.detailedResults().get(i);
+            SimmCalculationResult actual = parallel.detailedResults().get(i);
+            assertEquals(expected.getRiskClass(), actual.getRiskClass());
+            assertEquals(expected.getBucket(), actual.getBucket());
+            assertEquals(expected.getMarginComponent(), actual.getMarginComponent());
+        }
+    }
+
+    @Test
+    void testSingleBucketCreditMargin() {
+        CrifSensitivity sensitivity = new CrifSensitivity("Credit", "Risk_CreditQ", "Credit_Q", new BigDecimal("1000000"));
+        sensitivity.setBucket("1");
+
+        SimmAggregator.SimmAggregation result = new SimmAggregator(pool).aggregate(List.of(sensitivity));
+
+        // 0.5% risk weight, single product class so no diversification
+        assertEquals(0, new BigDecimal("5000.00").compareTo(result.totalIm()));
+        assertEquals(BigDecimal.ZERO, result.diversificationBenefit());
+        assertEquals(1, result.detailedResults().size());
+    }
+
+    @Test
+    void testStageTimingsReported() {
+        SimmAggregator.SimmAggregation result = new SimmAggregator(pool).aggregate(syntheticPortfolio(500, 7L));
+
+        List<String> stages = result.stageTimings().stream().map(SimmAggregator.StageTiming::stageName).toList();
+        assertTrue(stages.contains("BUCKET_AGGREGATION"));
+        assertTrue(stages.contains("RISK_CLASS_AGGREGATION"));
+        assertTrue(stages.contains("DIVERSIFICATION"));
+        result.stageTimings().forEach(stage -> assertTrue(stage.nanos() >= 0));
+    }
+
+    private List<CrifSensitivity> syntheticPortfolio(int size, long seed) {
+        String[][] classes = {
+            {"Credit", "Credit_Q", "Risk_CreditQ"},
+            {"Credit", "Credit_Q", "Risk_IRCurve"},
+            {"RatesFX", "Interest_Rate", "Risk_IRCurve"},
+            {"Equity", "Equity", "Risk_Equity"},
+            {"Commodity", "Commodity", "Risk_Commodity"}
+        };
+        Random random = new Random(seed);
+        List<CrifSensitivity> sensitivities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String[] c = classes[random.nextInt(classes.length)];
+            BigDecimal amount = BigDecimal.valueOf(random.nextGaussian() * 1_000_000).setScale(2, RoundingMode.HALF_UP);
+            CrifSensitivity sensitivity = new CrifSensitivity(c[0], c[2], c[1], amount);
+            sensitivity.setBucket(random.nextInt(10) == 0 ? null : String.valueOf(1 + random.nextInt(12)));
+            sensitivities.add(sensitivity);
+        }
+        return sensitivities;
+    }
+}
@@ -0,0 +1,123 @@
+package com.creditdefaultswap.platform.service.simm;
+
+import com.creditdefaultswap.platform.model.simm.CrifUpload;
+import com.creditdefaultswap.platform.model.simm.SimmCalculation;
+import com.creditdefaultswap.platform.model.simm.SimmCalculationResult;
+import com.creditdefaultswap.platform.model.simm.SimmParameterSet;
+import com.creditdefaultswap.platform.repository.CrifUploadRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmCalculationRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmCalculationResultArchiveRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmCalculationResultRepository;
+import com.creditdefaultswap.platform.repository.simm.SimmParameterSetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SimmResultRetentionServiceTest {
+
+    @Autowired
+    private SimmResultRetentionService retentionService;
+
+    @Autowired
+    private SimmCalculationService calculationService;
+
+    @Autowired
+    private SimmCalculationRepository calculationRepository;
+
+    @Autowired
+    private SimmCalculationResultRepository resultRepository;
+
+    @Autowired
+    private SimmCalculationResultArchiveRepository archiveRepository;
+
+    @Autowired
+    private CrifUploadRepository crifUploadRepository;
+
+    @Autowired
+    private SimmParameterSetRepository parameterSetRepository;
+
+    private SimmParameterSet parameterSet;
+
+    @BeforeEach
+    void setUp() {
+        parameterSet = parameterSetRepository.save(
+            new SimmParameterSet("TEST-" + UUID.randomUUID(), "2.6", LocalDate.of(2024, 1, 1), "Retention test"));
+    }
+
+    @Test
+    void testArchivesOnlyCalculationsBeforeCutoff() {
+        String portfolioId = "RET-" + UUID.randomUUID();
+        SimmCalculation old = saveCalculation(portfolioId, LocalDateTime.now().minusDays(200), 3);
+        SimmCalculation recent = saveCalculation(portfolioId, LocalDateTime.now().minusDays(1), 2);
+
+        SimmResultRetentionService.ArchivalSummary summary =
+            retentionService.archiveResultsCreatedBefore(LocalDateTime.now().minusDays(90));
+
+        assertTrue(summary.resultsArchived() >= 3);
+        assertTrue(resultRepository.findByCalculationId(old.getId()).isEmpty());
+        assertEquals(3, archiveRepository.countByCalculationId(old.getId()));
+        assertEquals(2, resultRepository.findByCalculationId(recent.getId()).size());
+        assertEquals(0, archiveRepository.countByCalculationId(recent.getId()));
+
+        // Archived results are still readable through the calculation service
+        List<SimmCalculationResult> archived = calculationService.getCalculationResults(old);
+        assertEquals(3, archived.size());
+        assertEquals(0, new BigDecimal("100").compareTo(archived.get(0).getMarginComponentUsd()));
+        Page<SimmCalculationResult> archivedPage = calculationService.getCalculationResults(old, PageRequest.of(1, 2));
+        assertEquals(3, archivedPage.getTotalElements());
+        assertEquals(List.of("3"), archivedPage.getContent().stream().map(SimmCalculationResult::getBucket).toList());
+
+        // A second run finds nothing left to move for the old calculation
+        retentionService.archiveResultsCreatedBefore(LocalDateTime.now().minusDays(90));
+        assertEquals(3, archiveRepository.countByCalculationId(old.getId()));
+    }
+
+    @Test
+    void testCalculationSummariesArePagedNewestFirst() {
+        String portfolioId = "PAGE-" + UUID.randomUUID();
+        SimmCalculation first = saveCalculation(portfolioId, LocalDateTime.now().minusHours(3), 1);
+        SimmCalculation second = saveCalculation(portfolioId, LocalDateTime.now().minusHours(2), 1);
+        SimmCalculation third = saveCalculation(portfolioId, LocalDateTime.now().minusHours(1), 1);
+
+        Page<SimmCalculationRepository.CalculationSummary> page =
+            calculationService.getCalculationSummaries(portfolioId, PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(third.getCalculationId(), second.getCalculationId()),
+            page.getContent().stream().map(SimmCalculationRepository.CalculationSummary::getCalculationId).toList());
+
+        Page<SimmCalculationRepository.CalculationSummary> next =
+            calculationService.getCalculationSummaries(portfolioId, PageRequest.of(1, 2));
+        assertEquals(first.getCalculationId(), next.getContent().get(0).getCalculationId());
+    }
+
+    private SimmCalculation saveCalculation(String portfolioId, LocalDateTime createdAt, int resultCount) {
+        CrifUpload upload = crifUploadRepository.save(
+            new CrifUpload("UP-" + UUID.randomUUID(), "test.csv", portfolioId, LocalDate.now(), "USD"));
+
+        SimmCalculation calculation = new SimmCalculation("CALC-" + UUID.randomUUID(), upload, parameterSet,
+            LocalDate.now());
+        calculation.setCalculationStatus(SimmCalculation.CalculationStatus.COMPLETED);
+        calculation.setCreatedAt(createdAt);
+        for (int i = 0; i < resultCount; i++) {
+            SimmCalculationResult result = new SimmCalculationResult("CR_Q", String.valueOf(i + 1), new BigDecimal("100"));
+            result.setMarginComponentUsd(new BigDecimal("100"));
+            calculation.addResult(result);
+        }
+        return calculationRepository.save(calculation);
+    }
+}
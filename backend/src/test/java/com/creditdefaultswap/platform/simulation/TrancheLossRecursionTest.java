@@ -0,0 +1,77 @@
+package com.creditdefaultswap.platform.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrancheLossRecursionTest {
+
+    private static final double[] TIMES = {1.0, 3.0, 5.0};
+
+    @Test
+    void testWholePoolLossIsIndependentOfCorrelation() {
+        // Unequal weights and recoveries need several loss units per name
+        int names = 40;
+        double[] weights = new double[names];
+        double[] recoveries = new double[names];
+        double[] hazards = new double[names];
+        for (int i = 0; i < names; i++) {
+            weights[i] = (i % 2 == 0 ? 1.0 : 2.0) / 60.0;
+            recoveries[i] = i % 3 == 0 ? 0.25 : 0.40;
+            hazards[i] = 0.005 + 0.001 * i;
+        }
+        double[][] curves = curves(hazards);
+
+        for (double beta : new double[] {0.0, 0.5, 0.9}) {
+            double[] betas = new double[names];
+            Arrays.fill(betas, beta);
+            double[] etl = new TrancheLossRecursion(betas, curves, TIMES, weights, recoveries, 0.0, 1.0)
+                .expectedTrancheLoss();
+            for (int t = 0; t < TIMES.length; t++) {
+                double expected = 0.0;
+                for (int i = 0; i < names; i++) {
+                    expected += weights[i] * (1 - recoveries[i]) * (1 - curves[i][t]);
+                }
+                assertEquals(expected, etl[t], 1e-5 * expected, "beta " + beta + " at " + TIMES[t]);
+            }
+        }
+    }
+
+    @Test
+    void testCorrelationMovesLossFromEquityToSenior() {
+        int names = 125;
+        double[] weights = new double[names];
+        double[] recoveries = new double[names];
+        double[] hazards = new double[names];
+        Arrays.fill(weights, 1.0 / names);
+        Arrays.fill(recoveries, 0.40);
+        Arrays.fill(hazards, 0.02);
+        double[][] curves = curves(hazards);
+
+        double[] low = new double[names];
+        double[] high = new double[names];
+        Arrays.fill(low, 0.3);
+        Arrays.fill(high, 0.6);
+
+        TrancheLossRecursion equityLow = new TrancheLossRecursion(low, curves, TIMES, weights, recoveries, 0.0, 0.03);
+        TrancheLossRecursion equityHigh = new TrancheLossRecursion(high, curves, TIMES, weights, recoveries, 0.0, 0.03);
+        TrancheLossRecursion seniorLow = new TrancheLossRecursion(low, curves, TIMES, weights, recoveries, 0.15, 0.30);
+        TrancheLossRecursion seniorHigh = new TrancheLossRecursion(high, curves, TIMES, weights, recoveries, 0.15, 0.30);
+
+        assertEquals(names, equityLow.getTotalUnits());
+        assertTrue(equityHigh.expectedTrancheLoss()[2] < equityLow.expectedTrancheLoss()[2]);
+        assertTrue(seniorHigh.expectedTrancheLoss()[2] > seniorLow.expectedTrancheLoss()[2]);
+    }
+
+    private double[][] curves(double[] hazards) {
+        double[][] curves = new double[hazards.length][TIMES.length];
+        for (int i = 0; i < hazards.length; i++) {
+            for (int t = 0; t < TIMES.length; t++) {
+                curves[i][t] = Math.exp(-hazards[i] * TIMES[t]);
+            }
+        }
+        return curves;
+    }
+}
@@ -0,0 +1,41 @@
+package com.creditdefaultswap.platform.support;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.model.SettlementMethod;
+import com.creditdefaultswap.platform.model.TradeStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * CDS trade fixtures for integration tests; tests set whatever terms they exercise before saving
+ */
+public final class TestTrades {
+
+    private TestTrades() {
+    }
+
+    /**
+     * Unsaved ACTIVE, cash-settled protection purchase: 100bp quarterly ACT/360 in USD, maturing June 2029
+     */
+    public static CDSTrade activeTrade(String referenceEntity, String notional) {
+        CDSTrade trade = new CDSTrade();
+        trade.setReferenceEntity(referenceEntity);
+        trade.setNotionalAmount(new BigDecimal(notional));
+        trade.setSpread(new BigDecimal("100"));
+        trade.setTradeDate(LocalDate.of(2024, 1, 15));
+        trade.setEffectiveDate(LocalDate.of(2024, 1, 20));
+        trade.setMaturityDate(LocalDate.of(2029, 6, 20));
+        trade.setAccrualStartDate(LocalDate.of(2024, 1, 20));
+        trade.setCounterparty("GOLDMAN SACHS");
+        trade.setCurrency("USD");
+        trade.setPremiumFrequency("QUARTERLY");
+        trade.setDayCountConvention("ACT/360");
+        trade.setBuySellProtection(CDSTrade.ProtectionDirection.BUY);
+        trade.setPaymentCalendar("USD");
+        trade.setTradeStatus(TradeStatus.ACTIVE);
+        trade.setRecoveryRate(new BigDecimal("0.40"));
+        trade.setSettlementType(SettlementMethod.CASH);
+        return trade;
+    }
+}
@@ -0,0 +1,54 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files, e.g. results/<base>.json results/<head>.json.
+
+Prints the score of every benchmark/parameter combination in both runs and the relative
+change. Lower is better for the average-time modes used here. Exits non-zero when any
+benchmark regressed by more than --threshold percent and the change exceeds both error bars.
+"""
+import argparse
+import json
+import math
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join(f"{k}={v}" for k, v in sorted(run.get("params", {}).items()))
+        name = run["benchmark"].rsplit(".", 2)[-2] + "." + run["benchmark"].rsplit(".", 1)[-1]
+        metric = run["primaryMetric"]
+        # JMH reports the error as "NaN" when a run has a single iteration
+        error = float(metric.get("scoreError", 0.0))
+        results[(name, params)] = (metric["score"], 0.0 if math.isnan(error) else error, metric["scoreUnit"])
+    return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("base")
+    parser.add_argument("head")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent")
+    args = parser.parse_args()
+
+    base, head = load(args.base), load(args.head)
+    regressions = 0
+    print(f"{'benchmark':<45} {'params':<50} {'base':>12} {'head':>12} {'unit':>8} {'change':>8}")
+    for key in sorted(base.keys() & head.keys()):
+        (b, b_err, unit), (h, h_err, _) = base[key], head[key]
+        change = (h - b) / b * 100 if b else 0.0
+        flag = ""
+        if change > args.threshold and h - b > b_err + h_err:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{key[0]:<45} {key[1]:<50} {b:>12.3f} {h:>12.3f} {unit:>8} {change:>7.1f}%{flag}")
+
+    for key in sorted(base.keys() ^ head.keys()):
+        print(f"{key[0]:<45} {key[1]:<50} only in {'base' if key in base else 'head'}")
+
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Build the backend classes and the benchmark jar, then run JMH and keep the JSON result
+# under results/<commit>.json so runs on different commits can be compared with compare.py.
+# Extra arguments go straight to JMH, e.g. a benchmark filter or "-p positions=1000".
+cd "$(dirname "$0")"
+
+COMMIT=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ../backend/src; then
+  COMMIT="${COMMIT}-dirty"
+fi
+RESULTS_DIR="results"
+mkdir -p "${RESULTS_DIR}"
+
+echo "Building backend classes..."
+mvn -B -q -f ../backend/pom.xml -Pbenchmarks install -DskipTests
+echo "Building benchmarks..."
+mvn -B -q package
+
+echo "Running benchmarks for ${COMMIT}..."
+java -jar target/benchmarks.jar -rf json -rff "${RESULTS_DIR}/${COMMIT}.json" "$@"
+echo "✓ Results written to ${RESULTS_DIR}/${COMMIT}.json"
@@ -0,0 +1,64 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.model.Bond;
+import com.creditdefaultswap.platform.model.CouponFrequency;
+import com.creditdefaultswap.platform.model.DayCount;
+import com.creditdefaultswap.platform.service.bond.BondPricingService;
+import com.creditdefaultswap.platform.service.bond.CashflowScheduleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yield and Z-spread solvers on a semi-annual bullet bond priced off a 5.5% flat curve
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BondPricingBenchmark {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+    private static final double BASE_RATE = 0.04;
+
+    @Param({"5", "30"})
+    public int maturityYears;
+
+    private BondPricingService pricingService;
+    private Bond bond;
+    private double cleanPrice;
+
+    @Setup
+    public void setUp() {
+        pricingService = new BondPricingService();
+        BenchmarkSupport.inject(pricingService, "cashflowScheduleService", new CashflowScheduleService());
+
+        bond = new Bond();
+        bond.setIsin("US000000BM01");
+        bond.setIssuer("BENCH CORP");
+        bond.setCurrency("USD");
+        bond.setNotional(new BigDecimal("1000000"));
+        bond.setFaceValue(new BigDecimal("1000000"));
+        bond.setCouponRate(new BigDecimal("0.05"));
+        bond.setCouponFrequency(CouponFrequency.SEMI_ANNUAL);
+        bond.setDayCount(DayCount.THIRTY_360);
+        bond.setIssueDate(LocalDate.of(2024, 3, 20));
+        bond.setMaturityDate(LocalDate.of(2024, 3, 20).plusYears(maturityYears));
+
+        cleanPrice = pricingService.calculateCleanPrice(bond, VALUATION_DATE, 0.055);
+    }
+
+    @Benchmark
+    public double calculateYieldToMaturity() {
+        return pricingService.calculateYieldToMaturity(bond, VALUATION_DATE, cleanPrice, true);
+    }
+
+    @Benchmark
+    public double calculateZSpread() {
+        return pricingService.calculateZSpread(bond, VALUATION_DATE, cleanPrice, BASE_RATE, true);
+    }
+}
@@ -0,0 +1,60 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.model.CDSTrade;
+import com.creditdefaultswap.platform.repository.CDSTradeRepository;
+import com.creditdefaultswap.platform.repository.CouponPeriodRepository;
+import com.creditdefaultswap.platform.service.CouponScheduleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IMM date generation and business-day adjustment of a new trade's coupon schedule.
+ * The repositories are in-memory stubs, so only the schedule arithmetic is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CouponScheduleBenchmark {
+
+    private static final Long TRADE_ID = 1L;
+
+    @Param({"QUARTERLY", "MONTHLY"})
+    public String premiumFrequency;
+
+    @Param({"5", "10"})
+    public int tenorYears;
+
+    private CouponScheduleService scheduleService;
+
+    @Setup
+    public void setUp() {
+        CDSTrade trade = new CDSTrade();
+        trade.setId(TRADE_ID);
+        trade.setTradeDate(LocalDate.of(2025, 1, 15));
+        trade.setMaturityDate(LocalDate.of(2025, 3, 20).plusYears(tenorYears));
+        trade.setNotionalAmount(new BigDecimal("10000000"));
+        trade.setPremiumFrequency(premiumFrequency);
+
+        scheduleService = new CouponScheduleService();
+        BenchmarkSupport.inject(scheduleService, "cdsTradeRepository", BenchmarkSupport.repository(
+                CDSTradeRepository.class, Map.of("findById", (proxy, method, args) -> Optional.of(trade))));
+        BenchmarkSupport.inject(scheduleService, "couponPeriodRepository", BenchmarkSupport.repository(
+                CouponPeriodRepository.class, Map.of(
+                        "findByTradeIdOrderByPeriodStartDate", (proxy, method, args) -> List.of(),
+                        "saveAll", (proxy, method, args) -> args[0])));
+    }
+
+    @Benchmark
+    public Object generateImmSchedule() {
+        return scheduleService.generateImmSchedule(TRADE_ID);
+    }
+}
@@ -0,0 +1,73 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.model.simm.CrifSensitivity;
+import com.creditdefaultswap.platform.service.simm.SimmAggregator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucket, risk-class and product-class aggregation that SimmCalculationService runs for each
+ * CRIF upload, sequentially and on the fork/join pool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimmAggregationBenchmark {
+
+    private static final String[][] RISK_CLASSES = {
+        {"Credit", "Credit_Q", "Risk_CreditQ"},
+        {"Credit", "Credit_NonQ", "Risk_CreditNonQ"},
+        {"RatesFX", "Interest_Rate", "Risk_IRCurve"},
+        {"RatesFX", "FX", "Risk_FX"},
+        {"Equity", "Equity", "Risk_Equity"},
+        {"Commodity", "Commodity", "Risk_Commodity"}
+    };
+
+    @Param({"10000", "100000"})
+    public int sensitivities;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private ForkJoinPool pool;
+    private SimmAggregator aggregator;
+    private List<CrifSensitivity> crif;
+
+    @Setup
+    public void setUp() {
+        pool = parallel ? new ForkJoinPool(Runtime.getRuntime().availableProcessors()) : null;
+        aggregator = new SimmAggregator(pool);
+
+        Random random = new Random(42);
+        crif = new ArrayList<>(sensitivities);
+        for (int i = 0; i < sensitivities; i++) {
+            String[] riskClass = RISK_CLASSES[random.nextInt(RISK_CLASSES.length)];
+            BigDecimal amount = BigDecimal.valueOf(random.nextGaussian() * 1_000_000).setScale(2, RoundingMode.HALF_UP);
+            CrifSensitivity sensitivity = new CrifSensitivity(riskClass[0], riskClass[2], riskClass[1], amount);
+            sensitivity.setBucket(random.nextInt(10) == 0 ? null : String.valueOf(1 + random.nextInt(12)));
+            crif.add(sensitivity);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public SimmAggregator.SimmAggregation aggregate() {
+        return aggregator.aggregate(crif);
+    }
+}
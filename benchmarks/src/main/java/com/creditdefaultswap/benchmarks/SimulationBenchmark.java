@@ -0,0 +1,70 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.simulation.DefaultTimeSimulator;
+import com.creditdefaultswap.platform.simulation.MetricsCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo kernels behind SimulationService: one copula path and the VaR/ES tail metrics
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+
+    private static final double[] HORIZONS = {1.0, 3.0, 5.0, 7.0, 10.0};
+
+    @Param({"125", "500"})
+    public int entities;
+
+    @Param({"100000"})
+    public int paths;
+
+    private DefaultTimeSimulator simulator;
+    private double[] losses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] betas = new double[entities];
+        double[][] survivalCurves = new double[entities][HORIZONS.length];
+        for (int i = 0; i < entities; i++) {
+            betas[i] = 0.2 + 0.3 * random.nextDouble();
+            // Flat hazard rate from a 50-400 bp spread at 40% recovery, as SimulationService builds it
+            double hazardRate = (0.005 + 0.035 * random.nextDouble()) / 0.6;
+            for (int h = 0; h < HORIZONS.length; h++) {
+                survivalCurves[i][h] = Math.exp(-hazardRate * HORIZONS[h]);
+            }
+        }
+        simulator = new DefaultTimeSimulator(42L, betas, survivalCurves, HORIZONS);
+
+        losses = new double[paths];
+        for (int p = 0; p < paths; p++) {
+            // Mostly-zero loss distribution with a heavy tail
+            losses[p] = random.nextDouble() < 0.7 ? 0.0 : Math.abs(random.nextGaussian()) * 1_000_000 * (1 + random.nextInt(5));
+        }
+    }
+
+    @Benchmark
+    public double[] generateDefaultTimes() {
+        return simulator.generateDefaultTimes();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double calculateVaR() {
+        return MetricsCalculator.calculateVaR(losses, 0.99);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double calculateES() {
+        return MetricsCalculator.calculateES(losses, 0.975);
+    }
+}
@@ -0,0 +1,63 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.model.MarginStatement;
+import com.creditdefaultswap.platform.service.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming parse of a synthetic statement by every CCP/format parser, positions handed to a
+ * blackhole as MarginStatementPipeline would hand them to its batch writer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StatementParserBenchmark {
+
+    @Param({"LCH", "CME", "ICE", "EUREX"})
+    public String ccp;
+
+    @Param({"CSV", "XML", "JSON"})
+    public MarginStatement.StatementFormat format;
+
+    @Param({"10000"})
+    public int positions;
+
+    private StatementParser parser;
+    private MarginStatement statement;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws Exception {
+        parser = new StatementParserFactory(List.of(
+                new LchCsvStatementParser(), new LchXmlStatementParser(), new LchJsonStatementParser(),
+                new CmeCsvStatementParser(), new CmeXmlStatementParser(), new CmeJsonStatementParser(),
+                new IceCsvStatementParser(), new IceXmlStatementParser(), new IceJsonStatementParser(),
+                new EurexCsvStatementParser(), new EurexXmlStatementParser(), new EurexJsonStatementParser()))
+                .getParser(ccp, format)
+                .orElseThrow(() -> new IllegalStateException("No parser for " + ccp + " " + format));
+        statement = new MarginStatement("BENCH-" + ccp + "-" + format, ccp, "MEMBER01", "ACC-0",
+                SyntheticStatements.STATEMENT_DATE, "USD", format, "statement." + format.name().toLowerCase());
+        content = SyntheticStatements.generate(ccp, format, positions);
+
+        // Fail fast if the synthetic layout drifts from what the parser accepts
+        AtomicInteger parsed = new AtomicInteger();
+        parser.parseStatement(statement, new ByteArrayInputStream(content), position -> parsed.incrementAndGet());
+        if (parsed.get() != positions) {
+            throw new IllegalStateException(ccp + " " + format + " parser read " + parsed.get() + " of " + positions + " positions");
+        }
+    }
+
+    @Benchmark
+    public void parseStatement(Blackhole blackhole) throws Exception {
+        parser.parseStatement(statement, new ByteArrayInputStream(content), blackhole::consume);
+    }
+}
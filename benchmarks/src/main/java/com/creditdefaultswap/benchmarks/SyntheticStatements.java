@@ -0,0 +1,205 @@
+package com.creditdefaultswap.benchmarks;
+
+import com.creditdefaultswap.platform.model.MarginStatement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Builds CCP margin statements in each supported layout, with positions spread over a fixed
+ * set of accounts and alternating VM/IM amounts
+ */
+final class SyntheticStatements {
+
+    static final LocalDate STATEMENT_DATE = LocalDate.of(2025, 1, 15);
+
+    private static final int ACCOUNTS = 50;
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+    private static final String EUREX_DATE = STATEMENT_DATE.format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+
+    private SyntheticStatements() {
+    }
+
+    static byte[] generate(String ccp, MarginStatement.StatementFormat format, int positions) {
+        StringBuilder out = new StringBuilder(positions * 200);
+        Random random = new Random(42);
+        switch (format) {
+            case CSV -> csv(out, ccp, positions, random);
+            case XML -> xml(out, ccp, positions, random);
+            case JSON -> json(out, ccp, positions, random);
+            default -> throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void csv(StringBuilder out, String ccp, int positions, Random random) {
+        out.append(switch (ccp) {
+            case "LCH" -> "Account,Date,Position Type,Amount,Currency,Portfolio,Product Class";
+            case "CME" -> "Statement Date,Account ID,Position Date,Margin Type,Portfolio,Asset Class,Amount,Currency";
+            case "ICE" -> "MemberCode,AccountID,ReportDate,MarginClass,MarginAmount,Currency,AssetClass,Product,ClearingService";
+            case "EUREX" -> "ClearingMember,Account,StatementDate,MarginType,Amount,Currency,Portfolio,ProductGroup,NettingSet";
+            default -> throw new IllegalArgumentException("Unknown CCP " + ccp);
+        }).append('\n');
+
+        for (int i = 0; i < positions; i++) {
+            boolean im = i % 2 == 1;
+            String account = account(i);
+            String amount = amount(random, im);
+            String currency = currency(i);
+            switch (ccp) {
+                case "LCH" -> out.append(account).append(',').append(STATEMENT_DATE).append(',')
+                        .append(im ? "IM" : "VM").append(',').append(amount).append(',').append(currency)
+                        .append(",PF-").append(i % 7).append(",CDS\n");
+                case "CME" -> out.append(STATEMENT_DATE).append(',').append(account).append(',').append(STATEMENT_DATE)
+                        .append(',').append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN").append(",PF-").append(i % 7)
+                        .append(",CDS,").append(amount).append(',').append(currency).append('\n');
+                case "ICE" -> out.append("MEMBER01,").append(account).append(',').append(STATEMENT_DATE).append(',')
+                        .append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN").append(',').append(amount).append(',')
+                        .append(currency).append(",CDS,CDX.NA.IG,CDS\n");
+                default -> out.append("MEMBER01,").append(account).append(',').append(EUREX_DATE).append(',')
+                        .append(im ? "IM" : "VM").append(',').append(amount).append(',').append(currency)
+                        .append(",PF-").append(i % 7).append(",CREDIT,NS-").append(i % ACCOUNTS).append('\n');
+            }
+        }
+    }
+
+    private static void xml(StringBuilder out, String ccp, int positions, Random random) {
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        if ("LCH".equals(ccp)) {
+            out.append("<marginStatement>\n  <header><member>MEMBER01</member></header>\n  <positions>\n");
+            for (int i = 0; i < positions; i++) {
+                boolean im = i % 2 == 1;
+                out.append("    <position><account>").append(account(i)).append("</account><date>").append(STATEMENT_DATE)
+                        .append("</date><positionType>").append(im ? "IM" : "VM").append("</positionType><amount>")
+                        .append(amount(random, im)).append("</amount><currency>").append(currency(i))
+                        .append("</currency><portfolio>PF-").append(i % 7)
+                        .append("</portfolio><productClass>CDS</productClass></position>\n");
+            }
+            out.append("  </positions>\n</marginStatement>\n");
+            return;
+        }
+
+        String root = switch (ccp) {
+            case "CME" -> "CCPMarginReport";
+            case "ICE" -> "ICEClearMarginStatement";
+            default -> "EurexMarginReport";
+        };
+        String header = switch (ccp) {
+            case "CME" -> "ReportHeader";
+            case "ICE" -> "StatementHeader";
+            default -> "ReportMetadata";
+        };
+        String accounts = "EUREX".equals(ccp) ? "ClearingAccounts" : "MemberAccounts";
+        String idAttribute = "CME".equals(ccp) ? "id" : "accountId";
+
+        out.append('<').append(root).append(">\n  <").append(header).append("><MemberCode>MEMBER01</MemberCode></")
+                .append(header).append(">\n  <").append(accounts).append(">\n");
+        int perAccount = Math.max(1, positions / ACCOUNTS);
+        for (int i = 0; i < positions; i++) {
+            boolean im = i % 2 == 1;
+            if (i % perAccount == 0) {
+                if (i > 0) {
+                    out.append("    </Account>\n");
+                }
+                out.append("    <Account ").append(idAttribute).append("=\"").append(account(i / perAccount)).append("\">\n");
+            }
+            String amount = amount(random, im);
+            switch (ccp) {
+                case "CME" -> out.append("      <MarginPosition><PositionDate>").append(STATEMENT_DATE)
+                        .append("</PositionDate><MarginType>").append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN")
+                        .append("</MarginType><Portfolio>PF-").append(i % 7).append("</Portfolio><AssetClass>CDS</AssetClass>")
+                        .append("<Amount currency=\"").append(currency(i)).append("\">").append(amount)
+                        .append("</Amount></MarginPosition>\n");
+                case "ICE" -> out.append("      <MarginPosition><ReportDate>").append(STATEMENT_DATE)
+                        .append("</ReportDate><MarginClass>").append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN")
+                        .append("</MarginClass><AssetClass>CDS</AssetClass><Product>CDX.NA.IG</Product>")
+                        .append("<ClearingService>CDS</ClearingService><MarginAmount currency=\"").append(currency(i))
+                        .append("\">").append(amount).append("</MarginAmount></MarginPosition>\n");
+                default -> out.append("      <Position><StatementDate>").append(EUREX_DATE)
+                        .append("</StatementDate><MarginCategory>").append(im ? "IM" : "VM")
+                        .append("</MarginCategory><Portfolio>PF-").append(i % 7).append("</Portfolio>")
+                        .append("<ProductGroup>CREDIT</ProductGroup><NettingSet>NS-").append(i % ACCOUNTS)
+                        .append("</NettingSet><MarginAmount currency=\"").append(currency(i)).append("\">").append(amount)
+                        .append("</MarginAmount></Position>\n");
+            }
+        }
+        out.append("    </Account>\n  </").append(accounts).append(">\n</").append(root).append(">\n");
+    }
+
+    private static void json(StringBuilder out, String ccp, int positions, Random random) {
+        if ("LCH".equals(ccp)) {
+            out.append("{\"marginStatement\": {\"header\": {\"member\": \"MEMBER01\"}, \"positions\": [\n");
+            for (int i = 0; i < positions; i++) {
+                boolean im = i % 2 == 1;
+                out.append(i > 0 ? ",\n" : "").append("  {\"account\": \"").append(account(i))
+                        .append("\", \"date\": \"").append(STATEMENT_DATE).append("\", \"positionType\": \"")
+                        .append(im ? "IM" : "VM").append("\", \"amount\": ").append(amount(random, im))
+                        .append(", \"currency\": \"").append(currency(i)).append("\", \"portfolio\": \"PF-").append(i % 7)
+                        .append("\", \"productClass\": \"CDS\", \"nettingSetId\": \"NS-").append(i % ACCOUNTS).append("\"}");
+            }
+            out.append("\n]}}\n");
+            return;
+        }
+
+        String root = switch (ccp) {
+            case "CME" -> "ccpMarginReport";
+            case "ICE" -> "iceClearMarginStatement";
+            default -> "eurexMarginReport";
+        };
+        String header = switch (ccp) {
+            case "CME" -> "reportHeader";
+            case "ICE" -> "statementHeader";
+            default -> "reportMetadata";
+        };
+        String accounts = "EUREX".equals(ccp) ? "clearingAccounts" : "memberAccounts";
+        String positionsField = "ICE".equals(ccp) ? "marginRequirements" : "marginPositions";
+
+        out.append("{\"").append(root).append("\": {\"").append(header).append("\": {\"clearingMember\": \"MEMBER01\"}, \"")
+                .append(accounts).append("\": [\n");
+        int perAccount = Math.max(1, positions / ACCOUNTS);
+        for (int i = 0; i < positions; i++) {
+            boolean im = i % 2 == 1;
+            if (i % perAccount == 0) {
+                if (i > 0) {
+                    out.append("]},\n");
+                }
+                out.append("  {\"accountId\": \"").append(account(i / perAccount)).append("\", \"").append(positionsField)
+                        .append("\": [");
+            } else {
+                out.append(", ");
+            }
+            String amount = "{\"value\": " + amount(random, im) + ", \"currency\": \"" + currency(i) + "\"}";
+            switch (ccp) {
+                case "CME" -> out.append("{\"positionDate\": \"").append(STATEMENT_DATE).append("\", \"marginType\": \"")
+                        .append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN").append("\", \"amount\": ").append(amount)
+                        .append(", \"portfolio\": \"PF-").append(i % 7).append("\", \"assetClass\": \"CDS\"}");
+                case "ICE" -> out.append("{\"reportDate\": \"").append(STATEMENT_DATE).append("\", \"marginClass\": \"")
+                        .append(im ? "INITIAL_MARGIN" : "VARIATION_MARGIN").append("\", \"marginAmount\": ").append(amount)
+                        .append(", \"assetClass\": \"CDS\", \"product\": \"CDX.NA.IG\", \"clearingService\": \"CDS\"}");
+                default -> out.append("{\"statementDate\": \"").append(EUREX_DATE).append("\", \"marginCategory\": \"")
+                        .append(im ? "IM" : "VM").append("\", \"marginAmount\": ").append(amount)
+                        .append(", \"portfolio\": \"PF-").append(i % 7).append("\", \"productGroup\": \"CREDIT\"")
+                        .append(", \"nettingSet\": \"NS-").append(i % ACCOUNTS).append("\"}");
+            }
+        }
+        out.append("]}\n]}}\n");
+    }
+
+    private static String account(int i) {
+        return "ACC-" + (i % ACCOUNTS);
+    }
+
+    private static String currency(int i) {
+        return CURRENCIES[i % CURRENCIES.length];
+    }
+
+    // Initial margin is never negative; variation margin can go either way
+    private static String amount(Random random, boolean initialMargin) {
+        double value = random.nextGaussian() * 250_000;
+        return BigDecimal.valueOf(initialMargin ? Math.abs(value) : value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+}
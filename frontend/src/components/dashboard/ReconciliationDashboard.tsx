@@ -60,6 +60,16 @@ interface DashboardData {
   }>;
 }
 
+interface DashboardEvent<T> {
+  type: 'MARGIN_UPDATED' | 'SACCR_RECALCULATED' | 'SIMM_COMPLETED';
+  date: string;
+  occurredAt: string;
+  data: T;
+}
+
+// Margin and SA-CCR events arriving within this window share one refetch
+const REFETCH_DEBOUNCE_MS = 500;
+
 const ReconciliationDashboard: React.FC = () => {
   const [dashboardData, setDashboardData] = useState<DashboardData | null>(null);
   const [loading, setLoading] = useState(true);
@@ -68,14 +78,17 @@ const ReconciliationDashboard: React.FC = () => {
   const [selectedDate, setSelectedDate] = useState<string>(new Date().toISOString().split('T')[0]);
   const [autoRefresh, setAutoRefresh] = useState(false);
 
-  const fetchDashboardData = async (asOfDate?: string) => {
+  // version names the change being fetched, so the gateway cache serves it fresh but still
+  // shares one backend call between every dashboard reacting to the same event
+  const fetchDashboardData = async (asOfDate?: string, version?: string) => {
     try {
       setLoading(true);
       setError(null);
       
       const dateParam = asOfDate || selectedDate;
+      const versionParam = version ? `&version=${encodeURIComponent(version)}` : '';
       const response = await fetch(
-        `/api/dashboard/reconciliation?asOfDate=${dateParam}`,
+        `/api/dashboard/reconciliation?asOfDate=${dateParam}${versionParam}`,
         {
           headers: {
             'Content-Type': 'application/json',
@@ -108,18 +121,37 @@ const ReconciliationDashboard: React.FC = () => {
   }, [selectedDate]);
 
   useEffect(() => {
-    let interval: NodeJS.Timeout;
-    
-    if (autoRefresh) {
-      interval = setInterval(() => {
-        fetchDashboardData();
-      }, 30000); // Refresh every 30 seconds
+    if (!autoRefresh) {
+      return;
     }
 
-    return () => {
-      if (interval) {
-        clearInterval(interval);
+    // Margin and SA-CCR changes refetch the summary, so its totals and health score stay the server's
+    const source = new EventSource('/api/dashboard/stream');
+    let refetchTimer: ReturnType<typeof setTimeout> | undefined;
+    const scheduleRefetch = (event: DashboardEvent<unknown>) => {
+      clearTimeout(refetchTimer);
+      refetchTimer = setTimeout(() => fetchDashboardData(selectedDate, event.occurredAt), REFETCH_DEBOUNCE_MS);
+    };
+
+    source.addEventListener('MARGIN_UPDATED', (e) => {
+      scheduleRefetch(JSON.parse((e as MessageEvent).data));
+    });
+
+    source.addEventListener('SACCR_RECALCULATED', (e) => {
+      const event: DashboardEvent<unknown> = JSON.parse((e as MessageEvent).data);
+      if (event.date === selectedDate) {
+        scheduleRefetch(event);
       }
+    });
+
+    source.addEventListener('SIMM_COMPLETED', (e) => {
+      const event: DashboardEvent<NonNullable<DashboardData['simmCalculations']>> = JSON.parse((e as MessageEvent).data);
+      setDashboardData((prev) => (prev ? { ...prev, simmCalculations: event.data, generatedAt: event.occurredAt } : prev));
+    });
+
+    return () => {
+      clearTimeout(refetchTimer);
+      source.close();
     };
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [autoRefresh, selectedDate]);
@@ -212,7 +244,7 @@ const ReconciliationDashboard: React.FC = () => {
 
               {/* Auto Refresh Toggle */}
               <div className="flex items-center space-x-2">
-                <label className="text-sm text-fd-text-muted">Auto-refresh:</label>
+                <label className="text-sm text-fd-text-muted">Live updates:</label>
                 <button
                   onClick={() => setAutoRefresh(!autoRefresh)}
                   className={`w-10 h-6 rounded-full transition-colors ${
@@ -419,7 +451,7 @@ const ReconciliationDashboard: React.FC = () => {
         {/* Footer */}
         <div className="mt-8 text-center text-sm text-fd-text-muted">
           Last updated: {dashboardData ? formatDateTime(dashboardData.generatedAt) : 'Never'}
-          {autoRefresh && <span className="ml-2">• Auto-refreshing every 30 seconds</span>}
+          {autoRefresh && <span className="ml-2">• Live updates on</span>}
         </div>
       </div>
     </div>
@@ -0,0 +1,292 @@
+package com.vibe.gateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight and short-lived response cache for idempotent GETs.
+ *
+ * Concurrent identical requests share one backend call: the first one is forwarded and the rest
+ * wait for its response. Successful responses are then served from memory for the configured TTL
+ * with an ETag, and requests whose If-None-Match matches get a 304 without a body.
+ * Event streams, non-200 responses and responses that set cookies or forbid caching pass through.
+ * CORS and Vary headers are not cached, so every request keeps the ones globalcors wrote for its origin.
+ */
+@Component
+@Slf4j
+public class CoalescingCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Gateway-Cache";
+
+    // Not replayed from the cache; Content-Length is recomputed from the stored body
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(), HttpHeaders.DATE.toLowerCase(), CACHE_STATUS_HEADER.toLowerCase());
+
+    public CoalescingCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Runs ahead of NettyWriteResponseFilter so the response it writes goes through our decorator
+        return new OrderedGatewayFilter(new CoalescingCacheFilter(config),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(5);
+        private int maxEntries = 10_000;
+        private int maxBodyBytes = 2 * 1024 * 1024;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+
+    record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long expiresAtNanos) {
+
+        boolean isFresh() {
+            return System.nanoTime() < expiresAtNanos;
+        }
+    }
+
+    static class CoalescingCacheFilter implements GatewayFilter {
+
+        private final Config config;
+        private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+        private final Map<String, Sinks.One<Optional<CachedResponse>>> inFlight = new ConcurrentHashMap<>();
+
+        CoalescingCacheFilter(Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || acceptsEventStream(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(request);
+            CachedResponse cached = cache.get(key);
+            if (cached != null && cached.isFresh()) {
+                return write(exchange, cached, "HIT");
+            }
+
+            Sinks.One<Optional<CachedResponse>> flight = Sinks.one();
+            Sinks.One<Optional<CachedResponse>> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                // Another request for the same resource is already on its way to the backend
+                return leader.asMono().flatMap(response -> response
+                        .map(shared -> write(exchange, shared, "COALESCED"))
+                        .orElseGet(() -> chain.filter(exchange)));
+            }
+
+            // The previous leader may have filled the cache between our lookup and putIfAbsent
+            CachedResponse filled = cache.get(key);
+            if (filled != null && filled.isFresh()) {
+                release(key, flight, Optional.of(filled));
+                return write(exchange, filled, "HIT");
+            }
+
+            // The backend always sees an unconditional request, so the shared response has a body
+            ServerWebExchange forwarded = exchange.mutate()
+                    .request(request.mutate().headers(headers -> {
+                        headers.remove(HttpHeaders.IF_NONE_MATCH);
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    }).build())
+                    .response(new CapturingResponse(exchange, key, flight))
+                    .build();
+            return chain.filter(forwarded)
+                    .doFinally(signal -> release(key, flight, Optional.empty()));
+        }
+
+        private void release(String key, Sinks.One<Optional<CachedResponse>> flight, Optional<CachedResponse> response) {
+            inFlight.remove(key, flight);
+            flight.tryEmitValue(response);
+        }
+
+        private void store(String key, CachedResponse response) {
+            if (cache.size() >= config.getMaxEntries()) {
+                cache.values().removeIf(entry -> !entry.isFresh());
+            }
+            if (cache.size() < config.getMaxEntries()) {
+                cache.put(key, response);
+            }
+        }
+
+        /**
+         * Decorates the leader's response: buffers the body, shares it with waiting requests and
+         * caches it, then answers the leader itself (304 when its If-None-Match already matches)
+         */
+        private class CapturingResponse extends ServerHttpResponseDecorator {
+
+            private final ServerWebExchange exchange;
+            private final String key;
+            private final Sinks.One<Optional<CachedResponse>> flight;
+
+            CapturingResponse(ServerWebExchange exchange, String key, Sinks.One<Optional<CachedResponse>> flight) {
+                super(exchange.getResponse());
+                this.exchange = exchange;
+                this.key = key;
+                this.flight = flight;
+            }
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable()) {
+                    release(key, flight, Optional.empty());
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body)
+                        .map(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            if (bytes.length > config.getMaxBodyBytes()) {
+                                log.debug("Response for {} is {} bytes, not cached", key, bytes.length);
+                                release(key, flight, Optional.empty());
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            }
+                            CachedResponse response = toCachedResponse(bytes);
+                            store(key, response);
+                            release(key, flight, Optional.of(response));
+                            return write(exchange, response, "MISS");
+                        });
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                // Streaming responses are never shared
+                release(key, flight, Optional.empty());
+                return super.writeAndFlushWith(body);
+            }
+
+            private boolean isCacheable() {
+                HttpHeaders headers = getHeaders();
+                String cacheControl = headers.getCacheControl();
+                return HttpStatus.OK.equals(getStatusCode())
+                        && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                        && !MediaType.TEXT_EVENT_STREAM.isCompatibleWith(headers.getContentType())
+                        && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+            }
+
+            private CachedResponse toCachedResponse(byte[] body) {
+                HttpHeaders headers = new HttpHeaders();
+                getHeaders().forEach((name, values) -> {
+                    if (!UNCACHED_HEADERS.contains(name.toLowerCase()) && !isPerRequestHeader(name)) {
+                        headers.put(name, List.copyOf(values));
+                    }
+                });
+                String etag = headers.getETag() != null ? headers.getETag() : "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+                headers.setETag(etag);
+                if (headers.getCacheControl() == null) {
+                    // Browsers may keep the body but must revalidate, which the ETag makes cheap
+                    headers.setCacheControl("no-cache");
+                }
+                return new CachedResponse(getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+                        System.nanoTime() + config.getTtl().toNanos());
+            }
+        }
+    }
+
+    static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> headers.put(name, values));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (etagMatches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String strong = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(strong)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Written by globalcors for the requesting origin, not by the backend
+    private static boolean isPerRequestHeader(String name) {
+        String header = name.toLowerCase();
+        return header.startsWith("access-control-") || header.equals(HttpHeaders.VARY.toLowerCase());
+    }
+
+    private static boolean acceptsEventStream(ServerHttpRequest request) {
+        return request.getHeaders().getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        return request.getURI().getRawPath() + "?" + request.getURI().getRawQuery()
+                + "|" + request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.vibe.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class CoalescingCacheGatewayFilterFactoryTest {
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    private final GatewayFilterChain backend = exchange -> Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+        backendCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap("{\"pv\":1}".getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }));
+
+    private final GatewayFilter filter = new CoalescingCacheGatewayFilterFactory()
+            .apply(new CoalescingCacheGatewayFilterFactory.Config());
+
+    @Test
+    public void testConcurrentRequestsShareOneBackendCall() {
+        MockServerWebExchange first = get("/api/cds-portfolios/1/risk-summary");
+        MockServerWebExchange second = get("/api/cds-portfolios/1/risk-summary");
+
+        Mono.when(filter.filter(first, backend), filter.filter(second, backend)).block(Duration.ofSeconds(5));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("COALESCED", second.getResponse().getHeaders().getFirst(CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("{\"pv\":1}", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void testCachedResponseRevalidatesWithETag() {
+        MockServerWebExchange first = get("/api/dashboard/summary");
+        filter.filter(first, backend).block(Duration.ofSeconds(5));
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/dashboard/summary").header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(conditional, backend).block(Duration.ofSeconds(5));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals("HIT", conditional.getResponse().getHeaders().getFirst(CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    public void testEventStreamBypassesCache() {
+        filter.filter(get("/api/dashboard/stream"), backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange stream = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/dashboard/stream").accept(MediaType.TEXT_EVENT_STREAM));
+        filter.filter(stream, backend).block(Duration.ofSeconds(5));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    public void testCachedResponseKeepsEachOriginsCorsHeaders() {
+        MockServerWebExchange first = fromOrigin("/api/dashboard", "http://localhost:3000");
+        filter.filter(first, backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange second = fromOrigin("/api/dashboard", "https://fund-smith.onrender.com");
+        filter.filter(second, backend).block(Duration.ofSeconds(5));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("https://fund-smith.onrender.com", second.getResponse().getHeaders().getAccessControlAllowOrigin());
+        assertEquals(List.of(HttpHeaders.ORIGIN), second.getResponse().getHeaders().getVary());
+    }
+
+    // As globalcors does ahead of the route filters
+    private static MockServerWebExchange fromOrigin(String path, String origin) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).header(HttpHeaders.ORIGIN, origin));
+        exchange.getResponse().getHeaders().setAccessControlAllowOrigin(origin);
+        exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+        return exchange;
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
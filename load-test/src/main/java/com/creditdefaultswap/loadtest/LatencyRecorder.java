@@ -0,0 +1,49 @@
+package com.creditdefaultswap.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latencies for one scenario; percentiles are taken from the sorted samples at the
+ * end of the run rather than from a histogram
+ */
+final class LatencyRecorder {
+
+    record Summary(String scenario, int requests, int errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    private final String scenario;
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    synchronized void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(scenario, count, errors, count / elapsedSeconds,
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+            count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,121 @@
+package com.creditdefaultswap.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point: "seed" creates synthetic trades and portfolios, "run" drives the mixed workload
+ * against them and prints per-scenario latency percentiles and throughput.
+ */
+public final class LoadTest {
+
+    private static final String USAGE = """
+        Usage: java -jar target/load-test.jar seed [options]
+               java -jar target/load-test.jar run [options]
+
+        Common:  --base-url=http://localhost:8081  gateway URL (routes /api/risk to the risk engine)
+                 --seed-file=seed.json             ids written by seed and read by run
+                 --timeout=120                     per-request timeout in seconds
+        seed:    --trades=500 --portfolios=20 --concurrency=16 --seed=42
+        run:     --users=16 --warmup=15 --duration=120
+                 --mix=pricing:4,stress:1,simm:2,statement:2
+                 --report=results/run.json         also write the summary as JSON
+        """;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.err.print(USAGE);
+            System.exit(2);
+        }
+        Map<String, String> options = parseOptions(args);
+        ApiClient api = new ApiClient(options.getOrDefault("base-url", "http://localhost:8081"),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120"))));
+        Path seedFile = Path.of(options.getOrDefault("seed-file", "seed.json"));
+
+        if (args[0].equals("seed")) {
+            Seeder.SeedData seed = new Seeder(api, Integer.parseInt(options.getOrDefault("concurrency", "16")))
+                .seed(Integer.parseInt(options.getOrDefault("trades", "500")),
+                      Integer.parseInt(options.getOrDefault("portfolios", "20")),
+                      Long.parseLong(options.getOrDefault("seed", "42")));
+            seed.write(seedFile);
+            System.out.println("Seed ids written to " + seedFile);
+            return;
+        }
+
+        Seeder.SeedData seed = Seeder.SeedData.read(seedFile);
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "pricing:4,stress:1,simm:2,statement:2"));
+        int users = Integer.parseInt(options.getOrDefault("users", "16"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120")));
+
+        System.out.printf("Running %s with %d users for %ds after a %ds warm-up%n",
+            mix, users, duration.toSeconds(), warmup.toSeconds());
+        List<LatencyRecorder.Summary> summaries = new Workload(api, seed, mix, users).run(warmup, duration);
+        print(summaries);
+
+        if (options.containsKey("report")) {
+            Path report = Path.of(options.get("report"));
+            if (report.getParent() != null) {
+                report.getParent().toFile().mkdirs();
+            }
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("users", users);
+            json.put("durationSeconds", duration.toSeconds());
+            json.put("mix", mix);
+            json.put("scenarios", summaries);
+            ApiClient.JSON.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), json);
+            System.out.println("Report written to " + report);
+        }
+    }
+
+    private static void print(List<LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%-10s %9s %7s %9s %10s %10s %10s %10s%n",
+            "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        int requests = 0;
+        int errors = 0;
+        double throughput = 0;
+        for (LatencyRecorder.Summary s : summaries) {
+            System.out.printf("%-10s %9d %7d %9.2f %10.1f %10.1f %10.1f %10.1f%n",
+                s.scenario(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs());
+            requests += s.requests();
+            errors += s.errors();
+            throughput += s.throughput();
+        }
+        System.out.printf("%-10s %9d %7d %9.2f%n", "total", requests, errors, throughput);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg + "\n" + USAGE);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (!Workload.SCENARIOS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown scenario " + parts[0] + ", expected one of " + Workload.SCENARIOS.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weights.put(parts[0], weight);
+            }
+        }
+        return weights;
+    }
+}
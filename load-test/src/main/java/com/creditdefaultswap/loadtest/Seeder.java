@@ -0,0 +1,101 @@
+package com.creditdefaultswap.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Seeds the database through the public API: creates synthetic trades, spreads them round-robin
+ * over a set of portfolios and records the resulting ids for the workload
+ */
+final class Seeder {
+
+    /**
+     * Ids created by a seed run, persisted to a JSON file between the seed and run commands
+     */
+    record SeedData(List<Long> tradeIds, List<Long> portfolioIds, List<String> nettingSetIds) {
+
+        void write(Path file) throws IOException {
+            ApiClient.JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        }
+
+        static SeedData read(Path file) throws IOException {
+            return ApiClient.JSON.readValue(file.toFile(), SeedData.class);
+        }
+    }
+
+    private final ApiClient api;
+    private final int concurrency;
+
+    Seeder(ApiClient api, int concurrency) {
+        this.api = api;
+        this.concurrency = concurrency;
+    }
+
+    SeedData seed(int tradeCount, int portfolioCount, long randomSeed) throws Exception {
+        TradeGenerator generator = new TradeGenerator(randomSeed, LocalDate.now());
+        List<Map<String, Object>> trades = new ArrayList<>(tradeCount);
+        for (int i = 0; i < tradeCount; i++) {
+            trades.add(generator.next());
+        }
+
+        long started = System.nanoTime();
+        List<Long> tradeIds = new ArrayList<>(tradeCount);
+        Set<String> nettingSetIds = new TreeSet<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(concurrency);
+            List<Future<JsonNode>> created = new ArrayList<>(tradeCount);
+            for (Map<String, Object> trade : trades) {
+                created.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return api.create("/api/cds-trades", trade);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<JsonNode> trade : created) {
+                tradeIds.add(trade.get().get("id").asLong());
+                // SIMM from trades treats its portfolio ID as a netting set prefix
+                String nettingSetId = trade.get().path("nettingSetId").asText("");
+                if (!nettingSetId.isEmpty()) {
+                    nettingSetIds.add(nettingSetId);
+                }
+            }
+        }
+        System.out.printf("Created %d trades in %.1fs%n", tradeIds.size(), (System.nanoTime() - started) / 1e9);
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Long> portfolioIds = new ArrayList<>(portfolioCount);
+        for (int p = 0; p < portfolioCount; p++) {
+            long portfolioId = api.create("/api/cds-portfolios", Map.of(
+                "name", "LOADTEST-" + runId + "-" + p,
+                "description", "Synthetic load test portfolio")).get("id").asLong();
+
+            List<Map<String, Object>> constituents = new ArrayList<>();
+            for (int t = p; t < tradeIds.size(); t += portfolioCount) {
+                constituents.add(Map.of(
+                    "tradeId", tradeIds.get(t),
+                    "weightType", "NOTIONAL",
+                    "weightValue", trades.get(t).get("notionalAmount")));
+            }
+            api.create("/api/cds-portfolios/" + portfolioId + "/constituents", Map.of("trades", constituents));
+            portfolioIds.add(portfolioId);
+        }
+        System.out.printf("Created %d portfolios of ~%d trades%n", portfolioIds.size(), tradeCount / Math.max(1, portfolioCount));
+
+        return new SeedData(tradeIds, portfolioIds, List.copyOf(nettingSetIds));
+    }
+}
@@ -0,0 +1,75 @@
+package com.creditdefaultswap.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded random CDS trades in the shape POST /api/cds-trades accepts, using the same reference
+ * data choices as the frontend's random trade generator
+ */
+final class TradeGenerator {
+
+    private static final String[] REFERENCE_ENTITIES = {
+        "TESLA", "FORD", "APPLE", "MICROSOFT", "AMAZON", "GM", "IBM", "ORACLE", "NETFLIX", "BOEING"
+    };
+    private static final String[] COUNTERPARTIES = {"JPMORGAN", "GOLDMAN", "MORGAN_STANLEY", "CITIBANK", "BARCLAYS"};
+    private static final String[] FREQUENCIES = {"QUARTERLY", "QUARTERLY", "QUARTERLY", "SEMI_ANNUAL", "ANNUAL"};
+    private static final String[] DAY_COUNTS = {"ACT_360", "ACT_365"};
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "EUR", "GBP"};
+    private static final String[] RESTRUCTURING = {"NO_RESTRUCTURING", "MODIFIED_RESTRUCTURING", "FULL_RESTRUCTURING"};
+    private static final int[] TENORS_YEARS = {1, 3, 5, 5, 5, 7, 10};
+
+    private final Random random;
+    private final LocalDate today;
+
+    TradeGenerator(long seed, LocalDate today) {
+        this.random = new Random(seed);
+        this.today = today;
+    }
+
+    Map<String, Object> next() {
+        // Trades started up to two years ago and roll to the next IMM date after their tenor
+        LocalDate tradeDate = today.minusDays(random.nextInt(730));
+        LocalDate maturity = nextImmDate(tradeDate.plusYears(TENORS_YEARS[random.nextInt(TENORS_YEARS.length)]));
+        String currency = pick(CURRENCIES);
+
+        Map<String, Object> trade = new LinkedHashMap<>();
+        trade.put("referenceEntity", pick(REFERENCE_ENTITIES));
+        trade.put("counterparty", pick(COUNTERPARTIES));
+        trade.put("notionalAmount", BigDecimal.valueOf((1 + random.nextInt(50)) * 1_000_000L));
+        trade.put("currency", currency);
+        trade.put("spread", BigDecimal.valueOf(random.nextBoolean() ? 100 : 500));
+        trade.put("tradeDate", tradeDate);
+        trade.put("effectiveDate", tradeDate.plusDays(1));
+        trade.put("accrualStartDate", tradeDate.plusDays(1));
+        trade.put("maturityDate", maturity);
+        trade.put("premiumFrequency", pick(FREQUENCIES));
+        trade.put("dayCountConvention", pick(DAY_COUNTS));
+        trade.put("buySellProtection", random.nextBoolean() ? "BUY" : "SELL");
+        trade.put("tradeStatus", "ACTIVE");
+        trade.put("paymentCalendar", switch (currency) {
+            case "EUR" -> "TARGET";
+            case "GBP" -> "LON";
+            default -> "NYC";
+        });
+        trade.put("restructuringClause", pick(RESTRUCTURING));
+        trade.put("recoveryRate", BigDecimal.valueOf(random.nextInt(4) == 0 ? 25 : 40));
+        trade.put("settlementType", "CASH");
+        return trade;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static LocalDate nextImmDate(LocalDate date) {
+        LocalDate candidate = date.withDayOfMonth(20);
+        while (candidate.getMonthValue() % 3 != 0 || candidate.isBefore(date)) {
+            candidate = candidate.plusMonths(1).withDayOfMonth(20);
+        }
+        return candidate;
+    }
+}
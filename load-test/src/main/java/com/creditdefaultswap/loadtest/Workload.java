@@ -0,0 +1,143 @@
+package com.creditdefaultswap.loadtest;
+
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-model workload: a fixed number of virtual users each loop until the deadline, picking
+ * the next scenario by weight. Requests issued during the warm-up are not recorded.
+ */
+final class Workload {
+
+    /**
+     * One request against the platform, given the seeded ids
+     */
+    interface Scenario {
+        HttpResponse<String> execute(ApiClient api, Seeder.SeedData seed, ThreadLocalRandom random) throws Exception;
+    }
+
+    static final Map<String, Scenario> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("pricing", (api, seed, random) ->
+            api.post("/api/cds-portfolios/" + pick(seed.portfolioIds(), random) + "/price?valuationDate=" + LocalDate.now()));
+        SCENARIOS.put("stress", (api, seed, random) ->
+            api.postJson("/api/risk/stress/analyze", Map.of(
+                "tradeId", pick(seed.tradeIds(), random),
+                "spreadShifts", List.of(50, 100),
+                "recoveryRates", List.of(20),
+                "valuationDate", LocalDate.now())));
+        SCENARIOS.put("simm", (api, seed, random) ->
+            api.post("/api/simm/calculate/from-trades?portfolioId=" + pick(seed.nettingSetIds(), random)
+                + "&valuationDate=" + LocalDate.now()));
+        SCENARIOS.put("statement", (api, seed, random) -> {
+            String statementId = "LOADTEST-" + UUID.randomUUID();
+            return api.postMultipart("/api/margin-statements/upload", Map.of(
+                    "statementId", statementId,
+                    "ccpName", "LCH",
+                    "memberFirm", "MEMBER01",
+                    "accountNumber", "ACC-" + random.nextInt(50),
+                    "statementDate", LocalDate.now().toString(),
+                    "currency", "USD",
+                    "format", "CSV"),
+                statementId + ".csv", lchStatement(random, 500));
+        });
+    }
+
+    private final ApiClient api;
+    private final Seeder.SeedData seed;
+    private final Map<String, Integer> mix;
+    private final int users;
+
+    Workload(ApiClient api, Seeder.SeedData seed, Map<String, Integer> mix, int users) {
+        this.api = api;
+        this.seed = seed;
+        this.mix = mix;
+        this.users = users;
+    }
+
+    List<LatencyRecorder.Summary> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        mix.keySet().forEach(name -> recorders.put(name, new LatencyRecorder(name)));
+        List<String> weighted = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(name);
+            }
+        });
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String name = weighted.get(random.nextInt(weighted.size()));
+                        long started = System.nanoTime();
+                        boolean success;
+                        try {
+                            HttpResponse<String> response = SCENARIOS.get(name).execute(api, seed, random);
+                            success = response.statusCode() / 100 == 2;
+                            if (!success && random.nextInt(20) == 0) {
+                                System.err.printf("%s -> %d %s%n", name, response.statusCode(), abbreviate(response.body()));
+                            }
+                        } catch (Exception e) {
+                            success = false;
+                            System.err.printf("%s -> %s%n", name, e);
+                        }
+                        long finished = System.nanoTime();
+                        if (started >= measureFrom && finished <= deadline) {
+                            recorders.get(name).record(finished - started, success);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        recorders.values().forEach(recorder -> summaries.add(recorder.summarize(seconds)));
+        return summaries;
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        if (values.isEmpty()) {
+            throw new IllegalStateException("Seed file has no ids for this scenario");
+        }
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 200 ? body.substring(0, 200) + "..." : body;
+    }
+
+    /**
+     * LCH CSV layout, as in sample_data/lch_margin_statement_sample.csv
+     */
+    static byte[] lchStatement(ThreadLocalRandom random, int positions) {
+        StringBuilder csv = new StringBuilder("Account,Date,Position Type,Amount,Currency,Portfolio,Product Class\n");
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < positions; i++) {
+            boolean initialMargin = i % 2 == 1;
+            double amount = random.nextGaussian() * 250_000;
+            csv.append("ACC-").append(i % 50).append(',').append(today).append(',')
+                .append(initialMargin ? "IM" : "VM").append(',')
+                .append(String.format(Locale.ROOT, "%.2f", initialMargin ? Math.abs(amount) : amount))
+                .append(",USD,PF-").append(i % 7).append(",CDS\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
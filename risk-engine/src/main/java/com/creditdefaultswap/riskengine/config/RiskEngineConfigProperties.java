@@ -8,11 +8,16 @@ import org.springframework.stereotype.Component;
 public class RiskEngineConfigProperties {
     
     private final Ore ore = new Ore();
+    private final MarketData marketData = new MarketData();
     
     public Ore getOre() {
         return ore;
     }
     
+    public MarketData getMarketData() {
+        return marketData;
+    }
+    
     public static class Ore {
         private String binaryPath = "/app/ore/bin/ore";
         private String configPath = "/app/ore/config/ore.xml";
@@ -22,6 +27,7 @@ public class RiskEngineConfigProperties {
         private int restartDelaySeconds = 5;
         private int maxRestarts = 3;
         private boolean debug = false;
+        private final Stub stub = new Stub();
         
         public String getBinaryPath() {
             return binaryPath;
@@ -86,5 +92,57 @@ public class RiskEngineConfigProperties {
         public void setDebug(boolean debug) {
             this.debug = debug;
         }
+
+        public Stub getStub() {
+            return stub;
+        }
+    }
+    
+    /**
+     * Stand-in for the ORE binary, used for load testing where no ORE install is available
+     */
+    public static class Stub {
+        private boolean enabled = false;
+        private long latencyMs = 250;
+        private long latencyJitterMs = 100;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+        
+        public void setLatencyMs(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+        
+        public long getLatencyJitterMs() {
+            return latencyJitterMs;
+        }
+        
+        public void setLatencyJitterMs(long latencyJitterMs) {
+            this.latencyJitterMs = latencyJitterMs;
+        }
+    }
+    
+    /**
+     * Market data snapshots kept in memory for results to reference by ID
+     */
+    public static class MarketData {
+        private int snapshotCacheSize = 64;
+        
+        public int getSnapshotCacheSize() {
+            return snapshotCacheSize;
+        }
+        
+        public void setSnapshotCacheSize(int snapshotCacheSize) {
+            this.snapshotCacheSize = snapshotCacheSize;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package com.creditdefaultswap.riskengine.controller;
 
+import com.creditdefaultswap.riskengine.model.MarketDataSnapshot;
+import com.creditdefaultswap.riskengine.model.PortfolioStressResult;
 import com.creditdefaultswap.riskengine.model.RiskMeasures;
 import com.creditdefaultswap.riskengine.model.ScenarioRequest;
 import com.creditdefaultswap.riskengine.model.StressScenarioRequest;
 import com.creditdefaultswap.riskengine.model.StressImpactResult;
+import com.creditdefaultswap.riskengine.service.MarketDataSnapshotService;
 import com.creditdefaultswap.riskengine.service.RiskCalculationService;
 import com.creditdefaultswap.riskengine.service.RiskEnrichmentClient;
 import com.creditdefaultswap.riskengine.service.StressTestService;
@@ -26,12 +29,15 @@ public class RiskController {
     private final RiskCalculationService calcService;
     private final RiskEnrichmentClient enrichmentClient;
     private final StressTestService stressTestService;
+    private final MarketDataSnapshotService snapshotService;
 
     @Autowired
-    public RiskController(RiskCalculationService calcService, RiskEnrichmentClient enrichmentClient, StressTestService stressTestService) {
+    public RiskController(RiskCalculationService calcService, RiskEnrichmentClient enrichmentClient,
+                          StressTestService stressTestService, MarketDataSnapshotService snapshotService) {
         this.calcService = calcService;
         this.enrichmentClient = enrichmentClient;
         this.stressTestService = stressTestService;
+        this.snapshotService = snapshotService;
     }
 
     /**
@@ -101,6 +107,51 @@ public class RiskController {
             });
     }
     
+    /**
+     * Portfolio stress test analysis - prices all trades together, one ORE run per scenario
+     */
+    @PostMapping("/stress/analyze-portfolio")
+    public CompletableFuture<ResponseEntity<PortfolioStressResult>> analyzePortfolioStress(
+            @RequestBody StressScenarioRequest request) {
+        
+        boolean hasTrades = request.getTradeIds() != null && !request.getTradeIds().isEmpty();
+        if (!hasTrades && request.getPortfolioId() == null) {
+            logger.warn("Portfolio stress test request without trade IDs or portfolio ID");
+            return CompletableFuture.completedFuture(ResponseEntity.<PortfolioStressResult>badRequest().build());
+        }
+        
+        logger.info("Portfolio stress test request: trades={}, portfolio={}", 
+            request.getTradeIds(), request.getPortfolioId());
+        
+        long startTime = System.currentTimeMillis();
+        
+        return stressTestService.runPortfolioStressAnalysis(request)
+            .handle((result, throwable) -> {
+                long totalTime = System.currentTimeMillis() - startTime;
+                
+                if (throwable != null) {
+                    logger.error("Portfolio stress test FAILED for trades {} / portfolio {} after {} ms", 
+                        request.getTradeIds(), request.getPortfolioId(), totalTime, throwable);
+                    return ResponseEntity.<PortfolioStressResult>internalServerError().build();
+                }
+                
+                logger.info("Portfolio stress test COMPLETED: trades={}, oreRuns={}, time={}ms", 
+                    result.getTrades().size(), result.getOreRunCount(), totalTime);
+                
+                return ResponseEntity.ok(result);
+            });
+    }
+    
+    /**
+     * Market data snapshot referenced by risk results; 404 once evicted from the snapshot cache
+     */
+    @GetMapping("/market-data/snapshots/{snapshotId}")
+    public ResponseEntity<MarketDataSnapshot> getMarketDataSnapshot(@PathVariable String snapshotId) {
+        return snapshotService.getSnapshot(snapshotId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getEngineStatus() {
         logger.debug("Getting risk engine status");
@@ -9,6 +9,8 @@ import java.util.Map;
  * This allows audit trail and transparency into what inputs were used for pricing.
  */
 public class MarketDataSnapshot {
+    // Identifies the snapshot by valuation date and input file contents; identical inputs share one ID
+    private String snapshotId;
     private LocalDate valuationDate;
     private String baseCurrency;
     
@@ -114,6 +116,9 @@ public class MarketDataSnapshot {
     public MarketDataSnapshot() {}
     
     // Getters and setters
+    public String getSnapshotId() { return snapshotId; }
+    public void setSnapshotId(String snapshotId) { this.snapshotId = snapshotId; }
+    
     public LocalDate getValuationDate() { return valuationDate; }
     public void setValuationDate(LocalDate valuationDate) { this.valuationDate = valuationDate; }
     
@@ -0,0 +1,67 @@
+package com.creditdefaultswap.riskengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result model for stress analysis of several trades priced together in one ORE portfolio
+ */
+public class PortfolioStressResult {
+    
+    /**
+     * CDS portfolio analyzed, if the request named one
+     */
+    private Long portfolioId;
+    
+    /**
+     * Number of ORE runs used: the shared base case plus one per scenario
+     */
+    private int oreRunCount;
+    
+    /**
+     * Per-trade results, in request order
+     */
+    private List<StressImpactResult> trades;
+    
+    /**
+     * Sum over all trades (no trade ID); null when the trades are in different currencies
+     */
+    private StressImpactResult aggregate;
+    
+    public PortfolioStressResult() {
+        this.trades = new ArrayList<>();
+    }
+    
+    // Getters and setters
+    public Long getPortfolioId() {
+        return portfolioId;
+    }
+    
+    public void setPortfolioId(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+    
+    public int getOreRunCount() {
+        return oreRunCount;
+    }
+    
+    public void setOreRunCount(int oreRunCount) {
+        this.oreRunCount = oreRunCount;
+    }
+    
+    public List<StressImpactResult> getTrades() {
+        return trades;
+    }
+    
+    public void setTrades(List<StressImpactResult> trades) {
+        this.trades = trades;
+    }
+    
+    public StressImpactResult getAggregate() {
+        return aggregate;
+    }
+    
+    public void setAggregate(StressImpactResult aggregate) {
+        this.aggregate = aggregate;
+    }
+}
@@ -37,7 +37,8 @@ public class RiskMeasures {
     // Cashflow schedule
     private List<Cashflow> cashflows; // Complete cashflow schedule
     
-    // Market data snapshot used for this calculation
+    // Market data snapshot used for this calculation; multi-trade runs carry only its ID
+    private String marketDataSnapshotId;
     private MarketDataSnapshot marketDataSnapshot;
     
     // DEPRECATED - These are fake estimates, kept for backwards compatibility but will be removed
@@ -123,6 +124,9 @@ public class RiskMeasures {
     public List<Cashflow> getCashflows() { return cashflows; }
     public void setCashflows(List<Cashflow> cashflows) { this.cashflows = cashflows; }
     
+    public String getMarketDataSnapshotId() { return marketDataSnapshotId; }
+    public void setMarketDataSnapshotId(String marketDataSnapshotId) { this.marketDataSnapshotId = marketDataSnapshotId; }
+    
     public MarketDataSnapshot getMarketDataSnapshot() { return marketDataSnapshot; }
     public void setMarketDataSnapshot(MarketDataSnapshot marketDataSnapshot) { this.marketDataSnapshot = marketDataSnapshot; }
     
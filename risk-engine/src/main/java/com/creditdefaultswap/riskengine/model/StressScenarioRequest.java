@@ -14,6 +14,16 @@ public class StressScenarioRequest {
      */
     private Long tradeId;
     
+    /**
+     * Trade IDs to analyze together as one portfolio
+     */
+    private List<Long> tradeIds;
+    
+    /**
+     * CDS portfolio whose active constituents are analyzed, when no trade IDs are given
+     */
+    private Long portfolioId;
+    
     /**
      * List of recovery rates to stress test (in percentage, e.g., 40 for 40%)
      */
@@ -49,6 +59,22 @@ public class StressScenarioRequest {
         this.tradeId = tradeId;
     }
     
+    public List<Long> getTradeIds() {
+        return tradeIds;
+    }
+    
+    public void setTradeIds(List<Long> tradeIds) {
+        this.tradeIds = tradeIds;
+    }
+    
+    public Long getPortfolioId() {
+        return portfolioId;
+    }
+    
+    public void setPortfolioId(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+    
     public List<BigDecimal> getRecoveryRates() {
         return recoveryRates;
     }
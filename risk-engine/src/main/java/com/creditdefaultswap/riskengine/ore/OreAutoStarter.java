@@ -27,6 +27,12 @@ public class OreAutoStarter {
 
     @EventListener(ApplicationReadyEvent.class)
     public void onReady() {
+        if (config.getOre().getStub().isEnabled()) {
+            logger.warn("ORE stub enabled - risk calculations return synthetic results after {}ms (+ up to {}ms jitter)",
+                config.getOre().getStub().getLatencyMs(), config.getOre().getStub().getLatencyJitterMs());
+            return;
+        }
+        
         logger.info("Risk implementation=ORE -> validating ORE setup for batch calculations");
         
         boolean binaryExists = Files.exists(Paths.get(config.getOre().getBinaryPath()));
@@ -40,10 +40,13 @@ public class OreCurveConfigGenerator {
         }
         xml.append("  </YieldCurves>\n");
         
-        // Default curves
+        // Default curves, one per reference entity even when several trades share it
         xml.append("  <DefaultCurves>\n");
+        Set<String> configuredEntities = new java.util.HashSet<>();
         for (OrePortfolioGenerator.CDSTradeData trade : trades) {
-            generateDefaultCurve(xml, trade.getReferenceEntity(), trade.getCurrency());
+            if (configuredEntities.add(trade.getReferenceEntity())) {
+                generateDefaultCurve(xml, trade.getReferenceEntity(), trade.getCurrency());
+            }
         }
         xml.append("  </DefaultCurves>\n");
         
@@ -1,5 +1,6 @@
 package com.creditdefaultswap.riskengine.ore;
 
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
 import com.creditdefaultswap.riskengine.model.ScenarioRequest;
 import com.creditdefaultswap.riskengine.service.TradeDataService;
 import org.slf4j.Logger;
@@ -30,18 +31,21 @@ public class OreInputBuilder {
     private final OreTodaysMarketGenerator todaysMarketGenerator;
     private final OreCurveConfigGenerator curveConfigGenerator;
     private final TradeDataService tradeDataService;
+    private final RiskEngineConfigProperties config;
     
     @Autowired
     public OreInputBuilder(OrePortfolioGenerator portfolioGenerator, 
                           OreMarketDataGenerator marketDataGenerator,
                           OreTodaysMarketGenerator todaysMarketGenerator,
                           OreCurveConfigGenerator curveConfigGenerator,
-                          TradeDataService tradeDataService) {
+                          TradeDataService tradeDataService,
+                          RiskEngineConfigProperties config) {
         this.portfolioGenerator = portfolioGenerator;
         this.marketDataGenerator = marketDataGenerator;
         this.todaysMarketGenerator = todaysMarketGenerator;
         this.curveConfigGenerator = curveConfigGenerator;
         this.tradeDataService = tradeDataService;
+        this.config = config;
     }
     
     /**
@@ -112,7 +116,8 @@ public class OreInputBuilder {
      * Copies static configuration files (conventions and pricingengine)
      */
     private void copyConventionsFile(Path inputDir) throws Exception {
-        Path configDir = Paths.get("/app/ore/config");
+        // Static files live next to the configured ore.xml (/app/ore/config in the image)
+        Path configDir = Paths.get(config.getOre().getConfigPath()).toAbsolutePath().getParent();
         Files.copy(configDir.resolve("Conventions.xml"), inputDir.resolve("Conventions.xml"), StandardCopyOption.REPLACE_EXISTING);
         logger.info("Copied Conventions.xml");
         
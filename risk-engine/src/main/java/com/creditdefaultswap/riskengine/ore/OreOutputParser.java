@@ -3,6 +3,7 @@ package com.creditdefaultswap.riskengine.ore;
 import com.creditdefaultswap.riskengine.model.Cashflow;
 import com.creditdefaultswap.riskengine.model.MarketDataSnapshot;
 import com.creditdefaultswap.riskengine.model.RiskMeasures;
+import com.creditdefaultswap.riskengine.service.MarketDataSnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,11 +28,11 @@ import java.util.stream.Collectors;
 public class OreOutputParser {
     
     private static final Logger logger = LoggerFactory.getLogger(OreOutputParser.class);
-    private final MarketDataSnapshotBuilder marketDataSnapshotBuilder;
+    private final MarketDataSnapshotService marketDataSnapshotService;
     
     @Autowired
-    public OreOutputParser(MarketDataSnapshotBuilder marketDataSnapshotBuilder) {
-        this.marketDataSnapshotBuilder = marketDataSnapshotBuilder;
+    public OreOutputParser(MarketDataSnapshotService marketDataSnapshotService) {
+        this.marketDataSnapshotService = marketDataSnapshotService;
     }
     
     /**
@@ -72,10 +73,12 @@ public class OreOutputParser {
             List<Cashflow> cashflows = parseCashflows(tradeId, workingDirPath);
             riskMeasures.setCashflows(cashflows);
             
-            // Capture market data snapshot - extract valuation date from ORE working dir
+            // Capture market data snapshot - extract valuation date from ORE working dir;
+            // the snapshot service builds it once for all trades priced on the same inputs
             LocalDate valuationDate = extractValuationDate(workingDirPath);
-            MarketDataSnapshot snapshot = marketDataSnapshotBuilder.buildSnapshot(workingDirPath, valuationDate);
+            MarketDataSnapshot snapshot = marketDataSnapshotService.snapshotFor(workingDirPath, valuationDate);
             riskMeasures.setMarketDataSnapshot(snapshot);
+            riskMeasures.setMarketDataSnapshotId(snapshot != null ? snapshot.getSnapshotId() : null);
             
             logger.info("ORE Risk Calculation - Trade {}: NPV={} {}, Fair Spread Clean={} bps, Protection Leg NPV={}, {} cashflows", 
                 tradeId, riskMeasures.getNpv(), riskMeasures.getCurrency(), 
@@ -119,13 +122,14 @@ public class OreOutputParser {
             
             // Parse field names and values
             // Format: #TradeId, ResultId, ResultType, ResultValue
+            Set<String> reportedTradeIds = reportedTradeIds(lines);
             Map<String, String> results = new HashMap<>();
             for (int i = 1; i < lines.size(); i++) { // Skip header
                 String line = lines.get(i).trim();
                 if (line.isEmpty()) continue;
                 
                 String[] parts = line.split(",", 4); // Split into max 4 parts
-                if (parts.length >= 4) {
+                if (parts.length >= 4 && matchesTrade(parts[0].trim(), tradeId, reportedTradeIds)) {
                     String resultId = parts[1].trim();
                     String resultValue = parts[3].trim();
                     results.put(resultId, resultValue);
@@ -223,11 +227,14 @@ public class OreOutputParser {
             }
             
             // Parse data rows
+            Set<String> reportedTradeIds = reportedTradeIds(lines);
             for (int i = 1; i < lines.size(); i++) {
                 String line = lines.get(i).trim();
                 if (line.isEmpty()) continue;
                 
                 String[] columns = line.split(",", -1);
+                String csvTradeId = columns[0].trim();
+                if (!matchesTrade(csvTradeId, tradeId, reportedTradeIds)) continue;
                 Cashflow cf = new Cashflow();
                 
                 cf.setTradeId(getColumn(columns, columnMap, "TradeId"));
@@ -335,6 +342,7 @@ public class OreOutputParser {
             java.util.List<String> lines = java.nio.file.Files.readAllLines(filePath);
             
             // Skip header line and look for trades
+            Set<String> reportedTradeIds = reportedTradeIds(lines);
             for (int i = 1; i < lines.size(); i++) {
                 String line = lines.get(i);
                 if (line.trim().isEmpty()) continue;
@@ -345,9 +353,8 @@ public class OreOutputParser {
                     String csvTradeId = columns[0].trim();
                     String npvValue = columns[4].trim();
                     
-                    // For now, since we don't have exact trade ID matching,
-                    // use the first valid NPV we find (ORE portfolio might have different trade naming)
-                    if (!npvValue.isEmpty() && !npvValue.equals("NPV")) {
+                    // Match the trade's ORE id; a single-trade report may use different trade naming
+                    if (!npvValue.isEmpty() && !npvValue.equals("NPV") && matchesTrade(csvTradeId, tradeId, reportedTradeIds)) {
                         try {
                             BigDecimal npv = new BigDecimal(npvValue);
                             logger.info("Found NPV for trade {}: {} (from ORE trade: {})", tradeId, npv, csvTradeId);
@@ -368,6 +375,28 @@ public class OreOutputParser {
         }
     }
     
+    /**
+     * Trade ids appearing in the first column of an ORE report, skipping the header
+     */
+    private Set<String> reportedTradeIds(List<String> lines) {
+        Set<String> tradeIds = new HashSet<>();
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (!line.isEmpty()) {
+                tradeIds.add(line.split(",", 2)[0].trim());
+            }
+        }
+        return tradeIds;
+    }
+    
+    /**
+     * Whether a report row belongs to the trade: rows of a multi-trade portfolio run are matched on the
+     * ORE trade id, while a single-trade report is taken as belonging to the trade whatever its naming
+     */
+    private boolean matchesTrade(String csvTradeId, Long tradeId, Set<String> reportedTradeIds) {
+        return csvTradeId.equals(OrePortfolioGenerator.oreTradeId(tradeId)) || reportedTradeIds.size() == 1;
+    }
+    
     /**
      * Extracts ORE runtime from console output
      */
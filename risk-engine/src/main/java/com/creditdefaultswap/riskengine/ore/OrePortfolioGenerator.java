@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 
 @Component
 public class OrePortfolioGenerator {
@@ -23,9 +24,49 @@ public class OrePortfolioGenerator {
         StringBuilder xml = new StringBuilder();
         xml.append("<?xml version=\"1.0\"?>\n");
         xml.append("<Portfolio>\n");
+        appendTrade(xml, cdsTradeData);
+        xml.append("</Portfolio>\n");
+        
+        String portfolioXml = xml.toString();
+        logger.info("Generated ORE portfolio XML for CDS trade {} - Reference Entity: {}, Notional: {} {}", 
+            cdsTradeData.getTradeId(), cdsTradeData.getReferenceEntity(), 
+            cdsTradeData.getNotionalAmount(), cdsTradeData.getCurrency());
+        logger.debug("Portfolio XML: {}", portfolioXml);
+        
+        return portfolioXml;
+    }
+    
+    /**
+     * Generates one ORE portfolio XML holding all the given CDS trades, so they are priced in a single run
+     */
+    public String generateMultiTradePortfolioXml(Collection<CDSTradeData> trades) {
+        logger.debug("Generating ORE portfolio for {} CDS trades", trades.size());
+        
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\"?>\n");
+        xml.append("<Portfolio>\n");
+        for (CDSTradeData cdsTradeData : trades) {
+            appendTrade(xml, cdsTradeData);
+        }
+        xml.append("</Portfolio>\n");
         
+        String portfolioXml = xml.toString();
+        logger.info("Generated ORE portfolio XML for {} CDS trades", trades.size());
+        logger.debug("Portfolio XML: {}", portfolioXml);
+        
+        return portfolioXml;
+    }
+    
+    /**
+     * ORE trade id of a CDS trade, as reported in the npv, additional results and flows reports
+     */
+    public static String oreTradeId(Long tradeId) {
+        return "CDS_" + tradeId;
+    }
+    
+    private void appendTrade(StringBuilder xml, CDSTradeData cdsTradeData) {
         // Generate CDS trade definition
-        xml.append("  <Trade id=\"CDS_").append(cdsTradeData.getTradeId()).append("\">\n");
+        xml.append("  <Trade id=\"").append(oreTradeId(cdsTradeData.getTradeId())).append("\">\n");
         xml.append("    <TradeType>CreditDefaultSwap</TradeType>\n");
         xml.append("    <CreditDefaultSwapData>\n");
         xml.append("      <IssuerId>").append(cdsTradeData.getReferenceEntity()).append("</IssuerId>\n");
@@ -68,15 +109,6 @@ public class OrePortfolioGenerator {
         xml.append("      </LegData>\n");
         xml.append("    </CreditDefaultSwapData>\n");
         xml.append("  </Trade>\n");
-        xml.append("</Portfolio>\n");
-        
-        String portfolioXml = xml.toString();
-        logger.info("Generated ORE portfolio XML for CDS trade {} - Reference Entity: {}, Notional: {} {}", 
-            cdsTradeData.getTradeId(), cdsTradeData.getReferenceEntity(), 
-            cdsTradeData.getNotionalAmount(), cdsTradeData.getCurrency());
-        logger.debug("Portfolio XML: {}", portfolioXml);
-        
-        return portfolioXml;
     }
     
     private String mapDayCountConvention(String dayCountConvention) {
@@ -1,6 +1,8 @@
 package com.creditdefaultswap.riskengine.ore;
 
 import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,69 +19,86 @@ public class OreProcessManager {
     private static final Logger logger = LoggerFactory.getLogger(OreProcessManager.class);
     
     private final RiskEngineConfigProperties config;
+    private final ObservationRegistry observationRegistry;
+    private final OreStubRunner stubRunner;
     
     @Autowired
-    public OreProcessManager(RiskEngineConfigProperties config) {
+    public OreProcessManager(RiskEngineConfigProperties config, ObservationRegistry observationRegistry,
+                             OreStubRunner stubRunner) {
         this.config = config;
+        this.observationRegistry = observationRegistry;
+        this.stubRunner = stubRunner;
     }
     
     /**
      * Executes a calculation with ORE in batch mode
      */
     public CompletableFuture<String> executeCalculation(String workingDirPath) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                logger.info("Executing ORE batch calculation");
-                
-                // Use the dynamic config file written to working directory
-                Path workingDir = Paths.get(workingDirPath);
-                Path configPath = workingDir.resolve("ore.xml");
-                String configFile = configPath.getFileName().toString();
-                
-                ProcessBuilder processBuilder = new ProcessBuilder(
-                    config.getOre().getBinaryPath(),
-                    configFile
-                );
-                
-                processBuilder.directory(workingDir.toFile());
-                processBuilder.redirectErrorStream(true);
-                
-                logger.info("ORE Command: {} {} (working dir: {})", 
-                    config.getOre().getBinaryPath(), configFile, workingDir);
-                logger.info("Using dynamic ORE config: {}, Timeout: {}s", 
-                    configPath, config.getOre().getTimeoutSeconds());
-                
-                Process process = processBuilder.start();
-                
-                // Wait for completion with timeout
-                boolean finished = process.waitFor(config.getOre().getTimeoutSeconds(), TimeUnit.SECONDS);
-                if (!finished) {
-                    process.destroyForcibly();
-                    throw new RuntimeException("ORE calculation timed out after " + 
-                        config.getOre().getTimeoutSeconds() + " seconds");
-                }
-                
-                int exitCode = process.exitValue();
-                String output = new String(process.getInputStream().readAllBytes());
-                
-                if (exitCode == 0) {
-                    // Extract key metrics from ORE output
-                    String runtime = extractRuntime(output);
-                    String analytics = extractAnalytics(output);
-                    logger.info("ORE completed successfully - Runtime: {}, Analytics: {}", runtime, analytics);
-                    logger.debug("ORE detailed output: {}", output);
-                    return output;
-                } else {
-                    logger.error("ORE calculation failed with exit code: {}", exitCode);
-                    logger.error("ORE output: {}", output);
-                    throw new RuntimeException("ORE calculation failed with exit code: " + exitCode);
-                }
-                
-            } catch (Exception e) {
-                logger.error("Failed to execute ORE calculation", e);
-                throw new RuntimeException("ORE calculation execution failed", e);
+        // The process runs on a pool thread, so its span is parented to the caller's explicitly
+        Observation parent = observationRegistry.getCurrentObservation();
+        return CompletableFuture.supplyAsync(() -> Observation.createNotStarted("ore.process", observationRegistry)
+                .contextualName("run ORE")
+                .parentObservation(parent)
+                .observe(() -> runOre(workingDirPath)));
+    }
+    
+    private String runOre(String workingDirPath) {
+        try {
+            if (config.getOre().getStub().isEnabled()) {
+                logger.info("Executing stubbed ORE calculation in {}", workingDirPath);
+                return stubRunner.run(Paths.get(workingDirPath));
+            }
+            
+            logger.info("Executing ORE batch calculation");
+            
+            // Use the dynamic config file written to working directory
+            Path workingDir = Paths.get(workingDirPath);
+            Path configPath = workingDir.resolve("ore.xml");
+            String configFile = configPath.getFileName().toString();
+            
+            ProcessBuilder processBuilder = new ProcessBuilder(
+                config.getOre().getBinaryPath(),
+                configFile
+            );
+            
+            processBuilder.directory(workingDir.toFile());
+            processBuilder.redirectErrorStream(true);
+            
+            logger.info("ORE Command: {} {} (working dir: {})", 
+                config.getOre().getBinaryPath(), configFile, workingDir);
+            logger.info("Using dynamic ORE config: {}, Timeout: {}s", 
+                configPath, config.getOre().getTimeoutSeconds());
+            
+            Process process = processBuilder.start();
+            
+            // Wait for completion with timeout
+            boolean finished = process.waitFor(config.getOre().getTimeoutSeconds(), TimeUnit.SECONDS);
+            if (!finished) {
+                process.destroyForcibly();
+                throw new RuntimeException("ORE calculation timed out after " + 
+                    config.getOre().getTimeoutSeconds() + " seconds");
             }
-        });
+            
+            int exitCode = process.exitValue();
+            String output = new String(process.getInputStream().readAllBytes());
+            
+            if (exitCode == 0) {
+                // Extract key metrics from ORE output
+                String runtime = extractRuntime(output);
+                String analytics = extractAnalytics(output);
+                logger.info("ORE completed successfully - Runtime: {}, Analytics: {}", runtime, analytics);
+                logger.debug("ORE detailed output: {}", output);
+                return output;
+            } else {
+                logger.error("ORE calculation failed with exit code: {}", exitCode);
+                logger.error("ORE output: {}", output);
+                throw new RuntimeException("ORE calculation failed with exit code: " + exitCode);
+            }
+            
+        } catch (Exception e) {
+            logger.error("Failed to execute ORE calculation", e);
+            throw new RuntimeException("ORE calculation execution failed", e);
+        }
     }
     
     /**
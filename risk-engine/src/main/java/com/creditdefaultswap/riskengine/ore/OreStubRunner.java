@@ -0,0 +1,206 @@
+package com.creditdefaultswap.riskengine.ore;
+
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stands in for the ORE binary when risk.ore.stub.enabled is set. Reads the portfolio and market
+ * data written by the input builders, prices each CDS with a flat hazard rate model and writes
+ * npv.csv, additional_results.csv and flows.csv in ORE's layout after the configured latency.
+ */
+@Component
+public class OreStubRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OreStubRunner.class);
+    private static final DateTimeFormatter ORE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern TRADE = Pattern.compile("<Trade id=\"([^\"]+)\">(.*?)</Trade>", Pattern.DOTALL);
+
+    private final RiskEngineConfigProperties config;
+
+    public OreStubRunner(RiskEngineConfigProperties config) {
+        this.config = config;
+    }
+
+    /**
+     * Writes the output reports for the working directory and returns ORE-style console output
+     */
+    public String run(Path workingDir) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        RiskEngineConfigProperties.Stub stub = config.getOre().getStub();
+        long jitter = stub.getLatencyJitterMs() > 0 ? ThreadLocalRandom.current().nextLong(stub.getLatencyJitterMs() + 1) : 0;
+        Thread.sleep(stub.getLatencyMs() + jitter);
+
+        LocalDate asOf = readAsOfDate(workingDir.resolve("ore.xml"));
+        Map<String, Double> market = readMarket(workingDir.resolve("input").resolve("market.txt"));
+        String portfolio = Files.readString(workingDir.resolve("input").resolve("portfolio.xml"));
+
+        StringBuilder npv = new StringBuilder("#TradeId,TradeType,Maturity,MaturityTime,NPV,NpvCurrency,NPV(Base),BaseCurrency,Notional,NotionalCurrency,Notional(Base),NettingSet,CounterParty\n");
+        StringBuilder additional = new StringBuilder("#TradeId,ResultId,ResultType,ResultValue\n");
+        StringBuilder flows = new StringBuilder("#TradeId,Type,CashflowNo,LegNo,PayDate,FlowType,Amount,Currency,Coupon,Accrual,AccrualStartDate,AccrualEndDate,AccruedAmount,Notional,DiscountFactor,PresentValue,FXRate,PresentValue(Base),BaseCurrency\n");
+
+        Matcher trades = TRADE.matcher(portfolio);
+        int count = 0;
+        while (trades.find()) {
+            price(trades.group(1), trades.group(2), asOf, market, npv, additional, flows);
+            count++;
+        }
+
+        Path outputDir = workingDir.resolve("output");
+        Files.createDirectories(outputDir);
+        Files.writeString(outputDir.resolve("npv.csv"), npv);
+        Files.writeString(outputDir.resolve("additional_results.csv"), additional);
+        Files.writeString(outputDir.resolve("flows.csv"), flows);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.debug("ORE stub priced {} trades in {}", count, workingDir);
+        return "Loading inputs                                    OK\n"
+            + "Pricing: Build Market                             OK\n"
+            + "Pricing: Build Portfolio                          OK\n"
+            + "Requested analytics                               NPV,CASHFLOW\n"
+            + "Writing reports...                                OK\n"
+            + "NPV Report                                        OK\n"
+            + "Cashflow Report                                   OK\n"
+            + "run time: " + String.format(Locale.ROOT, "%.6f", seconds) + " sec\n"
+            + "ORE done.\n";
+    }
+
+    private void price(String tradeId, String trade, LocalDate asOf, Map<String, Double> market,
+                       StringBuilder npv, StringBuilder additional, StringBuilder flows) {
+        String entity = field(trade, "CreditCurveId");
+        String currency = field(trade, "Currency");
+        boolean buyer = Boolean.parseBoolean(field(trade, "Payer"));
+        double notional = Double.parseDouble(field(trade, "Notional"));
+        double coupon = Double.parseDouble(field(trade, "Rate"));
+        LocalDate start = LocalDate.parse(field(trade, "StartDate"));
+        LocalDate end = LocalDate.parse(field(trade, "EndDate"));
+        String tenor = field(trade, "Tenor");
+
+        String curve = entity + "/SR/" + currency;
+        double spread = market.getOrDefault("CDS/CREDIT_SPREAD/" + curve + "/5Y", coupon);
+        double recovery = market.getOrDefault("RECOVERY_RATE/RATE/" + curve, 0.4);
+        double rate = market.getOrDefault("ZERO/RATE/" + currency + "/" + currency + "6M/A365/5Y", 0.03);
+        double hazard = spread / (1 - recovery);
+
+        // Premium leg over the remaining coupon periods, ACT/360 accruals
+        double premiumLeg = 0;
+        double riskyAnnuity = 0;
+        double accrued = 0;
+        double accruedFraction = 0;
+        LocalDate periodStart = start;
+        int cashflowNo = 1;
+        while (periodStart.isBefore(end)) {
+            LocalDate periodEnd = addTenor(periodStart, tenor);
+            if (periodEnd.isAfter(end)) {
+                periodEnd = end;
+            }
+            if (periodEnd.isAfter(asOf)) {
+                double accrual = ChronoUnit.DAYS.between(periodStart, periodEnd) / 360.0;
+                double amount = notional * coupon * accrual;
+                double t = ChronoUnit.DAYS.between(asOf, periodEnd) / 365.0;
+                double discount = Math.exp(-rate * t);
+                double survival = Math.exp(-hazard * t);
+                premiumLeg += amount * discount * survival;
+                riskyAnnuity += accrual * discount * survival;
+                double accruedAmount = 0;
+                if (!periodStart.isAfter(asOf)) {
+                    accruedFraction = ChronoUnit.DAYS.between(periodStart, asOf) / 360.0;
+                    accruedAmount = notional * coupon * accruedFraction;
+                    accrued = accruedAmount;
+                }
+                double signedAmount = buyer ? -amount : amount;
+                flows.append(String.join(",", tradeId, "CreditDefaultSwap", String.valueOf(cashflowNo), "0",
+                    periodEnd.toString(), "Interest", fmt(signedAmount), currency, fmt(coupon), fmt(accrual),
+                    periodStart.toString(), periodEnd.toString(), fmt(accruedAmount), fmt(notional), fmt(discount),
+                    fmt(signedAmount * discount * survival), "1", fmt(signedAmount * discount * survival), currency)).append('\n');
+                cashflowNo++;
+            }
+            periodStart = periodEnd;
+        }
+
+        double maturity = Math.max(0, ChronoUnit.DAYS.between(asOf, end) / 365.0);
+        double protectionLeg = (1 - recovery) * notional * hazard / (hazard + rate)
+            * (1 - Math.exp(-(hazard + rate) * maturity));
+        double value = buyer ? protectionLeg - premiumLeg : premiumLeg - protectionLeg;
+        double fairSpread = riskyAnnuity > 0 ? protectionLeg / (notional * riskyAnnuity) : 0;
+        double fairSpreadDirty = riskyAnnuity > 0 ? protectionLeg / (notional * (riskyAnnuity - accruedFraction)) : 0;
+
+        npv.append(String.join(",", tradeId, "CreditDefaultSwap", end.toString(), fmt(maturity), fmt(value), currency,
+            fmt(value), currency, fmt(notional), currency, fmt(notional), "", "")).append('\n');
+
+        Map<String, Double> results = new HashMap<>();
+        results.put("fairSpreadClean", fairSpread);
+        results.put("fairSpreadDirty", fairSpreadDirty);
+        results.put("legNPV[1]", buyer ? protectionLeg : -protectionLeg);
+        results.put("legNPV[2]", buyer ? -premiumLeg : premiumLeg);
+        results.put("accruedPremium", buyer ? -accrued : accrued);
+        results.put("upfrontPremium", 0.0);
+        results.put("rate[2]", coupon);
+        results.put("currentNotional[1]", notional);
+        results.put("originalNotional[1]", notional);
+        results.put("riskyAnnuity", riskyAnnuity * notional);
+        results.forEach((id, result) -> additional.append(tradeId).append(',').append(id).append(",double,")
+            .append(fmt(result)).append('\n'));
+    }
+
+    private LocalDate readAsOfDate(Path oreXml) throws IOException {
+        Matcher matcher = Pattern.compile("<Parameter name=\"asofDate\">(\\d{8})</Parameter>").matcher(Files.readString(oreXml));
+        return matcher.find() ? LocalDate.parse(matcher.group(1), ORE_DATE) : LocalDate.now();
+    }
+
+    /**
+     * Quotes keyed without their date, e.g. CDS/CREDIT_SPREAD/TESLA/SR/USD/5Y
+     */
+    private Map<String, Double> readMarket(Path marketFile) throws IOException {
+        Map<String, Double> quotes = new HashMap<>();
+        if (!Files.exists(marketFile)) {
+            return quotes;
+        }
+        for (String line : Files.readAllLines(marketFile)) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length == 3 && !parts[0].startsWith("#")) {
+                try {
+                    quotes.put(parts[1], Double.parseDouble(parts[2]));
+                } catch (NumberFormatException e) {
+                    logger.debug("Skipping market quote: {}", line);
+                }
+            }
+        }
+        return quotes;
+    }
+
+    private static String field(String trade, String element) {
+        Matcher matcher = Pattern.compile("<" + element + ">([^<]*)</" + element + ">").matcher(trade);
+        if (!matcher.find()) {
+            throw new IllegalStateException("ORE stub: <" + element + "> missing from portfolio trade");
+        }
+        return matcher.group(1).trim();
+    }
+
+    private static LocalDate addTenor(LocalDate date, String tenor) {
+        return switch (tenor) {
+            case "1M" -> date.plusMonths(1);
+            case "6M" -> date.plusMonths(6);
+            case "1Y" -> date.plusYears(1);
+            default -> date.plusMonths(3);
+        };
+    }
+
+    private static String fmt(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
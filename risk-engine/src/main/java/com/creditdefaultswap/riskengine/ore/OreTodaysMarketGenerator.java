@@ -72,11 +72,13 @@ public class OreTodaysMarketGenerator {
             xml.append("  </FxSpots>\n");
         }
         
-        // Default curves for CDS reference entities
+        // Default curves for CDS reference entities, once per entity
         xml.append("  <DefaultCurves id=\"default\">\n");
+        Set<String> mappedEntities = new java.util.HashSet<>();
         for (OrePortfolioGenerator.CDSTradeData trade : trades) {
             String entity = trade.getReferenceEntity();
             String currency = trade.getCurrency();
+            if (!mappedEntities.add(entity)) continue;
             xml.append("    <DefaultCurve name=\"").append(entity).append("\">Default/").append(currency).append("/").append(entity).append("_SR_").append(currency).append("</DefaultCurve>\n");
         }
         xml.append("  </DefaultCurves>\n");
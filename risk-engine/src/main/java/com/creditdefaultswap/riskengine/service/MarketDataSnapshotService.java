@@ -0,0 +1,104 @@
+package com.creditdefaultswap.riskengine.service;
+
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import com.creditdefaultswap.riskengine.model.MarketDataSnapshot;
+import com.creditdefaultswap.riskengine.ore.MarketDataSnapshotBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Versioned market data snapshots, built once per distinct set of ORE market inputs
+ *
+ * A snapshot's ID combines the valuation date with a hash of the generated market data, todaysmarket
+ * and curve config files, so every trade of a multi-trade run, and every later run on the same date
+ * and shifts, resolves to the same snapshot without re-parsing the market data file. Snapshots are
+ * kept in an LRU cache so results can reference them by ID.
+ */
+@Service
+public class MarketDataSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataSnapshotService.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String[] INPUT_FILES = {"market.txt", "todaysmarket.xml", "curveconfig.xml"};
+
+    private final MarketDataSnapshotBuilder snapshotBuilder;
+    private final Map<String, MarketDataSnapshot> snapshots;
+
+    @Autowired
+    public MarketDataSnapshotService(MarketDataSnapshotBuilder snapshotBuilder, RiskEngineConfigProperties config) {
+        this.snapshotBuilder = snapshotBuilder;
+        int capacity = Math.max(config.getMarketData().getSnapshotCacheSize(), 1);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MarketDataSnapshot> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Snapshot of the market data in an ORE working directory, built on first use of its inputs
+     */
+    public MarketDataSnapshot snapshotFor(String workingDirPath, LocalDate valuationDate) {
+        String snapshotId = snapshotId(workingDirPath, valuationDate);
+
+        MarketDataSnapshot cached = getSnapshot(snapshotId).orElse(null);
+        if (cached != null) {
+            logger.debug("Reusing market data snapshot {}", snapshotId);
+            return cached;
+        }
+
+        // Built outside the lock; a concurrent build of the same inputs keeps whichever lands first
+        MarketDataSnapshot snapshot = snapshotBuilder.buildSnapshot(workingDirPath, valuationDate);
+        snapshot.setSnapshotId(snapshotId);
+        synchronized (snapshots) {
+            MarketDataSnapshot existing = snapshots.putIfAbsent(snapshotId, snapshot);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        logger.info("Registered market data snapshot {}", snapshotId);
+        return snapshot;
+    }
+
+    public Optional<MarketDataSnapshot> getSnapshot(String snapshotId) {
+        synchronized (snapshots) {
+            return Optional.ofNullable(snapshots.get(snapshotId));
+        }
+    }
+
+    /**
+     * MDS-<valuation date>-<first 16 hex digits of the SHA-256 of the market input files>
+     */
+    private String snapshotId(String workingDirPath, LocalDate valuationDate) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Path inputDir = Paths.get(workingDirPath, "input");
+            for (String file : INPUT_FILES) {
+                Path path = inputDir.resolve(file);
+                digest.update(file.getBytes(StandardCharsets.UTF_8));
+                if (Files.exists(path)) {
+                    digest.update(Files.readAllBytes(path));
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+            return "MDS-" + DATE_FORMAT.format(valuationDate) + "-" + hash;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to hash market data inputs in " + workingDirPath, e);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.creditdefaultswap.riskengine.model.ScenarioRequest;
 import com.creditdefaultswap.riskengine.ore.OreInputBuilder;
 import com.creditdefaultswap.riskengine.ore.OreOutputParser;
 import com.creditdefaultswap.riskengine.ore.OreProcessManager;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,7 @@ public class RiskCalculationService {
     private final OreInputBuilder oreInputBuilder;
     private final OreOutputParser oreOutputParser;
     private final TradeDataService tradeDataService;
+    private final ObservationRegistry observationRegistry;
     
     @Autowired
     public RiskCalculationService(
@@ -33,12 +36,14 @@ public class RiskCalculationService {
             OreProcessManager oreProcessManager,
             OreInputBuilder oreInputBuilder,
             OreOutputParser oreOutputParser,
-            TradeDataService tradeDataService) {
+            TradeDataService tradeDataService,
+            ObservationRegistry observationRegistry) {
         this.config = config;
         this.oreProcessManager = oreProcessManager;
         this.oreInputBuilder = oreInputBuilder;
         this.oreOutputParser = oreOutputParser;
         this.tradeDataService = tradeDataService;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -58,7 +63,13 @@ public class RiskCalculationService {
         logger.info("Executing ORE batch calculation for scenario: {}", request.getScenarioId());
         
         // Build ORE input XML and get working directory path
-        String workingDirPath = oreInputBuilder.buildRiskCalculationInput(request);
+        String workingDirPath = Observation.createNotStarted("ore.input.build", observationRegistry)
+            .contextualName("build ORE input")
+            .highCardinalityKeyValue("scenario.id", String.valueOf(request.getScenarioId()))
+            .observe(() -> oreInputBuilder.buildRiskCalculationInput(request));
+        
+        // Parsing runs on the ORE thread, so it is parented to the request explicitly
+        Observation parent = observationRegistry.getCurrentObservation();
         
         // Get valuation date from request (defaults to today if not provided)
         java.time.LocalDate valuationDate = request.getValuationDate() != null ? 
@@ -66,23 +77,35 @@ public class RiskCalculationService {
         
         // Execute ORE calculation in batch mode - throw exception on failure
         return oreProcessManager.executeCalculation(workingDirPath)
-            .thenApply(oreOutput -> {
-                if (!oreOutputParser.isValidOutput(oreOutput)) {
-                    String errorMsg = oreOutputParser.extractErrorMessage(oreOutput);
-                    logger.error("ORE calculation failed: {}", errorMsg);
-                    throw new RuntimeException("ORE calculation failed: " + errorMsg);
-                }
+            .thenApply(oreOutput -> Observation.createNotStarted("ore.output.parse", observationRegistry)
+                .contextualName("parse ORE output")
+                .parentObservation(parent)
+                .observe(() -> {
+                    if (!oreOutputParser.isValidOutput(oreOutput)) {
+                        String errorMsg = oreOutputParser.extractErrorMessage(oreOutput);
+                        logger.error("ORE calculation failed: {}", errorMsg);
+                        throw new RuntimeException("ORE calculation failed: " + errorMsg);
+                    }
                 
-                // Parse ORE output for each trade with correct currency
-                return request.getTradeIds().stream()
-                    .map(tradeId -> {
-                        // Get trade data to extract currency, passing valuation date for proper effective date adjustment
-                        var tradeData = tradeDataService.fetchCDSTradeData(tradeId, valuationDate);
-                        String tradeCurrency = tradeData.getCurrency();
-                        return oreOutputParser.parseRiskMeasures(oreOutput, tradeId, tradeCurrency, workingDirPath);
-                    })
-                    .toList();
-            })
+                    // Parse ORE output for each trade with correct currency
+                    List<RiskMeasures> results = request.getTradeIds().stream()
+                        .map(tradeId -> {
+                            // Get trade data to extract currency, passing valuation date for proper effective date adjustment
+                            var tradeData = tradeDataService.fetchCDSTradeData(tradeId, valuationDate);
+                            String tradeCurrency = tradeData.getCurrency();
+                            return oreOutputParser.parseRiskMeasures(oreOutput, tradeId, tradeCurrency, workingDirPath);
+                        })
+                        .toList();
+                    
+                    // Multi-trade results reference the shared market data snapshot by ID instead of
+                    // each embedding a copy; it is served from /api/risk/market-data/snapshots/{id}
+                    if (results.size() > 1) {
+                        results.stream()
+                            .filter(rm -> rm.getMarketDataSnapshotId() != null)
+                            .forEach(rm -> rm.setMarketDataSnapshot(null));
+                    }
+                    return results;
+                }))
             .exceptionally(throwable -> {
                 logger.error("ORE calculation failed with exception", throwable);
                 throw new RuntimeException("ORE calculation failed", throwable);
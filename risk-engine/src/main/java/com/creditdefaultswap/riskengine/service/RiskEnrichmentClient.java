@@ -3,6 +3,7 @@ package com.creditdefaultswap.riskengine.service;
 import com.creditdefaultswap.riskengine.model.RiskMeasures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -26,7 +27,9 @@ public class RiskEnrichmentClient {
     @Value("${backend.base.url}")
     private String backendBaseUrl;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Shared instrumented template so enrichment calls carry the trace context
+    @Autowired
+    private RestTemplate restTemplate;
     
     /**
      * Enriches a RiskMeasures object by calling the backend to get additional metrics
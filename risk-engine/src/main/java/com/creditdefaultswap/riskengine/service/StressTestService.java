@@ -87,22 +87,8 @@ public class StressTestService {
                 result.setCurrency(baseCaseResult.getCurrency());
                 result.setBuySellProtection(tradeData.getBuySellProtection());
                 
-                // 3a. Populate base yield curve
-                Map<String, Double> baseYieldCurve = marketDataGenerator.getYieldCurveMap(
-                    tradeData.getCurrency(), null);
-                result.setBaseYieldCurve(baseYieldCurve);
-                
-                // 3b. Populate shifted yield curves if requested
-                if (request.getYieldCurveShifts() != null && !request.getYieldCurveShifts().isEmpty()) {
-                    Map<String, Map<String, Double>> shiftedCurves = new HashMap<>();
-                    for (BigDecimal shift : request.getYieldCurveShifts()) {
-                        String label = "+" + shift + "bp";
-                        Map<String, Double> shiftedCurve = marketDataGenerator.getYieldCurveMap(
-                            tradeData.getCurrency(), shift);
-                        shiftedCurves.put(label, shiftedCurve);
-                    }
-                    result.setShiftedYieldCurves(shiftedCurves);
-                }
+                // 3a. Populate base and shifted yield curves
+                populateYieldCurves(result, tradeData.getCurrency(), request);
                 
                 // 4. Run stress scenarios
                 logger.info("Running stress scenarios");
@@ -124,22 +110,219 @@ public class StressTestService {
         });
     }
     
+    /**
+     * Run stress test analysis on several CDS trades, given by trade IDs or a CDS portfolio, priced
+     * together in one ORE portfolio: one shared base case run plus one run per scenario, rather than
+     * one of each per trade. Trades on the same reference entity share its credit curve, quoted from
+     * the first of them in request order.
+     */
+    public CompletableFuture<PortfolioStressResult> runPortfolioStressAnalysis(StressScenarioRequest request) {
+        logger.info("Starting portfolio stress test analysis for trades {} / portfolio {}", 
+            request.getTradeIds(), request.getPortfolioId());
+        
+        LocalDate valuationDate = request.getValuationDate() != null ? 
+            request.getValuationDate() : LocalDate.now();
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // 1. Resolve and fetch trade data; a repeated ID is priced and aggregated once
+                List<Long> tradeIds = (request.getTradeIds() != null && !request.getTradeIds().isEmpty() ?
+                    request.getTradeIds() : tradeDataService.fetchPortfolioTradeIds(request.getPortfolioId()))
+                    .stream().distinct().toList();
+                if (tradeIds.isEmpty()) {
+                    throw new IllegalArgumentException("No trades to analyze for portfolio " + request.getPortfolioId());
+                }
+                List<OrePortfolioGenerator.CDSTradeData> trades = new ArrayList<>();
+                for (Long tradeId : tradeIds) {
+                    trades.add(tradeDataService.fetchCDSTradeData(tradeId, valuationDate));
+                }
+                
+                // 2. Run base case for all trades at once
+                logger.info("Running portfolio base case for {} trades", trades.size());
+                Map<Long, RiskMeasures> baseCase = runPortfolioCase(trades, valuationDate, "ore-stress-portfolio-base", null);
+                
+                // 3. Initialize per-trade results
+                PortfolioStressResult result = new PortfolioStressResult();
+                result.setPortfolioId(request.getPortfolioId());
+                for (OrePortfolioGenerator.CDSTradeData tradeData : trades) {
+                    RiskMeasures base = baseCase.get(tradeData.getTradeId());
+                    StressImpactResult tradeResult = new StressImpactResult();
+                    tradeResult.setTradeId(tradeData.getTradeId());
+                    tradeResult.setBaseNpv(base.getNpv());
+                    tradeResult.setBaseJtd(base.getJtd());
+                    tradeResult.setCurrency(base.getCurrency());
+                    tradeResult.setBuySellProtection(tradeData.getBuySellProtection());
+                    populateYieldCurves(tradeResult, tradeData.getCurrency(), request);
+                    result.getTrades().add(tradeResult);
+                }
+                
+                // 4. Run stress scenarios, each pricing the whole portfolio in one ORE run
+                List<StressSpec> specs = stressSpecs(request);
+                logger.info("Running {} portfolio stress scenarios", specs.size());
+                for (StressSpec spec : specs) {
+                    List<StressImpactResult.ScenarioResult> scenarios = runPortfolioStressScenario(
+                        trades, valuationDate, spec, baseCase);
+                    for (int i = 0; i < trades.size(); i++) {
+                        result.getTrades().get(i).addScenario(scenarios.get(i));
+                    }
+                }
+                for (StressImpactResult tradeResult : result.getTrades()) {
+                    tradeResult.setScenarioCount(tradeResult.getScenarios().size());
+                }
+                
+                result.setOreRunCount(specs.size() + 1);
+                result.setAggregate(aggregate(result.getTrades(), specs));
+                
+                logger.info("Portfolio stress test analysis completed for {} trades with {} scenarios in {} ORE runs", 
+                    trades.size(), specs.size(), result.getOreRunCount());
+                
+                return result;
+                
+            } catch (Exception e) {
+                logger.error("Portfolio stress test analysis failed for trades {} / portfolio {}", 
+                    request.getTradeIds(), request.getPortfolioId(), e);
+                throw new RuntimeException("Portfolio stress test analysis failed", e);
+            }
+        });
+    }
+    
+    /**
+     * Prices all trades in one ORE run, with stress parameters applied to each; results by trade ID
+     */
+    private Map<Long, RiskMeasures> runPortfolioCase(
+            List<OrePortfolioGenerator.CDSTradeData> trades,
+            LocalDate valuationDate,
+            String workDirPrefix,
+            Map<String, Object> stressParams) throws IOException {
+        
+        Path workDir = createWorkDir(workDirPrefix);
+        generateOreInputs(trades, valuationDate, workDir.resolve("input"), workDir, stressParams);
+        
+        String oreOutput = oreProcessManager.executeCalculation(workDir.toString()).join();
+        
+        Map<Long, RiskMeasures> results = new HashMap<>();
+        for (OrePortfolioGenerator.CDSTradeData tradeData : trades) {
+            results.put(tradeData.getTradeId(), oreOutputParser.parseRiskMeasures(
+                oreOutput, tradeData.getTradeId(), tradeData.getCurrency(), workDir.toString()));
+        }
+        return results;
+    }
+    
+    /**
+     * Runs one stress scenario for all trades; scenario results in trade order
+     */
+    private List<StressImpactResult.ScenarioResult> runPortfolioStressScenario(
+            List<OrePortfolioGenerator.CDSTradeData> trades,
+            LocalDate valuationDate,
+            StressSpec spec,
+            Map<Long, RiskMeasures> baseCase) {
+        
+        logger.info("🎯 Running portfolio stress scenario: {}", spec.name());
+        
+        Map<Long, RiskMeasures> stressed;
+        try {
+            stressed = runPortfolioCase(trades, valuationDate,
+                "ore-stress-portfolio-" + spec.name().replaceAll("[^a-zA-Z0-9]", "_"),
+                stressParams(spec.recoveryRate(), spec.spreadShift(), spec.yieldCurveShift()));
+        } catch (Exception e) {
+            logger.error("Failed to run portfolio stress scenario: {}", spec.name(), e);
+            stressed = Map.of();
+        }
+        
+        List<StressImpactResult.ScenarioResult> scenarios = new ArrayList<>();
+        for (OrePortfolioGenerator.CDSTradeData tradeData : trades) {
+            StressImpactResult.ScenarioResult scenario;
+            try {
+                RiskMeasures stressedResult = stressed.get(tradeData.getTradeId());
+                if (stressedResult == null) {
+                    throw new IllegalStateException("No ORE result for trade " + tradeData.getTradeId());
+                }
+                scenario = scenarioResult(spec.name(), tradeData, stressedResult, baseCase.get(tradeData.getTradeId()));
+                if (spec.worst()) {
+                    scenario.setSevere(true);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to value stress scenario {} for trade {}", spec.name(), tradeData.getTradeId(), e);
+                scenario = errorScenario(spec.name());
+            }
+            scenarios.add(scenario);
+        }
+        return scenarios;
+    }
+    
+    /**
+     * Sums per-trade results into a portfolio result; null when the trades are in different currencies.
+     * A scenario that failed for any trade is reported as failed for the portfolio.
+     */
+    private StressImpactResult aggregate(List<StressImpactResult> tradeResults, List<StressSpec> specs) {
+        Set<String> currencies = new HashSet<>();
+        tradeResults.forEach(r -> currencies.add(r.getCurrency()));
+        if (currencies.size() != 1) {
+            logger.warn("Trades are in currencies {}, no portfolio aggregate computed", currencies);
+            return null;
+        }
+        
+        StressImpactResult first = tradeResults.get(0);
+        StressImpactResult aggregate = new StressImpactResult();
+        aggregate.setCurrency(first.getCurrency());
+        aggregate.setBaseNpv(sum(tradeResults, StressImpactResult::getBaseNpv));
+        aggregate.setBaseJtd(sum(tradeResults, StressImpactResult::getBaseJtd));
+        aggregate.setBaseYieldCurve(first.getBaseYieldCurve());
+        aggregate.setShiftedYieldCurves(first.getShiftedYieldCurves());
+        
+        for (int s = 0; s < specs.size(); s++) {
+            int index = s;
+            List<StressImpactResult.ScenarioResult> perTrade = tradeResults.stream()
+                .map(r -> r.getScenarios().get(index))
+                .toList();
+            boolean failed = perTrade.stream().anyMatch(sc -> sc.getScenarioName().endsWith(" (ERROR)"));
+            
+            StressImpactResult.ScenarioResult scenario = new StressImpactResult.ScenarioResult();
+            scenario.setScenarioName(failed ? specs.get(index).name() + " (ERROR)" : specs.get(index).name());
+            scenario.setNpv(sum(perTrade, StressImpactResult.ScenarioResult::getNpv));
+            scenario.setJtd(sum(perTrade, StressImpactResult.ScenarioResult::getJtd));
+            scenario.setDeltaNpv(sum(perTrade, StressImpactResult.ScenarioResult::getDeltaNpv));
+            scenario.setDeltaJtd(sum(perTrade, StressImpactResult.ScenarioResult::getDeltaJtd));
+            scenario.setSevere(!failed && (specs.get(index).worst() || isSevere(scenario.getDeltaNpv(), scenario.getDeltaJtd())));
+            aggregate.addScenario(scenario);
+        }
+        aggregate.setScenarioCount(aggregate.getScenarios().size());
+        return aggregate;
+    }
+    
+    private static <T> BigDecimal sum(List<T> items, java.util.function.Function<T, BigDecimal> value) {
+        return items.stream()
+            .map(value)
+            .filter(Objects::nonNull)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    /**
+     * Populates the base yield curve of the trade currency and, if requested, its shifted curves
+     */
+    private void populateYieldCurves(StressImpactResult result, String currency, StressScenarioRequest request) {
+        result.setBaseYieldCurve(marketDataGenerator.getYieldCurveMap(currency, null));
+        
+        if (request.getYieldCurveShifts() != null && !request.getYieldCurveShifts().isEmpty()) {
+            Map<String, Map<String, Double>> shiftedCurves = new HashMap<>();
+            for (BigDecimal shift : request.getYieldCurveShifts()) {
+                String label = "+" + shift + "bp";
+                shiftedCurves.put(label, marketDataGenerator.getYieldCurveMap(currency, shift));
+            }
+            result.setShiftedYieldCurves(shiftedCurves);
+        }
+    }
+    
     /**
      * Runs the base case (current market conditions)
      */
     private RiskMeasures runBaseCase(OrePortfolioGenerator.CDSTradeData tradeData, LocalDate valuationDate) {
         try {
             // Create working directory
-            String uniqueId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-            String workDirName = "ore-stress-base-" + uniqueId;
-            Path workDir = Paths.get("/tmp", workDirName);
-            Path inputDir = workDir.resolve("input");
-            Path outputDir = workDir.resolve("output");
-            Files.createDirectories(inputDir);
-            Files.createDirectories(outputDir);
+            Path workDir = createWorkDir("ore-stress-base");
             
             // Generate ORE inputs
-            generateOreInputs(tradeData, valuationDate, inputDir, workDir, null);
+            generateOreInputs(List.of(tradeData), valuationDate, workDir.resolve("input"), workDir, null);
             
             // Execute ORE
             String oreOutput = oreProcessManager.executeCalculation(workDir.toString()).join();
@@ -159,6 +342,12 @@ public class StressTestService {
         }
     }
     
+    /**
+     * One stress scenario: its name, the shocks applied, and whether it is the worst combined case
+     */
+    private record StressSpec(String name, BigDecimal recoveryRate, BigDecimal spreadShift,
+                              BigDecimal yieldCurveShift, boolean worst) {}
+    
     /**
      * Runs all stress scenarios
      */
@@ -169,38 +358,48 @@ public class StressTestService {
             RiskMeasures baseCase) {
         
         List<StressImpactResult.ScenarioResult> results = new ArrayList<>();
+        for (StressSpec spec : stressSpecs(request)) {
+            StressImpactResult.ScenarioResult scenario = runSingleStressScenario(
+                tradeData, valuationDate, spec.name(), 
+                spec.recoveryRate(), spec.spreadShift(), spec.yieldCurveShift(), baseCase);
+            
+            // Flag as severe if it's the worst combination
+            if (spec.worst()) {
+                scenario.setSevere(true);
+            }
+            results.add(scenario);
+        }
+        return results;
+    }
+    
+    /**
+     * Scenarios requested, in reporting order: spread, recovery and yield curve shocks alone, then combinations
+     */
+    private List<StressSpec> stressSpecs(StressScenarioRequest request) {
+        List<StressSpec> specs = new ArrayList<>();
         
-        // Run spread stress scenarios
+        // Spread stress scenarios
         if (request.getSpreadShifts() != null) {
             for (BigDecimal spreadShift : request.getSpreadShifts()) {
-                String scenarioName = "Spread +" + spreadShift + "bp";
-                StressImpactResult.ScenarioResult scenario = runSingleStressScenario(
-                    tradeData, valuationDate, scenarioName, null, spreadShift, null, baseCase);
-                results.add(scenario);
+                specs.add(new StressSpec("Spread +" + spreadShift + "bp", null, spreadShift, null, false));
             }
         }
         
-        // Run recovery rate stress scenarios
+        // Recovery rate stress scenarios
         if (request.getRecoveryRates() != null) {
             for (BigDecimal recoveryRate : request.getRecoveryRates()) {
-                String scenarioName = "Recovery " + recoveryRate + "%";
-                StressImpactResult.ScenarioResult scenario = runSingleStressScenario(
-                    tradeData, valuationDate, scenarioName, recoveryRate, null, null, baseCase);
-                results.add(scenario);
+                specs.add(new StressSpec("Recovery " + recoveryRate + "%", recoveryRate, null, null, false));
             }
         }
         
-        // Run yield curve stress scenarios
+        // Yield curve stress scenarios
         if (request.getYieldCurveShifts() != null) {
             for (BigDecimal yieldShift : request.getYieldCurveShifts()) {
-                String scenarioName = "Yield Curve +" + yieldShift + "bp";
-                StressImpactResult.ScenarioResult scenario = runSingleStressScenario(
-                    tradeData, valuationDate, scenarioName, null, null, yieldShift, baseCase);
-                results.add(scenario);
+                specs.add(new StressSpec("Yield Curve +" + yieldShift + "bp", null, null, yieldShift, false));
             }
         }
         
-        // Run combined scenarios if requested
+        // Combined scenarios if requested
         if (request.isCombined()) {
             // Build lists with defaults if null
             List<BigDecimal> recoveryRates = request.getRecoveryRates() != null ? 
@@ -246,11 +445,7 @@ public class StressTestService {
                             if (yieldShift != null) parts.add("Yield +" + yieldShift + "bp");
                             scenarioName.append(String.join(" + ", parts));
                             
-                            StressImpactResult.ScenarioResult scenario = runSingleStressScenario(
-                                tradeData, valuationDate, scenarioName.toString(), 
-                                recoveryRate, spreadShift, yieldShift, baseCase);
-                            
-                            // Flag as severe if it's the worst combination
+                            // Worst combination: lowest recovery, widest spread, highest yields
                             boolean isWorst = true;
                             if (!recoveryRates.isEmpty() && recoveryRate != null) {
                                 BigDecimal worstRecovery = recoveryRates.stream().min(BigDecimal::compareTo).orElse(null);
@@ -265,18 +460,15 @@ public class StressTestService {
                                 isWorst = isWorst && yieldShift.equals(worstYield);
                             }
                             
-                            if (isWorst) {
-                                scenario.setSevere(true);
-                            }
-                            
-                            results.add(scenario);
+                            specs.add(new StressSpec(scenarioName.toString(), 
+                                recoveryRate, spreadShift, yieldShift, isWorst));
                         }
                     }
                 }
             }
         }
         
-        return results;
+        return specs;
     }
     
     /**
@@ -295,96 +487,122 @@ public class StressTestService {
         
         try {
             // Create working directory
-            String uniqueId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-            String workDirName = "ore-stress-" + scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "-" + uniqueId;
-            Path workDir = Paths.get("/tmp", workDirName);
-            Path inputDir = workDir.resolve("input");
-            Path outputDir = workDir.resolve("output");
-            Files.createDirectories(inputDir);
-            Files.createDirectories(outputDir);
-            
+            Path workDir = createWorkDir("ore-stress-" + scenarioName.replaceAll("[^a-zA-Z0-9]", "_"));
             logger.debug("Created working directory: {}", workDir);
             
             // Generate stressed ORE inputs
-            Map<String, Object> stressParams = new HashMap<>();
-            if (recoveryRate != null) {
-                stressParams.put("recoveryRate", recoveryRate);
-                logger.debug("Applying recovery rate stress: {}%", recoveryRate);
-            }
-            if (spreadShift != null) {
-                stressParams.put("spreadShift", spreadShift);
-                logger.debug("Applying spread shift stress: +{} bp", spreadShift);
-            }
-            if (yieldCurveShift != null) {
-                stressParams.put("yieldCurveShift", yieldCurveShift);
-                logger.debug("Applying yield curve shift stress: +{} bp", yieldCurveShift);
-            }
-            
-            generateOreInputs(tradeData, valuationDate, inputDir, workDir, stressParams);
+            Map<String, Object> stressParams = stressParams(recoveryRate, spreadShift, yieldCurveShift);
+            generateOreInputs(List.of(tradeData), valuationDate, workDir.resolve("input"), workDir, stressParams);
             
             // Execute ORE
             logger.debug("Executing ORE calculation for scenario: {}", scenarioName);
             String oreOutput = oreProcessManager.executeCalculation(workDir.toString()).join();
             
             // Parse results
-            logger.debug("Parsing ORE results from: {}", outputDir);
+            logger.debug("Parsing ORE results from: {}", workDir.resolve("output"));
             RiskMeasures stressedResult = oreOutputParser.parseRiskMeasures(
                 oreOutput, tradeData.getTradeId(), tradeData.getCurrency(), workDir.toString());
             
-            // ORE appears to calculate deltas with opposite sign from economic reality
-            // We need to invert ALL deltas regardless of BUY/SELL
-            BigDecimal stressedNpv = stressedResult.getNpv();
-            BigDecimal baseNpv = baseCase.getNpv();
-            BigDecimal rawDelta = stressedNpv.subtract(baseNpv);
-            BigDecimal deltaNpv = rawDelta.negate();
-            
-            logger.debug("{} position {}: baseNpv={}, stressedNpv={}, rawDelta={}, invertedDelta={}", 
-                tradeData.getBuySellProtection(), tradeData.getTradeId(), 
-                baseNpv, stressedNpv, rawDelta, deltaNpv);
-            
-            // Calculate deltas
-            StressImpactResult.ScenarioResult scenario = new StressImpactResult.ScenarioResult();
-            scenario.setScenarioName(scenarioName);
-            scenario.setNpv(stressedNpv);
-            scenario.setJtd(stressedResult.getJtd());
-            
-            // deltaNpv already calculated above with BUY/SELL adjustment
-            BigDecimal deltaJtd = stressedResult.getJtd() != null && baseCase.getJtd() != null ?
-                stressedResult.getJtd().subtract(baseCase.getJtd()) : BigDecimal.ZERO;
-            
-            scenario.setDeltaNpv(deltaNpv);
-            scenario.setDeltaJtd(deltaJtd);
-            
-            // Flag severe scenarios (NPV change > 100k or JTD change > 500k)
-            boolean isSevere = deltaNpv.abs().compareTo(new BigDecimal("100000")) > 0 ||
-                             deltaJtd.abs().compareTo(new BigDecimal("500000")) > 0;
-            scenario.setSevere(isSevere);
+            StressImpactResult.ScenarioResult scenario = scenarioResult(scenarioName, tradeData, stressedResult, baseCase);
             
             logger.info("Scenario '{}': ΔNPV={}, ΔJTD={}{}", 
-                scenarioName, deltaNpv, deltaJtd,
-                isSevere ? " ⚠️ SEVERE" : "");
+                scenarioName, scenario.getDeltaNpv(), scenario.getDeltaJtd(),
+                scenario.isSevere() ? " ⚠️ SEVERE" : "");
             
             return scenario;
             
         } catch (Exception e) {
             logger.error("Failed to run stress scenario: {}", scenarioName, e);
-            
-            // Return error scenario
-            StressImpactResult.ScenarioResult errorScenario = new StressImpactResult.ScenarioResult();
-            errorScenario.setScenarioName(scenarioName + " (ERROR)");
-            errorScenario.setNpv(BigDecimal.ZERO);
-            errorScenario.setJtd(BigDecimal.ZERO);
-            errorScenario.setDeltaNpv(BigDecimal.ZERO);
-            errorScenario.setDeltaJtd(BigDecimal.ZERO);
-            return errorScenario;
+            return errorScenario(scenarioName);
         }
     }
     
+    /**
+     * Stressed values of one trade and their change from its base case
+     */
+    private StressImpactResult.ScenarioResult scenarioResult(
+            String scenarioName,
+            OrePortfolioGenerator.CDSTradeData tradeData,
+            RiskMeasures stressedResult,
+            RiskMeasures baseCase) {
+        
+        // ORE appears to calculate deltas with opposite sign from economic reality
+        // We need to invert ALL deltas regardless of BUY/SELL
+        BigDecimal stressedNpv = stressedResult.getNpv();
+        BigDecimal baseNpv = baseCase.getNpv();
+        BigDecimal rawDelta = stressedNpv.subtract(baseNpv);
+        BigDecimal deltaNpv = rawDelta.negate();
+        
+        logger.debug("{} position {}: baseNpv={}, stressedNpv={}, rawDelta={}, invertedDelta={}", 
+            tradeData.getBuySellProtection(), tradeData.getTradeId(), 
+            baseNpv, stressedNpv, rawDelta, deltaNpv);
+        
+        // Calculate deltas
+        StressImpactResult.ScenarioResult scenario = new StressImpactResult.ScenarioResult();
+        scenario.setScenarioName(scenarioName);
+        scenario.setNpv(stressedNpv);
+        scenario.setJtd(stressedResult.getJtd());
+        
+        BigDecimal deltaJtd = stressedResult.getJtd() != null && baseCase.getJtd() != null ?
+            stressedResult.getJtd().subtract(baseCase.getJtd()) : BigDecimal.ZERO;
+        
+        scenario.setDeltaNpv(deltaNpv);
+        scenario.setDeltaJtd(deltaJtd);
+        scenario.setSevere(isSevere(deltaNpv, deltaJtd));
+        return scenario;
+    }
+    
+    /**
+     * Flag severe scenarios (NPV change > 100k or JTD change > 500k)
+     */
+    private boolean isSevere(BigDecimal deltaNpv, BigDecimal deltaJtd) {
+        return deltaNpv.abs().compareTo(new BigDecimal("100000")) > 0 ||
+               deltaJtd.abs().compareTo(new BigDecimal("500000")) > 0;
+    }
+    
+    private StressImpactResult.ScenarioResult errorScenario(String scenarioName) {
+        StressImpactResult.ScenarioResult errorScenario = new StressImpactResult.ScenarioResult();
+        errorScenario.setScenarioName(scenarioName + " (ERROR)");
+        errorScenario.setNpv(BigDecimal.ZERO);
+        errorScenario.setJtd(BigDecimal.ZERO);
+        errorScenario.setDeltaNpv(BigDecimal.ZERO);
+        errorScenario.setDeltaJtd(BigDecimal.ZERO);
+        return errorScenario;
+    }
+    
+    private Map<String, Object> stressParams(BigDecimal recoveryRate, BigDecimal spreadShift, BigDecimal yieldCurveShift) {
+        Map<String, Object> stressParams = new HashMap<>();
+        if (recoveryRate != null) {
+            stressParams.put("recoveryRate", recoveryRate);
+            logger.debug("Applying recovery rate stress: {}%", recoveryRate);
+        }
+        if (spreadShift != null) {
+            stressParams.put("spreadShift", spreadShift);
+            logger.debug("Applying spread shift stress: +{} bp", spreadShift);
+        }
+        if (yieldCurveShift != null) {
+            stressParams.put("yieldCurveShift", yieldCurveShift);
+            logger.debug("Applying yield curve shift stress: +{} bp", yieldCurveShift);
+        }
+        return stressParams;
+    }
+    
+    /**
+     * Creates a unique ORE working directory under /tmp with empty input and output folders
+     */
+    private Path createWorkDir(String prefix) throws IOException {
+        String uniqueId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        Path workDir = Paths.get("/tmp", prefix + "-" + uniqueId);
+        Files.createDirectories(workDir.resolve("input"));
+        Files.createDirectories(workDir.resolve("output"));
+        return workDir;
+    }
+    
     /**
      * Generates all ORE input files
      */
     private void generateOreInputs(
-            OrePortfolioGenerator.CDSTradeData tradeData,
+            List<OrePortfolioGenerator.CDSTradeData> tradeData,
             LocalDate valuationDate,
             Path inputDir,
             Path workDir,
@@ -392,15 +610,18 @@ public class StressTestService {
         
         logger.debug("Generating ORE input files in: {}", inputDir);
         
-        // Apply stress to trade data if needed
-        OrePortfolioGenerator.CDSTradeData stressedTradeData = applyStress(tradeData, stressParams);
+        // Apply stress to trade data if needed, keeping trade order so that trades on
+        // the same reference entity always quote its curve from the same trade
+        Set<OrePortfolioGenerator.CDSTradeData> trades = new LinkedHashSet<>();
+        for (OrePortfolioGenerator.CDSTradeData trade : tradeData) {
+            trades.add(applyStress(trade, stressParams));
+        }
         
         // Extract yield curve shift if present
         BigDecimal yieldCurveShift = stressParams != null && stressParams.containsKey("yieldCurveShift") ?
             (BigDecimal) stressParams.get("yieldCurveShift") : null;
         
         // Generate market data
-        Set<OrePortfolioGenerator.CDSTradeData> trades = Set.of(stressedTradeData);
         String marketData = marketDataGenerator.generateMarketData(trades, valuationDate, yieldCurveShift);
         Path marketDataPath = inputDir.resolve("market.txt");
         Files.writeString(marketDataPath, marketData);
@@ -416,12 +637,12 @@ public class StressTestService {
         Files.writeString(curveConfigPath, curveConfig);
         
         // Generate Portfolio
-        String portfolio = portfolioGenerator.generatePortfolioXml(stressedTradeData);
+        String portfolio = portfolioGenerator.generateMultiTradePortfolioXml(trades);
         Path portfolioPath = inputDir.resolve("portfolio.xml");
         Files.writeString(portfolioPath, portfolio);
         
         // Copy conventions
-        Path configDir = Paths.get("/app/ore/config");
+        Path configDir = Paths.get(config.getOre().getConfigPath()).toAbsolutePath().getParent();
         Path conventionsPath = inputDir.resolve("Conventions.xml");
         Files.copy(configDir.resolve("Conventions.xml"), 
                   conventionsPath, 
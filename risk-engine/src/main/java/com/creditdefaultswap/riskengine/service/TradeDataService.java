@@ -120,6 +120,48 @@ public class TradeDataService {
         }
     }
     
+    /**
+     * Fetches the trade IDs of a CDS portfolio's active constituents from the backend service
+     * Throws exception if the constituents cannot be retrieved
+     */
+    public List<Long> fetchPortfolioTradeIds(Long portfolioId) {
+        logger.debug("Fetching constituents for CDS portfolio: {}", portfolioId);
+        
+        String url = backendBaseUrl + "/api/cds-portfolios/" + portfolioId + "/constituents";
+        
+        try {
+            PortfolioConstituentResponse[] constituents =
+                restTemplate.getForObject(url, PortfolioConstituentResponse[].class);
+            
+            if (constituents == null) {
+                throw new RuntimeException("Portfolio not found: " + portfolioId);
+            }
+            
+            List<Long> tradeIds = Arrays.stream(constituents)
+                .filter(c -> c.getTrade() != null && c.getTrade().getId() != null)
+                .map(c -> c.getTrade().getId())
+                .distinct()
+                .toList();
+            
+            logger.info("Fetched {} trades for CDS portfolio {}", tradeIds.size(), portfolioId);
+            return tradeIds;
+            
+        } catch (Exception e) {
+            logger.error("Failed to fetch constituents for portfolio ID: {}", portfolioId, e);
+            throw new RuntimeException("Unable to fetch constituents for portfolio ID: " + portfolioId, e);
+        }
+    }
+    
+    /**
+     * Response DTO for portfolio constituents; only the trade is needed
+     */
+    public static class PortfolioConstituentResponse {
+        private CDSTradeResponse trade;
+        
+        public CDSTradeResponse getTrade() { return trade; }
+        public void setTrade(CDSTradeResponse trade) { this.trade = trade; }
+    }
+    
     /**
      * Response DTO for coupon periods
      */
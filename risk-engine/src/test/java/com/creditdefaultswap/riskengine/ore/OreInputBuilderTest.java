@@ -1,5 +1,6 @@
 package com.creditdefaultswap.riskengine.ore;
 
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
 import com.creditdefaultswap.riskengine.model.ScenarioRequest;
 import com.creditdefaultswap.riskengine.service.TradeDataService;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,7 +40,7 @@ class OreInputBuilderTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         oreInputBuilder = new OreInputBuilder(portfolioGenerator, marketDataGenerator, 
-            todaysMarketGenerator, curveConfigGenerator, tradeDataService);
+            todaysMarketGenerator, curveConfigGenerator, tradeDataService, new RiskEngineConfigProperties());
         
         // Set up default mock behaviors
         when(marketDataGenerator.generateMarketData(any(), any())).thenReturn("mock market data");
@@ -1,12 +1,17 @@
 package com.creditdefaultswap.riskengine.ore;
 
 import com.creditdefaultswap.riskengine.model.RiskMeasures;
+import com.creditdefaultswap.riskengine.service.MarketDataSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,12 +20,12 @@ class OreOutputParserTest {
     private OreOutputParser oreOutputParser;
     
     @Mock
-    private MarketDataSnapshotBuilder marketDataSnapshotBuilder;
+    private MarketDataSnapshotService marketDataSnapshotService;
     
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        oreOutputParser = new OreOutputParser(marketDataSnapshotBuilder);
+        oreOutputParser = new OreOutputParser(marketDataSnapshotService);
     }
     
     @Test
@@ -130,4 +135,28 @@ class OreOutputParserTest {
         
         assertEquals("Warning: Market data incomplete", errorMessage);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testParseRiskMeasures_MultiTradePortfolioMatchesTradeId(@TempDir Path workDir) throws IOException {
+        Path outputDir = Files.createDirectories(workDir.resolve("output"));
+        Files.writeString(outputDir.resolve("npv.csv"), """
+            #TradeId,TradeType,Maturity,MaturityTime,NPV,NpvCurrency
+            CDS_1,CreditDefaultSwap,2030-03-20,5.2,1500.25,USD
+            CDS_2,CreditDefaultSwap,2029-06-20,4.4,-820.50,USD
+            """);
+        Files.writeString(outputDir.resolve("additional_results.csv"), """
+            #TradeId,ResultId,ResultType,ResultValue
+            CDS_1,legNPV[1],double,9000.0
+            CDS_2,legNPV[1],double,4000.0
+            """);
+        String consoleOutput = "npv report ... OK\nORE done.";
+        
+        RiskMeasures second = oreOutputParser.parseRiskMeasures(consoleOutput, 2L, "USD", workDir.toString());
+        RiskMeasures first = oreOutputParser.parseRiskMeasures(consoleOutput, 1L, "USD", workDir.toString());
+        
+        assertEquals(new BigDecimal("-820.50"), second.getNpv());
+        assertEquals(0, new BigDecimal("4000").compareTo(second.getJtd()));
+        assertEquals(new BigDecimal("1500.25"), first.getNpv());
+        assertEquals(0, new BigDecimal("9000").compareTo(first.getJtd()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.creditdefaultswap.riskengine.ore;
 
 import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +26,7 @@ class OreProcessManagerTest {
         config.getOre().setWarmupTimeoutSeconds(2);
         config.getOre().setMaxRestarts(2);
         
-        oreProcessManager = new OreProcessManager(config);
+        oreProcessManager = new OreProcessManager(config, ObservationRegistry.NOOP, new OreStubRunner(config));
     }
     
     @Test
@@ -53,7 +54,8 @@ class OreProcessManagerTest {
         testConfig.getOre().setBinaryPath("/usr/bin/test");
         
         assertDoesNotThrow(() -> {
-            OreProcessManager manager = new OreProcessManager(testConfig);
+            OreProcessManager manager = new OreProcessManager(testConfig, ObservationRegistry.NOOP,
+                new OreStubRunner(testConfig));
             assertNotNull(manager);
         });
     }
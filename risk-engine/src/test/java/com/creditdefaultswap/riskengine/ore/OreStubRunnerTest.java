@@ -0,0 +1,103 @@
+package com.creditdefaultswap.riskengine.ore;
+
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import com.creditdefaultswap.riskengine.model.RiskMeasures;
+import com.creditdefaultswap.riskengine.service.MarketDataSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OreStubRunnerTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    @TempDir
+    Path workDir;
+
+    @Mock
+    private MarketDataSnapshotService marketDataSnapshotService;
+
+    private OreStubRunner stubRunner;
+    private OreOutputParser oreOutputParser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        RiskEngineConfigProperties config = new RiskEngineConfigProperties();
+        config.getOre().getStub().setLatencyMs(0);
+        config.getOre().getStub().setLatencyJitterMs(0);
+        stubRunner = new OreStubRunner(config);
+        oreOutputParser = new OreOutputParser(marketDataSnapshotService);
+    }
+
+    @Test
+    void testRun_WritesReportsTheOutputParserReads() throws Exception {
+        writeInputs(trade("BUY", new BigDecimal("100")));
+
+        String output = stubRunner.run(workDir);
+
+        assertTrue(oreOutputParser.isValidOutput(output));
+        RiskMeasures measures = oreOutputParser.parseRiskMeasures(output, 1L, "USD", workDir.toString());
+        assertNotNull(measures.getNpv());
+        assertNotNull(measures.getFairSpreadClean());
+        assertNotNull(measures.getRiskyAnnuity());
+        assertEquals(0, new BigDecimal("100").compareTo(measures.getCouponLegBPS().setScale(0, java.math.RoundingMode.HALF_UP)));
+        assertEquals(measures.getProtectionLegNPV(), measures.getJtd());
+        assertFalse(measures.getCashflows().isEmpty());
+    }
+
+    @Test
+    void testRun_SpreadWidensBuyerGainsAndSellerLoses() throws Exception {
+        OrePortfolioGenerator.CDSTradeData buyer = trade("BUY", new BigDecimal("100"));
+        writeInputs(buyer);
+        BigDecimal base = npv(stubRunner.run(workDir));
+
+        // Market spread above the 100bp running coupon
+        OrePortfolioGenerator.CDSTradeData wider = trade("BUY", new BigDecimal("100"));
+        wider.setSpread(new BigDecimal("300"));
+        writeMarket(wider);
+        BigDecimal widened = npv(stubRunner.run(workDir));
+
+        assertTrue(widened.compareTo(base) > 0);
+
+        writeInputs(trade("SELL", new BigDecimal("100")));
+        writeMarket(wider);
+        assertTrue(npv(stubRunner.run(workDir)).signum() < 0);
+    }
+
+    private BigDecimal npv(String output) {
+        return oreOutputParser.parseRiskMeasures(output, 1L, "USD", workDir.toString()).getNpv();
+    }
+
+    private OrePortfolioGenerator.CDSTradeData trade(String direction, BigDecimal spread) {
+        OrePortfolioGenerator.CDSTradeData trade = new OrePortfolioGenerator.CDSTradeData(1L, "TESLA",
+            new BigDecimal("10000000"), spread, LocalDate.of(2029, 12, 20), LocalDate.of(2024, 12, 20),
+            "USD", "QUARTERLY", "ACT_360", direction, "USD");
+        trade.setRecoveryRate(new BigDecimal("40"));
+        return trade;
+    }
+
+    private void writeInputs(OrePortfolioGenerator.CDSTradeData trade) throws Exception {
+        Files.createDirectories(workDir.resolve("input"));
+        Files.writeString(workDir.resolve("ore.xml"),
+            "<ORE><Setup><Parameter name=\"asofDate\">20250115</Parameter></Setup></ORE>");
+        Files.writeString(workDir.resolve("input").resolve("portfolio.xml"),
+            new OrePortfolioGenerator().generatePortfolioXml(trade));
+        writeMarket(trade);
+    }
+
+    private void writeMarket(OrePortfolioGenerator.CDSTradeData trade) throws Exception {
+        Files.writeString(workDir.resolve("input").resolve("market.txt"),
+            new OreMarketDataGenerator().generateMarketData(Set.of(trade), VALUATION_DATE));
+    }
+}
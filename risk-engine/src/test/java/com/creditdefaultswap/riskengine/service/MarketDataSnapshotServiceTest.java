@@ -0,0 +1,64 @@
+package com.creditdefaultswap.riskengine.service;
+
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import com.creditdefaultswap.riskengine.model.MarketDataSnapshot;
+import com.creditdefaultswap.riskengine.ore.MarketDataSnapshotBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MarketDataSnapshotServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    private MarketDataSnapshotBuilder snapshotBuilder;
+    private MarketDataSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotBuilder = mock(MarketDataSnapshotBuilder.class);
+        when(snapshotBuilder.buildSnapshot(anyString(), any())).thenAnswer(invocation -> new MarketDataSnapshot());
+        RiskEngineConfigProperties config = new RiskEngineConfigProperties();
+        config.getMarketData().setSnapshotCacheSize(2);
+        snapshotService = new MarketDataSnapshotService(snapshotBuilder, config);
+    }
+
+    @Test
+    void testSameInputsShareOneSnapshotAndLeastRecentlyUsedIsEvicted(@TempDir Path tempDir) throws IOException {
+        Path base = workDir(tempDir, "base", "20250115 ZERO/RATE/USD/USD6M/A365/1Y 0.047");
+        Path baseAgain = workDir(tempDir, "base-again", "20250115 ZERO/RATE/USD/USD6M/A365/1Y 0.047");
+        Path shifted = workDir(tempDir, "shifted", "20250115 ZERO/RATE/USD/USD6M/A365/1Y 0.052");
+        Path widened = workDir(tempDir, "widened", "20250115 ZERO/RATE/USD/USD6M/A365/1Y 0.057");
+
+        MarketDataSnapshot first = snapshotService.snapshotFor(base.toString(), VALUATION_DATE);
+        MarketDataSnapshot second = snapshotService.snapshotFor(baseAgain.toString(), VALUATION_DATE);
+        MarketDataSnapshot other = snapshotService.snapshotFor(shifted.toString(), VALUATION_DATE);
+
+        assertSame(first, second);
+        assertTrue(first.getSnapshotId().startsWith("MDS-20250115-"));
+        assertNotEquals(first.getSnapshotId(), other.getSnapshotId());
+        verify(snapshotBuilder, times(2)).buildSnapshot(anyString(), any());
+
+        // Capacity 2: touching the base snapshot leaves the shifted one least recently used
+        assertTrue(snapshotService.getSnapshot(first.getSnapshotId()).isPresent());
+        snapshotService.snapshotFor(widened.toString(), VALUATION_DATE);
+        assertTrue(snapshotService.getSnapshot(first.getSnapshotId()).isPresent());
+        assertTrue(snapshotService.getSnapshot(other.getSnapshotId()).isEmpty());
+    }
+
+    private Path workDir(Path tempDir, String name, String marketData) throws IOException {
+        Path inputDir = Files.createDirectories(tempDir.resolve(name).resolve("input"));
+        Files.writeString(inputDir.resolve("market.txt"), marketData + "\n");
+        return tempDir.resolve(name);
+    }
+}
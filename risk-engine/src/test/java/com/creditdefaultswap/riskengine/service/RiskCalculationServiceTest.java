@@ -7,6 +7,7 @@ import com.creditdefaultswap.riskengine.ore.OreInputBuilder;
 import com.creditdefaultswap.riskengine.ore.OreOutputParser;
 import com.creditdefaultswap.riskengine.ore.OreProcessManager;
 import com.creditdefaultswap.riskengine.ore.OrePortfolioGenerator;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,7 +50,7 @@ public class RiskCalculationServiceTest {
     @BeforeEach
     void setUp() {
         service = new RiskCalculationService(config, oreProcessManager, oreInputBuilder, 
-                                           oreOutputParser, tradeDataService);
+                                           oreOutputParser, tradeDataService, ObservationRegistry.NOOP);
     }
 
     @Test
@@ -0,0 +1,101 @@
+package com.creditdefaultswap.riskengine.service;
+
+import com.creditdefaultswap.riskengine.config.RiskEngineConfigProperties;
+import com.creditdefaultswap.riskengine.model.PortfolioStressResult;
+import com.creditdefaultswap.riskengine.model.RiskMeasures;
+import com.creditdefaultswap.riskengine.model.StressImpactResult;
+import com.creditdefaultswap.riskengine.model.StressScenarioRequest;
+import com.creditdefaultswap.riskengine.ore.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StressTestServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 15);
+
+    @TempDir
+    Path configDir;
+
+    private OreProcessManager oreProcessManager;
+    private OreOutputParser oreOutputParser;
+    private TradeDataService tradeDataService;
+    private StressTestService stressTestService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(configDir.resolve("Conventions.xml"), "<Conventions/>\n");
+        Files.writeString(configDir.resolve("pricingengine.xml"), "<PricingEngines/>\n");
+        RiskEngineConfigProperties config = new RiskEngineConfigProperties();
+        config.getOre().setConfigPath(configDir.resolve("ore.xml").toString());
+
+        OrePortfolioGenerator portfolioGenerator = mock(OrePortfolioGenerator.class);
+        OreMarketDataGenerator marketDataGenerator = mock(OreMarketDataGenerator.class);
+        OreTodaysMarketGenerator todaysMarketGenerator = mock(OreTodaysMarketGenerator.class);
+        OreCurveConfigGenerator curveConfigGenerator = mock(OreCurveConfigGenerator.class);
+        when(portfolioGenerator.generateMultiTradePortfolioXml(any())).thenReturn("<Portfolio/>");
+        when(marketDataGenerator.generateMarketData(any(), any(), any())).thenReturn("");
+        when(todaysMarketGenerator.generateTodaysMarket(any())).thenReturn("<TodaysMarket/>");
+        when(curveConfigGenerator.generateCurveConfig(any())).thenReturn("<CurveConfiguration/>");
+
+        oreProcessManager = mock(OreProcessManager.class);
+        when(oreProcessManager.executeCalculation(anyString()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture("ORE output"));
+        oreOutputParser = mock(OreOutputParser.class);
+        when(oreOutputParser.parseRiskMeasures(anyString(), anyLong(), anyString(), anyString()))
+            .thenAnswer(invocation -> riskMeasures(invocation.getArgument(1)));
+        tradeDataService = mock(TradeDataService.class);
+        when(tradeDataService.fetchCDSTradeData(anyLong(), eq(VALUATION_DATE)))
+            .thenAnswer(invocation -> tradeData(invocation.getArgument(0)));
+
+        stressTestService = new StressTestService(config, oreProcessManager, portfolioGenerator, marketDataGenerator,
+            todaysMarketGenerator, curveConfigGenerator, mock(OreStressTestGenerator.class), oreOutputParser,
+            tradeDataService);
+    }
+
+    @Test
+    void testRepeatedTradeIdIsStressedOnce() {
+        StressScenarioRequest request = new StressScenarioRequest();
+        request.setTradeIds(List.of(1L, 2L, 1L));
+        request.setSpreadShifts(List.of(new BigDecimal("100")));
+        request.setValuationDate(VALUATION_DATE);
+
+        PortfolioStressResult result = stressTestService.runPortfolioStressAnalysis(request).join();
+
+        assertEquals(List.of(1L, 2L), result.getTrades().stream().map(StressImpactResult::getTradeId).toList());
+        verify(tradeDataService, times(1)).fetchCDSTradeData(1L, VALUATION_DATE);
+        assertEquals(2, result.getOreRunCount());
+        verify(oreProcessManager, times(2)).executeCalculation(anyString());
+        assertEquals(0, new BigDecimal("2000.00").compareTo(result.getAggregate().getBaseNpv()));
+    }
+
+    private static OrePortfolioGenerator.CDSTradeData tradeData(Long tradeId) {
+        return new OrePortfolioGenerator.CDSTradeData(tradeId, "TEST_ENTITY_" + tradeId, new BigDecimal("1000000"),
+            new BigDecimal("0.0125"), VALUATION_DATE.plusYears(5), VALUATION_DATE, "USD", "QUARTERLY", "ACT/360",
+            "BUY", "TARGET");
+    }
+
+    private static RiskMeasures riskMeasures(Long tradeId) {
+        RiskMeasures measures = new RiskMeasures();
+        measures.setTradeId(tradeId);
+        measures.setCurrency("USD");
+        measures.setNpv(new BigDecimal("1000.00"));
+        measures.setJtd(new BigDecimal("-600000.00"));
+        return measures;
+    }
+}